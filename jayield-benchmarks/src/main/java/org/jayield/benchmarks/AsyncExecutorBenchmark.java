@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.AsyncQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Merges {@code sources} concurrent asynchronous sources, each one blocking
+ * for {@code blockMillis} before emitting its single item, like a remote call.
+ * Compares running those producers on the common pool with running them on
+ * AsyncQuery.virtualThreadPerTask(). On runtimes before JDK 21 the latter
+ * falls back to a cached pool of platform threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AsyncExecutorBenchmark {
+
+    @Param({"10000"})
+    int sources;
+
+    @Param({"1"})
+    int blockMillis;
+
+    @Param({"commonPool", "virtualThreadPerTask"})
+    String executor;
+
+    Integer[] data;
+    Executor pool;
+
+    @Setup
+    public void setup() {
+        data = new Integer[sources];
+        for (int i = 0; i < sources; i++) data[i] = i;
+        pool = executor.equals("commonPool")
+            ? ForkJoinPool.commonPool()
+            : AsyncQuery.virtualThreadPerTask();
+    }
+
+    @Benchmark
+    public long merge() {
+        LongAdder sum = new LongAdder();
+        AsyncQuery
+            .of(data)
+            .flatMapMerge(n -> AsyncQuery.fork(pool, n).map(this::remoteCall), sources)
+            .subscribe((item, err) -> sum.add(item))
+            .join();
+        return sum.sum();
+    }
+
+    private Integer remoteCall(Integer n) {
+        try {
+            Thread.sleep(blockMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return n;
+    }
+}
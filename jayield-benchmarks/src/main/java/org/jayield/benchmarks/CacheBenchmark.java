@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.Query;
+import org.jayield.primitives.intgr.IntQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Three consumers of the same map and filter pipeline over a million
+ * values, which either recompute it, copy it into a List, or replay it
+ * through cache().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CacheBenchmark {
+
+    static final int SIZE = 1_000_000;
+
+    Integer[] boxed;
+    int[] ints;
+
+    @Setup
+    public void setup() {
+        ints = IntStream.range(0, SIZE).toArray();
+        boxed = IntStream.range(0, SIZE).boxed().toArray(Integer[]::new);
+    }
+
+    /**
+     * A few rounds of integer mixing, standing for a costly mapping.
+     */
+    static int expensive(int n) {
+        int h = n;
+        for (int i = 0; i < 16; i++) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+        }
+        return (h & 0x7fffffff) % 1_000;
+    }
+
+    Query<Integer> pipeline() {
+        return Query.of(boxed).map(CacheBenchmark::expensive).filter(n -> n % 3 != 0);
+    }
+
+    IntQuery intPipeline() {
+        return IntQuery.of(ints).map(CacheBenchmark::expensive).filter(n -> n % 3 != 0);
+    }
+
+    static long consume(Query<Integer> q1, Query<Integer> q2, Query<Integer> q3) {
+        return q1.count() + q2.max(Integer::compare).get() + q3.reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public long recompute() {
+        return consume(pipeline(), pipeline(), pipeline());
+    }
+
+    @Benchmark
+    public long toList() {
+        List<Integer> list = pipeline().toList();
+        return consume(Query.fromList(list), Query.fromList(list), Query.fromList(list));
+    }
+
+    @Benchmark
+    public long cache() {
+        Query<Integer> cached = pipeline().cache();
+        return consume(cached, cached, cached);
+    }
+
+    @Benchmark
+    public long intRecompute() {
+        return intPipeline().count() + intPipeline().max().getAsInt() + intPipeline().sum();
+    }
+
+    @Benchmark
+    public long intToArray() {
+        int[] data = intPipeline().toArray();
+        return IntQuery.of(data).count() + IntQuery.of(data).max().getAsInt() + IntQuery.of(data).sum();
+    }
+
+    @Benchmark
+    public long intCache() {
+        IntQuery cached = intPipeline().cache();
+        return cached.count() + cached.max().getAsInt() + cached.sum();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.primitives.intgr.IntQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Sum of a single map stage, or of a fused map and filter, over an int
+ * array, either through sum(), which reduces each chunk of traverseChunks(),
+ * or element by element through reduce().
+ * When polluted, other shapes of pipelines run before, as an application
+ * would, so that the call sites shared by all stages are megamorphic.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChunksBenchmark {
+
+    static final int SIZE = 1_000_000;
+
+    @Param({"false", "true"})
+    boolean polluted;
+
+    int[] ints;
+
+    @Setup
+    public void setup() {
+        ints = IntStream.range(0, SIZE).toArray();
+        if(polluted) {
+            for (int i = 0; i < 300; i++) pollute();
+        }
+    }
+
+    void pollute() {
+        int[] small = Arrays.copyOf(ints, 1000);
+        IntQuery.of(small).map(n -> n + 7).sum();
+        IntQuery.of(small).map(n -> n ^ 5).reduce(0, Integer::max);
+        IntQuery.of(small).map(n -> n - 1).filter(n -> n > 3).sum();
+        IntQuery.of(small).map(n -> n << 1).filter(n -> n % 3 == 0).reduce(0, (a, b) -> a ^ b);
+        IntQuery.of(small).filter(n -> n % 5 != 0).map(n -> n * 7).max();
+        IntQuery.of(small).filter(n -> n > 10).map(n -> n / 3).reduce(0, Integer::min);
+    }
+
+    @Benchmark
+    public int fusedSum() {
+        return IntQuery.of(ints).map(n -> n * 3).filter(n -> (n & 1) == 0).sum();
+    }
+
+    @Benchmark
+    public int fusedReduce() {
+        return IntQuery.of(ints).map(n -> n * 3).filter(n -> (n & 1) == 0).reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int mapSum() {
+        return IntQuery.of(ints).map(n -> n * 3).sum();
+    }
+
+    @Benchmark
+    public int mapReduce() {
+        return IntQuery.of(ints).map(n -> n * 3).reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int stream() {
+        return Arrays.stream(ints).map(n -> n * 3).filter(n -> (n & 1) == 0).sum();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.Query;
+import org.jayield.primitives.intgr.IntCollector;
+import org.jayield.primitives.intgr.IntQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Collectors over a million values, run either through toStream() or
+ * directly by collect(), and over int elements either boxed or through
+ * an IntCollector.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectBenchmark {
+
+    static final int SIZE = 1_000_000;
+
+    Integer[] boxed;
+    int[] ints;
+
+    @Setup
+    public void setup() {
+        ints = IntStream.range(0, SIZE).toArray();
+        boxed = IntStream.range(0, SIZE).boxed().toArray(Integer[]::new);
+    }
+
+    @Benchmark
+    public Map<Integer, List<Integer>> groupingByToStream() {
+        return Query.of(boxed).filter(n -> n % 3 != 0).toStream().collect(Collectors.groupingBy(n -> n % 16));
+    }
+
+    @Benchmark
+    public Map<Integer, List<Integer>> groupingBy() {
+        return Query.of(boxed).filter(n -> n % 3 != 0).collect(Collectors.groupingBy(n -> n % 16));
+    }
+
+    @Benchmark
+    public IntSummaryStatistics intSummarizingBoxed() {
+        return IntQuery.of(ints).filter(n -> n % 3 != 0).boxed().collect(Collectors.summarizingInt(n -> n));
+    }
+
+    @Benchmark
+    public IntSummaryStatistics intSummarizing() {
+        return IntQuery.of(ints).filter(n -> n % 3 != 0).collect(IntCollector.summarizing());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.Query;
+import org.jayield.primitives.intgr.IntQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * A ten-stage chain of map, filter and peek, traversed either through its
+ * fused stage or through the classes generated by compile().
+ * Other pipelines run in the setup share the classes of the fused sinks,
+ * as in an application, but not the compiled ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompileBenchmark {
+
+    static final int SIZE = 10_000;
+
+    Integer[] data;
+    int[] ints;
+    long peeked;
+
+    @Setup
+    public void setup() {
+        ints = IntStream.range(0, SIZE).toArray();
+        data = IntStream.range(0, SIZE).boxed().toArray(Integer[]::new);
+        for (int i = 0; i < 200; i++) pollute();
+    }
+
+    void pollute() {
+        Query.of(data).filter(n -> n % 3 == 0).map(n -> n - 1).peek(n -> peeked++)
+            .map(String::valueOf).filter(s -> !s.isEmpty()).reduce("", (a, b) -> b);
+        Query.of(data).map(n -> n * 2L).filter(n -> n > 4).map(Long::intValue).reduce(0, Integer::sum);
+        IntQuery.of(ints).filter(n -> n % 3 == 0).peek(n -> peeked++).map(n -> n << 1).sum();
+        IntQuery.of(ints).map(n -> n - 3).filter(n -> (n & 1) == 0).map(n -> n >> 1).max();
+    }
+
+    @Benchmark
+    public int deepFused() {
+        return pipeline().reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int deepCompiled() {
+        return pipeline().compile().reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int deepStream() {
+        return Arrays.stream(data)
+            .map(n -> n + 1)
+            .filter(n -> n % 7 != 0)
+            .map(n -> n * 3)
+            .peek(n -> peeked += n)
+            .filter(n -> n % 5 != 0)
+            .map(n -> n - 2)
+            .filter(n -> n > 10)
+            .map(n -> n / 2)
+            .peek(n -> peeked -= n)
+            .map(n -> n ^ 1)
+            .reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int deepIntFused() {
+        return intPipeline().sum();
+    }
+
+    @Benchmark
+    public int deepIntCompiled() {
+        return intPipeline().compile().sum();
+    }
+
+    Query<Integer> pipeline() {
+        return Query.of(data)
+            .map(n -> n + 1)
+            .filter(n -> n % 7 != 0)
+            .map(n -> n * 3)
+            .peek(n -> peeked += n)
+            .filter(n -> n % 5 != 0)
+            .map(n -> n - 2)
+            .filter(n -> n > 10)
+            .map(n -> n / 2)
+            .peek(n -> peeked -= n)
+            .map(n -> n ^ 1);
+    }
+
+    IntQuery intPipeline() {
+        return IntQuery.of(ints)
+            .map(n -> n + 1)
+            .filter(n -> n % 7 != 0)
+            .map(n -> n * 3)
+            .peek(n -> peeked += n)
+            .filter(n -> n % 5 != 0)
+            .map(n -> n - 2)
+            .filter(n -> n > 10)
+            .map(n -> n / 2)
+            .peek(n -> peeked -= n)
+            .map(n -> n ^ 1);
+    }
+}
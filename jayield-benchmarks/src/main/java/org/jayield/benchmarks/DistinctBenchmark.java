@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.collections.LongHashSet;
+import org.jayield.primitives.lng.LongQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Compares the boxed {@code HashSet<Long>}, formerly used by {@code LongDistinct},
+ * with the open addressing {@link LongHashSet} that replaced it.
+ * The gc.alloc.rate.norm reported by {@link BenchmarkRunner} for
+ * {@code boxedHashSet} and {@code longHashSet} is the heap footprint
+ * of each set (including the garbage of its successive resizes).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DistinctBenchmark {
+
+    @Param({"1000000"})
+    int size;
+
+    /**
+     * Identifiers where about half of the elements are repeated.
+     */
+    long[] ids;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(7);
+        ids = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = rnd.nextInt(size / 2) * 1_000_003L;
+        }
+    }
+
+    @Benchmark
+    public HashSet<Long> boxedHashSet() {
+        HashSet<Long> set = new HashSet<>();
+        for (long id : ids) set.add(id);
+        return set;
+    }
+
+    @Benchmark
+    public LongHashSet longHashSet() {
+        LongHashSet set = new LongHashSet();
+        for (long id : ids) set.add(id);
+        return set;
+    }
+
+    @Benchmark
+    public long longQueryDistinct() {
+        return LongQuery.of(ids).distinct().count();
+    }
+
+    @Benchmark
+    public long longStreamDistinct() {
+        return LongStream.of(ids).distinct().count();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.Query;
+import org.jayield.primitives.intgr.IntQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Count, sum and distinct of the same map pipeline over a million values,
+ * either running the pipeline three times or once through fanOut().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FanOutBenchmark {
+
+    static final int SIZE = 1_000_000;
+
+    Integer[] boxed;
+    int[] ints;
+
+    @Setup
+    public void setup() {
+        ints = IntStream.range(0, SIZE).toArray();
+        boxed = IntStream.range(0, SIZE).boxed().toArray(Integer[]::new);
+    }
+
+    /**
+     * A few rounds of integer mixing, standing for a costly mapping.
+     */
+    static int expensive(int n) {
+        int h = n;
+        for (int i = 0; i < 16; i++) {
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+        }
+        return (h & 0x7fffffff) % 1_000;
+    }
+
+    Query<Integer> pipeline() {
+        return Query.of(boxed).map(FanOutBenchmark::expensive);
+    }
+
+    IntQuery intPipeline() {
+        return IntQuery.of(ints).map(FanOutBenchmark::expensive);
+    }
+
+    @Benchmark
+    public long threePasses() {
+        return pipeline().filter(n -> n % 3 != 0).count()
+            + pipeline().reduce(0, Integer::sum)
+            + pipeline().toSet().size();
+    }
+
+    @Benchmark
+    public long fanOut() {
+        long[] acc = {0, 0};
+        Set<Integer> distinct = new HashSet<>();
+        pipeline().fanOut(
+            n -> n % 3 == 0 || ++acc[0] > 0,
+            n -> (acc[1] += n) >= 0,
+            distinct::add);
+        return acc[0] + acc[1] + distinct.size();
+    }
+
+    @Benchmark
+    public long intThreePasses() {
+        return intPipeline().filter(n -> n % 3 != 0).count()
+            + intPipeline().sum()
+            + intPipeline().distinct().count();
+    }
+
+    @Benchmark
+    public long intFanOut() {
+        long[] acc = {0, 0};
+        boolean[] seen = new boolean[1_000];
+        int[] distinct = {0};
+        intPipeline().fanOut(
+            n -> n % 3 == 0 || ++acc[0] > 0,
+            n -> (acc[1] += n) >= 0,
+            n -> seen[n] || (seen[n] = true) && ++distinct[0] > 0);
+        return acc[0] + acc[1] + distinct[0];
+    }
+}
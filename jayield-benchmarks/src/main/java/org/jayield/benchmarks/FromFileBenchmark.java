@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.primitives.dbl.DoubleQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtered sum of a binary file of one million little endian doubles,
+ * either loaded into an array before DoubleQuery.of() or read through
+ * DoubleQuery.fromFile().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FromFileBenchmark {
+
+    static final int SIZE = 1_000_000;
+
+    Path path;
+
+    @Setup
+    public void setup() throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(SIZE * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        new Random(7).doubles(SIZE).forEach(bytes::putDouble);
+        path = Files.createTempFile("jayield", ".bin");
+        Files.write(path, bytes.array());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(path);
+    }
+
+    @Benchmark
+    public double loadedArray() throws IOException {
+        double[] data = new double[SIZE];
+        ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(data);
+        return DoubleQuery.of(data).filter(n -> n > 0.5).sum();
+    }
+
+    @Benchmark
+    public double mappedFile() {
+        return DoubleQuery.fromFile(path, ByteOrder.LITTLE_ENDIAN).filter(n -> n > 0.5).sum();
+    }
+}
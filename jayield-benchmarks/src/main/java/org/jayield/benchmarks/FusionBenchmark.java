@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.Advancer;
+import org.jayield.Query;
+import org.jayield.Traverser;
+import org.jayield.Yield;
+import org.jayield.ops.Filter;
+import org.jayield.ops.Mapping;
+import org.jayield.ops.Peek;
+import org.jayield.primitives.intgr.IntQuery;
+import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.ops.IntFilter;
+import org.jayield.primitives.intgr.ops.IntMapping;
+import org.jayield.primitives.intgr.ops.IntPeek;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * A ten-stage chain of map, filter and peek, built either through the
+ * query methods, which fuse it into a single stage, or by chaining the
+ * Mapping, Filter and Peek operations one by one, as before the fusion.
+ * The Advance variants consume it through tryAdvance().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FusionBenchmark {
+
+    static final int SIZE = 10_000;
+
+    Integer[] data;
+    int[] ints;
+    long peeked;
+
+    @Setup
+    public void setup() {
+        ints = IntStream.range(0, SIZE).toArray();
+        data = IntStream.range(0, SIZE).boxed().toArray(Integer[]::new);
+        for (int i = 0; i < 200; i++) pollute();
+    }
+
+    /**
+     * Runs other shapes of pipelines, as an application would, so that
+     * the call sites shared by all stages do not keep the type profile
+     * of a single pipeline.
+     */
+    void pollute() {
+        Query<Integer> q = Query.of(data);
+        q = stage(new Filter<>(q, n -> n % 3 == 0));
+        q = stage(new Mapping<>(q, n -> n - 1));
+        q = stage(new Peek<>(q, n -> peeked++));
+        Query<String> strs = stage(new Mapping<>(q, String::valueOf));
+        stage(new Filter<>(strs, s -> !s.isEmpty())).reduce("", (a, b) -> b);
+        Query.of(data).filter(n -> n % 3 == 0).map(n -> n - 1).peek(n -> peeked++)
+            .map(String::valueOf).filter(s -> !s.isEmpty()).reduce("", (a, b) -> b);
+        IntQuery iq = IntQuery.of(ints);
+        IntFilter f = new IntFilter(iq, n -> n % 3 == 0);
+        iq = new IntQuery(f, f);
+        IntPeek p = new IntPeek(iq, n -> peeked++);
+        iq = new IntQuery(p, p);
+        IntMapping m = new IntMapping(iq, n -> n << 1);
+        new IntQuery(m, m).sum();
+        IntQuery.of(ints).filter(n -> n % 3 == 0).peek(n -> peeked++).map(n -> n << 1).sum();
+    }
+
+    @Benchmark
+    public int deepFused() {
+        return fused().reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int deepChained() {
+        return chained().reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public long deepFusedAdvance() {
+        return advance(fused());
+    }
+
+    @Benchmark
+    public long deepChainedAdvance() {
+        return advance(chained());
+    }
+
+    Query<Integer> fused() {
+        return Query.of(data)
+            .map(n -> n + 1)
+            .filter(n -> n % 7 != 0)
+            .map(n -> n * 3)
+            .peek(n -> peeked += n)
+            .filter(n -> n % 5 != 0)
+            .map(n -> n - 2)
+            .filter(n -> n > 10)
+            .map(n -> n / 2)
+            .peek(n -> peeked -= n)
+            .map(n -> n ^ 1);
+    }
+
+    Query<Integer> chained() {
+        Query<Integer> q = Query.of(data);
+        q = stage(new Mapping<>(q, n -> n + 1));
+        q = stage(new Filter<>(q, n -> n % 7 != 0));
+        q = stage(new Mapping<>(q, n -> n * 3));
+        q = stage(new Peek<>(q, n -> peeked += n));
+        q = stage(new Filter<>(q, n -> n % 5 != 0));
+        q = stage(new Mapping<>(q, n -> n - 2));
+        q = stage(new Filter<>(q, n -> n > 10));
+        q = stage(new Mapping<>(q, n -> n / 2));
+        q = stage(new Peek<>(q, n -> peeked -= n));
+        return stage(new Mapping<>(q, n -> n ^ 1));
+    }
+
+    private static long advance(Query<Integer> q) {
+        long[] sum = {0};
+        Yield<Integer> yield = n -> sum[0] += n;
+        while(q.tryAdvance(yield)) { }
+        return sum[0];
+    }
+
+    @Benchmark
+    public int deepStream() {
+        return Arrays.stream(data)
+            .map(n -> n + 1)
+            .filter(n -> n % 7 != 0)
+            .map(n -> n * 3)
+            .peek(n -> peeked += n)
+            .filter(n -> n % 5 != 0)
+            .map(n -> n - 2)
+            .filter(n -> n > 10)
+            .map(n -> n / 2)
+            .peek(n -> peeked -= n)
+            .map(n -> n ^ 1)
+            .reduce(0, Integer::sum);
+    }
+
+    @Benchmark
+    public int deepIntFused() {
+        return IntQuery.of(ints)
+            .map(n -> n + 1)
+            .filter(n -> n % 7 != 0)
+            .map(n -> n * 3)
+            .peek(n -> peeked += n)
+            .filter(n -> n % 5 != 0)
+            .map(n -> n - 2)
+            .filter(n -> n > 10)
+            .map(n -> n / 2)
+            .peek(n -> peeked -= n)
+            .map(n -> n ^ 1)
+            .sum();
+    }
+
+    @Benchmark
+    public int deepIntChained() {
+        IntQuery q = IntQuery.of(ints);
+        IntMapping m1 = new IntMapping(q, n -> n + 1);
+        q = new IntQuery(m1, m1);
+        IntFilter f1 = new IntFilter(q, n -> n % 7 != 0);
+        q = new IntQuery(f1, f1);
+        IntMapping m2 = new IntMapping(q, n -> n * 3);
+        q = new IntQuery(m2, m2);
+        IntPeek p1 = new IntPeek(q, n -> peeked += n);
+        q = new IntQuery(p1, p1);
+        IntFilter f2 = new IntFilter(q, n -> n % 5 != 0);
+        q = new IntQuery(f2, f2);
+        IntMapping m3 = new IntMapping(q, n -> n - 2);
+        q = new IntQuery(m3, m3);
+        IntFilter f3 = new IntFilter(q, n -> n > 10);
+        q = new IntQuery(f3, f3);
+        IntMapping m4 = new IntMapping(q, n -> n / 2);
+        q = new IntQuery(m4, m4);
+        IntPeek p2 = new IntPeek(q, n -> peeked -= n);
+        q = new IntQuery(p2, p2);
+        IntMapping m5 = new IntMapping(q, n -> n ^ 1);
+        q = new IntQuery(m5, m5);
+        return q.sum();
+    }
+
+    @Benchmark
+    public long deepIntFusedAdvance() {
+        return advance(IntQuery.of(ints)
+            .map(n -> n + 1)
+            .filter(n -> n % 7 != 0)
+            .map(n -> n * 3)
+            .peek(n -> peeked += n)
+            .filter(n -> n % 5 != 0)
+            .map(n -> n - 2)
+            .filter(n -> n > 10)
+            .map(n -> n / 2)
+            .peek(n -> peeked -= n)
+            .map(n -> n ^ 1));
+    }
+
+    @Benchmark
+    public long deepIntChainedAdvance() {
+        IntQuery q = IntQuery.of(ints);
+        IntMapping m1 = new IntMapping(q, n -> n + 1);
+        q = new IntQuery(m1, m1);
+        IntFilter f1 = new IntFilter(q, n -> n % 7 != 0);
+        q = new IntQuery(f1, f1);
+        IntMapping m2 = new IntMapping(q, n -> n * 3);
+        q = new IntQuery(m2, m2);
+        IntPeek p1 = new IntPeek(q, n -> peeked += n);
+        q = new IntQuery(p1, p1);
+        IntFilter f2 = new IntFilter(q, n -> n % 5 != 0);
+        q = new IntQuery(f2, f2);
+        IntMapping m3 = new IntMapping(q, n -> n - 2);
+        q = new IntQuery(m3, m3);
+        IntFilter f3 = new IntFilter(q, n -> n > 10);
+        q = new IntQuery(f3, f3);
+        IntMapping m4 = new IntMapping(q, n -> n / 2);
+        q = new IntQuery(m4, m4);
+        IntPeek p2 = new IntPeek(q, n -> peeked -= n);
+        q = new IntQuery(p2, p2);
+        IntMapping m5 = new IntMapping(q, n -> n ^ 1);
+        return advance(new IntQuery(m5, m5));
+    }
+
+    private static long advance(IntQuery q) {
+        long[] sum = {0};
+        IntYield yield = n -> sum[0] += n;
+        while(q.tryAdvance(yield)) { }
+        return sum[0];
+    }
+
+    @Benchmark
+    public int deepIntStream() {
+        return IntStream.of(ints)
+            .map(n -> n + 1)
+            .filter(n -> n % 7 != 0)
+            .map(n -> n * 3)
+            .peek(n -> peeked += n)
+            .filter(n -> n % 5 != 0)
+            .map(n -> n - 2)
+            .filter(n -> n > 10)
+            .map(n -> n / 2)
+            .peek(n -> peeked -= n)
+            .map(n -> n ^ 1)
+            .sum();
+    }
+
+    private static <T, S extends Advancer<T> & Traverser<T>> Query<T> stage(S op) {
+        return new Query<>(op, op);
+    }
+}
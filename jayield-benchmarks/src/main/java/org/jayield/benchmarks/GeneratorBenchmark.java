@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.Query;
+import org.jayield.Traverser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pulls the first {@code pulled} elements through tryAdvance() from a
+ * custom operation only implemented with a Traverser.
+ * Compares {@code Query.thenGenerator()}, which suspends the traversal after
+ * each element, with the simple buffered fallback that traverses the whole
+ * sequence into a list before handing out the first element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeneratorBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    @Param({"10", "1000"})
+    int pulled;
+
+    Integer[] data;
+
+    @Setup
+    public void setup() {
+        data = new Integer[size];
+        for (int i = 0; i < size; i++) data[i] = i;
+    }
+
+    /**
+     * Custom operation yielding the elements in odd positions.
+     */
+    static <U> Traverser<U> odd(Query<U> src) {
+        return yield -> {
+            final boolean[] isOdd = {false};
+            src.traverse(item -> {
+                if(isOdd[0]) yield.ret(item);
+                isOdd[0] = !isOdd[0];
+            });
+        };
+    }
+
+    @Benchmark
+    public void generator(Blackhole bh) {
+        Query<Integer> query = Query.of(data).thenGenerator(GeneratorBenchmark::odd);
+        for (int i = 0; i < pulled && query.tryAdvance(bh::consume); i++) { }
+    }
+
+    @Benchmark
+    public void buffered(Blackhole bh) {
+        Query<Integer> query = Query.fromList(Query.of(data).then(GeneratorBenchmark::odd).toList());
+        for (int i = 0; i < pulled && query.tryAdvance(bh::consume); i++) { }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.Query;
+import org.jayield.collections.IntHashMap;
+import org.jayield.collections.IntLongHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Sum of the amounts of a million orders per user id, out of 10_000 users,
+ * through a boxed HashMap, groupBy(), groupByInt() or reduceByInt().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GroupByBenchmark {
+
+    static final int SIZE = 1_000_000;
+    static final int USERS = 10_000;
+
+    static class Order {
+        final int user;
+        final long amount;
+
+        Order(int user, long amount) {
+            this.user = user;
+            this.amount = amount;
+        }
+    }
+
+    Order[] orders;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(7);
+        orders = new Order[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            orders[i] = new Order(rnd.nextInt(USERS), rnd.nextInt(1_000));
+        }
+    }
+
+    @Benchmark
+    public Map<Integer, Long> hashMap() {
+        return Query.of(orders).collect(HashMap::new, (map, o) -> map.merge(o.user, o.amount, Long::sum));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> groupBy() {
+        return Query.of(orders).groupBy(o -> o.user, Collectors.summingLong(o -> o.amount));
+    }
+
+    @Benchmark
+    public IntHashMap<Long> groupByInt() {
+        return Query.of(orders).groupByInt(o -> o.user, Collectors.summingLong(o -> o.amount));
+    }
+
+    @Benchmark
+    public IntLongHashMap reduceByInt() {
+        return Query.of(orders).reduceByInt(o -> o.user, o -> o.amount, Long::sum);
+    }
+}
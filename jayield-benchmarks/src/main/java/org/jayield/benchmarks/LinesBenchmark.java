@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Counts the lines starting with 'x' of a text file of 200 thousand lines,
+ * either from Files.lines(), or from Query.lines() and Query.lineViews().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinesBenchmark {
+
+    static final int LINES = 200_000;
+
+    Path path;
+
+    @Setup
+    public void setup() throws IOException {
+        Random rnd = new Random(7);
+        String text = Stream
+            .generate(() -> rnd.ints(rnd.nextInt(80), 'a', 'z' + 1)
+                .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+                .toString())
+            .limit(LINES)
+            .collect(Collectors.joining("\n"));
+        path = Files.createTempFile("jayield", ".txt");
+        Files.writeString(path, text);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(path);
+    }
+
+    @Benchmark
+    public long fromStream() throws IOException {
+        try (Stream<String> lines = Files.lines(path, StandardCharsets.UTF_8)) {
+            return Query.fromStream(lines).filter(line -> !line.isEmpty() && line.charAt(0) == 'x').count();
+        }
+    }
+
+    @Benchmark
+    public long lines() {
+        return Query.lines(path, StandardCharsets.UTF_8).filter(line -> !line.isEmpty() && line.charAt(0) == 'x').count();
+    }
+
+    @Benchmark
+    public long lineViews() {
+        return Query.lineViews(path, StandardCharsets.UTF_8).filter(line -> line.length() > 0 && line.charAt(0) == 'x').count();
+    }
+}
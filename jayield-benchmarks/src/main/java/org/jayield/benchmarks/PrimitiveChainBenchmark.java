@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.primitives.intgr.IntQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * A fully primitive chain crossing the int, double and long families.
+ * Run it through {@link BenchmarkRunner} and check that the
+ * gc.alloc.rate.norm of both {@code mixedChainTraverse} and
+ * {@code mixedChainAdvance} stays the same for every {@code size},
+ * i.e. no Integer, Long or Double is allocated per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveChainBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    int[] data;
+
+    @Setup
+    public void setup() {
+        data = IntStream.range(1_000, 1_000 + size).toArray();
+    }
+
+    IntQuery mixedChain() {
+        return IntQuery.of(data)
+            .asDoubleQuery()
+            .mapToLong(d -> (long) (d * 2))
+            .mapToInt(l -> (int) (l / 2));
+    }
+
+    @Benchmark
+    public int mixedChainTraverse() {
+        return mixedChain().sum();
+    }
+
+    @Benchmark
+    public void mixedChainAdvance(Blackhole bh) {
+        IntQuery query = mixedChain();
+        while (query.tryAdvance(bh::consume)) {
+            // Intentionally empty. Action specified on yield statement of tryAdvance().
+        }
+    }
+
+    @Benchmark
+    public int mixedChainStream() {
+        return IntStream.of(data)
+            .asDoubleStream()
+            .mapToLong(d -> (long) (d * 2))
+            .mapToInt(l -> (int) (l / 2))
+            .sum();
+    }
+}
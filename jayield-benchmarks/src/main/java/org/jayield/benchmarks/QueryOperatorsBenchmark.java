@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.Query;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators.AbstractSpliterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Measures each operator of {@code org.jayield.ops} through three
+ * different pipelines over the same source:
+ * <ul>
+ *     <li>{@code xxxTraverse} - bulk traversal through {@code Query.traverse()},
+ *     i.e. the {@code Traverser} path.</li>
+ *     <li>{@code xxxAdvance} - individual traversal through successive calls
+ *     to {@code Query.tryAdvance()}, i.e. the {@code Advancer} path.</li>
+ *     <li>{@code xxxStream} - the equivalent {@code java.util.stream.Stream}
+ *     pipeline used as baseline.</li>
+ * </ul>
+ * Run it through {@link BenchmarkRunner} to get the allocation rate
+ * of each pipeline from the GC profiler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueryOperatorsBenchmark {
+
+    @Param({"10000"})
+    int size;
+
+    Integer[] data;
+    /**
+     * Source with many repetitions for the distinct operator.
+     */
+    Integer[] repeated;
+    int half;
+
+    @Setup
+    public void setup() {
+        data = new Integer[size];
+        repeated = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = i;
+            repeated[i] = i % 100;
+        }
+        half = size / 2;
+    }
+
+    /*
+     * Filter
+     */
+    @Benchmark
+    public void filterTraverse(Blackhole bh) {
+        Query.of(data).filter(n -> n % 2 == 0).traverse(bh::consume);
+    }
+    @Benchmark
+    public void filterAdvance(Blackhole bh) {
+        advance(Query.of(data).filter(n -> n % 2 == 0), bh);
+    }
+    @Benchmark
+    public void filterStream(Blackhole bh) {
+        Stream.of(data).filter(n -> n % 2 == 0).forEach(bh::consume);
+    }
+
+    /*
+     * Mapping
+     */
+    @Benchmark
+    public void mapTraverse(Blackhole bh) {
+        Query.of(data).map(n -> n * 2).traverse(bh::consume);
+    }
+    @Benchmark
+    public void mapAdvance(Blackhole bh) {
+        advance(Query.of(data).map(n -> n * 2), bh);
+    }
+    @Benchmark
+    public void mapStream(Blackhole bh) {
+        Stream.of(data).map(n -> n * 2).forEach(bh::consume);
+    }
+
+    /*
+     * FlatMap
+     */
+    @Benchmark
+    public void flatMapTraverse(Blackhole bh) {
+        Query.of(data).flatMap(n -> Query.of(n, n)).traverse(bh::consume);
+    }
+    @Benchmark
+    public void flatMapAdvance(Blackhole bh) {
+        advance(Query.of(data).flatMap(n -> Query.of(n, n)), bh);
+    }
+    @Benchmark
+    public void flatMapStream(Blackhole bh) {
+        Stream.of(data).flatMap(n -> Stream.of(n, n)).forEach(bh::consume);
+    }
+
+    /*
+     * Distinct
+     */
+    @Benchmark
+    public void distinctTraverse(Blackhole bh) {
+        Query.of(repeated).distinct().traverse(bh::consume);
+    }
+    @Benchmark
+    public void distinctAdvance(Blackhole bh) {
+        advance(Query.of(repeated).distinct(), bh);
+    }
+    @Benchmark
+    public void distinctStream(Blackhole bh) {
+        Stream.of(repeated).distinct().forEach(bh::consume);
+    }
+
+    /*
+     * Zip
+     */
+    @Benchmark
+    public void zipTraverse(Blackhole bh) {
+        Query.of(data).zip(Query.of(data), Integer::sum).traverse(bh::consume);
+    }
+    @Benchmark
+    public void zipAdvance(Blackhole bh) {
+        advance(Query.of(data).zip(Query.of(data), Integer::sum), bh);
+    }
+    @Benchmark
+    public void zipStream(Blackhole bh) {
+        zip(Stream.of(data), Stream.of(data), Integer::sum).forEach(bh::consume);
+    }
+
+    /*
+     * Skip
+     */
+    @Benchmark
+    public void skipTraverse(Blackhole bh) {
+        Query.of(data).skip(half).traverse(bh::consume);
+    }
+    @Benchmark
+    public void skipAdvance(Blackhole bh) {
+        advance(Query.of(data).skip(half), bh);
+    }
+    @Benchmark
+    public void skipStream(Blackhole bh) {
+        Stream.of(data).skip(half).forEach(bh::consume);
+    }
+
+    /*
+     * Limit
+     */
+    @Benchmark
+    public void limitTraverse(Blackhole bh) {
+        Query.of(data).limit(half).traverse(bh::consume);
+    }
+    @Benchmark
+    public void limitAdvance(Blackhole bh) {
+        advance(Query.of(data).limit(half), bh);
+    }
+    @Benchmark
+    public void limitStream(Blackhole bh) {
+        Stream.of(data).limit(half).forEach(bh::consume);
+    }
+
+    /*
+     * TakeWhile
+     */
+    @Benchmark
+    public void takeWhileTraverse(Blackhole bh) {
+        Query.of(data).takeWhile(n -> n < half).traverse(bh::consume);
+    }
+    @Benchmark
+    public void takeWhileAdvance(Blackhole bh) {
+        advance(Query.of(data).takeWhile(n -> n < half), bh);
+    }
+    @Benchmark
+    public void takeWhileStream(Blackhole bh) {
+        Stream.of(data).takeWhile(n -> n < half).forEach(bh::consume);
+    }
+
+    /*
+     * DropWhile
+     */
+    @Benchmark
+    public void dropWhileTraverse(Blackhole bh) {
+        Query.of(data).dropWhile(n -> n < half).traverse(bh::consume);
+    }
+    @Benchmark
+    public void dropWhileAdvance(Blackhole bh) {
+        advance(Query.of(data).dropWhile(n -> n < half), bh);
+    }
+    @Benchmark
+    public void dropWhileStream(Blackhole bh) {
+        Stream.of(data).dropWhile(n -> n < half).forEach(bh::consume);
+    }
+
+    /*
+     * Concat
+     */
+    @Benchmark
+    public void concatTraverse(Blackhole bh) {
+        Query.of(data).concat(Query.of(data)).traverse(bh::consume);
+    }
+    @Benchmark
+    public void concatAdvance(Blackhole bh) {
+        advance(Query.of(data).concat(Query.of(data)), bh);
+    }
+    @Benchmark
+    public void concatStream(Blackhole bh) {
+        Stream.concat(Stream.of(data), Stream.of(data)).forEach(bh::consume);
+    }
+
+    /*
+     * Peek
+     */
+    @Benchmark
+    public void peekTraverse(Blackhole bh) {
+        Query.of(data).peek(bh::consume).traverse(bh::consume);
+    }
+    @Benchmark
+    public void peekAdvance(Blackhole bh) {
+        advance(Query.of(data).peek(bh::consume), bh);
+    }
+    @Benchmark
+    public void peekStream(Blackhole bh) {
+        Stream.of(data).peek(bh::consume).forEach(bh::consume);
+    }
+
+    /**
+     * Drains the query exclusively through its Advancer.
+     */
+    static <T> void advance(Query<T> query, Blackhole bh) {
+        while (query.tryAdvance(bh::consume)) {
+            // Intentionally empty. Action specified on yield statement of tryAdvance().
+        }
+    }
+
+    /**
+     * Stream has no zip operation. This is the usual user-side
+     * implementation combining the iterators of both streams.
+     */
+    static <T, U, R> Stream<R> zip(Stream<T> a, Stream<U> b, BiFunction<? super T, ? super U, ? extends R> zipper) {
+        Iterator<T> first = a.iterator();
+        Iterator<U> second = b.iterator();
+        Spliterator<R> zipped = new AbstractSpliterator<R>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(Consumer<? super R> action) {
+                if (!first.hasNext() || !second.hasNext()) return false;
+                action.accept(zipper.apply(first.next(), second.next()));
+                return true;
+            }
+        };
+        return StreamSupport.stream(zipped, false);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.primitives.dbl.DoubleQuery;
+import org.jayield.primitives.intgr.IntQuery;
+import org.jayield.primitives.lng.LongQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reductions of primitive queries from an array of one million elements.
+ * Forks of the Vector variants add the jdk.incubator.vector module, so that
+ * jayield uses the reductions of jayield-vector. The other forks run the same
+ * code, which falls back to the scalar reductions without that module.
+ * Sums and statistics of doubles stay scalar in both, to keep their rounding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReductionsBenchmark {
+
+    static final int SIZE = 1_000_000;
+    static final String VECTOR = "--add-modules=jdk.incubator.vector";
+
+    int[] ints;
+    long[] longs;
+    double[] doubles;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(31);
+        ints = rnd.ints(SIZE).toArray();
+        longs = rnd.longs(SIZE).toArray();
+        doubles = rnd.doubles(SIZE).toArray();
+    }
+
+    @Benchmark
+    public int intSumScalar() {
+        return IntQuery.of(ints).sum();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR)
+    public int intSumVector() {
+        return IntQuery.of(ints).sum();
+    }
+
+    @Benchmark
+    public int intSumStream() {
+        return Arrays.stream(ints).sum();
+    }
+
+    @Benchmark
+    public OptionalInt intMaxScalar() {
+        return IntQuery.of(ints).max();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR)
+    public OptionalInt intMaxVector() {
+        return IntQuery.of(ints).max();
+    }
+
+    @Benchmark
+    public IntSummaryStatistics intStatisticsScalar() {
+        return IntQuery.of(ints).summaryStatistics();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR)
+    public IntSummaryStatistics intStatisticsVector() {
+        return IntQuery.of(ints).summaryStatistics();
+    }
+
+    @Benchmark
+    public long longSumScalar() {
+        return LongQuery.of(longs).sum();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR)
+    public long longSumVector() {
+        return LongQuery.of(longs).sum();
+    }
+
+    @Benchmark
+    public double doubleSumScalar() {
+        return DoubleQuery.of(doubles).sum();
+    }
+
+    @Benchmark
+    public double doubleSumStream() {
+        return Arrays.stream(doubles).sum();
+    }
+
+    @Benchmark
+    public DoubleSummaryStatistics doubleStatisticsScalar() {
+        return DoubleQuery.of(doubles).summaryStatistics();
+    }
+
+    @Benchmark
+    public OptionalDouble doubleMaxScalar() {
+        return DoubleQuery.of(doubles).max();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR)
+    public OptionalDouble doubleMaxVector() {
+        return DoubleQuery.of(doubles).max();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.Query;
+import org.jayield.Yield;
+import org.jayield.boxes.BoolBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-circuit-heavy queries, finding the element {@code matchAt},
+ * stopped either by throwing through {@code Yield.bye()} inside
+ * {@code shortCircuit()} or cooperatively through {@code traverseWhile()}.
+ * The nested variants find it inside the inner queries of a flatMap,
+ * so the exception unwinds through both traversals.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShortCircuitBenchmark {
+
+    @Param({"10", "10000"})
+    int matchAt;
+
+    Integer[] data;
+    Integer[] outer;
+    Integer[] inner;
+
+    @Setup
+    public void setup() {
+        data = new Integer[matchAt * 2];
+        for (int i = 0; i < data.length; i++) data[i] = i;
+        inner = new Integer[10];
+        for (int i = 0; i < inner.length; i++) inner[i] = i;
+        outer = new Integer[Math.max(matchAt / inner.length, 1) * 2];
+        for (int i = 0; i < outer.length; i++) outer[i] = i * inner.length;
+    }
+
+    Query<Integer> flat() {
+        return Query.of(data).filter(n -> n >= 0).map(n -> n + 1);
+    }
+
+    Query<Integer> nested() {
+        return Query.of(outer).flatMap(n -> Query.of(inner).map(i -> n + i + 1));
+    }
+
+    @Benchmark
+    public boolean flatException() {
+        return findByException(flat());
+    }
+
+    @Benchmark
+    public boolean flatCooperative() {
+        return flat().traverseWhile(n -> n != matchAt);
+    }
+
+    @Benchmark
+    public boolean flatStream() {
+        return Arrays.stream(data).filter(n -> n >= 0).map(n -> n + 1).anyMatch(n -> n == matchAt);
+    }
+
+    @Benchmark
+    public boolean nestedException() {
+        return findByException(nested());
+    }
+
+    @Benchmark
+    public boolean nestedCooperative() {
+        return nested().traverseWhile(n -> n != matchAt);
+    }
+
+    @Benchmark
+    public boolean nestedStream() {
+        return Arrays.stream(outer)
+            .flatMap(n -> Arrays.stream(inner).map(i -> n + i + 1))
+            .anyMatch(n -> n == matchAt);
+    }
+
+    private boolean findByException(Query<Integer> query) {
+        BoolBox found = new BoolBox();
+        query.shortCircuit(n -> {
+            if(n == matchAt) {
+                found.set();
+                Yield.bye();
+            }
+        });
+        return !found.isTrue();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.Query;
+import org.jayield.SpillConfig;
+import org.jayield.primitives.intgr.IntQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sum of the hashes of a million sorted values, either sorted in memory
+ * or through an external sort keeping a tenth of them in memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpillSortBenchmark {
+
+    static final int SIZE = 1_000_000;
+    static final int BUDGET = SIZE / 10;
+
+    int[] ints;
+    String[] strings;
+
+    @Setup
+    public void setup() {
+        ints = new Random(7).ints(SIZE).toArray();
+        strings = IntQuery.of(ints).mapToObj(Integer::toHexString).toArray(String[]::new);
+    }
+
+    @Benchmark
+    public long intInMemory() {
+        return IntQuery.of(ints).sorted().asLongQuery().sum();
+    }
+
+    @Benchmark
+    public long intSpill() {
+        return IntQuery.of(ints).sorted(SpillConfig.of(BUDGET)).asLongQuery().sum();
+    }
+
+    @Benchmark
+    public int stringInMemory() {
+        return Query.of(strings).sorted(Comparator.<String>naturalOrder()).mapToInt(String::hashCode).sum();
+    }
+
+    @Benchmark
+    public int stringSpill() {
+        SpillConfig<String> config = SpillConfig.of(BUDGET).serializer(SpillConfig.Serializer.strings());
+        return Query.of(strings).sorted(Comparator.naturalOrder(), config).mapToInt(String::hashCode).sum();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.benchmarks;
+
+import org.jayield.Query;
+import org.jayield.primitives.intgr.IntQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The highest 100 of a million random values, either through sorted().limit(),
+ * which keeps them in a bounded heap, or through a full sort of all values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TopKBenchmark {
+
+    static final int SIZE = 1_000_000;
+    static final int K = 100;
+
+    Integer[] boxed;
+    int[] ints;
+
+    @Setup
+    public void setup() {
+        ints = new Random(7).ints(SIZE).toArray();
+        boxed = Arrays.stream(ints).boxed().toArray(Integer[]::new);
+    }
+
+    @Benchmark
+    public List<Integer> sortedLimit() {
+        return Query.of(boxed).sorted(Comparator.<Integer>reverseOrder()).limit(K).toList();
+    }
+
+    @Benchmark
+    public List<Integer> fullSort() {
+        Integer[] copy = boxed.clone();
+        Arrays.sort(copy, Comparator.reverseOrder());
+        return Query.of(copy).limit(K).toList();
+    }
+
+    @Benchmark
+    public List<Integer> streamSortedLimit() {
+        return Arrays.stream(boxed).sorted(Comparator.reverseOrder()).limit(K).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int[] intSortedLimit() {
+        return IntQuery.of(ints).sorted().limit(K).toArray();
+    }
+
+    @Benchmark
+    public int[] intFullSort() {
+        int[] copy = ints.clone();
+        Arrays.sort(copy);
+        return IntQuery.of(copy).limit(K).toArray();
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.vector;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.jayield.primitives.ArrayReductions;
+
+import java.util.IntSummaryStatistics;
+import java.util.LongSummaryStatistics;
+
+/**
+ * Reductions of primitive arrays through the lanes of the preferred vector
+ * species of the platform, followed by a scalar loop over the remaining
+ * elements that do not fill a vector.
+ * Sums of int values are accumulated in long lanes, so they do not overflow.
+ * Sums of double values are left to the scalar loops of ArrayReductions,
+ * because adding them per lane, thus in another order, would round them
+ * differently depending on whether this module is on the class path.
+ */
+public class VectorReductions extends ArrayReductions {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    /**
+     * Long lanes of the same shape, holding each half of an int vector.
+     */
+    private static final VectorSpecies<Long> WIDENED = VectorSpecies.of(long.class, INTS.vectorShape());
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    public VectorReductions() {
+    }
+
+    @Override
+    public long sum(int[] data, int from, int to) {
+        LongVector acc = LongVector.zero(WIDENED);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, data, i);
+            acc = acc.add(v.convert(VectorOperators.I2L, 0)).add(v.convert(VectorOperators.I2L, 1));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += data[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int min(int[] data, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, data[from]);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.min(IntVector.fromArray(INTS, data, i));
+        }
+        int min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            min = Math.min(min, data[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public int max(int[] data, int from, int to) {
+        IntVector acc = IntVector.broadcast(INTS, data[from]);
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            acc = acc.max(IntVector.fromArray(INTS, data, i));
+        }
+        int max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            max = Math.max(max, data[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public IntSummaryStatistics summaryStatistics(int[] data, int from, int to) {
+        if(from == to) return new IntSummaryStatistics();
+        LongVector sums = LongVector.zero(WIDENED);
+        IntVector mins = IntVector.broadcast(INTS, data[from]);
+        IntVector maxs = mins;
+        int i = from;
+        for (int bound = from + INTS.loopBound(to - from); i < bound; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, data, i);
+            sums = sums.add(v.convert(VectorOperators.I2L, 0)).add(v.convert(VectorOperators.I2L, 1));
+            mins = mins.min(v);
+            maxs = maxs.max(v);
+        }
+        long sum = sums.reduceLanes(VectorOperators.ADD);
+        int min = mins.reduceLanes(VectorOperators.MIN);
+        int max = maxs.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            sum += data[i];
+            min = Math.min(min, data[i]);
+            max = Math.max(max, data[i]);
+        }
+        return new IntSummaryStatistics(to - from, min, max, sum);
+    }
+
+    @Override
+    public long sum(long[] data, int from, int to) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.add(LongVector.fromArray(LONGS, data, i));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += data[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long min(long[] data, int from, int to) {
+        LongVector acc = LongVector.broadcast(LONGS, data[from]);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.min(LongVector.fromArray(LONGS, data, i));
+        }
+        long min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            min = Math.min(min, data[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public long max(long[] data, int from, int to) {
+        LongVector acc = LongVector.broadcast(LONGS, data[from]);
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            acc = acc.max(LongVector.fromArray(LONGS, data, i));
+        }
+        long max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            max = Math.max(max, data[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public LongSummaryStatistics summaryStatistics(long[] data, int from, int to) {
+        if(from == to) return new LongSummaryStatistics();
+        LongVector sums = LongVector.zero(LONGS);
+        LongVector mins = LongVector.broadcast(LONGS, data[from]);
+        LongVector maxs = mins;
+        int i = from;
+        for (int bound = from + LONGS.loopBound(to - from); i < bound; i += LONGS.length()) {
+            LongVector v = LongVector.fromArray(LONGS, data, i);
+            sums = sums.add(v);
+            mins = mins.min(v);
+            maxs = maxs.max(v);
+        }
+        long sum = sums.reduceLanes(VectorOperators.ADD);
+        long min = mins.reduceLanes(VectorOperators.MIN);
+        long max = maxs.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            sum += data[i];
+            min = Math.min(min, data[i]);
+            max = Math.max(max, data[i]);
+        }
+        return new LongSummaryStatistics(to - from, min, max, sum);
+    }
+
+    /**
+     * Lanes follow Math.min, so a NaN or a zero, which may be negative,
+     * leave the result to the scalar loop keeping the first lowest element.
+     */
+    @Override
+    public double min(double[] data, int from, int to) {
+        double min = minOf(data, from, to);
+        return Double.isNaN(min) || min == 0 ? super.min(data, from, to) : min;
+    }
+
+    /**
+     * Lanes follow Math.max, so a NaN or a zero, which may be negative,
+     * leave the result to the scalar loop keeping the first greatest element.
+     */
+    @Override
+    public double max(double[] data, int from, int to) {
+        double max = maxOf(data, from, to);
+        return Double.isNaN(max) || max == 0 ? super.max(data, from, to) : max;
+    }
+
+    private static double minOf(double[] data, int from, int to) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLES, data[from]);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            acc = acc.min(DoubleVector.fromArray(DOUBLES, data, i));
+        }
+        double min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            min = Math.min(min, data[i]);
+        }
+        return min;
+    }
+
+    private static double maxOf(double[] data, int from, int to) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLES, data[from]);
+        int i = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); i < bound; i += DOUBLES.length()) {
+            acc = acc.max(DoubleVector.fromArray(DOUBLES, data, i));
+        }
+        double max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            max = Math.max(max, data[i]);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.vector;
+
+import org.jayield.primitives.ArrayReductions;
+import org.jayield.primitives.dbl.DoubleQuery;
+import org.jayield.primitives.intgr.IntQuery;
+import org.jayield.primitives.lng.LongQuery;
+import org.testng.annotations.Test;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate the vector reductions against the scalar
+ * ones, for every length up to a few vectors and every start of range,
+ * so that both the lanes and the remaining elements are involved.
+ */
+public class VectorReductionsTest {
+
+    private static final int SIZE = 67;
+    private static final ArrayReductions scalar = new ArrayReductions() { };
+    private static final VectorReductions vector = new VectorReductions();
+
+    @Test
+    public void testLoadedByServiceLoader() {
+        assertTrue(ArrayReductions.get() instanceof VectorReductions);
+        assertEquals(IntQuery.of(1, 2, 3, 4, 5, 6, 7, 8, 9).sum(), 45);
+    }
+
+    @Test
+    public void testIntReductions() {
+        int[] data = new Random(3).ints(SIZE).toArray();
+        for (int from = 0; from < SIZE; from++) {
+            for (int to = from + 1; to <= SIZE; to++) {
+                assertEquals(vector.sum(data, from, to), scalar.sum(data, from, to));
+                assertEquals(vector.min(data, from, to), scalar.min(data, from, to));
+                assertEquals(vector.max(data, from, to), scalar.max(data, from, to));
+                assertEquals(
+                    vector.summaryStatistics(data, from, to).toString(),
+                    scalar.summaryStatistics(data, from, to).toString());
+            }
+        }
+        assertEquals(vector.summaryStatistics(data, 3, 3).getCount(), 0);
+    }
+
+    @Test
+    public void testIntSumDoesNotOverflow() {
+        int[] data = IntQuery.generate(() -> Integer.MAX_VALUE).limit(SIZE).toArray();
+        assertEquals(vector.sum(data, 0, SIZE), (long) Integer.MAX_VALUE * SIZE);
+        assertEquals(IntQuery.of(data).sum(), Integer.MAX_VALUE * SIZE);
+        assertEquals(IntQuery.of(data).average().getAsDouble(), Integer.MAX_VALUE, 0);
+    }
+
+    @Test
+    public void testLongReductions() {
+        long[] data = new Random(5).longs(SIZE).toArray();
+        for (int from = 0; from < SIZE; from++) {
+            for (int to = from + 1; to <= SIZE; to++) {
+                assertEquals(vector.sum(data, from, to), scalar.sum(data, from, to));
+                assertEquals(vector.min(data, from, to), scalar.min(data, from, to));
+                assertEquals(vector.max(data, from, to), scalar.max(data, from, to));
+                assertEquals(
+                    vector.summaryStatistics(data, from, to).toString(),
+                    scalar.summaryStatistics(data, from, to).toString());
+            }
+        }
+        assertEquals(LongQuery.of(data).skip(2).limit(40).sum(), scalar.sum(data, 2, 42));
+    }
+
+    @Test
+    public void testDoubleReductions() {
+        double[] data = new Random(7).doubles(SIZE, -100, 100).toArray();
+        for (int from = 0; from < SIZE; from++) {
+            for (int to = from + 1; to <= SIZE; to++) {
+                assertEquals(vector.sum(data, from, to), scalar.sum(data, from, to));
+                assertEquals(vector.min(data, from, to), scalar.min(data, from, to));
+                assertEquals(vector.max(data, from, to), scalar.max(data, from, to));
+                DoubleSummaryStatistics actual = vector.summaryStatistics(data, from, to);
+                DoubleSummaryStatistics expected = scalar.summaryStatistics(data, from, to);
+                assertEquals(actual.getCount(), expected.getCount());
+                assertEquals(actual.getMin(), expected.getMin());
+                assertEquals(actual.getMax(), expected.getMax());
+                assertEquals(actual.getSum(), expected.getSum());
+            }
+        }
+        assertEquals(DoubleQuery.of(data).sum(), DoubleQuery.of(data).map(x -> x).sum());
+        assertEquals(DoubleQuery.of(data).sum(), DoubleQuery.iterate(0, i -> i + 1).limit(SIZE).map(i -> data[(int) i]).sum());
+    }
+
+    @Test
+    public void testDoubleMinMaxWithNaNAndZeros() {
+        double[] data = new Random(9).doubles(SIZE, 1, 2).toArray();
+        data[SIZE / 2] = Double.NaN;
+        assertEquals(vector.min(data, 0, SIZE), scalar.min(data, 0, SIZE));
+        assertEquals(vector.max(data, 0, SIZE), scalar.max(data, 0, SIZE));
+        assertTrue(Double.isNaN(vector.summaryStatistics(data, 0, SIZE).getMin()));
+        data[SIZE / 2] = 0.0;
+        data[SIZE - 1] = -0.0;
+        assertEquals(vector.min(data, 0, SIZE), scalar.min(data, 0, SIZE));
+        data[0] = -0.0;
+        data[SIZE / 2] = -5;
+        assertEquals(vector.min(data, 0, SIZE), -5.0);
+        for (int i = 0; i < SIZE; i++) {
+            data[i] = -data[i];
+        }
+        assertEquals(vector.max(data, 0, SIZE), scalar.max(data, 0, SIZE));
+    }
+}
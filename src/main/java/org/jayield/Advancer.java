@@ -19,7 +19,7 @@ package org.jayield;
 /**
  * Sequential traverser with internal and individually step approach.
  */
-public interface Advancer<T> {
+public interface Advancer<T> extends Characteristics {
     /**
      * If a remaining element exists, yields that element through
      * the given action.
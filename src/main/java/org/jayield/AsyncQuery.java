@@ -22,13 +22,19 @@ import org.jayield.async.AsyncQueryFlatMapConcat;
 import org.jayield.async.AsyncQueryFlatMapMerge;
 import org.jayield.async.AsyncQueryFork;
 import org.jayield.async.AsyncQueryMap;
+import org.jayield.async.AsyncQueryObserveOn;
 import org.jayield.async.AsyncQueryOf;
 import org.jayield.async.AsyncQueryOfIterator;
 import org.jayield.async.AsyncQueryOnNext;
 import org.jayield.async.AsyncQuerySkip;
+import org.jayield.async.AsyncQuerySubscribeOn;
 import org.jayield.async.AsyncQueryTakeWhile;
+import org.jayield.async.PushSubscription;
+import org.jayield.async.VirtualThreads;
 
 import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -36,11 +42,13 @@ import java.util.function.Predicate;
 /**
  * An asynchronous sequence of elements supporting sequential operations.
  * Query operations are composed into a pipeline to perform computation.
+ * An AsyncQuery is also a {@link Flow.Publisher} whose items are emitted
+ * only as they are requested through the {@link Flow.Subscription}.
  *
  * @author Miguel Gamboa
  *         created on 07-07-2020
  */
-public abstract class AsyncQuery<T> implements AsyncTraverser<T>{
+public abstract class AsyncQuery<T> implements AsyncTraverser<T>, Flow.Publisher<T> {
 
     /**
      * Returns an asynchronous sequential ordered query whose elements
@@ -63,6 +71,24 @@ public abstract class AsyncQuery<T> implements AsyncTraverser<T>{
     public static <U> AsyncQuery<U> fork(U...data) {
         return new AsyncQueryFork<>(data);
     }
+    /**
+     * Returns an asynchronous sequential ordered query whose elements
+     * are the specified values in data parameter running on the given executor.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <U> AsyncQuery<U> fork(Executor executor, U...data) {
+        return new AsyncQueryFork<>(data, executor);
+    }
+    /**
+     * Returns an Executor starting a virtual thread per task, suited to
+     * very many concurrent blocking producers.
+     * On runtimes without virtual threads (before JDK 21) it falls back
+     * to a cached pool of daemon platform threads.
+     */
+    public static Executor virtualThreadPerTask() {
+        return VirtualThreads.executor();
+    }
 
     /**
      * Returns a new asynchronous query emitting the same items of this query,
@@ -122,10 +148,55 @@ public abstract class AsyncQuery<T> implements AsyncTraverser<T>{
         return new AsyncQueryFlatMapConcat<>(this, mapper);
     }
 
+    /**
+     * Returns an asynchronous query consisting of the results of replacing each element of
+     * this query with the contents of a mapped query produced by applying
+     * the provided mapping function to each element.
+     * Items of inner queries are interleaved as they arrive and at most
+     * {@link java.util.concurrent.Flow#defaultBufferSize()} inner queries run at the same time.
+     */
     public final <R> AsyncQuery<R> flatMapMerge(Function<? super T,? extends AsyncQuery<? extends R>> mapper) {
         return new AsyncQueryFlatMapMerge<>(this, mapper);
     }
 
+    /**
+     * Same as {@link #flatMapMerge(Function)} but running at most
+     * maxConcurrency inner queries at the same time.
+     */
+    public final <R> AsyncQuery<R> flatMapMerge(Function<? super T,? extends AsyncQuery<? extends R>> mapper, int maxConcurrency) {
+        return new AsyncQueryFlatMapMerge<>(this, mapper, maxConcurrency);
+    }
+
+    /**
+     * Subscribes the given Subscriber that receives items only after
+     * requesting them through {@link Flow.Subscription#request(long)}.
+     * Built-in sources and operators propagate that demand upstream.
+     * Otherwise, this default implementation subscribes this query through
+     * {@link #subscribe(java.util.function.BiConsumer)} and buffers the
+     * items that have not been requested yet.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        new PushSubscription<>(this, subscriber).start();
+    }
+
+    /**
+     * Returns a new asynchronous query that subscribes this query on the given executor.
+     * Thus, a synchronous source, such as of(Iterator), emits its items on that executor,
+     * isolating blocking producers from the subscriber's thread.
+     */
+    public final AsyncQuery<T> subscribeOn(Executor executor) {
+        return new AsyncQuerySubscribeOn<>(this, executor);
+    }
+
+    /**
+     * Returns a new asynchronous query that emits the items of this query on
+     * the given executor, one at a time and in the same order.
+     */
+    public final AsyncQuery<T> observeOn(Executor executor) {
+        return new AsyncQueryObserveOn<>(this, executor);
+    }
+
     public final void blockingSubscribe() {
         this
             .subscribe((item, err) -> { })
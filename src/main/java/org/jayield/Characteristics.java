@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import java.util.Spliterator;
+
+/**
+ * Optional metadata of an {@link Advancer} or {@link Traverser}, with the
+ * same meaning of the homonymous flags of a {@link Spliterator}.
+ * By default nothing is known about the elements.
+ */
+public interface Characteristics {
+    int ORDERED = Spliterator.ORDERED;
+    int DISTINCT = Spliterator.DISTINCT;
+    int SORTED = Spliterator.SORTED;
+    int SIZED = Spliterator.SIZED;
+    int NONNULL = Spliterator.NONNULL;
+
+    /**
+     * Returns the set of characteristics of the remaining elements.
+     */
+    default int characteristics() {
+        return 0;
+    }
+
+    /**
+     * Returns the exact number of remaining elements if this is
+     * {@link #SIZED}, or -1 otherwise.
+     */
+    default long getExactSizeIfKnown() {
+        return -1;
+    }
+}
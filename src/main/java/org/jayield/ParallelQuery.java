@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.jayield.ops.FromSpliterator;
+import org.jayield.ops.OnClose;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * A sequence of elements supporting parallel operations.
+ * The source is split into chunks and the operator chain
+ * is applied to each chunk on a {@link ForkJoinPool}.
+ * Terminal operations merge the partial results of each chunk
+ * keeping the encounter order of the source.
+ *
+ * Intermediate operations are restricted to stateless ones
+ * (map, filter, flatMap and peek). Use {@link #sequential()}
+ * to proceed with any other operation of {@link Query}.
+ */
+public class ParallelQuery<T> implements AutoCloseable {
+
+    private final Spliterator<Object> source;
+    /**
+     * The operator chain applied to the query of each chunk.
+     */
+    private final Function<Query<Object>, Query<T>> pipeline;
+    private final ForkJoinPool pool;
+    /**
+     * Close handlers of this query and of its upstream, or null.
+     */
+    private final Runnable onClose;
+
+    public ParallelQuery(Spliterator<T> source, ForkJoinPool pool) {
+        this(source, pool, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ParallelQuery(Spliterator<T> source, ForkJoinPool pool, Runnable onClose) {
+        this((Spliterator) source, query -> (Query) query, pool, onClose);
+    }
+
+    private ParallelQuery(
+        Spliterator<Object> source,
+        Function<Query<Object>, Query<T>> pipeline,
+        ForkJoinPool pool,
+        Runnable onClose)
+    {
+        this.source = source;
+        this.pipeline = pipeline;
+        this.pool = pool;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Returns an equivalent parallel query that additionally runs the
+     * given handler on close(), after the handlers of this query.
+     */
+    public final ParallelQuery<T> onClose(Runnable handler) {
+        return new ParallelQuery<>(source, pipeline, pool, OnClose.compose(onClose, handler));
+    }
+
+    /**
+     * Runs the close handlers of this query and of its upstream, once.
+     * Terminal operations close the query when they finish.
+     */
+    @Override
+    public void close() {
+        if(onClose != null) onClose.run();
+    }
+
+    /**
+     * Returns a parallel query consisting of the results of applying the given
+     * function to the elements of this query.
+     */
+    public final <R> ParallelQuery<R> map(Function<? super T, ? extends R> mapper) {
+        return then(query -> query.map(mapper));
+    }
+
+    /**
+     * Returns a parallel query consisting of the elements of this query that match
+     * the given predicate.
+     */
+    public final ParallelQuery<T> filter(Predicate<? super T> p) {
+        return then(query -> query.filter(p));
+    }
+
+    /**
+     * Returns a parallel query consisting of the results of replacing each element of
+     * this query with the contents of a mapped query produced by applying
+     * the provided mapping function to each element.
+     */
+    public final <R> ParallelQuery<R> flatMap(Function<? super T, ? extends Query<? extends R>> mapper) {
+        return then(query -> query.flatMap(mapper));
+    }
+
+    /**
+     * Returns a parallel query consisting of the elements of this query, additionally
+     * performing the provided action on each element as elements are consumed.
+     * The action may be performed at different times and in different threads.
+     */
+    public final ParallelQuery<T> peek(Consumer<? super T> action) {
+        return then(query -> query.peek(action));
+    }
+
+    /**
+     * Returns a sequential ordered {@link Query} with the elements of
+     * this query, which are processed in the current thread.
+     */
+    public final Query<T> sequential() {
+        FromSpliterator<Object> src = new FromSpliterator<>(source);
+        return pipeline.apply(new Query<>(src, src, onClose));
+    }
+
+    /**
+     * Performs the given action for each element of this query.
+     * The action may be performed at different times and in different
+     * threads, without respecting the encounter order.
+     */
+    public final void forEach(Yield<? super T> yield) {
+        evaluate(query -> {
+            query.traverse(yield);
+            return null;
+        }, (left, right) -> null);
+    }
+
+    /**
+     * Returns a list containing the elements of this query in encounter order.
+     */
+    public final List<T> toList() {
+        return evaluate(Query::toList, (left, right) -> {
+            left.addAll(right);
+            return left;
+        });
+    }
+
+    /**
+     * Returns the count of elements in this query.
+     */
+    public final long count() {
+        return evaluate(Query::count, Long::sum);
+    }
+
+    /**
+     * Returns the result of the reduction of the elements of this query,
+     * using the provided identity value and the associative accumulator,
+     * which is also used to merge the partial results.
+     */
+    public final T reduce(T identity, BinaryOperator<T> accumulator) {
+        return evaluate(query -> query.reduce(identity, accumulator), accumulator);
+    }
+
+    /**
+     * Returns an {@link Optional} with the resulting reduction of the elements of
+     * this query, if a reduction can be made, using the provided associative accumulator.
+     */
+    public final Optional<T> reduce(BinaryOperator<T> accumulator) {
+        return evaluate(query -> query.reduce(accumulator), (left, right) -> {
+            if(!left.isPresent()) return right;
+            if(!right.isPresent()) return left;
+            return Optional.of(accumulator.apply(left.get(), right.get()));
+        });
+    }
+
+    /**
+     * Performs a mutable reduction operation on the elements of this query.
+     * Each chunk is accumulated into its own result container, which are
+     * merged in encounter order through the given combiner.
+     */
+    public final <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super T> accumulator, BiConsumer<R, R> combiner) {
+        return evaluate(query -> query.collect(supplier, accumulator), (left, right) -> {
+            combiner.accept(left, right);
+            return left;
+        });
+    }
+
+    /**
+     * Performs a mutable reduction operation on the elements of this query
+     * using a {@link Collector}.
+     * Each chunk is accumulated into its own container, which are merged in
+     * encounter order through the combiner of the collector.
+     * Unless the collector is both {@code CONCURRENT} and {@code UNORDERED},
+     * in which case all chunks are accumulated into a single shared container.
+     */
+    public final <A, R> R collect(Collector<? super T, A, R> collector) {
+        Set<Collector.Characteristics> flags = collector.characteristics();
+        Supplier<A> supplier = collector.supplier();
+        BiConsumer<A, ? super T> accumulator = collector.accumulator();
+        A container;
+        if(flags.contains(Collector.Characteristics.CONCURRENT) && flags.contains(Collector.Characteristics.UNORDERED)) {
+            A shared = supplier.get();
+            forEach(item -> accumulator.accept(shared, item));
+            container = shared;
+        } else {
+            container = evaluate(query -> query.collect(supplier, accumulator), collector.combiner());
+        }
+        return Query.finish(collector, container);
+    }
+
+    /**
+     * Returns whether any elements of this query match the provided
+     * predicate. As soon as a match is found the traversal of the
+     * remaining chunks is stopped.
+     */
+    public final boolean anyMatch(Predicate<? super T> p) {
+        AtomicBoolean found = new AtomicBoolean();
+        return evaluate(query -> {
+            query.traverseWhile(item -> {
+                if(found.get()) return false;
+                if(p.test(item)) found.set(true);
+                return !found.get();
+            });
+            return found.get();
+        }, (left, right) -> left || right);
+    }
+
+    /**
+     * Returns whether all elements of this query match the provided predicate.
+     */
+    public final boolean allMatch(Predicate<? super T> p) {
+        return !this.anyMatch(p.negate());
+    }
+
+    /**
+     * Returns whether no elements of this query match the provided predicate.
+     */
+    public final boolean noneMatch(Predicate<? super T> p) {
+        return !this.anyMatch(p);
+    }
+
+    private <R> ParallelQuery<R> then(Function<Query<T>, Query<R>> next) {
+        return new ParallelQuery<>(source, pipeline.andThen(next), pool, onClose);
+    }
+
+    /**
+     * Splits the source into chunks and applies the pipeline followed by
+     * the {@code leaf} terminal operation to each chunk.
+     * Partial results are merged with {@code combiner} in encounter order.
+     */
+    private <R> R evaluate(Function<Query<T>, R> leaf, BinaryOperator<R> combiner) {
+        long threshold = Math.max(source.estimateSize() / (pool.getParallelism() << 2), 1);
+        try {
+            return pool.invoke(new Chunk<>(source, threshold, leaf, combiner));
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Keeps splitting off prefixes of its spliterator, which are forked, and
+     * evaluates the remaining suffix itself. Thus, unbalanced sources, such as
+     * the batches of an {@link java.util.Spliterators.AbstractSpliterator},
+     * are split in a loop rather than through deep recursion.
+     */
+    private class Chunk<R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final Spliterator<Object> split;
+        private final long threshold;
+        private final Function<Query<T>, R> leaf;
+        private final BinaryOperator<R> combiner;
+
+        Chunk(Spliterator<Object> split, long threshold, Function<Query<T>, R> leaf, BinaryOperator<R> combiner) {
+            this.split = split;
+            this.threshold = threshold;
+            this.leaf = leaf;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            List<Chunk<R>> prefixes = new ArrayList<>();
+            Spliterator<Object> prefix;
+            while(split.estimateSize() > threshold && (prefix = split.trySplit()) != null) {
+                Chunk<R> left = new Chunk<>(prefix, threshold, leaf, combiner);
+                left.fork();
+                prefixes.add(left);
+            }
+            FromSpliterator<Object> src = new FromSpliterator<>(split);
+            R res = leaf.apply(pipeline.apply(new Query<>(src, src)));
+            /*
+             * Joins the last forked prefix first, which is the most likely
+             * to be still in the local queue and run by this thread.
+             */
+            for (int i = prefixes.size() - 1; i >= 0; i--) {
+                res = combiner.apply(prefixes.get(i).join(), res);
+            }
+            return res;
+        }
+    }
+}
@@ -17,23 +17,37 @@
 package org.jayield;
 
 import org.jayield.ops.FromArray;
+import org.jayield.ops.Cached;
+import org.jayield.ops.Compiled;
 import org.jayield.ops.Concat;
 import org.jayield.ops.Distinct;
 import org.jayield.ops.DropWhile;
+import org.jayield.ops.FanOut;
 import org.jayield.ops.Filter;
 import org.jayield.ops.FlatMap;
+import org.jayield.ops.Fused;
 import org.jayield.ops.Generate;
 import org.jayield.ops.Iterate;
 import org.jayield.ops.Limit;
+import org.jayield.ops.FromLines;
 import org.jayield.ops.FromList;
 import org.jayield.ops.Mapping;
+import org.jayield.ops.OnClose;
 import org.jayield.ops.Peek;
 import org.jayield.ops.Skip;
+import org.jayield.ops.Sorted;
+import org.jayield.ops.Specializer;
+import org.jayield.ops.SpillSorted;
 import org.jayield.ops.FromStream;
+import org.jayield.ops.FromTraverser;
 import org.jayield.ops.TakeWhile;
+import org.jayield.ops.TopK;
 import org.jayield.ops.Zip;
-import org.jayield.boxes.BoolBox;
 import org.jayield.boxes.Box;
+import org.jayield.collections.IntHashMap;
+import org.jayield.collections.IntLongHashMap;
+import org.jayield.collections.LongHashMap;
+import org.jayield.collections.LongLongHashMap;
 import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
@@ -44,27 +58,35 @@ import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators.AbstractSpliterator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.ToDoubleFunction;
 import java.util.function.ToIntFunction;
 import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
+import java.util.stream.Collector;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -76,14 +98,47 @@ import java.util.stream.StreamSupport;
  * @author Miguel Gamboa
  *         created on 04-06-2017
  */
-public class Query<T> {
+public class Query<T> implements AutoCloseable {
 
     private final Advancer<T> adv;
     private final Traverser<T> trav;
+    /**
+     * Close handlers of this query and of its upstream, or null.
+     */
+    private final Runnable onClose;
 
     public Query(Advancer<T> adv, Traverser<T> trav) {
+        this(adv, trav, null);
+    }
+
+    /**
+     * A query with the given close handlers, which are usually the ones
+     * of the query that adv and trav come from.
+     */
+    public Query(Advancer<T> adv, Traverser<T> trav, Runnable onClose) {
         this.adv = adv;
         this.trav = trav;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Returns an equivalent query that additionally runs the given handler
+     * on close(), after the handlers of this query.
+     * Queries derived from the resulting one run it on close() too.
+     */
+    public final Query<T> onClose(Runnable handler) {
+        return new Query<>(adv, trav, OnClose.compose(onClose, handler));
+    }
+
+    /**
+     * Runs the close handlers of this query and of its upstream, once.
+     * Terminal operations other than traverse(), traverseWhile(),
+     * tryAdvance() and shortCircuit() close the query when they finish,
+     * either normally, by short-circuiting, or by throwing.
+     */
+    @Override
+    public void close() {
+        if(onClose != null) onClose.run();
     }
 
     /**
@@ -103,10 +158,39 @@ public class Query<T> {
     }
 
 
+    /**
+     * Yields elements sequentially in the current thread,
+     * while yield returns true and until all elements have been processed.
+     * Unlike shortCircuit(), built-in operations finish cooperatively
+     * without throwing, and nested traversals, e.g. of flatMap, stop at
+     * the right level.
+     *
+     * @return false if the traversal was stopped by yield.
+     */
+    public final boolean traverseWhile(YieldWhile<? super T> yield) {
+        return this.trav.traverseWhile(yield);
+    }
+
+    /**
+     * Returns the {@link Characteristics} of the remaining elements of this query.
+     */
+    public final int characteristics() {
+        return trav.characteristics();
+    }
+
+    /**
+     * Returns the exact number of remaining elements of this query, without
+     * traversing it, if it is {@link Characteristics#SIZED}, or -1 otherwise.
+     */
+    public final long getExactSizeIfKnown() {
+        return (trav.characteristics() & Characteristics.SIZED) == 0 ? -1 : trav.getExactSizeIfKnown();
+    }
+
     /**
      * Yields elements sequentially in the current thread,
      * until all elements have been processed or the traversal
      * exited normally through the invocation of yield.bye().
+     * Prefer traverseWhile() which does not unwind the stack through an exception.
      */
     public final void shortCircuit(Yield<T> yield) {
         try{
@@ -140,7 +224,31 @@ public class Query<T> {
      */
     public static <U> Query<U> fromStream(Stream<U> data) {
         FromStream<U> adv = new FromStream<>(data);
-        return new Query<>(adv, adv);
+        return new Query<>(adv, adv, data::close);
+    }
+
+    /**
+     * Returns a sequential ordered query with the lines of the text file at
+     * path, decoded with the given charset.
+     * The file is read through NIO in large buffers and closed after its last line.
+     *
+     * @throws java.io.UncheckedIOException if the file cannot be opened.
+     */
+    public static Query<String> lines(Path path, Charset charset) {
+        return lineViews(path, charset).map(CharSequence::toString);
+    }
+
+    /**
+     * Returns a sequential ordered query with the lines of the text file at
+     * path, as in {@link #lines(Path, Charset)}, but without a new String per line.
+     * Each line is a view that is only valid until the next one,
+     * thus it must be copied, e.g. by toString(), to be kept.
+     *
+     * @throws java.io.UncheckedIOException if the file cannot be opened.
+     */
+    public static Query<CharSequence> lineViews(Path path, Charset charset) {
+        FromLines adv = new FromLines(path, charset);
+        return new Query<>(adv, adv, adv::close);
     }
 
     /**
@@ -158,10 +266,13 @@ public class Query<T> {
     /**
      * Returns a query consisting of the results of applying the given
      * function to the elements of this query.
+     * Fused with the previous stage when that is a map, filter or peek.
      */
     public final <R> Query<R> map(Function<? super T,? extends R> mapper) {
+        Fused<?, R> fused = Fused.map(adv, trav, mapper);
+        if(fused != null) return new Query<>(fused, fused, onClose);
         Mapping<T, R> map = new Mapping<>(this, mapper);
-        return new Query<>(map, map);
+        return new Query<>(map, map, onClose);
     }
 
     /**
@@ -170,7 +281,7 @@ public class Query<T> {
      */
     public final <U, R> Query<R> zip(Query<U> other, BiFunction<? super T, ? super U, ? extends R> zipper) {
         Zip<T, U, R> zip = new Zip<>(this, other, zipper);
-        return new Query<>(zip, zip);
+        return new Query<>(zip, zip, OnClose.compose(onClose, other.onClose));
     }
 
     /**
@@ -181,7 +292,7 @@ public class Query<T> {
      *         ToIntFunction used to map elements of this {@code Query} to int
      */
     public final IntQuery mapToInt(ToIntFunction<? super T> mapper) {
-        return new IntQuery(IntAdvancer.from(adv, mapper), IntTraverser.from(trav, mapper));
+        return new IntQuery(IntAdvancer.from(adv, mapper), IntTraverser.from(trav, mapper), onClose);
     }
 
     /**
@@ -192,7 +303,7 @@ public class Query<T> {
      *         ToLongFunction used to map elements of this {@code Query} to long
      */
     public final LongQuery mapToLong(ToLongFunction<? super T> mapper) {
-        return new LongQuery(LongAdvancer.from(adv, mapper), LongTraverser.from(trav, mapper));
+        return new LongQuery(LongAdvancer.from(adv, mapper), LongTraverser.from(trav, mapper), onClose);
     }
 
     /**
@@ -203,16 +314,19 @@ public class Query<T> {
      *         ToLongFunction used to map elements of this {@code Query} to double
      */
     public final DoubleQuery mapToDouble(ToDoubleFunction<? super T> mapper) {
-        return new DoubleQuery(DoubleAdvancer.from(adv, mapper), DoubleTraverser.from(trav, mapper));
+        return new DoubleQuery(DoubleAdvancer.from(adv, mapper), DoubleTraverser.from(trav, mapper), onClose);
     }
 
     /**
      * Returns a query consisting of the elements of this query that match
      * the given predicate.
+     * Fused with the previous stage when that is a map, filter or peek.
      */
     public final Query<T> filter(Predicate<? super T> p) {
+        Fused<?, T> fused = Fused.filter(adv, trav, p);
+        if(fused != null) return new Query<>(fused, fused, onClose);
         Filter<T> filter = new Filter<>(this, p);
-        return new Query<>(filter, filter);
+        return new Query<>(filter, filter, onClose);
     }
 
     /**
@@ -220,17 +334,47 @@ public class Query<T> {
      * after discarding the first {@code n} elements of the query.
      */
     public final Query<T> skip(int n){
+        if(adv instanceof FromArray) {
+            FromArray<T> src = ((FromArray<T>) adv).skip(n);
+            return new Query<>(src, src, onClose);
+        }
+        if(adv instanceof FromList) {
+            FromList<T> src = ((FromList<T>) adv).skip(n);
+            if(src != null) return new Query<>(src, src, onClose);
+        }
         Skip<T> skip = new Skip<>(this, n);
-        return new Query<>(skip, skip);
+        return new Query<>(skip, skip, onClose);
     }
 
     /**
      * Returns a query consisting of the elements of this query, truncated
      * to be no longer than {@code n} in length.
+     * Following a sorted() it keeps only the lowest {@code n} elements
+     * instead of sorting all of them, as {@link #topK(int, Comparator)}.
      */
     public final Query<T> limit(int n){
+        if(adv instanceof Sorted) {
+            TopK<T> top = ((Sorted<T>) adv).limit(n);
+            if(top != null) return new Query<>(top, top, onClose);
+        }
+        if(adv instanceof TopK) {
+            TopK<T> top = ((TopK<T>) adv).limit(n);
+            if(top != null) return new Query<>(top, top, onClose);
+        }
+        if(adv instanceof SpillSorted) {
+            TopK<T> top = ((SpillSorted<T>) adv).limit(n);
+            if(top != null) return new Query<>(top, top, onClose);
+        }
+        if(adv instanceof FromArray) {
+            FromArray<T> src = ((FromArray<T>) adv).limit(n);
+            return new Query<>(src, src, onClose);
+        }
+        if(adv instanceof FromList) {
+            FromList<T> src = ((FromList<T>) adv).limit(n);
+            if(src != null) return new Query<>(src, src, onClose);
+        }
         Limit<T> limit = new Limit<>(this, n);
-        return new Query<>(limit, limit);
+        return new Query<>(limit, limit, onClose);
     }
 
     /**
@@ -239,7 +383,7 @@ public class Query<T> {
      */
     public final Query<T> distinct(){
         Distinct<T> dis = new Distinct<>(this);
-        return new Query<>(dis, dis);
+        return new Query<>(dis, dis, onClose);
     }
 
     /**
@@ -249,17 +393,20 @@ public class Query<T> {
      */
     public final <R> Query<R> flatMap(Function<? super T,? extends Query<? extends R>> mapper){
         FlatMap<T, R> map = new FlatMap<>(this, mapper);
-        return new Query<>(map, map);
+        return new Query<>(map, map, OnClose.compose(onClose, map::close));
     }
 
     /**
      * Returns a query consisting of the elements of this query, additionally
      * performing the provided action on each element as elements are consumed
      * from the resulting query.
+     * Fused with the previous stage when that is a map, filter or peek.
      */
     public final Query<T> peek(Consumer<? super T> action) {
+        Fused<?, T> fused = Fused.peek(adv, trav, action);
+        if(fused != null) return new Query<>(fused, fused, onClose);
         Peek<T> peek = new Peek<>(this, action);
-        return new Query<>(peek, peek);
+        return new Query<>(peek, peek, onClose);
     }
 
     /**
@@ -268,7 +415,7 @@ public class Query<T> {
      */
     public final Query<T> takeWhile(Predicate<? super T> predicate){
         TakeWhile<T> take = new TakeWhile<>(this, predicate);
-        return new Query<>(take, take);
+        return new Query<>(take, take, onClose);
     }
 
     /**
@@ -280,7 +427,7 @@ public class Query<T> {
      * {@code Advancer} object that is encapsulated in the resulting query.
      */
     public final <R> Query<R> then(Function<Query<T>, Advancer<R>> nextAdv, Function<Query<T>, Traverser<R>> next) {
-        return new Query<>(nextAdv.apply(this), next.apply(this));
+        return new Query<>(nextAdv.apply(this), next.apply(this), onClose);
     }
     /**
      * The {@code then} operator lets you encapsulate a piece of an operator
@@ -290,17 +437,38 @@ public class Query<T> {
      */
     public final <R> Query<R> then(Function<Query<T>, Traverser<R>> next) {
         Advancer<R> nextAdv = item -> { throw new UnsupportedOperationException(
-            "Missing tryAdvance() implementation! Use the overloaded then() providing both Advancer and Traverser!");
+            "Missing tryAdvance() implementation! Use the overloaded then() providing both Advancer and Traverser" +
+                " or thenGenerator()!");
         };
-        return new Query<>(nextAdv, next.apply(this));
+        return new Query<>(nextAdv, next.apply(this), onClose);
+    }
+
+    /**
+     * The {@code thenGenerator} operator lets you encapsulate a piece of an operator
+     * chain into a function, which is only implemented through a {@code Traverser}.
+     * That function {@code next} is applied to this query to produce a new
+     * {@code Traverser} object that is encapsulated in the resulting query.
+     * Unlike {@code then(next)}, the resulting query also supports {@code tryAdvance}
+     * by running that {@code Traverser} as a generator on a separate thread,
+     * which is suspended after each yielded element until the next request.
+     * Closing the resulting query also cancels that thread.
+     */
+    public final <R> Query<R> thenGenerator(Function<Query<T>, Traverser<R>> next) {
+        FromTraverser<R> gen = new FromTraverser<>(next.apply(this));
+        return new Query<>(gen, gen, OnClose.compose(onClose, gen::close));
     }
 
     /**
      * Returns a list containing the elements of this query.
      */
     public final List<T> toList() {
-        List<T> data = new ArrayList<>();
-        this.traverse(data::add);
+        long size = getExactSizeIfKnown();
+        List<T> data = size < 0 || size > Integer.MAX_VALUE ? new ArrayList<>() : new ArrayList<>((int) size);
+        try {
+            this.traverse(data::add);
+        } finally {
+            close();
+        }
         return data;
     }
 
@@ -322,8 +490,70 @@ public class Query<T> {
             public void forEachRemaining(Consumer<? super T> action) {
                 trav.traverse(action::accept);
             }
+
+            @Override
+            public long estimateSize() {
+                long size = Query.this.getExactSizeIfKnown();
+                return size < 0 ? Long.MAX_VALUE : size;
+            }
+
+            /**
+             * SORTED is left out because a Spliterator reporting it must
+             * also provide its Comparator.
+             */
+            @Override
+            public int characteristics() {
+                int flags = Spliterator.ORDERED | (Query.this.characteristics() & ~Spliterator.SORTED);
+                return (flags & Spliterator.SIZED) == 0 ? flags : flags | Spliterator.SUBSIZED;
+            }
         };
-        return StreamSupport.stream(iter, false);
+        return StreamSupport.stream(iter, false).onClose(this::close);
+    }
+
+    /**
+     * Returns an equivalent query whose traverse() and traverseWhile() run the
+     * trailing map, filter and peek stages of this query through classes
+     * generated for the shape of this pipeline, i.e. the kind of its source
+     * and the classes of the functions of those stages.
+     * Thus, the JIT may inline all those stages into the loop over the source.
+     * Classes are generated once per shape and reused by later compilations.
+     * Returns this query if its last stage is not a map, filter or peek,
+     * or if the runtime does not support hidden classes (before JDK 15).
+     */
+    public final Query<T> compile() {
+        Fused<?, T> fused = Fused.of(adv, trav);
+        if(fused == null || !Specializer.isSupported()) return this;
+        return new Query<>(adv, new Compiled<>(fused, fused.upstream().trav), onClose);
+    }
+
+    /**
+     * Returns an equivalent {@link ParallelQuery} running on the common
+     * {@link ForkJoinPool}.
+     * A query from an array or a list, i.e. {@code of()} or {@code fromList()},
+     * is split into chunks sized to the pool parallelism.
+     * Any other query is split in batches of elements taken from its
+     * {@code tryAdvance}, which is performed sequentially.
+     */
+    public final ParallelQuery<T> parallel() {
+        return this.parallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns an equivalent {@link ParallelQuery} running on the given
+     * {@link ForkJoinPool}.
+     */
+    public final ParallelQuery<T> parallel(ForkJoinPool pool) {
+        if(adv instanceof FromArray)
+            return new ParallelQuery<>(((FromArray<T>) adv).spliterator(), pool, onClose);
+        if(adv instanceof FromList)
+            return new ParallelQuery<>(((FromList<T>) adv).spliterator(), pool, onClose);
+        Spliterator<T> batches = new AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                return adv.tryAdvance(action::accept);
+            }
+        };
+        return new ParallelQuery<>(batches, pool, onClose);
     }
 
     /**
@@ -332,7 +562,11 @@ public class Query<T> {
      */
     public final Optional<T> findFirst(){
         Box<T> box = new Box<>();
-        this.tryAdvance(box::turnPresent);
+        try {
+            this.tryAdvance(box::turnPresent);
+        } finally {
+            close();
+        }
         return box.isPresent()
                 ? Optional.of(box.getValue())
                 : Optional.empty();
@@ -351,7 +585,11 @@ public class Query<T> {
             }
         }
         BoxMax b = new BoxMax();
-        this.traverse(b);
+        try {
+            this.traverse(b);
+        } finally {
+            close();
+        }
         return b.isPresent() ? Optional.of(b.getValue()) : Optional.empty();
     }
 
@@ -362,14 +600,11 @@ public class Query<T> {
      * {@code false} is returned and the predicate is not evaluated.
      */
     public final boolean anyMatch(Predicate<? super T> p) {
-        BoolBox found = new BoolBox();
-        shortCircuit(item -> {
-            if(p.test(item)) {
-                found.set();
-                Yield.bye();
-            }
-        });
-        return found.isTrue();
+        try {
+            return !this.traverseWhile(item -> !p.test(item));
+        } finally {
+            close();
+        }
     }
     /**
      * Returns whether all elements of this query match the provided
@@ -378,14 +613,11 @@ public class Query<T> {
      * {@code true} is returned and the predicate is not evaluated.
      */
     public final boolean allMatch(Predicate<? super T> p) {
-        BoolBox succeed = new BoolBox(true);
-        shortCircuit(item -> {
-            if(!p.test(item)) {
-                succeed.set(false);
-                Yield.bye();
-            }
-        });
-        return succeed.isTrue();
+        try {
+            return this.traverseWhile(p::test);
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -399,9 +631,15 @@ public class Query<T> {
                 ++n;
             }
         }
-        Counter c = new Counter();
-        this.traverse(c);
-        return c.n;
+        try {
+            long size = getExactSizeIfKnown();
+            if(size >= 0) return size;
+            Counter c = new Counter();
+            this.traverse(c);
+            return c.n;
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -410,10 +648,14 @@ public class Query<T> {
      */
     public Optional<T> reduce(BinaryOperator<T> accumulator) {
         Box<T> box = new Box<>();
-        if(this.tryAdvance(box::setValue)) {
-            return Optional.of(this.reduce(box.getValue(), accumulator));
-        } else {
-            return Optional.empty();
+        try {
+            if(this.tryAdvance(box::setValue)) {
+                return Optional.of(this.reduce(box.getValue(), accumulator));
+            } else {
+                return Optional.empty();
+            }
+        } finally {
+            close();
         }
     }
 
@@ -432,7 +674,11 @@ public class Query<T> {
             }
         }
         BoxAccumulator box = new BoxAccumulator(identity);
-        this.traverse(box);
+        try {
+            this.traverse(box);
+        } finally {
+            close();
+        }
         return box.getValue();
     }
 
@@ -442,7 +688,11 @@ public class Query<T> {
      * exception is thrown.
      */
     public final void forEach(Yield<? super T> yield) {
-        this.traverse(yield);
+        try {
+            this.traverse(yield);
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -450,7 +700,11 @@ public class Query<T> {
      */
     public final Set<T> toSet() {
         Set<T> data = new HashSet<>();
-        this.traverse(data::add);
+        try {
+            this.traverse(data::add);
+        } finally {
+            close();
+        }
         return data;
     }
 
@@ -458,7 +712,24 @@ public class Query<T> {
      * Returns an array containing the elements of this query.
      */
     public final <U> U[] toArray(IntFunction<U[]> generator) {
-        return this.toList().toArray(generator);
+        long size = getExactSizeIfKnown();
+        if(size < 0 || size > Integer.MAX_VALUE)
+            return this.toList().toArray(generator);
+        U[] res = generator.apply((int) size);
+        Object[] dest = res;
+        class Filler implements Yield<T> {
+            int i = 0;
+            @Override
+            public void ret(T item) {
+                dest[i++] = item;
+            }
+        }
+        try {
+            this.traverse(new Filler());
+        } finally {
+            close();
+        }
+        return res;
     }
 
     /**
@@ -512,10 +783,182 @@ public class Query<T> {
      */
     public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super T> accumulator) {
         R result = supplier.get();
-        this.traverse(elem -> accumulator.accept(result, elem));
+        try {
+            this.traverse(elem -> accumulator.accept(result, elem));
+        } finally {
+            close();
+        }
         return result;
     }
 
+    /**
+     * Performs a mutable reduction operation on the elements of this {@code Query}
+     * using a {@link Collector}, such as the ones of {@link java.util.stream.Collectors},
+     * without going through a {@link Stream}.
+     * The finisher is skipped for collectors with the {@code IDENTITY_FINISH} characteristic.
+     */
+    public final <A, R> R collect(Collector<? super T, A, R> collector) {
+        A container = collector.supplier().get();
+        BiConsumer<A, ? super T> accumulator = collector.accumulator();
+        try {
+            this.traverse(elem -> accumulator.accept(container, elem));
+        } finally {
+            close();
+        }
+        return finish(collector, container);
+    }
+
+    /**
+     * Returns the result of the given collector for its container, which is
+     * the container itself when the collector has the {@code IDENTITY_FINISH} characteristic.
+     */
+    @SuppressWarnings("unchecked")
+    static <A, R> R finish(Collector<?, A, R> collector, A container) {
+        return collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+            ? (R) container
+            : collector.finisher().apply(container);
+    }
+
+    /**
+     * Groups the elements of this query by the key of each one, aggregating
+     * the elements of each group through the given collector as they are
+     * traversed. Thus, aggregators such as {@code counting()} or
+     * {@code summingLong()} keep a single container per group and never
+     * build a list of its elements.
+     */
+    @SuppressWarnings("unchecked")
+    public final <K, A, R> Map<K, R> groupBy(Function<? super T, ? extends K> keyFn, Collector<? super T, A, R> aggregator) {
+        Supplier<A> supplier = aggregator.supplier();
+        BiConsumer<A, ? super T> accumulator = aggregator.accumulator();
+        Function<K, A> newGroup = key -> supplier.get();
+        Map<K, A> groups = new HashMap<>();
+        try {
+            this.traverse(item -> {
+                K key = Objects.requireNonNull(keyFn.apply(item), "element cannot be mapped to a null key");
+                accumulator.accept(groups.computeIfAbsent(key, newGroup), item);
+            });
+        } finally {
+            close();
+        }
+        if(!aggregator.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            Function<A, R> finisher = aggregator.finisher();
+            ((Map<K, Object>) groups).replaceAll((key, container) -> finisher.apply((A) container));
+        }
+        return (Map<K, R>) groups;
+    }
+
+    /**
+     * Equivalent to {@link #groupBy(Function, Collector)} for int keys, which
+     * are kept without boxing in an {@link IntHashMap}.
+     */
+    @SuppressWarnings("unchecked")
+    public final <A, R> IntHashMap<R> groupByInt(ToIntFunction<? super T> keyFn, Collector<? super T, A, R> aggregator) {
+        Supplier<A> supplier = aggregator.supplier();
+        BiConsumer<A, ? super T> accumulator = aggregator.accumulator();
+        IntFunction<A> newGroup = key -> supplier.get();
+        IntHashMap<A> groups = new IntHashMap<>();
+        try {
+            this.traverse(item -> accumulator.accept(groups.computeIfAbsent(keyFn.applyAsInt(item), newGroup), item));
+        } finally {
+            close();
+        }
+        return aggregator.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+            ? (IntHashMap<R>) groups
+            : groups.mapValues(aggregator.finisher());
+    }
+
+    /**
+     * Equivalent to {@link #groupBy(Function, Collector)} for long keys, which
+     * are kept without boxing in a {@link LongHashMap}.
+     */
+    @SuppressWarnings("unchecked")
+    public final <A, R> LongHashMap<R> groupByLong(ToLongFunction<? super T> keyFn, Collector<? super T, A, R> aggregator) {
+        Supplier<A> supplier = aggregator.supplier();
+        BiConsumer<A, ? super T> accumulator = aggregator.accumulator();
+        LongFunction<A> newGroup = key -> supplier.get();
+        LongHashMap<A> groups = new LongHashMap<>();
+        try {
+            this.traverse(item -> accumulator.accept(groups.computeIfAbsent(keyFn.applyAsLong(item), newGroup), item));
+        } finally {
+            close();
+        }
+        return aggregator.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+            ? (LongHashMap<R>) groups
+            : groups.mapValues(aggregator.finisher());
+    }
+
+    /**
+     * Reduces the long values of the elements of each group, given by the int key
+     * of each element, with the associative reducer, as they are traversed.
+     * The resulting {@link IntLongHashMap} keeps a single long per group with no
+     * boxing, such as a count with {@code (item -> 1, Long::sum)}, a sum with
+     * {@code Long::sum}, a minimum with {@code Math::min} or a maximum with {@code Math::max}.
+     */
+    public final IntLongHashMap reduceByInt(ToIntFunction<? super T> keyFn, ToLongFunction<? super T> valueFn, LongBinaryOperator reducer) {
+        IntLongHashMap groups = new IntLongHashMap();
+        try {
+            this.traverse(item -> groups.merge(keyFn.applyAsInt(item), valueFn.applyAsLong(item), reducer));
+        } finally {
+            close();
+        }
+        return groups;
+    }
+
+    /**
+     * Equivalent to {@link #reduceByInt(ToIntFunction, ToLongFunction, LongBinaryOperator)}
+     * for long keys, which are kept in a {@link LongLongHashMap}.
+     */
+    public final LongLongHashMap reduceByLong(ToLongFunction<? super T> keyFn, ToLongFunction<? super T> valueFn, LongBinaryOperator reducer) {
+        LongLongHashMap groups = new LongLongHashMap();
+        try {
+            this.traverse(item -> groups.merge(keyFn.applyAsLong(item), valueFn.applyAsLong(item), reducer));
+        } finally {
+            close();
+        }
+        return groups;
+    }
+
+    /**
+     * Pushes each element of this query into every branch, in the given order,
+     * within a single traversal. A branch returning false receives no more
+     * elements, and the traversal stops once all branches have returned false.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public final void fanOut(YieldWhile<? super T>... branches) {
+        FanOut<T> fan = new FanOut<>(branches);
+        try {
+            if(!fan.isDone()) this.traverseWhile(fan);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Performs several mutable reductions, one per {@link Collector}, within
+     * a single traversal of this query.
+     * Returns the results of those collectors, in the given order.
+     */
+    @SafeVarargs
+    public final List<Object> fanOut(Collector<? super T, ?, ?>... collectors) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        FanOut.Collecting<T, ?, ?>[] branches = new FanOut.Collecting[collectors.length];
+        for (int i = 0; i < collectors.length; i++) {
+            branches[i] = collecting(collectors[i]);
+        }
+        fanOut(branches);
+        List<Object> results = new ArrayList<>(branches.length);
+        for (FanOut.Collecting<T, ?, ?> branch : branches) {
+            results.add(branch.finish());
+        }
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, A, R> FanOut.Collecting<T, A, R> collecting(Collector<? super T, A, R> collector) {
+        return new FanOut.Collecting<>((Collector<T, A, R>) collector);
+    }
+
     /**
      * Creates a concatenated {@code Query} in which the elements are
      * all the elements of this {@code Query} followed by all the
@@ -523,7 +966,27 @@ public class Query<T> {
      */
     public final Query<T> concat(Query<T> other) {
         Concat<T> con = new Concat<>(this, other);
-        return new Query<>(con, con);
+        return new Query<>(con, con, OnClose.compose(onClose, other.onClose));
+    }
+
+    /**
+     * Returns a query replaying the elements of this query, which are pulled
+     * on demand and memoized, such that it may be traversed any number of times.
+     * Traversals may run concurrently, even while this query is still being
+     * drained, but each tryAdvance() cursor is confined to a single thread.
+     * Calling cache() on the resulting query returns a new replay, with its
+     * own tryAdvance() cursor, of the same elements.
+     * Traversals that cannot stop early, such as forEach(), pull the rest
+     * of this query at once, while the others pull one element at a time.
+     * This query is closed once it has no more elements, rather than
+     * when the resulting query is closed, which happens after each of its
+     * traversals. Hence, if it may not be drained, as by findFirst(), close
+     * this query itself, e.g. with try-with-resources, once no replay needs
+     * elements that were not pulled yet.
+     */
+    public final Query<T> cache() {
+        Cached<T> cached = adv instanceof Cached ? ((Cached<T>) adv).replay() : new Cached<>(this);
+        return new Query<>(cached, cached);
     }
 
     /**
@@ -533,10 +996,38 @@ public class Query<T> {
      * This is a stateful intermediate operation.
      */
     public final Query<T> sorted(Comparator<T> comparator) {
-        T[] state = (T[]) this.toArray();
-        Arrays.sort(state, comparator);
-        FromArray<T> sorted = new FromArray<>(state);
-        return new Query<>(sorted, sorted);
+        Sorted<T> sorted = new Sorted<>(this, comparator);
+        return new Query<>(sorted, sorted, onClose);
+    }
+
+    /**
+     * Returns a {@code Query} consisting of the elements of this {@code Query},
+     * sorted according to the provided Comparator, which keeps no more than
+     * {@code config.maxInMemory()} elements in memory.
+     * Beyond that, it writes sorted runs into temporary files, with the
+     * serializer of the config, and merges them lazily on traversal.
+     * Equal elements keep their encounter order.
+     * Runs left are deleted on close().
+     *
+     * This is a stateful intermediate operation.
+     */
+    public final Query<T> sorted(Comparator<T> comparator, SpillConfig<T> config) {
+        SpillSorted<T> sorted = new SpillSorted<>(this, comparator, config);
+        return new Query<>(sorted, sorted, OnClose.compose(onClose, sorted::close));
+    }
+
+    /**
+     * Returns a query consisting of the {@code k} lowest elements of this query,
+     * according to the provided Comparator, in ascending order and equal
+     * elements in encounter order, like {@code sorted(comparator).limit(k)}.
+     * It keeps no more than {@code k} elements in a bounded heap, taking
+     * O(n log k) time rather than the O(n log n) of a full sort.
+     *
+     * This is a stateful intermediate operation.
+     */
+    public final Query<T> topK(int k, Comparator<? super T> comparator) {
+        TopK<T> top = new TopK<>(this, k, comparator);
+        return new Query<>(top, top, onClose);
     }
 
     /**
@@ -545,7 +1036,7 @@ public class Query<T> {
      */
     public final Query<T> dropWhile(Predicate<T> predicate) {
         DropWhile<T> drop = new DropWhile<>(this, predicate);
-        return new Query<>(drop, drop);
+        return new Query<>(drop, drop, onClose);
     }
 
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Settings of an external sort, i.e. {@code sorted(comparator, config)},
+ * which keeps no more than {@code maxInMemory} elements in memory.
+ * Beyond that, each batch of elements is sorted and written into a
+ * temporary file, named a run, and the runs are merged on traversal.
+ * Elements are written into runs by a {@link Serializer}, which by default
+ * relies on Java serialization. IntQuery, LongQuery and DoubleQuery ignore
+ * the serializer and write raw binary runs.
+ * Instances are immutable.
+ */
+public final class SpillConfig<T> {
+    private final int maxInMemory;
+    private final Path directory;
+    private final Serializer<T> serializer;
+
+    private SpillConfig(int maxInMemory, Path directory, Serializer<T> serializer) {
+        if(maxInMemory <= 0)
+            throw new IllegalArgumentException("maxInMemory must be positive but was " + maxInMemory + "!");
+        this.maxInMemory = maxInMemory;
+        this.directory = directory;
+        this.serializer = serializer;
+    }
+
+    /**
+     * Returns a configuration keeping up to maxInMemory elements in memory,
+     * which writes runs with Java serialization in the default temporary directory.
+     */
+    public static <T> SpillConfig<T> of(int maxInMemory) {
+        return new SpillConfig<>(maxInMemory, null, Serializer.serializable());
+    }
+
+    /**
+     * Returns a copy of this configuration writing runs into the given directory.
+     */
+    public SpillConfig<T> directory(Path directory) {
+        return new SpillConfig<>(maxInMemory, directory, serializer);
+    }
+
+    /**
+     * Returns a copy of this configuration writing runs with the given serializer.
+     */
+    public <U> SpillConfig<U> serializer(Serializer<U> serializer) {
+        return new SpillConfig<>(maxInMemory, directory, serializer);
+    }
+
+    public int maxInMemory() {
+        return maxInMemory;
+    }
+
+    /**
+     * Directory of the runs, or null for the default temporary directory.
+     */
+    public Path directory() {
+        return directory;
+    }
+
+    public Serializer<T> serializer() {
+        return serializer;
+    }
+
+    /**
+     * Writes and reads back the elements of a run, one at a time.
+     */
+    public interface Serializer<T> {
+        void write(DataOutput out, T item) throws IOException;
+
+        T read(DataInput in) throws IOException;
+
+        /**
+         * Java serialization of each element, preceded by its length in bytes.
+         */
+        static <T> Serializer<T> serializable() {
+            return new Serializer<>() {
+                @Override
+                public void write(DataOutput out, T item) throws IOException {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    try(ObjectOutputStream objs = new ObjectOutputStream(bytes)) {
+                        objs.writeObject(item);
+                    }
+                    out.writeInt(bytes.size());
+                    out.write(bytes.toByteArray());
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public T read(DataInput in) throws IOException {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    try(ObjectInputStream objs = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                        return (T) objs.readObject();
+                    } catch (ClassNotFoundException e) {
+                        throw new IOException(e);
+                    }
+                }
+            };
+        }
+
+        /**
+         * UTF-8 bytes of each string, preceded by their length.
+         * Unlike {@code DataOutput.writeUTF}, it has no limit of length.
+         */
+        static Serializer<String> strings() {
+            return new Serializer<>() {
+                @Override
+                public void write(DataOutput out, String item) throws IOException {
+                    byte[] bytes = item.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(bytes.length);
+                    out.write(bytes);
+                }
+
+                @Override
+                public String read(DataInput in) throws IOException {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+            };
+        }
+    }
+}
@@ -16,13 +16,15 @@
 
 package org.jayield;
 
+import org.jayield.boxes.BoolBox;
+
 /**
  * Bulk traversal.
  * Jayield uses traverse method as its first choice to
  * implement Query operations.
  * This is a special kind of traversal that disallows individually access.
  */
-public interface Traverser<T> {
+public interface Traverser<T> extends Characteristics {
     /**
      * Yields elements sequentially in the current thread,
      * until all elements have been processed or an
@@ -30,6 +32,31 @@ public interface Traverser<T> {
      */
     void traverse(Yield<? super T> yield);
 
+    /**
+     * Yields elements sequentially in the current thread,
+     * while yield returns true and until all elements have been processed.
+     * Built-in operations stop cooperatively when yield returns false.
+     * This default implementation still relies on {@link Yield#bye()}
+     * for Traverser objects that only implement traverse().
+     *
+     * @return false if the traversal was stopped by yield.
+     */
+    default boolean traverseWhile(YieldWhile<? super T> yield) {
+        BoolBox stopped = new BoolBox();
+        try {
+            traverse(item -> {
+                if(!yield.ret(item)) {
+                    stopped.set();
+                    Yield.bye();
+                }
+            });
+        } catch (TraversableFinishError e) {
+            // Let it reach the nested traversal that has really been stopped.
+            if(stopped.isFalse()) throw e;
+        }
+        return stopped.isFalse();
+    }
+
     /**
      * A Traverser object without elements.
      */
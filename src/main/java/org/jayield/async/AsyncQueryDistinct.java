@@ -20,6 +20,7 @@ import org.jayield.AsyncQuery;
 
 import java.util.HashSet;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.function.BiConsumer;
 
 public class AsyncQueryDistinct<T> extends AsyncQuery<T> {
@@ -40,4 +41,20 @@ public class AsyncQueryDistinct<T> extends AsyncQuery<T> {
             if(mem.add(item)) cons.accept(item, null);
         });
     }
+
+    /**
+     * Each repeated item is replaced with a new request to the upstream.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        final HashSet<T> mem = new HashSet<>();
+        upstream.subscribe(new OperatorSubscriber<T, T>(subscriber) {
+            @Override
+            public void onNext(T item) {
+                if(done) return;
+                if(mem.add(item)) downstream.onNext(item);
+                else upstream.request(1);
+            }
+        });
+    }
 }
@@ -19,6 +19,7 @@ package org.jayield.async;
 import org.jayield.AsyncQuery;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
@@ -41,4 +42,26 @@ public class AsyncQueryFilter<T> extends AsyncQuery<T> {
             if(p.test(item)) cons.accept(item, null);
         });
     }
+
+    /**
+     * Each item rejected by the predicate is replaced with a new request to the upstream.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        upstream.subscribe(new OperatorSubscriber<T, T>(subscriber) {
+            @Override
+            public void onNext(T item) {
+                if(done) return;
+                boolean pass;
+                try {
+                    pass = p.test(item);
+                } catch (Throwable err) {
+                    fail(err);
+                    return;
+                }
+                if(pass) downstream.onNext(item);
+                else upstream.request(1);
+            }
+        });
+    }
 }
@@ -18,7 +18,12 @@ package org.jayield.async;
 
 import org.jayield.AsyncQuery;
 
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -32,17 +37,247 @@ public class AsyncQueryFlatMapConcat<T, R> extends AsyncQuery<R> {
         this.mapper = mapper;
     }
 
+    /**
+     * Never blocks the upstream callback. Upstream items are queued and
+     * each inner query is subscribed only on completion of the previous one.
+     * The resulting CompletableFuture completes after the last inner query.
+     */
     @Override
     public CompletableFuture<Void> subscribe(BiConsumer<? super R, ? super Throwable> cons) {
-        return upstream.subscribe((item, err) -> {
+        Continuation<T, R> continuation = new Continuation<>(mapper, cons);
+        CompletableFuture<Void> cf = upstream.subscribe((item, err) -> {
             if(err != null) {
                 cons.accept(null, err);
                 return;
             }
-            mapper
-                .apply(item)
-                .subscribe(cons::accept)
-                .join(); // !!!! Replace this by Continuation !!!
+            continuation.push(item);
         });
+        continuation.upstreamSubscription(cf);
+        return continuation.result;
+    }
+
+    /**
+     * Requests one item at a time from upstream and subscribes its inner query
+     * only after the previous one has completed.
+     * The outstanding downstream demand is handed over from each inner
+     * query to the next one.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        upstream.subscribe(new ConcatSubscriber<>(subscriber, mapper));
+    }
+
+    private static class ConcatSubscriber<T, R> implements Flow.Subscriber<T>, Flow.Subscription {
+        private final Flow.Subscriber<? super R> downstream;
+        private final Function<? super T, ? extends AsyncQuery<? extends R>> mapper;
+        /**
+         * Demand of the downstream not satisfied yet.
+         */
+        private final AtomicLong requested = new AtomicLong();
+        private Flow.Subscription outer;
+        /**
+         * Subscription of the running inner query, or null between inner queries.
+         */
+        private Flow.Subscription inner;
+        private boolean outerDone;
+        private boolean active;
+        private boolean done;
+
+        ConcatSubscriber(Flow.Subscriber<? super R> downstream, Function<? super T, ? extends AsyncQuery<? extends R>> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            outer = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(T item) {
+            AsyncQuery<? extends R> q;
+            try {
+                q = mapper.apply(item);
+            } catch (Throwable err) {
+                outer.cancel();
+                onError(err);
+                return;
+            }
+            synchronized (this) {
+                if(done) return;
+                active = true;
+            }
+            q.subscribe(new Inner());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            Flow.Subscription in;
+            synchronized (this) {
+                if(done) return;
+                done = true;
+                in = inner;
+            }
+            if(in != null) in.cancel();
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                outerDone = true;
+                if(active || done) return;
+                done = true;
+            }
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if(n <= 0) {
+                cancel();
+                onError(Demand.nonPositive(n));
+                return;
+            }
+            Flow.Subscription in;
+            synchronized (this) {
+                Demand.add(requested, n);
+                in = inner;
+            }
+            if(in != null) in.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            Flow.Subscription in;
+            synchronized (this) {
+                done = true;
+                in = inner;
+            }
+            outer.cancel();
+            if(in != null) in.cancel();
+        }
+
+        private class Inner implements Flow.Subscriber<R> {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                long r;
+                synchronized (ConcatSubscriber.this) {
+                    if(done) {
+                        subscription.cancel();
+                        return;
+                    }
+                    inner = subscription;
+                    r = requested.get();
+                }
+                if(r > 0) subscription.request(r);
+            }
+
+            @Override
+            public void onNext(R item) {
+                Demand.produced(requested, 1);
+                downstream.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                outer.cancel();
+                ConcatSubscriber.this.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                boolean last;
+                synchronized (ConcatSubscriber.this) {
+                    inner = null;
+                    active = false;
+                    if(done) return;
+                    last = done = outerDone;
+                }
+                if(last) downstream.onComplete();
+                else outer.request(1);
+            }
+        }
+    }
+
+    /**
+     * State machine chaining the inner subscriptions of the push based protocol.
+     * The drain loop starts the next inner query on completion of the previous one,
+     * without recursion when the inner queries complete synchronously.
+     */
+    private static class Continuation<T, R> {
+        private final Function<? super T, ? extends AsyncQuery<? extends R>> mapper;
+        private final BiConsumer<? super R, ? super Throwable> cons;
+        /**
+         * Upstream items not mapped yet, where null items are wrapped by {@link Nulls}.
+         */
+        private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private volatile CompletableFuture<Void> upstream;
+        private volatile CompletableFuture<Void> inner;
+        private volatile boolean upstreamDone;
+
+        Continuation(Function<? super T, ? extends AsyncQuery<? extends R>> mapper, BiConsumer<? super R, ? super Throwable> cons) {
+            this.mapper = mapper;
+            this.cons = cons;
+            /*
+             * Completing or cancelling the result stops the upstream and the running inner query.
+             */
+            result.whenComplete((ignore, err) -> {
+                cancel(upstream);
+                cancel(inner);
+            });
+        }
+
+        void push(T item) {
+            pending.offer(Nulls.wrap(item));
+            drain();
+        }
+
+        void upstreamSubscription(CompletableFuture<Void> cf) {
+            upstream = cf;
+            if(result.isDone()) cancel(cf);
+            cf.whenComplete((ignore, err) -> {
+                if(err != null) result.completeExceptionally(err);
+                upstreamDone = true;
+                drain();
+            });
+        }
+
+        private void drain() {
+            if(wip.getAndIncrement() != 0) return;
+            int missed = 1;
+            do {
+                while(inner == null && !result.isDone()) {
+                    boolean d = upstreamDone;
+                    Object item = pending.poll();
+                    if(item == null) {
+                        if(d) result.complete(null);
+                        break;
+                    }
+                    CompletableFuture<Void> cf;
+                    try {
+                        cf = mapper.apply(Nulls.unwrap(item)).subscribe(cons::accept);
+                    } catch (Throwable err) {
+                        result.completeExceptionally(err);
+                        break;
+                    }
+                    inner = cf;
+                    cf.whenComplete((ignore, err) -> {
+                        if(err != null) result.completeExceptionally(err);
+                        inner = null;
+                        drain();
+                    });
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private static void cancel(CompletableFuture<Void> cf) {
+            if(cf != null && !cf.isDone()) cf.complete(null);
+        }
     }
 }
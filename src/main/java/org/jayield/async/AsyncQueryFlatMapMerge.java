@@ -18,35 +18,331 @@ package org.jayield.async;
 
 import org.jayield.AsyncQuery;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 public class AsyncQueryFlatMapMerge<T, R> extends AsyncQuery<R> {
     private final AsyncQuery<T> upstream;
     private final Function<? super T, ? extends AsyncQuery<? extends R>> mapper;
+    /**
+     * Maximum number of inner queries subscribed at the same time.
+     */
+    private final int maxConcurrency;
 
 
     public AsyncQueryFlatMapMerge(AsyncQuery<T> upstream, Function<? super T, ? extends AsyncQuery<? extends R>> mapper) {
+        this(upstream, mapper, Flow.defaultBufferSize());
+    }
+
+    public AsyncQueryFlatMapMerge(AsyncQuery<T> upstream, Function<? super T, ? extends AsyncQuery<? extends R>> mapper, int maxConcurrency) {
+        if(maxConcurrency <= 0)
+            throw new IllegalArgumentException("maxConcurrency must be positive but was " + maxConcurrency + "!");
         this.upstream = upstream;
         this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
     }
 
+    /**
+     * Upstream items are queued until there are less than maxConcurrency
+     * inner queries running. Items of inner queries are delivered to the
+     * consumer by one thread at a time, so its callbacks never overlap.
+     * The resulting CompletableFuture completes after the upstream and all
+     * inner queries.
+     */
     @Override
     public CompletableFuture<Void> subscribe(BiConsumer<? super R, ? super Throwable> cons) {
-        List<CompletableFuture<Void>> cfs = new ArrayList<>();
-        return upstream
-            .subscribe((item, err) -> {
-                if (err != null) {
-                    cons.accept(null, err);
+        Merger<T, R> merger = new Merger<>(mapper, cons, maxConcurrency);
+        CompletableFuture<Void> cf = upstream.subscribe((item, err) -> {
+            if(err != null) merger.emit(null, err);
+            else merger.push(item);
+        });
+        merger.upstreamSubscription(cf);
+        return merger.result;
+    }
+
+    /**
+     * Subscribes up to maxConcurrency inner queries at once, each one asked
+     * for a single item at a time that is requested again only after the
+     * previous one has been delivered downstream.
+     * Thus, at most maxConcurrency items are buffered whatever the downstream demand.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        upstream.subscribe(new MergeSubscriber<>(subscriber, mapper, maxConcurrency));
+    }
+
+    private static class MergeSubscriber<T, R> implements Flow.Subscriber<T>, Flow.Subscription {
+        private final Flow.Subscriber<? super R> downstream;
+        private final Function<? super T, ? extends AsyncQuery<? extends R>> mapper;
+        private final int maxConcurrency;
+        /**
+         * Items and completions of inner queries, delivered in a serialized drain loop.
+         */
+        private final Queue<Signal> queue = new ConcurrentLinkedQueue<>();
+        private final Set<Inner> inners = ConcurrentHashMap.newKeySet();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        /**
+         * Inner queries not completed yet, plus one for the upstream until its completion.
+         */
+        private final AtomicInteger active = new AtomicInteger(1);
+        private Flow.Subscription outer;
+        private volatile boolean outerDone;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        MergeSubscriber(Flow.Subscriber<? super R> downstream, Function<? super T, ? extends AsyncQuery<? extends R>> mapper, int maxConcurrency) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            outer = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(maxConcurrency);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if(cancelled || outerDone) return;
+            AsyncQuery<? extends R> q;
+            try {
+                q = mapper.apply(item);
+            } catch (Throwable err) {
+                outer.cancel();
+                onError(err);
+                return;
+            }
+            active.incrementAndGet();
+            q.subscribe(new Inner());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if(error == null) error = throwable;
+            outerDone = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            outerDone = true;
+            active.decrementAndGet();
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if(n <= 0) onError(Demand.nonPositive(n));
+            else Demand.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            outer.cancel();
+            inners.forEach(Inner::cancel);
+        }
+
+        private void drain() {
+            if(wip.getAndIncrement() != 0) return;
+            int missed = 1;
+            do {
+                long r = requested.get();
+                long e = 0;
+                while(true) {
+                    if(cancelled) {
+                        queue.clear();
+                        return;
+                    }
+                    if(error != null) {
+                        cancel();
+                        queue.clear();
+                        downstream.onError(error);
+                        return;
+                    }
+                    Signal s = queue.peek();
+                    if(s == null) break;
+                    if(s.completed) {
+                        queue.poll();
+                        inners.remove(s.source);
+                        active.decrementAndGet();
+                        if(!outerDone) outer.request(1);
+                        continue;
+                    }
+                    if(e == r) break;
+                    queue.poll();
+                    downstream.onNext(s.item);
+                    e++;
+                    s.source.request();
+                }
+                if(active.get() == 0 && queue.isEmpty()) {
+                    cancelled = true;
+                    downstream.onComplete();
                     return;
                 }
-                cfs.add(mapper
-                    .apply(item)
-                    .subscribe(cons::accept));
-            })
-            .thenCompose(ignore -> CompletableFuture.allOf(cfs.toArray(new CompletableFuture[cfs.size()])));
+                Demand.produced(requested, e);
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private class Inner implements Flow.Subscriber<R> {
+            private volatile Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                inners.add(this);
+                if(cancelled) subscription.cancel();
+                else subscription.request(1);
+            }
+
+            @Override
+            public void onNext(R item) {
+                queue.offer(new Signal(this, item, false));
+                drain();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                MergeSubscriber.this.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                queue.offer(new Signal(this, null, true));
+                drain();
+            }
+
+            void request() {
+                subscription.request(1);
+            }
+
+            void cancel() {
+                subscription.cancel();
+            }
+        }
+
+        private class Signal {
+            final Inner source;
+            final R item;
+            final boolean completed;
+
+            Signal(Inner source, R item, boolean completed) {
+                this.source = source;
+                this.item = item;
+                this.completed = completed;
+            }
+        }
+    }
+
+    /**
+     * Merges inner queries of the push based protocol.
+     * Items and errors of inner queries are queued and delivered in a serialized
+     * drain loop, which also subscribes the pending upstream items as inner
+     * queries complete. The number of inner queries in flight is a lock-free counter.
+     */
+    private static class Merger<T, R> {
+        private final Function<? super T, ? extends AsyncQuery<? extends R>> mapper;
+        private final BiConsumer<? super R, ? super Throwable> cons;
+        private final int maxConcurrency;
+        /**
+         * Upstream items not mapped yet, where null items are wrapped by {@link Nulls}.
+         */
+        private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+        private final Queue<Object[]> signals = new ConcurrentLinkedQueue<>();
+        private final Set<CompletableFuture<Void>> inners = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private volatile CompletableFuture<Void> upstream;
+        private volatile boolean upstreamDone;
+
+        Merger(Function<? super T, ? extends AsyncQuery<? extends R>> mapper, BiConsumer<? super R, ? super Throwable> cons, int maxConcurrency) {
+            this.mapper = mapper;
+            this.cons = cons;
+            this.maxConcurrency = maxConcurrency;
+            /*
+             * Completing or cancelling the result stops the upstream and the running inner queries.
+             */
+            result.whenComplete((ignore, err) -> {
+                cancel(upstream);
+                inners.forEach(Merger::cancel);
+            });
+        }
+
+        void push(T item) {
+            pending.offer(Nulls.wrap(item));
+            drain();
+        }
+
+        void emit(R item, Throwable err) {
+            signals.offer(new Object[] {item, err});
+            drain();
+        }
+
+        void upstreamSubscription(CompletableFuture<Void> cf) {
+            upstream = cf;
+            if(result.isDone()) cancel(cf);
+            cf.whenComplete((ignore, err) -> {
+                if(err != null) result.completeExceptionally(err);
+                upstreamDone = true;
+                drain();
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            if(wip.getAndIncrement() != 0) return;
+            int missed = 1;
+            do {
+                Object[] signal;
+                while(!result.isDone() && (signal = signals.poll()) != null) {
+                    cons.accept((R) signal[0], (Throwable) signal[1]);
+                }
+                while(!result.isDone() && running.get() < maxConcurrency) {
+                    Object item = pending.poll();
+                    if(item == null) break;
+                    subscribeInner(Nulls.unwrap(item));
+                }
+                if(!result.isDone() && upstreamDone && running.get() == 0 && pending.isEmpty() && signals.isEmpty()) {
+                    result.complete(null);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void subscribeInner(T item) {
+            running.incrementAndGet();
+            CompletableFuture<Void> cf;
+            try {
+                cf = mapper.apply(item).subscribe(this::emit);
+            } catch (Throwable err) {
+                result.completeExceptionally(err);
+                return;
+            }
+            inners.add(cf);
+            cf.whenComplete((ignore, err) -> {
+                inners.remove(cf);
+                if(err != null) result.completeExceptionally(err);
+                running.decrementAndGet();
+                drain();
+            });
+        }
+
+        private static void cancel(CompletableFuture<Void> cf) {
+            if(cf != null && !cf.isDone()) cf.complete(null);
+        }
     }
 }
@@ -19,22 +19,40 @@ package org.jayield.async;
 import org.jayield.AsyncQuery;
 import org.jayield.Query;
 
+import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 
 import static java.util.concurrent.CompletableFuture.runAsync;
 
 public class AsyncQueryFork<U> extends AsyncQuery<U> {
     private final U[] data;
+    private final Executor executor;
 
     public AsyncQueryFork(U[] data) {
+        this(data, ForkJoinPool.commonPool());
+    }
+
+    public AsyncQueryFork(U[] data, Executor executor) {
         this.data = data;
+        this.executor = executor;
     }
 
     @Override
     public CompletableFuture<Void> subscribe(BiConsumer<? super U, ? super Throwable> cons) {
         return runAsync(() -> Query
             .of(data)
-            .traverse(item -> cons.accept(item, null)));
+            .traverse(item -> cons.accept(item, null)), executor);
+    }
+
+    /**
+     * Items are emitted on the executor as they are requested.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super U> subscriber) {
+        new IteratorSubscription<>(Arrays.asList(data).iterator(), subscriber, executor).start();
     }
 }
@@ -19,6 +19,7 @@ package org.jayield.async;
 import org.jayield.AsyncQuery;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -41,4 +42,22 @@ public class AsyncQueryMap<T, R> extends AsyncQuery<R> {
             cons.accept(mapper.apply(item), null);
         });
     }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        upstream.subscribe(new OperatorSubscriber<T, R>(subscriber) {
+            @Override
+            public void onNext(T item) {
+                if(done) return;
+                R res;
+                try {
+                    res = mapper.apply(item);
+                } catch (Throwable err) {
+                    fail(err);
+                    return;
+                }
+                downstream.onNext(res);
+            }
+        });
+    }
 }
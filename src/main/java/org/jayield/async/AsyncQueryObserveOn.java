@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.async;
+
+import org.jayield.AsyncQuery;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+public class AsyncQueryObserveOn<T> extends AsyncQuery<T> {
+    private final AsyncQuery<T> upstream;
+    private final Executor executor;
+
+    public AsyncQueryObserveOn(AsyncQuery<T> upstream, Executor executor) {
+        this.upstream = upstream;
+        this.executor = executor;
+    }
+
+    /**
+     * Upstream items are queued and handed to the consumer, one at a time,
+     * on a task of the executor.
+     * The resulting CompletableFuture completes after the last item is consumed.
+     */
+    @Override
+    public CompletableFuture<Void> subscribe(BiConsumer<? super T, ? super Throwable> cons) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        Observer<T> observer = new Observer<>(executor) {
+            @Override
+            void deliver(T item, Throwable err) {
+                cons.accept(item, err);
+            }
+
+            @Override
+            void terminated(Throwable err) {
+                if(err != null) result.completeExceptionally(err);
+                else result.complete(null);
+            }
+        };
+        CompletableFuture<Void> cf = upstream.subscribe(observer::offer);
+        result.whenComplete((ignore, err) -> {
+            observer.cancelled = true;
+            if(!cf.isDone()) cf.complete(null);
+        });
+        cf.whenComplete((ignore, err) -> observer.terminate(err));
+        return result;
+    }
+
+    /**
+     * Signals to the Subscriber are delivered, one at a time, on a task of the executor.
+     * Requests go straight to the upstream, so the queue never exceeds the demand.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        upstream.subscribe(new Flow.Subscriber<T>() {
+            private final Observer<T> observer = new Observer<>(executor) {
+                @Override
+                void deliver(T item, Throwable err) {
+                    subscriber.onNext(item);
+                }
+
+                @Override
+                void terminated(Throwable err) {
+                    if(err != null) subscriber.onError(err);
+                    else subscriber.onComplete();
+                }
+            };
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                        subscription.request(n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        observer.cancelled = true;
+                        subscription.cancel();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(T item) {
+                observer.offer(item, null);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                observer.terminate(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.terminate(null);
+            }
+        });
+    }
+
+    /**
+     * Queue of signals drained by a single task of the executor at a time.
+     */
+    private abstract static class Observer<T> {
+        private final Executor executor;
+        private final Queue<Object[]> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean done;
+        private volatile Throwable error;
+        volatile boolean cancelled;
+
+        Observer(Executor executor) {
+            this.executor = executor;
+        }
+
+        abstract void deliver(T item, Throwable err);
+
+        abstract void terminated(Throwable err);
+
+        void offer(T item, Throwable err) {
+            queue.offer(new Object[] {item, err});
+            schedule();
+        }
+
+        void terminate(Throwable err) {
+            error = err;
+            done = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if(wip.getAndIncrement() == 0) executor.execute(this::drain);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            int missed = 1;
+            do {
+                while(!cancelled) {
+                    boolean d = done;
+                    Object[] signal = queue.poll();
+                    if(signal == null) {
+                        if(d) {
+                            cancelled = true;
+                            terminated(error);
+                        }
+                        break;
+                    }
+                    deliver((T) signal[0], (Throwable) signal[1]);
+                }
+                if(cancelled) queue.clear();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
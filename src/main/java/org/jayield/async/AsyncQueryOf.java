@@ -19,7 +19,9 @@ package org.jayield.async;
 import org.jayield.AsyncQuery;
 import org.jayield.Query;
 
+import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.function.BiConsumer;
 
 import static java.util.concurrent.CompletableFuture.runAsync;
@@ -36,4 +38,9 @@ public class AsyncQueryOf<U> extends AsyncQuery<U> {
         Query.of(data).traverse(item -> cons.accept(item, null));
         return CompletableFuture.completedFuture(null);
     }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super U> subscriber) {
+        new IteratorSubscription<>(Arrays.asList(data).iterator(), subscriber, null).start();
+    }
 }
@@ -20,6 +20,7 @@ import org.jayield.AsyncQuery;
 
 import java.util.Iterator;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.function.BiConsumer;
 
 public class AsyncQueryOfIterator<T> extends AsyncQuery<T> {
@@ -36,4 +37,9 @@ public class AsyncQueryOfIterator<T> extends AsyncQuery<T> {
         }
         return CompletableFuture.completedFuture(null);
     }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        new IteratorSubscription<>(iter, subscriber, null).start();
+    }
 }
@@ -19,6 +19,7 @@ package org.jayield.async;
 import org.jayield.AsyncQuery;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.function.BiConsumer;
 
 public class AsyncQueryOnNext<T> extends AsyncQuery<T> {
@@ -38,4 +39,27 @@ public class AsyncQueryOnNext<T> extends AsyncQuery<T> {
             cons.accept(item, err);
         });
     }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        upstream.subscribe(new OperatorSubscriber<T, T>(subscriber) {
+            @Override
+            public void onNext(T item) {
+                if(done) return;
+                try {
+                    action.accept(item, null);
+                } catch (Throwable err) {
+                    fail(err);
+                    return;
+                }
+                downstream.onNext(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                if(!done) action.accept(null, throwable);
+                super.onError(throwable);
+            }
+        });
+    }
 }
@@ -20,6 +20,7 @@ import org.jayield.AsyncQuery;
 import org.jayield.AsyncTraverser;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.function.BiConsumer;
 
 public class AsyncQuerySkip<T> extends AsyncQuery<T> {
@@ -43,4 +44,25 @@ public class AsyncQuerySkip<T> extends AsyncQuery<T> {
             else count++;
         });
     }
+
+    /**
+     * Each skipped item is replaced with a new request to the upstream.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        OperatorSubscriber<T, T> op = new OperatorSubscriber<T, T>(subscriber) {
+            private int skipped = 0;
+            @Override
+            public void onNext(T item) {
+                if(done) return;
+                if(skipped >= skip) downstream.onNext(item);
+                else {
+                    skipped++;
+                    upstream.request(1);
+                }
+            }
+        };
+        if(upstream instanceof AsyncQuery) ((AsyncQuery<T>) upstream).subscribe(op);
+        else new PushSubscription<>(upstream, op).start();
+    }
 }
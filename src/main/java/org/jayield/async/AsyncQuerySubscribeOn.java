@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.async;
+
+import org.jayield.AsyncQuery;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.BiConsumer;
+
+public class AsyncQuerySubscribeOn<T> extends AsyncQuery<T> {
+    private final AsyncQuery<T> upstream;
+    private final Executor executor;
+
+    public AsyncQuerySubscribeOn(AsyncQuery<T> upstream, Executor executor) {
+        this.upstream = upstream;
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribes the upstream on a task of the executor, thus a synchronous
+     * source also emits all its items on that task.
+     */
+    @Override
+    public CompletableFuture<Void> subscribe(BiConsumer<? super T, ? super Throwable> cons) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if(result.isDone()) return;
+                CompletableFuture<Void> cf;
+                try {
+                    cf = upstream.subscribe(cons);
+                } catch (Throwable err) {
+                    result.completeExceptionally(err);
+                    return;
+                }
+                result.whenComplete((ignore, err) -> {
+                    if(!cf.isDone()) cf.complete(null);
+                });
+                cf.whenComplete((ignore, err) -> {
+                    if(err != null) result.completeExceptionally(err);
+                    else result.complete(null);
+                });
+            });
+        } catch (Throwable err) {
+            result.completeExceptionally(err);
+        }
+        return result;
+    }
+
+    /**
+     * Both the subscription and every request to the upstream run on the executor,
+     * which is where a synchronous source emits its items.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        executor.execute(() -> upstream.subscribe(new OperatorSubscriber<T, T>(subscriber) {
+            @Override
+            public void onNext(T item) {
+                if(!done) downstream.onNext(item);
+            }
+
+            @Override
+            public void request(long n) {
+                executor.execute(() -> upstream.request(n));
+            }
+        }));
+    }
+}
@@ -19,6 +19,7 @@ package org.jayield.async;
 import org.jayield.AsyncQuery;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
@@ -69,4 +70,29 @@ public class AsyncQueryTakeWhile<T> extends AsyncQuery<T> {
         });
         return subscription;
     }
+
+    /**
+     * Cancels the upstream on the first item that does not match the predicate.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        upstream.subscribe(new OperatorSubscriber<T, T>(subscriber) {
+            @Override
+            public void onNext(T item) {
+                if(done) return;
+                boolean pass;
+                try {
+                    pass = p.test(item);
+                } catch (Throwable err) {
+                    fail(err);
+                    return;
+                }
+                if(pass) downstream.onNext(item);
+                else {
+                    upstream.cancel();
+                    onComplete();
+                }
+            }
+        });
+    }
 }
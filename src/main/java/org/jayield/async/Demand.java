@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.async;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Auxiliary operations on the outstanding demand of a subscription,
+ * where {@code Long.MAX_VALUE} stands for an unbounded demand.
+ */
+final class Demand {
+    private Demand() {
+    }
+
+    /**
+     * Adds n to the requested demand capping at Long.MAX_VALUE.
+     */
+    static void add(AtomicLong requested, long n) {
+        long r;
+        do {
+            r = requested.get();
+            if(r == Long.MAX_VALUE) return;
+        } while (!requested.compareAndSet(r, r + n < 0 ? Long.MAX_VALUE : r + n));
+    }
+
+    /**
+     * Subtracts the number of emitted items, unless the demand is unbounded.
+     */
+    static void produced(AtomicLong requested, long n) {
+        long r;
+        do {
+            r = requested.get();
+            if(r == Long.MAX_VALUE) return;
+        } while (!requested.compareAndSet(r, r - n));
+    }
+
+    static IllegalArgumentException nonPositive(long n) {
+        return new IllegalArgumentException("Subscription request must be positive but was " + n + "!");
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.async;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Emits the items of an Iterator only as they are requested.
+ * Items are emitted on the thread calling request() or, if an Executor
+ * is given, on a task of that Executor.
+ * Nested calls to request() from onNext() just increase the demand.
+ */
+class IteratorSubscription<T> implements Flow.Subscription {
+    private final Iterator<? extends T> iter;
+    private final Flow.Subscriber<? super T> subscriber;
+    private final Executor executor;
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile Throwable invalidRequest;
+
+    IteratorSubscription(Iterator<? extends T> iter, Flow.Subscriber<? super T> subscriber, Executor executor) {
+        this.iter = iter;
+        this.subscriber = subscriber;
+        this.executor = executor;
+    }
+
+    /**
+     * Signals onSubscribe and completes right away an empty source.
+     */
+    void start() {
+        subscriber.onSubscribe(this);
+        schedule();
+    }
+
+    @Override
+    public void request(long n) {
+        if(n <= 0) invalidRequest = Demand.nonPositive(n);
+        else Demand.add(requested, n);
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private void schedule() {
+        if(wip.getAndIncrement() != 0) return;
+        if(executor == null) drain();
+        else executor.execute(this::drain);
+    }
+
+    private void drain() {
+        int missed = 1;
+        do {
+            long r = requested.get();
+            long e = 0;
+            while(!cancelled) {
+                if(invalidRequest != null) {
+                    terminate(invalidRequest);
+                    return;
+                }
+                boolean hasNext;
+                T item = null;
+                try {
+                    hasNext = iter.hasNext();
+                    if(hasNext && e != r) item = iter.next();
+                } catch (Throwable err) {
+                    terminate(err);
+                    return;
+                }
+                if(!hasNext) {
+                    terminate(null);
+                    return;
+                }
+                if(e == r) break;
+                subscriber.onNext(item);
+                e++;
+            }
+            if(cancelled) return;
+            Demand.produced(requested, e);
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void terminate(Throwable err) {
+        cancelled = true;
+        if(err == null) subscriber.onComplete();
+        else subscriber.onError(err);
+    }
+}
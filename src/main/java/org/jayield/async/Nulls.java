@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.async;
+
+/**
+ * Auxiliary marking of null items, which may be emitted by an AsyncQuery,
+ * to keep them in queues that reject null, such as ConcurrentLinkedQueue.
+ */
+final class Nulls {
+    private static final Object NULL = new Object();
+
+    private Nulls() {
+    }
+
+    /**
+     * Returns the item itself, or a marker if it is null.
+     */
+    static Object wrap(Object item) {
+        return item == null ? NULL : item;
+    }
+
+    /**
+     * Returns the item that was wrapped, which may be null.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T unwrap(Object wrapped) {
+        return wrapped == NULL ? null : (T) wrapped;
+    }
+}
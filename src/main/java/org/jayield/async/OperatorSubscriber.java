@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.async;
+
+import java.util.concurrent.Flow;
+
+/**
+ * Base of one-to-one operators on the demand-driven protocol.
+ * It subscribes the upstream and stands for the Subscription given
+ * to the downstream, forwarding request() and cancel() to the upstream.
+ * Operators that discard an item must request a replacement from upstream.
+ */
+abstract class OperatorSubscriber<T, R> implements Flow.Subscriber<T>, Flow.Subscription {
+    final Flow.Subscriber<? super R> downstream;
+    Flow.Subscription upstream;
+    /**
+     * Set on terminal signal to discard any item still emitted by the upstream.
+     */
+    boolean done;
+
+    OperatorSubscriber(Flow.Subscriber<? super R> downstream) {
+        this.downstream = downstream;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        upstream = subscription;
+        downstream.onSubscribe(this);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if(done) return;
+        done = true;
+        downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if(done) return;
+        done = true;
+        downstream.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        upstream.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        upstream.cancel();
+    }
+
+    /**
+     * Cancels the upstream and signals the error raised by this operator.
+     */
+    final void fail(Throwable err) {
+        upstream.cancel();
+        onError(err);
+    }
+}
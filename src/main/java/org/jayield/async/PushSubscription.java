@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.async;
+
+import org.jayield.AsyncTraverser;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adapts a source that only supports the push based subscribe(BiConsumer)
+ * to the demand-driven protocol.
+ * Since that source cannot be slowed down, its items are buffered and
+ * delivered to the Subscriber only as they are requested.
+ */
+public class PushSubscription<T> implements Flow.Subscription {
+    private final AsyncTraverser<T> source;
+    private final Flow.Subscriber<? super T> subscriber;
+    /**
+     * Items not delivered yet, where null items are wrapped by {@link Nulls}.
+     */
+    private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile CompletableFuture<Void> cf;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private volatile Throwable error;
+
+    public PushSubscription(AsyncTraverser<T> source, Flow.Subscriber<? super T> subscriber) {
+        this.source = source;
+        this.subscriber = subscriber;
+    }
+
+    public void start() {
+        subscriber.onSubscribe(this);
+        if(cancelled) return;
+        cf = source.subscribe((item, err) -> {
+            if(done) return;
+            if(err != null) {
+                error = err;
+                done = true;
+            }
+            else queue.offer(Nulls.wrap(item));
+            drain();
+        });
+        cf.whenComplete((ignore, err) -> {
+            if(err != null && error == null) error = err;
+            done = true;
+            drain();
+        });
+        if(cancelled) cf.complete(null);
+    }
+
+    @Override
+    public void request(long n) {
+        if(n <= 0) {
+            error = Demand.nonPositive(n);
+            done = true;
+            queue.clear();
+        }
+        else Demand.add(requested, n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        CompletableFuture<Void> s = cf;
+        if(s != null) s.complete(null);
+    }
+
+    private void drain() {
+        if(wip.getAndIncrement() != 0) return;
+        int missed = 1;
+        do {
+            long r = requested.get();
+            long e = 0;
+            while(!cancelled) {
+                boolean d = done;
+                if(d && error != null) {
+                    terminate();
+                    return;
+                }
+                Object item = e != r ? queue.poll() : null;
+                if(item == null) {
+                    if(d && queue.isEmpty()) {
+                        terminate();
+                        return;
+                    }
+                    break;
+                }
+                subscriber.onNext(Nulls.unwrap(item));
+                e++;
+            }
+            if(cancelled) {
+                queue.clear();
+                return;
+            }
+            Demand.produced(requested, e);
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void terminate() {
+        cancel();
+        queue.clear();
+        if(error == null) subscriber.onComplete();
+        else subscriber.onError(error);
+    }
+}
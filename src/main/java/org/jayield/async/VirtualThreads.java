@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.async;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Shared executor starting a new virtual thread per task when the runtime
+ * supports it (JDK 21 or later), or running tasks on a cached pool of
+ * daemon platform threads otherwise.
+ */
+public final class VirtualThreads {
+    private static final ExecutorService executor = newExecutor();
+
+    private VirtualThreads() {
+    }
+
+    public static Executor executor() {
+        return executor;
+    }
+
+    /**
+     * True if tasks of executor() really run on virtual threads.
+     */
+    public static boolean isVirtual() {
+        return !(executor instanceof ThreadPoolExecutor);
+    }
+
+    /**
+     * Uses Executors.newVirtualThreadPerTaskExecutor() through reflection,
+     * because jayield is still compiled for Java 11.
+     */
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread t = new Thread(task, "jayield-async");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.collections;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A max-heap keeping the k lowest elements added to it, according to the
+ * given comparator, with O(log k) time per element and O(k) memory.
+ * Equal elements are ordered by the sequence they were added, thus the
+ * result is the same as the first k elements of a stable sort.
+ * The backing arrays double their length whenever they are full, up to k elements.
+ * This is an internal collection of jayield and it is not thread-safe.
+ */
+public class BoundedHeap<T> {
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private Object[] data;
+    /**
+     * Sequence number of each element in data.
+     */
+    private long[] seqs;
+    private long seq;
+    private int size;
+
+    public BoundedHeap(int k, Comparator<? super T> comparator) {
+        if(k < 0)
+            throw new IllegalArgumentException("Illegal bound: " + k);
+        this.k = k;
+        this.comparator = comparator;
+        this.data = new Object[Math.min(k, IntGrowableBuffer.DEFAULT_CAPACITY)];
+        this.seqs = new long[data.length];
+    }
+
+    /**
+     * Adds the specified element while there are less than k elements in this heap.
+     * Otherwise, it replaces the highest element if that is greater than the new one.
+     */
+    public void add(T item) {
+        long s = seq++;
+        if(size < k) {
+            if(size == data.length) grow();
+            siftUp(size++, item, s);
+        } else if(size > 0 && comparator.compare(item, at(0)) < 0) {
+            siftDown(item, s, size);
+        }
+    }
+
+    /**
+     * Returns the number of elements in this heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an array with the elements of this heap in ascending order.
+     * The backing array is sorted in place and returned with no copy when it
+     * is full, thus this heap must not be used afterwards.
+     */
+    public Object[] toSortedArray() {
+        for (int last = size - 1; last > 0; last--) {
+            Object max = data[0];
+            long maxSeq = seqs[0];
+            siftDown(at(last), seqs[last], last);
+            data[last] = max;
+            seqs[last] = maxSeq;
+        }
+        return size == data.length ? data : Arrays.copyOf(data, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T at(int i) {
+        return (T) data[i];
+    }
+
+    private int compare(T a, long seqA, int i) {
+        int res = comparator.compare(a, at(i));
+        return res != 0 ? res : Long.compare(seqA, seqs[i]);
+    }
+
+    private void siftUp(int i, T item, long s) {
+        while(i > 0) {
+            int parent = (i - 1) >>> 1;
+            if(compare(item, s, parent) <= 0) break;
+            data[i] = data[parent];
+            seqs[i] = seqs[parent];
+            i = parent;
+        }
+        data[i] = item;
+        seqs[i] = s;
+    }
+
+    /**
+     * Places item at the root of the first n elements and moves it down
+     * until no child is greater.
+     */
+    private void siftDown(T item, long s, int n) {
+        int i = 0;
+        int half = n >>> 1;
+        while(i < half) {
+            int child = 2 * i + 1;
+            if(child + 1 < n && compare(at(child + 1), seqs[child + 1], child) > 0) child++;
+            if(compare(item, s, child) >= 0) break;
+            data[i] = data[child];
+            seqs[i] = seqs[child];
+            i = child;
+        }
+        data[i] = item;
+        seqs[i] = s;
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min((long) data.length << 1, k);
+        data = Arrays.copyOf(data, capacity);
+        seqs = Arrays.copyOf(seqs, capacity);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.collections;
+
+import java.util.Arrays;
+
+/**
+ * A growable array of double values without boxing.
+ * The backing array doubles its length whenever it is full.
+ * This is an internal collection of jayield and it is not thread-safe.
+ */
+public class DoubleGrowableBuffer {
+    static final int DEFAULT_CAPACITY = 16;
+    static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private double[] data;
+    private int size;
+
+    public DoubleGrowableBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DoubleGrowableBuffer(int initialCapacity) {
+        if(initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        this.data = new double[initialCapacity];
+    }
+
+    /**
+     * Appends the specified value to the end of this buffer.
+     */
+    public void add(double item) {
+        if(size == data.length) grow();
+        data[size++] = item;
+    }
+
+    /**
+     * Returns the value at the specified position in this buffer.
+     */
+    public double get(int index) {
+        if(index >= size)
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        return data[index];
+    }
+
+    /**
+     * Returns the number of values in this buffer.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an array with the values of this buffer.
+     * The backing array is returned with no copy when it is full.
+     */
+    public double[] toArray() {
+        return size == data.length ? data : Arrays.copyOf(data, size);
+    }
+
+    private void grow() {
+        if(data.length == MAX_CAPACITY)
+            throw new OutOfMemoryError("DoubleGrowableBuffer cannot grow beyond " + MAX_CAPACITY + " elements!");
+        long capacity = Math.max((long) data.length << 1, DEFAULT_CAPACITY);
+        data = Arrays.copyOf(data, (int) Math.min(capacity, MAX_CAPACITY));
+    }
+}
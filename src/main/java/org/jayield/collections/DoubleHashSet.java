@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.collections;
+
+/**
+ * A set of double values without boxing.
+ * Values are compared according to {@link Double#equals(Object)},
+ * i.e. by their {@link Double#doubleToLongBits(double)} representation,
+ * which are kept in a {@link LongHashSet}.
+ * This is an internal collection of jayield and it is not thread-safe.
+ */
+public class DoubleHashSet {
+    private final LongHashSet bits;
+
+    public DoubleHashSet() {
+        this.bits = new LongHashSet();
+    }
+
+    /**
+     * @param expectedSize
+     *         number of elements that fit in the set without resizing.
+     * @param loadFactor
+     *         maximum ratio of occupied slots before resizing, between 0 and 1 (exclusive).
+     */
+    public DoubleHashSet(int expectedSize, float loadFactor) {
+        this.bits = new LongHashSet(expectedSize, loadFactor);
+    }
+
+    /**
+     * Adds the specified value to this set if it is not already present.
+     *
+     * @return true if this set did not already contain the specified value.
+     */
+    public boolean add(double key) {
+        return bits.add(Double.doubleToLongBits(key));
+    }
+
+    /**
+     * Returns true if this set contains the specified value.
+     */
+    public boolean contains(double key) {
+        return bits.contains(Double.doubleToLongBits(key));
+    }
+
+    /**
+     * Returns the number of values in this set.
+     */
+    public int size() {
+        return bits.size();
+    }
+
+    /**
+     * Returns the number of slots of the underlying table.
+     */
+    public int capacity() {
+        return bits.capacity();
+    }
+}
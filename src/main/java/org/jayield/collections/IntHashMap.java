@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.collections;
+
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static org.jayield.collections.IntHashSet.DEFAULT_CAPACITY;
+import static org.jayield.collections.IntHashSet.DEFAULT_LOAD_FACTOR;
+import static org.jayield.collections.IntHashSet.MAX_CAPACITY;
+import static org.jayield.collections.IntHashSet.mix;
+import static org.jayield.collections.IntHashSet.tableSizeFor;
+
+/**
+ * A map from int keys to values without boxing the keys, based on open
+ * addressing with linear probing, such as {@link IntHashSet}.
+ * The key 0 marks an empty slot and thus its value is tracked apart.
+ * It is the result of {@link org.jayield.Query#groupByInt} and it is not thread-safe.
+ */
+public class IntHashMap<V> {
+    private final float loadFactor;
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+    private boolean hasZero;
+    private V zeroValue;
+
+    public IntHashMap() {
+        this((int) (DEFAULT_CAPACITY * DEFAULT_LOAD_FACTOR), DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param expectedSize
+     *         number of keys that fit in the map without resizing.
+     * @param loadFactor
+     *         maximum ratio of occupied slots before resizing, between 0 and 1 (exclusive).
+     */
+    public IntHashMap(int expectedSize, float loadFactor) {
+        if(expectedSize < 0)
+            throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+        if(!(loadFactor > 0 && loadFactor < 1))
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor(expectedSize, loadFactor));
+    }
+
+    /**
+     * A map with the same keys, and the same table, of the other one and no values yet.
+     */
+    private IntHashMap(IntHashMap<?> other) {
+        this.loadFactor = other.loadFactor;
+        this.keys = other.keys.clone();
+        this.values = new Object[keys.length];
+        this.mask = other.mask;
+        this.threshold = other.threshold;
+        this.size = other.size;
+        this.hasZero = other.hasZero;
+    }
+
+    /**
+     * Returns the value of the specified key, or null if this map has no such key.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if(key == 0) return zeroValue;
+        int i = slot(key);
+        return keys[i] == 0 ? null : (V) values[i];
+    }
+
+    /**
+     * Returns true if this map contains the specified key.
+     */
+    public boolean containsKey(int key) {
+        if(key == 0) return hasZero;
+        return keys[slot(key)] != 0;
+    }
+
+    /**
+     * Associates the value with the specified key.
+     *
+     * @return the previous value of that key, or null if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        V prev;
+        if(key == 0) {
+            prev = zeroValue;
+            zeroValue = value;
+            if(!hasZero) {
+                hasZero = true;
+                size++;
+            }
+            return prev;
+        }
+        int i = slot(key);
+        prev = (V) values[i];
+        values[i] = value;
+        if(keys[i] == 0) {
+            keys[i] = key;
+            if(++size > threshold) rehash();
+        }
+        return prev;
+    }
+
+    /**
+     * Returns the value of the specified key, which is first computed
+     * by the given function if this map has no such key.
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(int key, IntFunction<? extends V> mapping) {
+        if(key == 0) {
+            if(!hasZero) {
+                zeroValue = mapping.apply(key);
+                hasZero = true;
+                size++;
+            }
+            return zeroValue;
+        }
+        int i = slot(key);
+        if(keys[i] != 0) return (V) values[i];
+        V value = mapping.apply(key);
+        keys[i] = key;
+        values[i] = value;
+        if(++size > threshold) rehash();
+        return value;
+    }
+
+    /**
+     * Returns a new map with the same keys of this map, each one associated
+     * with the result of applying the mapper to its value in this map.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> IntHashMap<R> mapValues(Function<? super V, ? extends R> mapper) {
+        IntHashMap<R> res = new IntHashMap<>(this);
+        for (int i = 0; i < keys.length; i++) {
+            if(keys[i] != 0) res.values[i] = mapper.apply((V) values[i]);
+        }
+        if(hasZero) res.zeroValue = mapper.apply(zeroValue);
+        return res;
+    }
+
+    /**
+     * Returns a new array with the keys of this map, in no particular order.
+     */
+    public int[] keys() {
+        int[] res = new int[size];
+        int n = 0;
+        if(hasZero) res[n++] = 0;
+        for (int k : keys) {
+            if(k != 0) res[n++] = k;
+        }
+        return res;
+    }
+
+    /**
+     * Performs the given action on each entry of this map, in no particular order.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(IntObjConsumer<? super V> action) {
+        if(hasZero) action.accept(0, zeroValue);
+        for (int i = 0; i < keys.length; i++) {
+            if(keys[i] != 0) action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    /**
+     * Returns the number of keys in this map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots of the underlying table.
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the slot of the specified non-zero key, or the empty slot
+     * where it belongs if this map has no such key.
+     */
+    private int slot(int key) {
+        int i = mix(key) & mask;
+        for(int k; (k = keys[i]) != 0 && k != key; ) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = capacity == MAX_CAPACITY ? MAX_CAPACITY - 1 : (int) (capacity * loadFactor);
+    }
+
+    private void rehash() {
+        if(keys.length == MAX_CAPACITY)
+            throw new IllegalStateException("IntHashMap cannot grow beyond " + MAX_CAPACITY + " keys!");
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int j = 0; j < oldKeys.length; j++) {
+            int k = oldKeys[j];
+            if(k == 0) continue;
+            int i = mix(k) & mask;
+            while(keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = k;
+            values[i] = oldValues[j];
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.collections;
+
+import java.util.function.LongBinaryOperator;
+
+import static org.jayield.collections.IntHashSet.DEFAULT_CAPACITY;
+import static org.jayield.collections.IntHashSet.DEFAULT_LOAD_FACTOR;
+import static org.jayield.collections.IntHashSet.MAX_CAPACITY;
+import static org.jayield.collections.IntHashSet.mix;
+import static org.jayield.collections.IntHashSet.tableSizeFor;
+
+/**
+ * A map from int keys to long values without boxing, based on open
+ * addressing with linear probing, such as {@link IntHashSet}.
+ * Values are merged in place, thus it keeps counts, sums, minimums or
+ * maximums per key with no object per key.
+ * The key 0 marks an empty slot and thus its value is tracked apart.
+ * It is the result of {@link org.jayield.Query#reduceByInt} and it is not thread-safe.
+ */
+public class IntLongHashMap {
+    private final float loadFactor;
+    private int[] keys;
+    private long[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+    private boolean hasZero;
+    private long zeroValue;
+
+    public IntLongHashMap() {
+        this((int) (DEFAULT_CAPACITY * DEFAULT_LOAD_FACTOR), DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param expectedSize
+     *         number of keys that fit in the map without resizing.
+     * @param loadFactor
+     *         maximum ratio of occupied slots before resizing, between 0 and 1 (exclusive).
+     */
+    public IntLongHashMap(int expectedSize, float loadFactor) {
+        if(expectedSize < 0)
+            throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+        if(!(loadFactor > 0 && loadFactor < 1))
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor(expectedSize, loadFactor));
+    }
+
+    /**
+     * Returns the value of the specified key, or defaultValue if this map has no such key.
+     */
+    public long get(int key, long defaultValue) {
+        if(key == 0) return hasZero ? zeroValue : defaultValue;
+        int i = slot(key);
+        return keys[i] == 0 ? defaultValue : values[i];
+    }
+
+    /**
+     * Returns true if this map contains the specified key.
+     */
+    public boolean containsKey(int key) {
+        if(key == 0) return hasZero;
+        return keys[slot(key)] != 0;
+    }
+
+    /**
+     * Associates the value with the specified key, if this map has no such key.
+     * Otherwise, it replaces the current value of that key with the result of
+     * the remapping function applied to the current and the given values.
+     */
+    public void merge(int key, long value, LongBinaryOperator remapping) {
+        if(key == 0) {
+            if(hasZero) {
+                zeroValue = remapping.applyAsLong(zeroValue, value);
+            } else {
+                zeroValue = value;
+                hasZero = true;
+                size++;
+            }
+            return;
+        }
+        int i = slot(key);
+        if(keys[i] != 0) {
+            values[i] = remapping.applyAsLong(values[i], value);
+            return;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if(++size > threshold) rehash();
+    }
+
+    /**
+     * Returns a new array with the keys of this map, in no particular order.
+     */
+    public int[] keys() {
+        int[] res = new int[size];
+        int n = 0;
+        if(hasZero) res[n++] = 0;
+        for (int k : keys) {
+            if(k != 0) res[n++] = k;
+        }
+        return res;
+    }
+
+    /**
+     * Performs the given action on each entry of this map, in no particular order.
+     */
+    public void forEach(IntLongConsumer action) {
+        if(hasZero) action.accept(0, zeroValue);
+        for (int i = 0; i < keys.length; i++) {
+            if(keys[i] != 0) action.accept(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Returns the number of keys in this map.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots of the underlying table.
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the slot of the specified non-zero key, or the empty slot
+     * where it belongs if this map has no such key.
+     */
+    private int slot(int key) {
+        int i = mix(key) & mask;
+        for(int k; (k = keys[i]) != 0 && k != key; ) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        threshold = capacity == MAX_CAPACITY ? MAX_CAPACITY - 1 : (int) (capacity * loadFactor);
+    }
+
+    private void rehash() {
+        if(keys.length == MAX_CAPACITY)
+            throw new IllegalStateException("IntLongHashMap cannot grow beyond " + MAX_CAPACITY + " keys!");
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int j = 0; j < oldKeys.length; j++) {
+            int k = oldKeys[j];
+            if(k == 0) continue;
+            int i = mix(k) & mask;
+            while(keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = k;
+            values[i] = oldValues[j];
+        }
+    }
+}
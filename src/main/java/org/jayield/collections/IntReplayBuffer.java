@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.collections;
+
+import java.util.Arrays;
+
+/**
+ * An append-only sequence of int values stored in segments of
+ * {@link ReplayBuffer#SEGMENT} values, which are never copied as it grows.
+ * One thread at a time may add values, while any number of threads
+ * read the values published so far, whose number is size().
+ * This is an internal collection of jayield.
+ */
+public class IntReplayBuffer {
+    /**
+     * Volatile, because add() replaces it with a longer copy while readers
+     * may load it, which must not see that copy before its elements.
+     */
+    private volatile int[][] segments = new int[4][];
+    /**
+     * Number of values added, which is only read by the thread adding them.
+     */
+    private long count;
+    private volatile long size;
+
+    /**
+     * Appends the specified value to the end of this buffer.
+     * Other threads cannot read it until the following publish().
+     * Calls must not overlap.
+     */
+    public void add(int item) {
+        long n = count;
+        int seg = (int) (n >>> ReplayBuffer.SHIFT);
+        int[][] segs = segments;
+        if(seg == segs.length) segments = segs = Arrays.copyOf(segs, seg << 1);
+        int[] dest = segs[seg];
+        if(dest == null) segs[seg] = dest = new int[ReplayBuffer.SEGMENT];
+        dest[(int) (n & ReplayBuffer.MASK)] = item;
+        count = n + 1;
+    }
+
+    /**
+     * Makes the values added so far visible to the readers of size().
+     */
+    public void publish() {
+        size = count;
+    }
+
+    /**
+     * Number of values added, which may not be published yet.
+     * Only the thread adding values may call it.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the value at index, which must be lower than size().
+     */
+    public int get(long index) {
+        return segments[(int) (index >>> ReplayBuffer.SHIFT)][(int) (index & ReplayBuffer.MASK)];
+    }
+
+    /**
+     * Returns the segment holding the value at index, which must be lower
+     * than size(), at the position {@code index & (SEGMENT - 1)}.
+     * Consumers must not modify it.
+     */
+    public int[] segment(long index) {
+        return segments[(int) (index >>> ReplayBuffer.SHIFT)];
+    }
+
+    /**
+     * Returns the number of values published so far.
+     */
+    public long size() {
+        return size;
+    }
+}
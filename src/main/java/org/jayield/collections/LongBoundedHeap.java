@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.collections;
+
+import java.util.Arrays;
+
+/**
+ * A max-heap keeping the k lowest long values added to it, with O(log k)
+ * time per value and O(k) memory.
+ * The backing array doubles its length whenever it is full, up to k values.
+ * This is an internal collection of jayield and it is not thread-safe.
+ */
+public class LongBoundedHeap {
+    private final int k;
+    private long[] data;
+    private int size;
+
+    public LongBoundedHeap(int k) {
+        if(k < 0)
+            throw new IllegalArgumentException("Illegal bound: " + k);
+        this.k = k;
+        this.data = new long[Math.min(k, IntGrowableBuffer.DEFAULT_CAPACITY)];
+    }
+
+    /**
+     * Adds the specified value while there are less than k values in this heap.
+     * Otherwise, it replaces the highest value if that is greater than the new one.
+     */
+    public void add(long item) {
+        if(size < k) {
+            if(size == data.length) grow();
+            siftUp(size++, item);
+        } else if(size > 0 && item < data[0]) {
+            siftDown(item, size);
+        }
+    }
+
+    /**
+     * Returns the number of values in this heap.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an array with the values of this heap in ascending order.
+     * The backing array is sorted in place and returned with no copy when it
+     * is full, thus this heap must not be used afterwards.
+     */
+    public long[] toSortedArray() {
+        for (int last = size - 1; last > 0; last--) {
+            long max = data[0];
+            siftDown(data[last], last);
+            data[last] = max;
+        }
+        return size == data.length ? data : Arrays.copyOf(data, size);
+    }
+
+    private void siftUp(int i, long item) {
+        while(i > 0) {
+            int parent = (i - 1) >>> 1;
+            if(data[parent] >= item) break;
+            data[i] = data[parent];
+            i = parent;
+        }
+        data[i] = item;
+    }
+
+    /**
+     * Places item at the root of the first n values and moves it down
+     * until no child is greater.
+     */
+    private void siftDown(long item, int n) {
+        int i = 0;
+        int half = n >>> 1;
+        while(i < half) {
+            int child = 2 * i + 1;
+            if(child + 1 < n && data[child + 1] > data[child]) child++;
+            if(item >= data[child]) break;
+            data[i] = data[child];
+            i = child;
+        }
+        data[i] = item;
+    }
+
+    private void grow() {
+        data = Arrays.copyOf(data, (int) Math.min((long) data.length << 1, k));
+    }
+}
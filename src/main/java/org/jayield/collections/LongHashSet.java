@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.collections;
+
+/**
+ * A set of long values without boxing, based on open addressing
+ * with linear probing.
+ * The table doubles its capacity whenever the number of occupied
+ * slots exceeds the load factor.
+ * The value 0 marks an empty slot and thus it is tracked apart.
+ * This is an internal collection of jayield and it is not thread-safe.
+ */
+public class LongHashSet {
+    static final int DEFAULT_CAPACITY = 16;
+    static final float DEFAULT_LOAD_FACTOR = 0.75f;
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private final float loadFactor;
+    private long[] keys;
+    private int mask;
+    private int threshold;
+    private int size;
+    private boolean hasZero;
+
+    public LongHashSet() {
+        this((int) (DEFAULT_CAPACITY * DEFAULT_LOAD_FACTOR), DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param expectedSize
+     *         number of elements that fit in the set without resizing.
+     * @param loadFactor
+     *         maximum ratio of occupied slots before resizing, between 0 and 1 (exclusive).
+     */
+    public LongHashSet(int expectedSize, float loadFactor) {
+        if(expectedSize < 0)
+            throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+        if(!(loadFactor > 0 && loadFactor < 1))
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor(expectedSize, loadFactor));
+    }
+
+    /**
+     * Adds the specified value to this set if it is not already present.
+     *
+     * @return true if this set did not already contain the specified value.
+     */
+    public boolean add(long key) {
+        if(key == 0) {
+            if(hasZero) return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int i = mix(key) & mask;
+        for(long k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+            if(k == key) return false;
+        }
+        keys[i] = key;
+        if(++size > threshold) rehash();
+        return true;
+    }
+
+    /**
+     * Returns true if this set contains the specified value.
+     */
+    public boolean contains(long key) {
+        if(key == 0) return hasZero;
+        int i = mix(key) & mask;
+        for(long k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+            if(k == key) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of values in this set.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of slots of the underlying table.
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        threshold = capacity == MAX_CAPACITY ? MAX_CAPACITY - 1 : (int) (capacity * loadFactor);
+    }
+
+    private void rehash() {
+        if(keys.length == MAX_CAPACITY)
+            throw new IllegalStateException("LongHashSet cannot grow beyond " + MAX_CAPACITY + " elements!");
+        long[] old = keys;
+        allocate(old.length << 1);
+        for (long k : old) {
+            if(k == 0) continue;
+            int i = mix(k) & mask;
+            while(keys[i] != 0) i = (i + 1) & mask;
+            keys[i] = k;
+        }
+    }
+
+    /**
+     * Spreads the bits of the key so that sequential values
+     * do not form long clusters of occupied slots.
+     */
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Returns the power of two table size holding expectedSize elements
+     * below the given load factor.
+     */
+    static int tableSizeFor(int expectedSize, float loadFactor) {
+        long min = Math.max((long) Math.ceil(expectedSize / loadFactor), DEFAULT_CAPACITY);
+        if(min >= MAX_CAPACITY) return MAX_CAPACITY;
+        return Integer.highestOneBit((int) min - 1) << 1;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.collections;
+
+import java.util.Arrays;
+
+/**
+ * An append-only sequence of elements stored in segments of SEGMENT
+ * elements, which are never copied as it grows.
+ * One thread at a time may add elements, while any number of threads
+ * read the elements published so far, whose number is size().
+ * This is an internal collection of jayield.
+ */
+public class ReplayBuffer<T> {
+    public static final int SHIFT = 10;
+    public static final int SEGMENT = 1 << SHIFT;
+    static final int MASK = SEGMENT - 1;
+
+    /**
+     * Volatile, because add() replaces it with a longer copy while readers
+     * may load it, which must not see that copy before its elements.
+     */
+    private volatile Object[][] segments = new Object[4][];
+    /**
+     * Number of elements added, which is only read by the thread adding them.
+     */
+    private long count;
+    private volatile long size;
+
+    /**
+     * Appends the specified element to the end of this buffer.
+     * Other threads cannot read it until the following publish().
+     * Calls must not overlap.
+     */
+    public void add(T item) {
+        long n = count;
+        int seg = (int) (n >>> SHIFT);
+        Object[][] segs = segments;
+        if(seg == segs.length) segments = segs = Arrays.copyOf(segs, seg << 1);
+        Object[] dest = segs[seg];
+        if(dest == null) segs[seg] = dest = new Object[SEGMENT];
+        dest[(int) (n & MASK)] = item;
+        count = n + 1;
+    }
+
+    /**
+     * Makes the elements added so far visible to the readers of size().
+     */
+    public void publish() {
+        size = count;
+    }
+
+    /**
+     * Number of elements added, which may not be published yet.
+     * Only the thread adding elements may call it.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the element at index, which must be lower than size().
+     */
+    @SuppressWarnings("unchecked")
+    public T get(long index) {
+        return (T) segments[(int) (index >>> SHIFT)][(int) (index & MASK)];
+    }
+
+    /**
+     * Returns the segment holding the element at index, which must be lower
+     * than size(), at the position {@code index & (SEGMENT - 1)}.
+     * Consumers must not modify it.
+     */
+    public Object[] segment(long index) {
+        return segments[(int) (index >>> SHIFT)];
+    }
+
+    /**
+     * Returns the number of elements published so far.
+     */
+    public long size() {
+        return size;
+    }
+}
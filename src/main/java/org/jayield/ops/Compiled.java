@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.ops;
+
+import org.jayield.Traverser;
+import org.jayield.Yield;
+import org.jayield.YieldWhile;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Traversal of a chain of fused stages through hidden classes specialized
+ * for its shape, i.e. the kind of its source and the classes of the functions
+ * of its stages.
+ * Each stage, the last sink and the loop over the source are instances of
+ * their own copy of a template class, so every call from one to the next
+ * one has a single receiver type. These classes are defined once per shape.
+ */
+public class Compiled<R> implements Traverser<R> {
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private static final Shapes<Shape> shapes = new Shapes<>();
+
+    private final Fused<?, R> fused;
+    private final Traverser<?> source;
+    private final Shape shape;
+
+    /**
+     * @param source The traverser of the upstream of fused.
+     */
+    public Compiled(Fused<?, R> fused, Traverser<?> source) {
+        this.fused = fused;
+        this.source = source;
+        this.shape = shapes.get(fused.kinds, fused.stages, source instanceof FromArray, Shape::new);
+    }
+
+    private Fused.Sink chain(Fused.Sink last) {
+        Fused.Sink sink = last;
+        for (int i = fused.stages.length - 1; i >= 0; i--) {
+            sink = (Fused.Sink) Specializer.newInstance(shape.stages[i], fused.stages[i], sink);
+        }
+        return sink;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void traverse(Yield<? super R> yield) {
+        Fused.Sink head = chain((Fused.Sink) Specializer.newInstance(shape.terminal, yield));
+        if(shape.loop != null) {
+            ((Loop) Specializer.newInstance(shape.loop, source)).traverse(head);
+        } else {
+            Yield<Object> entry = (Yield<Object>) Specializer.newInstance(shape.entry, head);
+            ((Traverser<Object>) source).traverse(entry);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean traverseWhile(YieldWhile<? super R> yield) {
+        Fused.Sink head = chain((Fused.Sink) Specializer.newInstance(shape.terminalWhile, yield));
+        if(shape.loop != null) {
+            return ((Loop) Specializer.newInstance(shape.loop, source)).traverseWhile(head);
+        }
+        YieldWhile<Object> entry = (YieldWhile<Object>) Specializer.newInstance(shape.entryWhile, head);
+        return ((Traverser<Object>) source).traverseWhile(entry);
+    }
+
+    @Override
+    public int characteristics() {
+        return fused.characteristics();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return fused.getExactSizeIfKnown();
+    }
+
+    /**
+     * Constructors of the hidden classes of a shape.
+     * Either loop or both entry and entryWhile are null.
+     */
+    private static class Shape {
+        final MethodHandle[] stages;
+        final MethodHandle terminal;
+        final MethodHandle terminalWhile;
+        final MethodHandle loop;
+        final MethodHandle entry;
+        final MethodHandle entryWhile;
+
+        Shape(byte[] kinds, boolean array) {
+            stages = new MethodHandle[kinds.length];
+            for (int i = 0; i < kinds.length; i++) {
+                switch (kinds[i]) {
+                    case Fused.MAP:
+                        stages[i] = Specializer.define(lookup, Fused.MapSink.class, Function.class, Fused.Sink.class);
+                        break;
+                    case Fused.FILTER:
+                        stages[i] = Specializer.define(lookup, Fused.FilterSink.class, Predicate.class, Fused.Sink.class);
+                        break;
+                    default:
+                        stages[i] = Specializer.define(lookup, Fused.PeekSink.class, Consumer.class, Fused.Sink.class);
+                }
+            }
+            terminal = Specializer.define(lookup, Fused.Terminal.class, Yield.class);
+            terminalWhile = Specializer.define(lookup, Fused.TerminalWhile.class, YieldWhile.class);
+            loop = array ? Specializer.define(lookup, ArrayLoop.class, FromArray.class) : null;
+            entry = array ? null : Specializer.define(lookup, Fused.Entry.class, Fused.Sink.class);
+            entryWhile = array ? null : Specializer.define(lookup, Fused.EntryWhile.class, Fused.Sink.class);
+        }
+    }
+
+    abstract static class Loop {
+        abstract void traverse(Fused.Sink head);
+
+        abstract boolean traverseWhile(Fused.Sink head);
+    }
+
+    /**
+     * Loop over the remaining elements of an array, like FromArray.
+     */
+    static class ArrayLoop extends Loop {
+        private final FromArray<?> src;
+
+        ArrayLoop(FromArray<?> src) {
+            this.src = src;
+        }
+
+        @Override
+        void traverse(Fused.Sink head) {
+            Object[] data = src.data;
+            for (int i = src.current, end = src.end; i < end; i++) {
+                head.push(data[i]);
+            }
+        }
+
+        @Override
+        boolean traverseWhile(Fused.Sink head) {
+            Object[] data = src.data;
+            for (int i = src.current, end = src.end; i < end; i++) {
+                if(!head.push(data[i])) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.jayield.Advancer;
 import org.jayield.Query;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
 
 public class Concat<T> implements Advancer<T>, Traverser<T> {
     private final Query<T> first;
@@ -24,4 +25,21 @@ public class Concat<T> implements Advancer<T>, Traverser<T> {
     public boolean tryAdvance(Yield<? super T> yield) {
         return first.tryAdvance(yield) || second.tryAdvance(yield);
     }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super T> yield) {
+        return first.traverseWhile(yield) && second.traverseWhile(yield);
+    }
+
+    @Override
+    public int characteristics() {
+        return first.characteristics() & second.characteristics() & (ORDERED | SIZED | NONNULL);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = first.getExactSizeIfKnown();
+        long otherSize = second.getExactSizeIfKnown();
+        return size < 0 || otherSize < 0 ? -1 : size + otherSize;
+    }
 }
@@ -20,6 +20,7 @@ import org.jayield.Advancer;
 import org.jayield.Query;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
 import org.jayield.boxes.BoolBox;
 
 import java.util.HashSet;
@@ -50,4 +51,14 @@ public class Distinct<T> implements Advancer<T>, Traverser<T> {
         }));
         return found.isTrue();
     }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super T> yield) {
+        return upstream.traverseWhile(item -> !mem.add(item) || yield.ret(item));
+    }
+
+    @Override
+    public int characteristics() {
+        return (upstream.characteristics() & ~SIZED) | DISTINCT;
+    }
 }
@@ -4,6 +4,7 @@ import org.jayield.Advancer;
 import org.jayield.Query;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
 
 import java.util.function.Predicate;
 
@@ -50,4 +51,19 @@ public class DropWhile<T> implements Advancer<T>, Traverser<T> {
             }
         });
     }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super T> yield) {
+        return upstream.traverseWhile(item -> {
+            if (!dropped && !predicate.test(item)) {
+                dropped = true;
+            }
+            return !dropped || yield.ret(item);
+        });
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
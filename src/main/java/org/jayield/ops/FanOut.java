@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.ops;
+
+import org.jayield.YieldWhile;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * Pushes each element into several branches, in the given order, until
+ * all of them have finished. A branch finishes once it returns false and
+ * receives no more elements afterwards.
+ */
+public class FanOut<T> implements YieldWhile<T> {
+    private final YieldWhile<? super T>[] branches;
+    /**
+     * Number of branches, at the start of branches, not finished yet.
+     */
+    private int live;
+
+    public FanOut(YieldWhile<? super T>[] branches) {
+        this.branches = branches.clone();
+        this.live = branches.length;
+    }
+
+    public boolean isDone() {
+        return live == 0;
+    }
+
+    @Override
+    public boolean ret(T item) {
+        int n = 0;
+        for (int i = 0; i < live; i++) {
+            YieldWhile<? super T> branch = branches[i];
+            if(branch.ret(item)) branches[n++] = branch;
+        }
+        Arrays.fill(branches, n, live, null);
+        live = n;
+        return n > 0;
+    }
+
+    /**
+     * A branch accumulating every element into the container of a Collector.
+     */
+    public static class Collecting<T, A, R> implements YieldWhile<T> {
+        private final Collector<T, A, R> collector;
+        private final BiConsumer<A, T> accumulator;
+        private final A container;
+
+        public Collecting(Collector<T, A, R> collector) {
+            this.collector = collector;
+            this.accumulator = collector.accumulator();
+            this.container = collector.supplier().get();
+        }
+
+        @Override
+        public boolean ret(T item) {
+            accumulator.accept(container, item);
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        public R finish() {
+            return collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+                ? (R) container
+                : collector.finisher().apply(container);
+        }
+    }
+}
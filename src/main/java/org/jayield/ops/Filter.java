@@ -20,13 +20,14 @@ import org.jayield.Advancer;
 import org.jayield.Query;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
 import org.jayield.boxes.BoolBox;
 
 import java.util.function.Predicate;
 
 public class Filter<T> implements Advancer<T>, Traverser<T> {
-    private final Query<T> upstream;
-    private final Predicate<? super T> p;
+    final Query<T> upstream;
+    final Predicate<? super T> p;
 
     public Filter(Query<T> adv, Predicate<? super T> p) {
         this.upstream = adv;
@@ -55,4 +56,14 @@ public class Filter<T> implements Advancer<T>, Traverser<T> {
         }
         return found.isTrue();
     }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super T> yield) {
+        return upstream.traverseWhile(e -> !p.test(e) || yield.ret(e));
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
@@ -20,6 +20,7 @@ import org.jayield.Advancer;
 import org.jayield.Query;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
 
 import java.util.function.Function;
 
@@ -36,17 +37,36 @@ public class FlatMap<T, R> implements Advancer<R>, Traverser<R> {
 
     @Override
     public void traverse(Yield<? super R> yield) {
-        upstream.traverse(elem ->
-                mapper.apply(elem).traverse(yield));
-
+        upstream.traverse(elem -> {
+            try (Query<? extends R> inner = mapper.apply(elem)) {
+                inner.traverse(yield);
+            }
+        });
     }
 
     @Override
     public boolean tryAdvance(Yield<? super R> yield) {
         while (!src.tryAdvance(yield)) {
+            src.close();
             if(!upstream.tryAdvance(t -> src = mapper.apply(t)))
                 return false;
         }
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super R> yield) {
+        return upstream.traverseWhile(elem -> {
+            try (Query<? extends R> inner = mapper.apply(elem)) {
+                return inner.traverseWhile(yield);
+            }
+        });
+    }
+
+    /**
+     * Closes the inner query that tryAdvance() is taking elements from.
+     */
+    public void close() {
+        src.close();
+    }
 }
@@ -19,18 +19,63 @@ package org.jayield.ops;
 import org.jayield.Advancer;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
+
+import java.util.Arrays;
+import java.util.Spliterator;
 
 public class FromArray<U> implements Advancer<U>, Traverser<U> {
-    private final U[] data;
-    private int current;
+    final U[] data;
+    final int end;
+    private final int flags;
+    int current;
 
     public FromArray(U... data) {
+        this(data, 0, data.length, ORDERED);
+    }
+
+    /**
+     * Source of the elements of data between the indexes from, inclusive,
+     * and to, exclusive, with the given additional characteristics.
+     */
+    public FromArray(U[] data, int from, int to, int characteristics) {
         this.data = data;
-        this.current = 0;
+        this.current = from;
+        this.end = to;
+        this.flags = characteristics | SIZED;
     }
 
     public boolean hasNext() {
-        return current < data.length;
+        return current < end;
+    }
+
+    /**
+     * Returns a new source of the remaining elements after discarding
+     * the first n, without visiting them.
+     */
+    public FromArray<U> skip(int n) {
+        return new FromArray<>(data, current + clamp(n), end, flags);
+    }
+
+    /**
+     * Returns a new source of no more than the first n remaining elements.
+     */
+    public FromArray<U> limit(int n) {
+        return new FromArray<>(data, current, current + clamp(n), flags);
+    }
+
+    private int clamp(int n) {
+        return Math.max(0, Math.min(n, end - current));
+    }
+
+    @Override
+    public int characteristics() {
+        return flags;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return end - current;
     }
 
     /**
@@ -40,9 +85,10 @@ public class FromArray<U> implements Advancer<U>, Traverser<U> {
      */
     @Override
     public void traverse(Yield<? super U> yield) {
-        for (int i = current; i < data.length; i++) {
+        for (int i = current; i < end; i++) {
             yield.ret(data[i]);
         }
+        current = end;
     }
 
     @Override
@@ -51,4 +97,24 @@ public class FromArray<U> implements Advancer<U>, Traverser<U> {
         yield.ret(data[current++]);
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns a Spliterator covering the remaining elements of
+     * this source, which can be split for parallel traversal.
+     */
+    public Spliterator<U> spliterator() {
+        return Arrays.spliterator(data, current, end);
+    }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super U> yield) {
+        for (int i = current; i < end; i++) {
+            if(!yield.ret(data[i])) {
+                current = i + 1;
+                return false;
+            }
+        }
+        current = end;
+        return true;
+    }
+}
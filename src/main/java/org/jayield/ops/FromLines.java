@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.ops;
+
+import org.jayield.Advancer;
+import org.jayield.Traverser;
+import org.jayield.Yield;
+import org.jayield.YieldWhile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Source of the lines of a text file, read from a FileChannel into a byte
+ * buffer and decoded into a char buffer, which grows to hold the longest line.
+ * The byte buffer is a heap one, because decoders only have fast paths
+ * for array backed buffers.
+ * Lines are terminated by a line feed, a carriage return, or both, as
+ * in BufferedReader.
+ * Each line is a view of the char buffer, which is only valid until the
+ * next line, so that filtering lines allocates nothing per line.
+ */
+public class FromLines implements Advancer<CharSequence>, Traverser<CharSequence> {
+    /**
+     * Initial size of the byte and char buffers.
+     */
+    public static final int BUFFER = 1 << 16;
+
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER).flip();
+    private final LineView line = new LineView();
+    /**
+     * Decoded chars from its position, which is the start of the next line, to its limit.
+     */
+    private CharBuffer chars = CharBuffer.allocate(BUFFER).flip();
+    private FileChannel channel;
+    /**
+     * Index of chars where the search for the end of the next line resumes.
+     */
+    private int scan;
+    private boolean skipLf;
+    private boolean endOfInput;
+    private boolean eof;
+
+    /**
+     * @throws UncheckedIOException if the file cannot be opened.
+     */
+    public FromLines(Path path, Charset charset) {
+        this.decoder = charset.newDecoder();
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the view of the next line, or closes the file and returns null
+     * if there are no more lines.
+     */
+    private CharSequence nextLine() {
+        if(channel == null) return null;
+        while(true) {
+            char[] a = chars.array();
+            int limit = chars.limit();
+            if(skipLf && chars.hasRemaining()) {
+                skipLf = false;
+                if(a[chars.position()] == '\n') chars.position(chars.position() + 1);
+                scan = Math.max(scan, chars.position());
+            }
+            for (int i = scan; i < limit; i++) {
+                char c = a[i];
+                if(c == '\n' || c == '\r') {
+                    skipLf = c == '\r';
+                    scan = i + 1;
+                    return take(i, i + 1);
+                }
+            }
+            scan = limit;
+            if(eof) {
+                if(chars.hasRemaining()) return take(limit, limit);
+                close();
+                return null;
+            }
+            fill();
+        }
+    }
+
+    /**
+     * Points the view to the chars from the start of the line up to end,
+     * and moves the start of the next line to next.
+     */
+    private CharSequence take(int end, int next) {
+        line.set(chars.array(), chars.position(), end);
+        chars.position(next);
+        return line;
+    }
+
+    /**
+     * Discards the lines already taken and decodes more chars, doubling
+     * the char buffer when it is more than half full with an incomplete line.
+     */
+    private void fill() {
+        int start = chars.position();
+        chars.compact();
+        if(chars.position() > chars.capacity() / 2) {
+            chars.flip();
+            chars = CharBuffer.allocate(chars.capacity() * 2).put(chars);
+        }
+        int before = chars.position();
+        try {
+            while(chars.position() == before && !eof) {
+                CoderResult res = decoder.decode(bytes, chars, endOfInput);
+                if(res.isError()) res.throwException();
+                if(!res.isUnderflow()) break;
+                if(endOfInput) {
+                    eof = decoder.flush(chars).isUnderflow();
+                } else {
+                    bytes.compact();
+                    endOfInput = channel.read(bytes) < 0;
+                    bytes.flip();
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        } finally {
+            chars.flip();
+        }
+        scan -= start;
+    }
+
+    /**
+     * Closes the file. There are no more lines after close().
+     */
+    public void close() {
+        if(channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            channel = null;
+        }
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    @Override
+    public boolean tryAdvance(Yield<? super CharSequence> yield) {
+        CharSequence l = nextLine();
+        if(l == null) return false;
+        yield.ret(l);
+        return true;
+    }
+
+    @Override
+    public void traverse(Yield<? super CharSequence> yield) {
+        for (CharSequence l = nextLine(); l != null; l = nextLine()) {
+            yield.ret(l);
+        }
+    }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super CharSequence> yield) {
+        for (CharSequence l = nextLine(); l != null; l = nextLine()) {
+            if(!yield.ret(l)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * A line of the char buffer. Its toString() and subSequence() copy
+     * the chars into a new String.
+     */
+    private static class LineView implements CharSequence {
+        private char[] chars;
+        private int from;
+        private int to;
+
+        void set(char[] chars, int from, int to) {
+            this.chars = chars;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public int length() {
+            return to - from;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if(index < 0 || index >= to - from) throw new IndexOutOfBoundsException(index);
+            return chars[from + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if(start < 0 || start > end || end > to - from) throw new IndexOutOfBoundsException();
+            return new String(chars, from + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, from, to - from);
+        }
+    }
+}
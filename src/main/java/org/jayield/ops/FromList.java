@@ -19,17 +19,54 @@ package org.jayield.ops;
 import org.jayield.Advancer;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
+import org.jayield.boxes.BoolBox;
 
 import java.util.List;
 import java.util.Spliterator;
 
 public class FromList<U> implements Advancer<U>, Traverser<U> {
+    private final List<U> data;
     private final Spliterator<U> current;
 
     public FromList(List<U> data) {
+        this.data = data;
         this.current = data.spliterator();
     }
 
+    /**
+     * Returns a new source of the remaining elements after discarding
+     * the first n, without visiting them, or null if the number of
+     * remaining elements is unknown.
+     */
+    public FromList<U> skip(int n) {
+        long size = getExactSizeIfKnown();
+        if(size < 0) return null;
+        int from = data.size() - (int) size;
+        return new FromList<>(data.subList(from + (int) Math.max(0, Math.min(n, size)), data.size()));
+    }
+
+    /**
+     * Returns a new source of no more than the first n remaining elements,
+     * or null if the number of remaining elements is unknown.
+     */
+    public FromList<U> limit(int n) {
+        long size = getExactSizeIfKnown();
+        if(size < 0) return null;
+        int from = data.size() - (int) size;
+        return new FromList<>(data.subList(from, from + (int) Math.max(0, Math.min(n, size))));
+    }
+
+    @Override
+    public int characteristics() {
+        return current.characteristics() & (ORDERED | DISTINCT | SORTED | SIZED | NONNULL);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return current.getExactSizeIfKnown();
+    }
+
     @Override
     public void traverse(Yield<? super U> yield) {
         current.forEachRemaining(yield::ret);
@@ -39,4 +76,21 @@ public class FromList<U> implements Advancer<U>, Traverser<U> {
     public boolean tryAdvance(Yield<? super U> yield) {
         return current.tryAdvance(yield::ret);
     }
+
+    /**
+     * Returns the Spliterator of the remaining elements of
+     * this source, which can be split for parallel traversal.
+     */
+    public Spliterator<U> spliterator() {
+        return current;
+    }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super U> yield) {
+        BoolBox cont = new BoolBox(true);
+        while(cont.isTrue() && current.tryAdvance(item -> cont.set(yield.ret(item)))) {
+            // Intentionally empty. Action specified on yield statement of tryAdvance().
+        }
+        return cont.isTrue();
+    }
 }
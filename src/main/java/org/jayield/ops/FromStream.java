@@ -19,6 +19,8 @@ package org.jayield.ops;
 import org.jayield.Advancer;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
+import org.jayield.boxes.BoolBox;
 
 import java.util.Spliterator;
 import java.util.stream.Stream;
@@ -40,4 +42,13 @@ public class FromStream<U> implements Advancer<U>, Traverser<U> {
     public boolean tryAdvance(Yield<? super U> yield) {
         return upstream.tryAdvance(yield::ret);
     }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super U> yield) {
+        BoolBox cont = new BoolBox(true);
+        while(cont.isTrue() && upstream.tryAdvance(item -> cont.set(yield.ret(item)))) {
+            // Intentionally empty. Action specified on yield statement of tryAdvance().
+        }
+        return cont.isTrue();
+    }
 }
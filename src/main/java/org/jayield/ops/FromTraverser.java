@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.ops;
+
+import org.jayield.Advancer;
+import org.jayield.TraversableFinishError;
+import org.jayield.Traverser;
+import org.jayield.Yield;
+import org.jayield.YieldWhile;
+import org.jayield.boxes.BoolBox;
+
+import java.lang.ref.Cleaner;
+import java.lang.reflect.Method;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Provides an individually access (tryAdvance) to a source that only
+ * implements the bulk traversal, behaving as a true generator.
+ * On first tryAdvance() the traversal runs on a separate thread which
+ * suspends after yielding each element until the next tryAdvance() is
+ * requested, thus without buffering the elements of the source.
+ * By default the generator thread is a virtual thread when the JVM
+ * supports it, or a daemon platform thread otherwise.
+ * When this object is closed, or is no longer reachable, a suspended
+ * generator thread is interrupted and finishes.
+ */
+public class FromTraverser<U> implements Advancer<U>, Traverser<U> {
+    private static final Cleaner cleaner = Cleaner.create();
+    private static final ThreadFactory defaultFactory = defaultThreadFactory();
+
+    private final Traverser<U> source;
+    private final ThreadFactory factory;
+    private Channel<U> channel;
+    private Cleaner.Cleanable cleanable;
+
+    public FromTraverser(Traverser<U> source) {
+        this(source, defaultFactory);
+    }
+
+    public FromTraverser(Traverser<U> source, ThreadFactory factory) {
+        this.source = source;
+        this.factory = factory;
+    }
+
+    /**
+     * Continues from the point where tryAdvance left the traversal
+     * or runs the source traversal in the current thread otherwise.
+     */
+    @Override
+    public void traverse(Yield<? super U> yield) {
+        if(channel == null) {
+            source.traverse(yield);
+            return;
+        }
+        while(this.tryAdvance(yield)) {
+            // Intentionally empty. Action specified on yield statement of tryAdvance().
+        }
+    }
+
+    /**
+     * Runs the source traversal directly if the generator was not started yet.
+     */
+    @Override
+    public boolean traverseWhile(YieldWhile<? super U> yield) {
+        if(channel == null) return source.traverseWhile(yield);
+        BoolBox cont = new BoolBox(true);
+        while(cont.isTrue() && this.tryAdvance(item -> cont.set(yield.ret(item)))) {
+            // Intentionally empty. Action specified on yield statement of tryAdvance().
+        }
+        return cont.isTrue();
+    }
+
+    @Override
+    public boolean tryAdvance(Yield<? super U> yield) {
+        if(channel == null) {
+            channel = new Channel<>(source);
+            Thread generator = factory.newThread(channel);
+            channel.generator = generator;
+            cleanable = cleaner.register(this, channel::cancel);
+            generator.start();
+        }
+        return channel.next(yield);
+    }
+
+    /**
+     * Cancels the generator thread, if it was started, after which
+     * tryAdvance() finds no more elements.
+     */
+    public void close() {
+        if(cleanable != null) cleanable.clean();
+    }
+
+    /**
+     * Handoff between the thread calling tryAdvance() and the generator thread.
+     * It must not hold a reference to the FromTraverser, otherwise
+     * the suspended generator would keep it reachable.
+     */
+    private static class Channel<U> implements Runnable {
+        private static final Object DEMAND = new Object();
+        private static final Object ITEM = new Object();
+        private static final Object END = new Object();
+
+        private final Traverser<U> source;
+        private final SynchronousQueue<Object> demand = new SynchronousQueue<>();
+        private final SynchronousQueue<Object> supply = new SynchronousQueue<>();
+        private volatile Thread generator;
+        private volatile boolean cancelled;
+        private boolean finished;
+        private U current;
+        private Throwable error;
+
+        Channel(Traverser<U> source) {
+            this.source = source;
+        }
+
+        /**
+         * Runs on the generator thread.
+         */
+        @Override
+        public void run() {
+            try {
+                awaitDemand();
+                source.traverse(item -> {
+                    current = item;
+                    handOver(ITEM);
+                    awaitDemand();
+                });
+            } catch (Cancelled e) {
+                return;
+            } catch (TraversableFinishError e) {
+                /* Proceed */
+            } catch (Throwable e) {
+                error = e;
+            }
+            if(!cancelled) handOver(END);
+        }
+
+        /**
+         * Runs on the thread calling tryAdvance().
+         */
+        boolean next(Yield<? super U> yield) {
+            if(finished || cancelled) return false;
+            Object signal;
+            try {
+                demand.put(DEMAND);
+                signal = supply.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the generator!", e);
+            }
+            if(signal == END) {
+                finished = true;
+                if(error instanceof RuntimeException) throw (RuntimeException) error;
+                if(error instanceof Error) throw (Error) error;
+                if(error != null) throw new IllegalStateException(error);
+                return false;
+            }
+            U item = current;
+            current = null;
+            yield.ret(item);
+            return true;
+        }
+
+        void cancel() {
+            cancelled = true;
+            Thread t = generator;
+            if(t != null) t.interrupt();
+        }
+
+        private void awaitDemand() {
+            try {
+                demand.take();
+            } catch (InterruptedException e) {
+                throw Cancelled.instance;
+            }
+        }
+
+        private void handOver(Object signal) {
+            try {
+                supply.put(signal);
+            } catch (InterruptedException e) {
+                throw Cancelled.instance;
+            }
+        }
+    }
+
+    /**
+     * Unwinds the generator thread when its consumer is gone.
+     */
+    private static class Cancelled extends Error {
+        private static final long serialVersionUID = 1L;
+
+        static final Cancelled instance = new Cancelled();
+
+        private Cancelled() {
+            super("Generator cancelled!", null, false, false);
+        }
+    }
+
+    /**
+     * Uses Thread.ofVirtual().factory() when available (JDK 21 or later)
+     * through reflection, because jayield is still compiled for Java 11.
+     */
+    private static ThreadFactory defaultThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return task -> {
+                Thread t = new Thread(task, "jayield-generator");
+                t.setDaemon(true);
+                return t;
+            };
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.ops;
+
+import org.jayield.Advancer;
+import org.jayield.Query;
+import org.jayield.Traverser;
+import org.jayield.Yield;
+import org.jayield.YieldWhile;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A chain of adjacent map, filter and peek stages collapsed into a single stage.
+ * Each element runs through a chain of sinks, one per stage, instead of
+ * nesting a Query per stage.
+ * Thus, tryAdvance() reuses the same chain and allocates nothing per stage.
+ */
+public class Fused<T, R> implements Advancer<R>, Traverser<R> {
+    static final byte MAP = 0;
+    static final byte FILTER = 1;
+    static final byte PEEK = 2;
+
+    final Query<T> upstream;
+    final byte[] kinds;
+    final Object[] stages;
+    /**
+     * Last sink and head of the chain reused by tryAdvance().
+     */
+    private Last last;
+    private Yield<Object> advancer;
+
+    private Fused(Query<T> upstream, byte[] kinds, Object[] stages) {
+        this.upstream = upstream;
+        this.kinds = kinds;
+        this.stages = stages;
+    }
+
+    /**
+     * Returns the fusion of the stage given by adv and trav with the mapper,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static <T, R> Fused<?, R> map(Advancer<T> adv, Traverser<T> trav, Function<? super T, ? extends R> mapper) {
+        return fuse(adv, trav, MAP, mapper);
+    }
+
+    /**
+     * Returns the fusion of the stage given by adv and trav with the predicate,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static <T> Fused<?, T> filter(Advancer<T> adv, Traverser<T> trav, Predicate<? super T> p) {
+        return fuse(adv, trav, FILTER, p);
+    }
+
+    /**
+     * Returns the fusion of the stage given by adv and trav with the action,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static <T> Fused<?, T> peek(Advancer<T> adv, Traverser<T> trav, Consumer<? super T> action) {
+        return fuse(adv, trav, PEEK, action);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> Fused<?, R> fuse(Advancer<?> adv, Traverser<?> trav, byte kind, Object stage) {
+        Fused<?, ?> prev = of((Advancer<Object>) adv, (Traverser<Object>) trav);
+        if(prev == null) return null;
+        byte[] kinds = Arrays.copyOf(prev.kinds, prev.kinds.length + 1);
+        Object[] stages = Arrays.copyOf(prev.stages, prev.stages.length + 1);
+        kinds[kinds.length - 1] = kind;
+        stages[stages.length - 1] = stage;
+        return new Fused<>(prev.upstream, kinds, stages);
+    }
+
+    /**
+     * Returns the stage given by adv and trav as a chain of fused stages,
+     * or null if that stage is not a map, filter or peek.
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> Fused<?, R> of(Advancer<R> adv, Traverser<R> trav) {
+        if(adv != trav) return null;
+        if(trav instanceof Fused) {
+            return (Fused<?, R>) trav;
+        }
+        if(trav instanceof Mapping) {
+            Mapping<?, ?> prev = (Mapping<?, ?>) trav;
+            return new Fused<>(prev.upstream, new byte[] {MAP}, new Object[] {prev.mapper});
+        }
+        if(trav instanceof Filter) {
+            Filter<?> prev = (Filter<?>) trav;
+            return new Fused<>(prev.upstream, new byte[] {FILTER}, new Object[] {prev.p});
+        }
+        if(trav instanceof Peek) {
+            Peek<?> prev = (Peek<?>) trav;
+            return new Fused<>(prev.upstream, new byte[] {PEEK}, new Object[] {prev.action});
+        }
+        return null;
+    }
+
+    public Query<T> upstream() {
+        return upstream;
+    }
+
+    /**
+     * Builds the chain of sinks performing each stage, followed by last.
+     */
+    @SuppressWarnings("unchecked")
+    private Sink chain(Sink last) {
+        Sink sink = last;
+        for (int i = kinds.length - 1; i >= 0; i--) {
+            switch (kinds[i]) {
+                case MAP:
+                    sink = new MapSink((Function<Object, Object>) stages[i], sink);
+                    break;
+                case FILTER:
+                    sink = new FilterSink((Predicate<Object>) stages[i], sink);
+                    break;
+                default:
+                    sink = new PeekSink((Consumer<Object>) stages[i], sink);
+            }
+        }
+        return sink;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void traverse(Yield<? super R> yield) {
+        Sink head = chain(new Terminal((Yield<Object>) yield));
+        upstream.traverse(new Entry(head));
+    }
+
+    /**
+     * Reuses the same chain of sinks on every call, which only
+     * replaces the yield of its last sink.
+     */
+    @Override
+    public boolean tryAdvance(Yield<? super R> yield) {
+        if(last == null) {
+            last = new Last(yield);
+            advancer = chain(last)::push;
+        }
+        last.yield = yield;
+        last.found = false;
+        while(!last.found && upstream.tryAdvance(advancer)) {
+            // Intentionally empty. Items discarded by a filter do not reach the last sink.
+        }
+        return last.found;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean traverseWhile(YieldWhile<? super R> yield) {
+        Sink head = chain(new TerminalWhile((YieldWhile<Object>) yield));
+        return upstream.traverseWhile(new EntryWhile(head));
+    }
+
+    /**
+     * A stage receiving each item from the previous one.
+     * Its subclasses are also the templates copied by Compiled.
+     */
+    abstract static class Sink {
+        final Sink next;
+
+        Sink(Sink next) {
+            this.next = next;
+        }
+
+        /**
+         * @return false if downstream stopped the traversal.
+         */
+        abstract boolean push(Object item);
+    }
+
+    private class Last extends Sink {
+        private Yield<? super R> yield;
+        private boolean found;
+
+        Last(Yield<? super R> yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        boolean push(Object item) {
+            found = true;
+            yield.ret((R) item);
+            return true;
+        }
+    }
+
+    static class Terminal extends Sink {
+        private final Yield<Object> yield;
+
+        Terminal(Yield<Object> yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(Object item) {
+            yield.ret(item);
+            return true;
+        }
+    }
+
+    static class TerminalWhile extends Sink {
+        private final YieldWhile<Object> yield;
+
+        TerminalWhile(YieldWhile<Object> yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(Object item) {
+            return yield.ret(item);
+        }
+    }
+
+    /**
+     * Yield passing the items of the upstream to the head of the chain.
+     */
+    static class Entry implements Yield<Object> {
+        private final Sink head;
+
+        Entry(Sink head) {
+            this.head = head;
+        }
+
+        @Override
+        public void ret(Object item) {
+            head.push(item);
+        }
+    }
+
+    static class EntryWhile implements YieldWhile<Object> {
+        private final Sink head;
+
+        EntryWhile(Sink head) {
+            this.head = head;
+        }
+
+        @Override
+        public boolean ret(Object item) {
+            return head.push(item);
+        }
+    }
+
+    static class MapSink extends Sink {
+        private final Function<Object, Object> mapper;
+
+        MapSink(Function<Object, Object> mapper, Sink next) {
+            super(next);
+            this.mapper = mapper;
+        }
+
+        @Override
+        boolean push(Object item) {
+            return next.push(mapper.apply(item));
+        }
+    }
+
+    static class FilterSink extends Sink {
+        private final Predicate<Object> p;
+
+        FilterSink(Predicate<Object> p, Sink next) {
+            super(next);
+            this.p = p;
+        }
+
+        @Override
+        boolean push(Object item) {
+            return !p.test(item) || next.push(item);
+        }
+    }
+
+    static class PeekSink extends Sink {
+        private final Consumer<Object> action;
+
+        PeekSink(Consumer<Object> action, Sink next) {
+            super(next);
+            this.action = action;
+        }
+
+        @Override
+        boolean push(Object item) {
+            action.accept(item);
+            return next.push(item);
+        }
+    }
+
+    @Override
+    public int characteristics() {
+        int flags = upstream.characteristics();
+        for (byte kind : kinds) {
+            flags &= kind == MAP ? ORDERED | SIZED : ~SIZED;
+        }
+        return flags;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return upstream.getExactSizeIfKnown();
+    }
+}
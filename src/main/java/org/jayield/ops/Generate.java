@@ -19,6 +19,7 @@ package org.jayield.ops;
 import org.jayield.Advancer;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
 
 import java.util.function.Supplier;
 
@@ -42,4 +43,12 @@ public class Generate<U> implements Advancer<U>, Traverser<U> {
         yield.ret(s.get());
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super U> yield) {
+        while(yield.ret(s.get())) {
+            // Intentionally empty. Infinite sequence only stops by yield.
+        }
+        return false;
+    }
 }
@@ -19,6 +19,7 @@ package org.jayield.ops;
 import org.jayield.Advancer;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
 
 import java.util.function.UnaryOperator;
 
@@ -44,4 +45,15 @@ public class Iterate<U> implements Advancer<U>, Traverser<U> {
         yield.ret(curr);
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super U> yield) {
+        for(U curr = prev; true; curr = f.apply(curr))
+            if(!yield.ret(curr)) return false;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED;
+    }
 }
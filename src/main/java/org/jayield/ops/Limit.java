@@ -20,6 +20,8 @@ import org.jayield.Advancer;
 import org.jayield.Query;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
+import org.jayield.boxes.BoolBox;
 
 public class Limit<T> implements Advancer<T>, Traverser<T> {
     private final Query<T> upstream;
@@ -44,8 +46,33 @@ public class Limit<T> implements Advancer<T>, Traverser<T> {
     public void traverse(Yield<? super T> yield) {
         if(count >= n)
             throw new IllegalStateException("Traverser has already been operated on or closed!");
-        while(this.tryAdvance(yield)) {
-            // Intentionally empty. Action specified on yield statement of tryAdvance().
-        }
+        upstream.traverseWhile(item -> {
+            count++;
+            yield.ret(item);
+            return count < n;
+        });
+    }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super T> yield) {
+        if(count >= n) return true;
+        BoolBox cont = new BoolBox(true);
+        upstream.traverseWhile(item -> {
+            count++;
+            cont.set(yield.ret(item));
+            return cont.isTrue() && count < n;
+        });
+        return cont.isTrue();
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = upstream.getExactSizeIfKnown();
+        return size < 0 ? -1 : Math.min(size, Math.max(0, n - count));
     }
 }
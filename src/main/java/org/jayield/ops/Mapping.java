@@ -20,13 +20,14 @@ import org.jayield.Advancer;
 import org.jayield.Query;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
 
 import java.util.function.Function;
 
 public class Mapping<T, R> implements Advancer<R>, Traverser<R> {
 
-    private final Query<T> upstream;
-    private final Function<? super T, ? extends R> mapper;
+    final Query<T> upstream;
+    final Function<? super T, ? extends R> mapper;
 
     public Mapping(Query<T> adv, Function<? super T, ? extends R> mapper) {
         this.upstream = adv;
@@ -42,4 +43,19 @@ public class Mapping<T, R> implements Advancer<R>, Traverser<R> {
     public boolean tryAdvance(Yield<? super R> yield) {
         return upstream.tryAdvance(item -> yield.ret(mapper.apply(item)));
     }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super R> yield) {
+        return upstream.traverseWhile(e -> yield.ret(mapper.apply(e)));
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & (ORDERED | SIZED);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return upstream.getExactSizeIfKnown();
+    }
 }
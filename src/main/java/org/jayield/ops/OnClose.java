@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.ops;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Close handlers of a query, i.e. the handlers of its upstream followed
+ * by its own, which run at most once, whatever the number of queries
+ * of the same pipeline that are closed.
+ * If a handler throws, the following ones still run, and their exceptions
+ * are added as suppressed to the first one.
+ */
+public final class OnClose implements Runnable {
+    private final Runnable first;
+    private final Runnable second;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private OnClose(Runnable first, Runnable second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Returns the handlers first followed by second, where either may be null.
+     */
+    public static Runnable compose(Runnable first, Runnable second) {
+        if(second == null) return first;
+        return new OnClose(first, second);
+    }
+
+    @Override
+    public void run() {
+        if(!closed.compareAndSet(false, true)) return;
+        if(first == null) {
+            second.run();
+            return;
+        }
+        try {
+            first.run();
+        } catch (RuntimeException | Error e) {
+            try {
+                second.run();
+            } catch (Throwable suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        second.run();
+    }
+}
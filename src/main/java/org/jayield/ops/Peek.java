@@ -20,12 +20,13 @@ import org.jayield.Advancer;
 import org.jayield.Query;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
 
 import java.util.function.Consumer;
 
 public class Peek<T> implements Advancer<T>, Traverser<T> {
-    private final Query<T> upstream;
-    private final Consumer<? super T> action;
+    final Query<T> upstream;
+    final Consumer<? super T> action;
 
     public Peek(Query<T> adv, Consumer<? super T> action) {
         this.upstream = adv;
@@ -47,4 +48,20 @@ public class Peek<T> implements Advancer<T>, Traverser<T> {
             yield.ret(item);
         });
     }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super T> yield) {
+        return upstream.traverseWhile(item -> {
+            action.accept(item);
+            return yield.ret(item);
+        });
+    }
+
+    /**
+     * Not SIZED, so that count() still performs the action on each element.
+     */
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.ops;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Cache of the shapes of fused pipelines, i.e. whether their source is an
+ * array and the kind and class of each stage.
+ * The classes of the stages are held weakly, so this cache does not keep
+ * user class loaders or lambdas spun at runtime reachable. A shape, with
+ * its hidden classes, is dropped once the class of any of its stages is
+ * unloaded.
+ */
+public final class Shapes<S> {
+    private final Node<S> arrays = new Node<>();
+    private final Node<S> others = new Node<>();
+
+    /**
+     * Returns the shape of the given stages, created through define, from
+     * their kinds and whether their source is an array, if it is missing.
+     */
+    public synchronized S get(byte[] kinds, Object[] stages, boolean array, BiFunction<byte[], Boolean, S> define) {
+        Node<S> node = array ? arrays : others;
+        for (int i = 0; i < kinds.length; i++) {
+            node = node.next(kinds[i], stages[i].getClass());
+        }
+        if(node.shape == null) node.shape = define.apply(kinds, array);
+        return node.shape;
+    }
+
+    /**
+     * Shapes extending a prefix of stages, which must not hold any
+     * reference to the classes of those stages.
+     */
+    private static class Node<S> {
+        /**
+         * Following nodes, by the kind and then the class of the next stage.
+         */
+        private final List<Map<Class<?>, Node<S>>> next = new ArrayList<>();
+        private S shape;
+
+        Node<S> next(byte kind, Class<?> stage) {
+            while(next.size() <= kind) next.add(new WeakHashMap<>());
+            return next.get(kind).computeIfAbsent(stage, key -> new Node<>());
+        }
+    }
+}
@@ -20,6 +20,7 @@ import org.jayield.Advancer;
 import org.jayield.Query;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
 
 public class Skip<T> implements Advancer<T>, Traverser<T> {
     private final Query<T> upstream;
@@ -51,4 +52,26 @@ public class Skip<T> implements Advancer<T>, Traverser<T> {
             upstream.tryAdvance(item -> {});
         return upstream.tryAdvance(yield);
     }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super T> yield) {
+        return upstream.traverseWhile(item -> {
+            if(index < n) {
+                index++;
+                return true;
+            }
+            return yield.ret(item);
+        });
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = upstream.getExactSizeIfKnown();
+        return size < 0 ? -1 : Math.max(0, size - Math.max(0, n - index));
+    }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.ops;
+
+import org.jayield.Advancer;
+import org.jayield.Query;
+import org.jayield.Traverser;
+import org.jayield.Yield;
+import org.jayield.YieldWhile;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Sorts all elements of the upstream on first use.
+ * Deferring the sort lets a following limit() replace it by a {@link TopK}.
+ */
+public class Sorted<T> implements Advancer<T>, Traverser<T> {
+    private final Query<T> upstream;
+    private final Comparator<? super T> comparator;
+    private FromArray<T> sorted;
+
+    public Sorted(Query<T> upstream, Comparator<? super T> comparator) {
+        this.upstream = upstream;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns the lowest n elements of the upstream, or null if this
+     * source has already been operated on.
+     */
+    public TopK<T> limit(int n) {
+        return sorted == null ? new TopK<>(upstream, n, comparator) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private FromArray<T> sorted() {
+        if(sorted == null) {
+            int flags = upstream.characteristics();
+            T[] state = (T[]) upstream.toArray();
+            Arrays.sort(state, comparator);
+            sorted = new FromArray<>(state, 0, state.length, ORDERED | SORTED | (flags & (NONNULL | DISTINCT)));
+        }
+        return sorted;
+    }
+
+    @Override
+    public boolean tryAdvance(Yield<? super T> yield) {
+        return sorted().tryAdvance(yield);
+    }
+
+    @Override
+    public void traverse(Yield<? super T> yield) {
+        sorted().traverse(yield);
+    }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super T> yield) {
+        return sorted().traverseWhile(yield);
+    }
+
+    @Override
+    public int characteristics() {
+        return sorted != null
+            ? sorted.characteristics()
+            : ORDERED | SORTED | (upstream.characteristics() & (SIZED | NONNULL | DISTINCT));
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return sorted != null ? sorted.getExactSizeIfKnown() : upstream.getExactSizeIfKnown();
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.ops;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+
+/**
+ * Defines hidden copies of template classes (JDK 15 or later).
+ * Every copy has its own bytecode and thus its own type profile, so the
+ * virtual calls of a copy used by a single pipeline shape stay monomorphic
+ * and the JIT can inline the whole chain of stages into the source loop.
+ */
+public final class Specializer {
+    private static final Method defineHiddenClass = defineHiddenClass();
+    private static final ClassValue<byte[]> bytecode = new ClassValue<>() {
+        @Override
+        protected byte[] computeValue(Class<?> template) {
+            String name = template.getName();
+            String file = name.substring(name.lastIndexOf('.') + 1) + ".class";
+            try (InputStream in = template.getResourceAsStream(file)) {
+                if(in == null) throw new IllegalStateException("Missing bytecode of " + name);
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    };
+
+    private Specializer() {
+    }
+
+    /**
+     * True if the runtime supports hidden classes.
+     */
+    public static boolean isSupported() {
+        return defineHiddenClass != null;
+    }
+
+    /**
+     * Defines a new hidden class from the bytecode of template, which must
+     * belong to the package of host, and returns its constructor with the
+     * given parameter types, taking and returning Object.
+     */
+    public static MethodHandle define(MethodHandles.Lookup host, Class<?> template, Class<?>... params) {
+        if(defineHiddenClass == null)
+            throw new UnsupportedOperationException("Hidden classes require JDK 15 or later!");
+        try {
+            Object options = Array.newInstance(defineHiddenClass.getParameterTypes()[2].getComponentType(), 0);
+            MethodHandles.Lookup hidden = (MethodHandles.Lookup) defineHiddenClass
+                .invoke(host, bytecode.get(template), true, options);
+            return hidden
+                .findConstructor(hidden.lookupClass(), MethodType.methodType(void.class, params))
+                .asType(MethodType.genericMethodType(params.length));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static Object newInstance(MethodHandle ctor, Object arg) {
+        try {
+            return (Object) ctor.invokeExact(arg);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static Object newInstance(MethodHandle ctor, Object arg1, Object arg2) {
+        try {
+            return (Object) ctor.invokeExact(arg1, arg2);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Uses Lookup.defineHiddenClass() through reflection,
+     * because jayield is still compiled for Java 11.
+     */
+    private static Method defineHiddenClass() {
+        try {
+            Class<?> options = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            return MethodHandles.Lookup.class.getMethod(
+                "defineHiddenClass",
+                byte[].class,
+                boolean.class,
+                Array.newInstance(options, 0).getClass());
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.ops;
+
+import org.jayield.Advancer;
+import org.jayield.Query;
+import org.jayield.SpillConfig;
+import org.jayield.Traverser;
+import org.jayield.Yield;
+import org.jayield.YieldWhile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * External sort of the upstream on first use, which keeps no more than
+ * maxInMemory elements of the {@link SpillConfig} in memory.
+ * Each full batch is sorted and written into a temporary file, a run.
+ * Then, tryAdvance() lazily merges the runs and the last batch, yielding
+ * the lowest head among them, and equal elements in encounter order.
+ * Each run is deleted once merged, and all of them on close().
+ */
+public class SpillSorted<T> implements Advancer<T>, Traverser<T> {
+    /**
+     * Maximum number of runs merged at once. Beyond that, consecutive
+     * runs are first merged into larger runs.
+     */
+    static final int MAX_FAN_IN = 64;
+    static final int IO_BUFFER = 1 << 16;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Query<T> upstream;
+    private final Comparator<? super T> comparator;
+    private final SpillConfig<T> config;
+    private final List<Path> files = new ArrayList<>();
+    private final List<Run> runs = new ArrayList<>();
+    private Object[] buffer;
+    private int size;
+    private int flags;
+    private long remaining;
+    private PriorityQueue<Cursor> merge;
+
+    public SpillSorted(Query<T> upstream, Comparator<? super T> comparator, SpillConfig<T> config) {
+        this.upstream = upstream;
+        this.comparator = comparator;
+        this.config = config;
+    }
+
+    /**
+     * Returns the lowest n elements of the upstream when they fit in memory,
+     * or null if they do not or this source has already been operated on.
+     */
+    public TopK<T> limit(int n) {
+        return merge == null && n <= config.maxInMemory() ? new TopK<>(upstream, n, comparator) : null;
+    }
+
+    private PriorityQueue<Cursor> merge() {
+        if(merge != null) return merge;
+        flags = ORDERED | SORTED | SIZED | (upstream.characteristics() & (NONNULL | DISTINCT));
+        buffer = new Object[Math.min(config.maxInMemory(), INITIAL_CAPACITY)];
+        try {
+            upstream.forEach(this::add);
+            sortBuffer();
+            List<Run> sorted = runs;
+            while(sorted.size() >= MAX_FAN_IN) {
+                sorted = mergeRuns(sorted);
+            }
+            merge = open(sorted);
+            Cursor last = new ArrayCursor(sorted.size());
+            if(last.advance()) merge.add(last);
+        } catch (RuntimeException | Error e) {
+            close();
+            throw e;
+        }
+        return merge;
+    }
+
+    private void add(T item) {
+        if(size == buffer.length) {
+            if(size == config.maxInMemory()) {
+                sortBuffer();
+                runs.add(spill());
+                size = 0;
+            } else {
+                buffer = Arrays.copyOf(buffer, (int) Math.min((long) size << 1, config.maxInMemory()));
+            }
+        }
+        buffer[size++] = item;
+        remaining++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sortBuffer() {
+        Arrays.sort((T[]) buffer, 0, size, comparator);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Run spill() {
+        Run run = newRun();
+        try(DataOutputStream out = run.writer()) {
+            for (int i = 0; i < size; i++) {
+                config.serializer().write(out, (T) buffer[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        run.count = size;
+        return run;
+    }
+
+    /**
+     * Merges each group of MAX_FAN_IN consecutive runs into a single run,
+     * which keeps the encounter order of equal elements.
+     */
+    private List<Run> mergeRuns(List<Run> from) {
+        List<Run> res = new ArrayList<>();
+        for (int i = 0; i < from.size(); i += MAX_FAN_IN) {
+            List<Run> group = from.subList(i, Math.min(i + MAX_FAN_IN, from.size()));
+            if(group.size() == 1) {
+                res.add(group.get(0));
+                continue;
+            }
+            Run run = newRun();
+            PriorityQueue<Cursor> queue = open(group);
+            try(DataOutputStream out = run.writer()) {
+                Cursor c;
+                while((c = queue.poll()) != null) {
+                    config.serializer().write(out, c.head);
+                    run.count++;
+                    if(c.advance()) queue.add(c);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                queue.forEach(Cursor::close);
+            }
+            res.add(run);
+        }
+        return res;
+    }
+
+    private PriorityQueue<Cursor> open(List<Run> from) {
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(from.size() + 1, this::compare);
+        try {
+            for (int i = 0; i < from.size(); i++) {
+                Cursor c = new FileCursor(i, from.get(i));
+                if(c.advance()) queue.add(c);
+            }
+        } catch (RuntimeException | Error e) {
+            queue.forEach(Cursor::close);
+            throw e;
+        }
+        return queue;
+    }
+
+    private int compare(Cursor a, Cursor b) {
+        int res = comparator.compare(a.head, b.head);
+        return res != 0 ? res : Integer.compare(a.index, b.index);
+    }
+
+    private Run newRun() {
+        try {
+            Path dir = config.directory();
+            Path file = dir == null
+                ? Files.createTempFile("jayield-", ".run")
+                : Files.createTempFile(dir, "jayield-", ".run");
+            files.add(file);
+            return new Run(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void delete(Path file) {
+        files.remove(file);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Yield<? super T> yield) {
+        PriorityQueue<Cursor> queue = merge();
+        Cursor c = queue.poll();
+        if(c == null) return false;
+        T item = c.head;
+        if(c.advance()) queue.add(c);
+        remaining--;
+        yield.ret(item);
+        return true;
+    }
+
+    @Override
+    public void traverse(Yield<? super T> yield) {
+        while(tryAdvance(yield)) {
+            // Intentionally empty. Each call yields the next element.
+        }
+    }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super T> yield) {
+        PriorityQueue<Cursor> queue = merge();
+        Cursor c;
+        while((c = queue.poll()) != null) {
+            T item = c.head;
+            if(c.advance()) queue.add(c);
+            remaining--;
+            if(!yield.ret(item)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Closes the runs being merged and deletes every run left.
+     */
+    public void close() {
+        if(merge != null) {
+            merge.forEach(Cursor::close);
+            merge.clear();
+        }
+        buffer = null;
+        new ArrayList<>(files).forEach(this::delete);
+    }
+
+    @Override
+    public int characteristics() {
+        return merge != null
+            ? flags
+            : ORDERED | SORTED | (upstream.characteristics() & (SIZED | NONNULL | DISTINCT));
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return merge != null ? remaining : upstream.getExactSizeIfKnown();
+    }
+
+    private static class Run {
+        final Path file;
+        long count;
+
+        Run(Path file) {
+            this.file = file;
+        }
+
+        DataOutputStream writer() throws IOException {
+            return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER));
+        }
+    }
+
+    /**
+     * Head of a sorted sequence of elements, and index of that sequence
+     * in encounter order.
+     */
+    private abstract class Cursor {
+        final int index;
+        T head;
+
+        Cursor(int index) {
+            this.index = index;
+        }
+
+        /**
+         * Moves head to the next element, or returns false if there is none.
+         */
+        abstract boolean advance();
+
+        void close() {
+        }
+    }
+
+    private class FileCursor extends Cursor {
+        private final Run run;
+        private final DataInputStream in;
+        private long left;
+
+        FileCursor(int index, Run run) {
+            super(index);
+            this.run = run;
+            this.left = run.count;
+            try {
+                this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run.file), IO_BUFFER));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        boolean advance() {
+            if(left == 0) {
+                close();
+                return false;
+            }
+            try {
+                head = config.serializer().read(in);
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+            left--;
+            return true;
+        }
+
+        @Override
+        void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                delete(run.file);
+            }
+        }
+    }
+
+    private class ArrayCursor extends Cursor {
+        private int pos;
+
+        ArrayCursor(int index) {
+            super(index);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        boolean advance() {
+            if(pos == size) return false;
+            head = (T) buffer[pos];
+            buffer[pos++] = null;
+            return true;
+        }
+    }
+}
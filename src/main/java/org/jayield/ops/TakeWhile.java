@@ -20,6 +20,8 @@ import org.jayield.Advancer;
 import org.jayield.Query;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
+import org.jayield.boxes.BoolBox;
 
 import java.util.function.Predicate;
 
@@ -49,9 +51,26 @@ public class TakeWhile<T> implements Advancer<T>, Traverser<T> {
 
     @Override
     public void traverse(Yield<? super T> yield) {
-        upstream.shortCircuit(item -> {
-            if(!predicate.test(item)) Yield.bye();
+        upstream.traverseWhile(item -> {
+            if(!predicate.test(item)) return false;
             yield.ret(item);
+            return true;
         });
     }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super T> yield) {
+        BoolBox cont = new BoolBox(true);
+        upstream.traverseWhile(item -> {
+            if(!predicate.test(item)) return false;
+            cont.set(yield.ret(item));
+            return cont.isTrue();
+        });
+        return cont.isTrue();
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.ops;
+
+import org.jayield.Advancer;
+import org.jayield.Query;
+import org.jayield.Traverser;
+import org.jayield.Yield;
+import org.jayield.YieldWhile;
+import org.jayield.collections.BoundedHeap;
+
+import java.util.Comparator;
+
+/**
+ * The k lowest elements of the upstream in ascending order, which are the
+ * same as sorted(comparator).limit(k), collected on first use in a
+ * {@link BoundedHeap} with O(n log k) time and O(k) memory.
+ */
+public class TopK<T> implements Advancer<T>, Traverser<T> {
+    private final Query<T> upstream;
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private FromArray<T> top;
+
+    public TopK(Query<T> upstream, int k, Comparator<? super T> comparator) {
+        this.upstream = upstream;
+        this.k = Math.max(0, k);
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns the lowest min(k, n) elements of the upstream, or null if this source has already been operated on.
+     */
+    public TopK<T> limit(int n) {
+        return top == null ? new TopK<>(upstream, Math.min(k, n), comparator) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private FromArray<T> top() {
+        if(top == null) {
+            int flags = upstream.characteristics();
+            BoundedHeap<T> heap = new BoundedHeap<>(k, comparator);
+            upstream.forEach(heap::add);
+            T[] state = (T[]) heap.toSortedArray();
+            top = new FromArray<>(state, 0, state.length, ORDERED | SORTED | (flags & (NONNULL | DISTINCT)));
+        }
+        return top;
+    }
+
+    @Override
+    public boolean tryAdvance(Yield<? super T> yield) {
+        return top().tryAdvance(yield);
+    }
+
+    @Override
+    public void traverse(Yield<? super T> yield) {
+        top().traverse(yield);
+    }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super T> yield) {
+        return top().traverseWhile(yield);
+    }
+
+    @Override
+    public int characteristics() {
+        return top != null
+            ? top.characteristics()
+            : ORDERED | SORTED | (upstream.characteristics() & (SIZED | NONNULL | DISTINCT));
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        if(top != null) return top.getExactSizeIfKnown();
+        long size = upstream.getExactSizeIfKnown();
+        return size < 0 ? -1 : Math.min(size, k);
+    }
+}
@@ -20,6 +20,7 @@ import org.jayield.Advancer;
 import org.jayield.Query;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
 import org.jayield.boxes.BoolBox;
 
 import java.util.function.BiFunction;
@@ -48,9 +49,25 @@ public class Zip<T, U, R> implements Advancer<R>, Traverser<R> {
 
     @Override
     public void traverse(Yield<? super R> yield) {
-        upstream.shortCircuit(e1 -> {
-            if(!other.tryAdvance(e2 -> yield.ret(zipper.apply(e1, e2))))
-                Yield.bye();
-        });
+        upstream.traverseWhile(e1 -> other.tryAdvance(e2 -> yield.ret(zipper.apply(e1, e2))));
+    }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super R> yield) {
+        BoolBox cont = new BoolBox(true);
+        upstream.traverseWhile(e1 -> other.tryAdvance(e2 -> cont.set(yield.ret(zipper.apply(e1, e2)))) && cont.isTrue());
+        return cont.isTrue();
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & other.characteristics() & (ORDERED | SIZED);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = upstream.getExactSizeIfKnown();
+        long otherSize = other.getExactSizeIfKnown();
+        return size < 0 || otherSize < 0 ? -1 : Math.min(size, otherSize);
     }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.LongSummaryStatistics;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Reductions over the elements of a primitive array between the indexes
+ * from, inclusive, and to, exclusive, performed by the sum, min, max,
+ * average and summaryStatistics of IntQuery, LongQuery and DoubleQuery
+ * from an array.
+ * These methods are scalar loops. A subclass registered for ServiceLoader,
+ * such as the one of jayield-vector, replaces them, unless it cannot be
+ * loaded by the runtime.
+ * The min and max methods require a non empty range.
+ */
+public class ArrayReductions {
+    private static final ArrayReductions instance = load();
+
+    protected ArrayReductions() {
+    }
+
+    /**
+     * Returns the first implementation found by ServiceLoader
+     * or the scalar one.
+     */
+    public static ArrayReductions get() {
+        return instance;
+    }
+
+    private static ArrayReductions load() {
+        try {
+            for (ArrayReductions r : ServiceLoader.load(ArrayReductions.class)) {
+                return r;
+            }
+        } catch (ServiceConfigurationError | LinkageError e) {
+            // e.g. jayield-vector without --add-modules jdk.incubator.vector
+        }
+        return new ArrayReductions();
+    }
+
+    public long sum(int[] data, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += data[i];
+        }
+        return sum;
+    }
+
+    public int min(int[] data, int from, int to) {
+        int min = data[from];
+        for (int i = from + 1; i < to; i++) {
+            if(data[i] < min) min = data[i];
+        }
+        return min;
+    }
+
+    public int max(int[] data, int from, int to) {
+        int max = data[from];
+        for (int i = from + 1; i < to; i++) {
+            if(data[i] > max) max = data[i];
+        }
+        return max;
+    }
+
+    public IntSummaryStatistics summaryStatistics(int[] data, int from, int to) {
+        IntSummaryStatistics stats = new IntSummaryStatistics();
+        for (int i = from; i < to; i++) {
+            stats.accept(data[i]);
+        }
+        return stats;
+    }
+
+    public long sum(long[] data, int from, int to) {
+        long sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += data[i];
+        }
+        return sum;
+    }
+
+    public long min(long[] data, int from, int to) {
+        long min = data[from];
+        for (int i = from + 1; i < to; i++) {
+            if(data[i] < min) min = data[i];
+        }
+        return min;
+    }
+
+    public long max(long[] data, int from, int to) {
+        long max = data[from];
+        for (int i = from + 1; i < to; i++) {
+            if(data[i] > max) max = data[i];
+        }
+        return max;
+    }
+
+    public LongSummaryStatistics summaryStatistics(long[] data, int from, int to) {
+        LongSummaryStatistics stats = new LongSummaryStatistics();
+        for (int i = from; i < to; i++) {
+            stats.accept(data[i]);
+        }
+        return stats;
+    }
+
+    /**
+     * Sums the elements in encounter order, as DoubleQuery.sum() does from
+     * any other source. Other implementations must keep that order, since
+     * another one would round the result differently.
+     */
+    public double sum(double[] data, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += data[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Keeps the first of the elements that are not greater than any other,
+     * thus NaN only if it is the first element.
+     */
+    public double min(double[] data, int from, int to) {
+        double min = data[from];
+        for (int i = from + 1; i < to; i++) {
+            if(data[i] < min) min = data[i];
+        }
+        return min;
+    }
+
+    /**
+     * Keeps the first of the elements that are not lower than any other,
+     * thus NaN only if it is the first element.
+     */
+    public double max(double[] data, int from, int to) {
+        double max = data[from];
+        for (int i = from + 1; i < to; i++) {
+            if(data[i] > max) max = data[i];
+        }
+        return max;
+    }
+
+    /**
+     * Accepts the elements in encounter order, which other implementations
+     * must keep, as in sum(double[], int, int).
+     */
+    public DoubleSummaryStatistics summaryStatistics(double[] data, int from, int to) {
+        DoubleSummaryStatistics stats = new DoubleSummaryStatistics();
+        for (int i = from; i < to; i++) {
+            stats.accept(data[i]);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A binary file of fixed size elements, mapped into memory one region
+ * at a time, which is the source of fromFile() of IntQuery, LongQuery
+ * and DoubleQuery.
+ * Each region is unmapped as soon as the next one is mapped, and the file
+ * is closed after its last region, or on close().
+ * Trailing bytes that do not form a whole element are ignored.
+ */
+public class MappedFile implements AutoCloseable {
+    /**
+     * Default size in bytes of each region, below the limit of FileChannel.map().
+     */
+    public static final int REGION = 1 << 30;
+    private static final MethodHandle unmap = unmap();
+
+    private final int regionBytes;
+    private final int elementBytes;
+    private final long end;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private long position;
+
+    public MappedFile(Path path, int elementBytes) {
+        this(path, elementBytes, REGION);
+    }
+
+    /**
+     * Opens the file at path, to be mapped in regions of up to regionBytes,
+     * rounded down to a whole number of elements.
+     *
+     * @throws UncheckedIOException if the file cannot be opened.
+     */
+    public MappedFile(Path path, int elementBytes, int regionBytes) {
+        if(regionBytes < elementBytes)
+            throw new IllegalArgumentException("regionBytes must hold at least one element but was " + regionBytes + "!");
+        this.elementBytes = elementBytes;
+        this.regionBytes = regionBytes - regionBytes % elementBytes;
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            long size = channel.size();
+            this.end = size - size % elementBytes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Number of elements after the regions mapped so far.
+     */
+    public long remaining() {
+        return (end - position) / elementBytes;
+    }
+
+    /**
+     * Unmaps the previous region and returns the next one, with the given
+     * byte order, or closes the file and returns null if there is none.
+     * Views of the previous region must not be used anymore.
+     */
+    public ByteBuffer next(ByteOrder order) {
+        release();
+        if(position >= end) {
+            close();
+            return null;
+        }
+        long size = Math.min(regionBytes, end - position);
+        try {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException(e);
+        }
+        position += size;
+        return mapped.order(order);
+    }
+
+    /**
+     * Unmaps the current region and closes the file.
+     * Views of the current region must not be used anymore.
+     */
+    @Override
+    public void close() {
+        release();
+        position = end;
+        if(channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            channel = null;
+        }
+    }
+
+    /**
+     * Unmaps the current region right away, if the runtime allows it,
+     * rather than on its garbage collection.
+     */
+    private void release() {
+        if(mapped == null) return;
+        ByteBuffer buffer = mapped;
+        mapped = null;
+        if(unmap == null) return;
+        try {
+            unmap.invokeExact(buffer);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Uses Unsafe.invokeCleaner() through reflection, because there
+     * is no public API to unmap a MappedByteBuffer.
+     */
+    private static MethodHandle unmap() {
+        try {
+            Class<?> unsafe = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafe.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                .findVirtual(unsafe, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -56,7 +56,7 @@ public interface DoubleAdvancer extends Advancer<Double> {
      *         {@link DoubleToLongFunction} that specifies how to map the source elements into double values.
      */
     static DoubleAdvancer from(LongAdvancer source, LongToDoubleFunction mapper) {
-        return from((Advancer<Long>) source, mapper::applyAsDouble);
+        return yield -> source.tryAdvance((long item) -> yield.ret(mapper.applyAsDouble(item)));
     }
 
     /**
@@ -68,6 +68,6 @@ public interface DoubleAdvancer extends Advancer<Double> {
      *         {@link IntToDoubleFunction} that specifies how to map the source elements into double values.
      */
     static DoubleAdvancer from(IntAdvancer source, IntToDoubleFunction mapper) {
-        return from((Advancer<Integer>) source, mapper::applyAsDouble);
+        return yield -> source.tryAdvance((int item) -> yield.ret(mapper.applyAsDouble(item)));
     }
 }
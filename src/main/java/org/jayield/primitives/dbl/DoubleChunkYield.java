@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.dbl;
+
+/**
+ * Receives the elements of a traversal in chunks, i.e. the elements of buf
+ * between the indexes from, inclusive, and to, exclusive.
+ * Consumers must neither modify buf nor keep it after ret() returns,
+ * because it may be the source array or a buffer reused for the next chunk.
+ */
+@FunctionalInterface
+public interface DoubleChunkYield {
+    /**
+     * Maximum length of the chunks produced by stages and by the default
+     * {@link DoubleTraverser#traverseChunks(DoubleChunkYield)}.
+     * A source array may be yielded as a single longer chunk.
+     */
+    int SIZE = 1024;
+
+    void ret(double[] buf, int from, int to);
+}
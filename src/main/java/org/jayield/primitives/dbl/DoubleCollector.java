@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.dbl;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.DoubleSummaryStatistics;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.DoubleFunction;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Equivalent to {@link Collector} for double elements, which are accumulated
+ * without boxing by {@link DoubleQuery#collect(DoubleCollector)}.
+ *
+ * @param <A> the mutable accumulation type of the reduction operation
+ * @param <R> the result type of the reduction operation
+ */
+public interface DoubleCollector<A, R> {
+
+    Supplier<A> supplier();
+
+    ObjDoubleConsumer<A> accumulator();
+
+    BinaryOperator<A> combiner();
+
+    Function<A, R> finisher();
+
+    Set<Collector.Characteristics> characteristics();
+
+    /**
+     * Returns a new {@code DoubleCollector} described by the given functions and characteristics.
+     */
+    static <A, R> DoubleCollector<A, R> of(
+        Supplier<A> supplier,
+        ObjDoubleConsumer<A> accumulator,
+        BinaryOperator<A> combiner,
+        Function<A, R> finisher,
+        Collector.Characteristics... characteristics)
+    {
+        EnumSet<Collector.Characteristics> flags = EnumSet.noneOf(Collector.Characteristics.class);
+        Collections.addAll(flags, characteristics);
+        Set<Collector.Characteristics> unmodifiable = Collections.unmodifiableSet(flags);
+        return new DoubleCollector<A, R>() {
+            @Override
+            public Supplier<A> supplier() {
+                return supplier;
+            }
+
+            @Override
+            public ObjDoubleConsumer<A> accumulator() {
+                return accumulator;
+            }
+
+            @Override
+            public BinaryOperator<A> combiner() {
+                return combiner;
+            }
+
+            @Override
+            public Function<A, R> finisher() {
+                return finisher;
+            }
+
+            @Override
+            public Set<Collector.Characteristics> characteristics() {
+                return unmodifiable;
+            }
+        };
+    }
+
+    /**
+     * Returns a new {@code DoubleCollector} whose result is its container,
+     * with the {@code IDENTITY_FINISH} characteristic.
+     */
+    static <R> DoubleCollector<R, R> of(
+        Supplier<R> supplier,
+        ObjDoubleConsumer<R> accumulator,
+        BinaryOperator<R> combiner,
+        Collector.Characteristics... characteristics)
+    {
+        Collector.Characteristics[] flags = new Collector.Characteristics[characteristics.length + 1];
+        System.arraycopy(characteristics, 0, flags, 0, characteristics.length);
+        flags[characteristics.length] = Collector.Characteristics.IDENTITY_FINISH;
+        return of(supplier, accumulator, combiner, Function.identity(), flags);
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} counting the elements.
+     */
+    static DoubleCollector<long[], Long> counting() {
+        return of(
+            () -> new long[1],
+            (acc, item) -> acc[0]++,
+            (left, right) -> {
+                left[0] += right[0];
+                return left;
+            },
+            acc -> acc[0],
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} summing the elements, with the
+     * compensated summation of {@link DoubleSummaryStatistics}.
+     */
+    static DoubleCollector<DoubleSummaryStatistics, Double> summing() {
+        return of(
+            DoubleSummaryStatistics::new,
+            DoubleSummaryStatistics::accept,
+            (left, right) -> {
+                left.combine(right);
+                return left;
+            },
+            DoubleSummaryStatistics::getSum,
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} producing the arithmetic mean of the elements,
+     * or zero if there are none.
+     */
+    static DoubleCollector<DoubleSummaryStatistics, Double> averaging() {
+        return of(
+            DoubleSummaryStatistics::new,
+            DoubleSummaryStatistics::accept,
+            (left, right) -> {
+                left.combine(right);
+                return left;
+            },
+            DoubleSummaryStatistics::getAverage,
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns a {@code DoubleCollector} producing the summary statistics of the elements.
+     */
+    static DoubleCollector<DoubleSummaryStatistics, DoubleSummaryStatistics> summarizing() {
+        return of(
+            DoubleSummaryStatistics::new,
+            DoubleSummaryStatistics::accept,
+            (left, right) -> {
+                left.combine(right);
+                return left;
+            },
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Adapts a {@link Collector} of objects to a {@code DoubleCollector}, by
+     * applying the mapper to each element before its accumulation.
+     */
+    static <U, A, R> DoubleCollector<A, R> mapping(DoubleFunction<? extends U> mapper, Collector<? super U, A, R> downstream) {
+        BiConsumer<A, ? super U> accumulator = downstream.accumulator();
+        return of(
+            downstream.supplier(),
+            (acc, item) -> accumulator.accept(acc, mapper.apply(item)),
+            downstream.combiner(),
+            downstream.finisher(),
+            downstream.characteristics().toArray(new Collector.Characteristics[0]));
+    }
+}
@@ -16,16 +16,26 @@
 
 package org.jayield.primitives.dbl;
 
+import org.jayield.Characteristics;
 import org.jayield.Query;
+import org.jayield.SpillConfig;
 import org.jayield.TraversableFinishError;
-import org.jayield.Yield;
-import org.jayield.boxes.BoolBox;
 import org.jayield.boxes.DoubleBox;
+import org.jayield.collections.DoubleGrowableBuffer;
+import org.jayield.ops.OnClose;
+import org.jayield.ops.Specializer;
+import org.jayield.primitives.ArrayReductions;
+import org.jayield.primitives.MappedFile;
 import org.jayield.primitives.dbl.ops.FromDoubleArray;
+import org.jayield.primitives.dbl.ops.FromDoubleFile;
+import org.jayield.primitives.dbl.ops.DoubleCached;
+import org.jayield.primitives.dbl.ops.DoubleCompiled;
 import org.jayield.primitives.dbl.ops.DoubleConcat;
 import org.jayield.primitives.dbl.ops.DoubleDistinct;
 import org.jayield.primitives.dbl.ops.DoubleDropWhile;
+import org.jayield.primitives.dbl.ops.DoubleFanOut;
 import org.jayield.primitives.dbl.ops.DoubleFilter;
+import org.jayield.primitives.dbl.ops.DoubleFused;
 import org.jayield.primitives.dbl.ops.DoubleFlatMap;
 import org.jayield.primitives.dbl.ops.DoubleGenerate;
 import org.jayield.primitives.dbl.ops.DoubleIterate;
@@ -34,6 +44,9 @@ import org.jayield.primitives.dbl.ops.DoubleMapping;
 import org.jayield.primitives.dbl.ops.DoubleMapToObj;
 import org.jayield.primitives.dbl.ops.DoublePeek;
 import org.jayield.primitives.dbl.ops.DoubleSkip;
+import org.jayield.primitives.dbl.ops.DoubleSorted;
+import org.jayield.primitives.dbl.ops.DoubleSpillSorted;
+import org.jayield.primitives.dbl.ops.DoubleTopK;
 import org.jayield.primitives.dbl.ops.FromDoubleStream;
 import org.jayield.primitives.dbl.ops.DoubleTakeWhile;
 import org.jayield.primitives.dbl.ops.DoubleZip;
@@ -44,6 +57,8 @@ import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 
+import java.nio.ByteOrder;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.DoubleSummaryStatistics;
@@ -62,6 +77,7 @@ import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 import java.util.function.ObjDoubleConsumer;
 import java.util.function.Supplier;
+import java.util.stream.Collector;
 import java.util.stream.DoubleStream;
 import java.util.stream.StreamSupport;
 
@@ -69,14 +85,47 @@ import java.util.stream.StreamSupport;
  * A sequence of primitive double-valued elements supporting sequential
  * operations. This is the double primitive specialization of Query.
  */
-public class DoubleQuery {
+public class DoubleQuery implements AutoCloseable {
 
     private final DoubleAdvancer adv;
     private final DoubleTraverser trav;
+    /**
+     * Close handlers of this query and of its upstream, or null.
+     */
+    private final Runnable onClose;
 
     public DoubleQuery(DoubleAdvancer adv, DoubleTraverser trav) {
+        this(adv, trav, null);
+    }
+
+    /**
+     * A query with the given close handlers, which are usually the ones
+     * of the query that adv and trav come from.
+     */
+    public DoubleQuery(DoubleAdvancer adv, DoubleTraverser trav, Runnable onClose) {
         this.adv = adv;
         this.trav = trav;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Returns an equivalent query that additionally runs the given handler
+     * on close(), after the handlers of this query.
+     * Queries derived from the resulting one run it on close() too.
+     */
+    public final DoubleQuery onClose(Runnable handler) {
+        return new DoubleQuery(adv, trav, OnClose.compose(onClose, handler));
+    }
+
+    /**
+     * Runs the close handlers of this query and of its upstream, once.
+     * Terminal operations other than traverse(), traverseWhile(),
+     * traverseChunks(), tryAdvance() and shortCircuit() close the query
+     * when they finish, either normally, by short-circuiting, or by throwing.
+     */
+    @Override
+    public void close() {
+        if(onClose != null) onClose.run();
     }
 
     /**
@@ -85,7 +134,7 @@ public class DoubleQuery {
      */
     public static DoubleQuery fromStream(DoubleStream src) {
         FromDoubleStream strm = new FromDoubleStream(src);
-        return new DoubleQuery(strm, strm);
+        return new DoubleQuery(strm, strm, src::close);
     }
 
     /**
@@ -108,13 +157,31 @@ public class DoubleQuery {
         return new DoubleQuery(gen, gen);
     }
 
+    /**
+     * Returns a sequential ordered {@code DoubleQuery} with the double values of
+     * the binary file at path, in the given byte order.
+     * The file is mapped into memory and read without copying its
+     * values to the heap. Each mapped region is released once traversed,
+     * and the file is closed after its last value.
+     *
+     * @throws java.io.UncheckedIOException if the file cannot be opened.
+     */
+    public static DoubleQuery fromFile(Path path, ByteOrder order) {
+        FromDoubleFile src = new FromDoubleFile(new MappedFile(path, Double.BYTES), order);
+        return new DoubleQuery(src, src, src::close);
+    }
+
     /**
      * Yields elements sequentially in the current thread,
      * until all elements have been processed or an
      * exception is thrown.
      */
     public final void forEach(DoubleYield yield) {
-        this.traverse(yield);
+        try {
+            this.traverse(yield);
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -125,6 +192,51 @@ public class DoubleQuery {
     public final void traverse(DoubleYield yield) {
         this.trav.traverse(yield);
     }
+
+    /**
+     * Yields elements sequentially in the current thread,
+     * while yield returns true and until all elements have been processed.
+     * Unlike shortCircuit(), built-in operations finish cooperatively
+     * without throwing.
+     *
+     * @return false if the traversal was stopped by yield.
+     */
+    public final boolean traverseWhile(DoubleYieldWhile yield) {
+        return this.trav.traverseWhile(yield);
+    }
+
+    /**
+     * Yields elements sequentially in the current thread in chunks,
+     * which amortizes the dispatch to each stage over a whole chunk.
+     * Sources from an array and the map and filter stages yield chunks
+     * directly, while any other stage is adapted from traverse().
+     */
+    public final void traverseChunks(DoubleChunkYield yield) {
+        this.trav.traverseChunks(yield);
+    }
+
+    /**
+     * Returns whether traverseChunks() yields chunks without adapting traverse()
+     * of any stage, in which case reductions such as sum() run over chunks.
+     */
+    public final boolean isChunked() {
+        return trav.isChunked();
+    }
+
+    /**
+     * Returns the {@link Characteristics} of the remaining elements of this {@code DoubleQuery}.
+     */
+    public final int characteristics() {
+        return trav.characteristics();
+    }
+
+    /**
+     * Returns the exact number of remaining elements of this {@code DoubleQuery}, without
+     * traversing it, if it is {@link Characteristics#SIZED}, or -1 otherwise.
+     */
+    public final long getExactSizeIfKnown() {
+        return (trav.characteristics() & Characteristics.SIZED) == 0 ? -1 : trav.getExactSizeIfKnown();
+    }
     /**
      * If a remaining element exists, yields that element through
      * the given action.
@@ -136,22 +248,28 @@ public class DoubleQuery {
     /**
      * Returns a {@code DoubleQuery} consisting of the elements of this {@code DoubleQuery} that match
      * the given predicate.
+     * Fused with the previous stage when that is a map, filter or peek.
      */
     public DoubleQuery filter(DoublePredicate p) {
+        DoubleFused fused = DoubleFused.filter(adv, trav, p);
+        if(fused != null) return new DoubleQuery(fused, fused, onClose);
         DoubleFilter filter = new DoubleFilter(this, p);
-        return new DoubleQuery(filter, filter);
+        return new DoubleQuery(filter, filter, onClose);
     }
 
     /**
      * Returns a {@code DoubleQuery} consisting of the results of applying the given
      * DoubleUnaryOperator to the elements of this {@code DoubleQuery}.
+     * Fused with the previous stage when that is a map, filter or peek.
      *
      * @param op
      *         DoubleUnaryOperator used to map the elements of this DoubleQuery
      */
     public DoubleQuery map(DoubleUnaryOperator op) {
+        DoubleFused fused = DoubleFused.map(adv, trav, op);
+        if(fused != null) return new DoubleQuery(fused, fused, onClose);
         DoubleMapping map = new DoubleMapping(this, op);
-        return new DoubleQuery(map, map);
+        return new DoubleQuery(map, map, onClose);
     }
 
     /**
@@ -163,7 +281,7 @@ public class DoubleQuery {
      */
     public <U> Query<U> mapToObj(DoubleFunction<? extends U> function) {
         DoubleMapToObj<U> map = new DoubleMapToObj<>(this, function);
-        return new Query<>(map, map);
+        return new Query<>(map, map, onClose);
     }
 
     /**
@@ -173,7 +291,7 @@ public class DoubleQuery {
      */
     public DoubleQuery flatMap(DoubleFunction<? extends DoubleQuery> function) {
         DoubleFlatMap map = new DoubleFlatMap(this, function);
-        return new DoubleQuery(map, map);
+        return new DoubleQuery(map, map, OnClose.compose(onClose, map::close));
     }
 
     /**
@@ -182,7 +300,28 @@ public class DoubleQuery {
      */
     public DoubleQuery distinct() {
         DoubleDistinct dist = new DoubleDistinct(this);
-        return new DoubleQuery(dist, dist);
+        return new DoubleQuery(dist, dist, onClose);
+    }
+
+    /**
+     * Returns a {@code DoubleQuery} replaying the elements of this {@code DoubleQuery},
+     * which are pulled on demand and memoized in segments of primitive arrays,
+     * such that it may be traversed any number of times.
+     * Traversals may run concurrently, even while this query is still being
+     * drained, but each tryAdvance() cursor is confined to a single thread.
+     * Calling cache() on the resulting query returns a new replay, with its
+     * own tryAdvance() cursor, of the same elements.
+     * Traversals that cannot stop early, such as forEach(), pull the rest
+     * of this query at once, while the others pull one element at a time.
+     * This query is closed once it has no more elements, rather than
+     * when the resulting query is closed, which happens after each of its
+     * traversals. Hence, if it may not be drained, as by findFirst(), close
+     * this query itself, e.g. with try-with-resources, once no replay needs
+     * elements that were not pulled yet.
+     */
+    public DoubleQuery cache() {
+        DoubleCached cached = adv instanceof DoubleCached ? ((DoubleCached) adv).replay() : new DoubleCached(this);
+        return new DoubleQuery(cached, cached);
     }
 
     /**
@@ -192,53 +331,133 @@ public class DoubleQuery {
      * This is a stateful intermediate operation.
      */
     public DoubleQuery sorted() {
-        double[] state = this.toArray();
-        Arrays.sort(state);
-        FromDoubleArray arr = new FromDoubleArray(state);
-        return new DoubleQuery(arr, arr);
+        DoubleSorted sorted = new DoubleSorted(this);
+        return new DoubleQuery(sorted, sorted, onClose);
+    }
+
+    /**
+     * Returns a {@code DoubleQuery} consisting of the elements of this {@code DoubleQuery},
+     * sorted according to the same logic as {@code Arrays.sort(double[] a)}, which
+     * keeps no more than {@code config.maxInMemory()} elements in memory.
+     * Beyond that, it writes sorted runs of raw values into temporary files,
+     * ignoring the serializer of the config, and merges them lazily on traversal.
+     * Runs left are deleted on close().
+     * <p>
+     * This is a stateful intermediate operation.
+     */
+    public DoubleQuery sorted(SpillConfig<?> config) {
+        DoubleSpillSorted sorted = new DoubleSpillSorted(this, config);
+        return new DoubleQuery(sorted, sorted, OnClose.compose(onClose, sorted::close));
+    }
+
+    /**
+     * Returns a {@code DoubleQuery} consisting of the {@code k} lowest elements of this
+     * {@code DoubleQuery} in ascending order, like {@code sorted().limit(k)}.
+     * It keeps no more than {@code k} elements in a bounded heap, taking
+     * O(n log k) time rather than the O(n log n) of a full sort.
+     * <p>
+     * This is a stateful intermediate operation.
+     */
+    public DoubleQuery topK(int k) {
+        DoubleTopK top = new DoubleTopK(this, k);
+        return new DoubleQuery(top, top, onClose);
     }
 
     /**
      * Returns an array containing the elements of this {@code DoubleQuery}.
      */
     public double[] toArray() {
-        List<Double> list = toList();
-        double[] result = new double[list.size()];
-        for (int i = 0; i < list.size(); i++) {
-            result[i] = list.get(i);
+        try {
+            long size = getExactSizeIfKnown();
+            if(size >= 0 && size <= Integer.MAX_VALUE) {
+                double[] res = new double[(int) size];
+                class Filler implements DoubleYield {
+                    int i = 0;
+
+                    @Override
+                    public void ret(double item) {
+                        res[i++] = item;
+                    }
+                }
+                this.traverse(new Filler());
+                return res;
+            }
+            DoubleGrowableBuffer result = new DoubleGrowableBuffer();
+            this.traverse(result::add);
+            return result.toArray();
+        } finally {
+            close();
         }
-        return result;
     }
 
     /**
      * Returns a List containing the elements of this {@code DoubleQuery}.
      */
     public List<Double> toList() {
-        ArrayList<Double> result = new ArrayList<>();
-        this.traverse(result::add);
-        return result;
+        try {
+            long size = getExactSizeIfKnown();
+            ArrayList<Double> result = size < 0 || size > Integer.MAX_VALUE ? new ArrayList<>() : new ArrayList<>((int) size);
+            this.traverse(result::add);
+            return result;
+        } finally {
+            close();
+        }
     }
 
     /**
      * Returns a {@code DoubleQuery} consisting of the elements of this {@code DoubleQuery}, additionally
      * performing the provided action on each element as elements are consumed
      * from the resulting {@code DoubleQuery}.
+     * Fused with the previous stage when that is a map, filter or peek.
      */
     public DoubleQuery peek(DoubleConsumer action) {
+        DoubleFused fused = DoubleFused.peek(adv, trav, action);
+        if(fused != null) return new DoubleQuery(fused, fused, onClose);
         DoublePeek peek = new DoublePeek(this, action);
-        return new DoubleQuery(peek, peek);
+        return new DoubleQuery(peek, peek, onClose);
+    }
+
+    /**
+     * Returns an equivalent {@code DoubleQuery} whose traverse() and traverseWhile()
+     * run the trailing map, filter and peek stages through classes generated
+     * for the shape of this pipeline, like {@link Query#compile()}.
+     * Returns this query if its last stage is not a map, filter or peek,
+     * or if the runtime does not support hidden classes.
+     */
+    public DoubleQuery compile() {
+        DoubleFused fused = DoubleFused.of(adv, trav);
+        if(fused == null || !Specializer.isSupported()) return this;
+        return new DoubleQuery(adv, new DoubleCompiled(fused, fused.upstream().trav), onClose);
     }
 
     /**
      * Returns a {@code DoubleQuery} consisting of the elements of this query, truncated
      * to be no longer than {@code n} in length.
+     * Following a sorted() it keeps only the lowest {@code n} elements
+     * instead of sorting all of them, as {@link #topK(int)}.
      *
      * @param n
      *         maximum amount of elements to retrieve from this {@code DoubleQuery}
      */
     public DoubleQuery limit(int n) {
+        if(adv instanceof DoubleSorted) {
+            DoubleTopK top = ((DoubleSorted) adv).limit(n);
+            if(top != null) return new DoubleQuery(top, top, onClose);
+        }
+        if(adv instanceof DoubleTopK) {
+            DoubleTopK top = ((DoubleTopK) adv).limit(n);
+            if(top != null) return new DoubleQuery(top, top, onClose);
+        }
+        if(adv instanceof DoubleSpillSorted) {
+            DoubleTopK top = ((DoubleSpillSorted) adv).limit(n);
+            if(top != null) return new DoubleQuery(top, top, onClose);
+        }
+        if(adv instanceof FromDoubleArray) {
+            FromDoubleArray src = ((FromDoubleArray) adv).limit(n);
+            return new DoubleQuery(src, src, onClose);
+        }
         DoubleLimit lim = new DoubleLimit(this, n);
-        return new DoubleQuery(lim, lim);
+        return new DoubleQuery(lim, lim, onClose);
     }
 
     /**
@@ -249,8 +468,12 @@ public class DoubleQuery {
      *         number of elements to discard
      */
     public DoubleQuery skip(int n) {
+        if(adv instanceof FromDoubleArray) {
+            FromDoubleArray src = ((FromDoubleArray) adv).skip(n);
+            return new DoubleQuery(src, src, onClose);
+        }
         DoubleSkip skip = new DoubleSkip(this, n);
-        return new DoubleQuery(skip, skip);
+        return new DoubleQuery(skip, skip, onClose);
     }
 
     /**
@@ -258,11 +481,15 @@ public class DoubleQuery {
      * if a reduction can be made, using the provided accumulator.
      */
     public OptionalDouble reduce(DoubleBinaryOperator accumulator) {
-        DoubleBox box = new DoubleBox();
-        if(this.tryAdvance(box::setValue)) {
-            return OptionalDouble.of(this.reduce(box.getValue(), accumulator));
-        } else {
-            return OptionalDouble.empty();
+        try {
+            DoubleBox box = new DoubleBox();
+            if(this.tryAdvance(box::setValue)) {
+                return OptionalDouble.of(this.reduce(box.getValue(), accumulator));
+            } else {
+                return OptionalDouble.empty();
+            }
+        } finally {
+            close();
         }
     }
     /**
@@ -270,65 +497,108 @@ public class DoubleQuery {
      * using the provided identity value and accumulator.
      */
     public double reduce(double identity, DoubleBinaryOperator accumulator) {
-        class BoxAccumulator extends DoubleBox implements DoubleYield {
-            public BoxAccumulator(double identity) {
-                super(identity);
-            }
-            @Override
-            public void ret(double item) {
-                this.value = accumulator.applyAsDouble(value, item);
+        try {
+            class BoxAccumulator extends DoubleBox implements DoubleYield {
+                public BoxAccumulator(double identity) {
+                    super(identity);
+                }
+                @Override
+                public void ret(double item) {
+                    this.value = accumulator.applyAsDouble(value, item);
+                }
             }
+            BoxAccumulator box = new BoxAccumulator(identity);
+            this.traverse(box);
+            return box.getValue();
+        } finally {
+            close();
         }
-        BoxAccumulator box = new BoxAccumulator(identity);
-        this.traverse(box);
-        return box.getValue();
     }
 
    /**
      * Returns the lowest double of this {@code DoubleQuery}
      */
     public OptionalDouble min() {
-        DoubleBox b = new DoubleBox();
-        this.traverse(e -> {
-            if (!b.isPresent()) {
-                b.turnPresent(e);
-            } else if (e < b.getValue()) {
-                b.setValue(e);
+        try {
+            if(adv instanceof FromDoubleArray) return ((FromDoubleArray) adv).min();
+            DoubleBox b = new DoubleBox();
+            DoubleYield keep = e -> {
+                if (!b.isPresent()) {
+                    b.turnPresent(e);
+                } else if (e < b.getValue()) {
+                    b.setValue(e);
+                }
+            };
+            if(trav.isChunked()) {
+                this.traverseChunks((buf, from, to) -> {
+                    if(from < to) keep.ret(ArrayReductions.get().min(buf, from, to));
+                });
+            } else {
+                this.traverse(keep);
             }
-        });
-        return b.isPresent() ? OptionalDouble.of(b.getValue()) : OptionalDouble.empty();
+            return b.isPresent() ? OptionalDouble.of(b.getValue()) : OptionalDouble.empty();
+        } finally {
+            close();
+        }
     }
 
     /**
      * Returns the highest double of this {@code DoubleQuery}
      */
     public OptionalDouble max() {
-        DoubleBox b = new DoubleBox();
-        this.traverse(e -> {
-            if (!b.isPresent()) {
-                b.turnPresent(e);
-            } else if (e > b.getValue()) {
-                b.setValue(e);
+        try {
+            if(adv instanceof FromDoubleArray) return ((FromDoubleArray) adv).max();
+            DoubleBox b = new DoubleBox();
+            DoubleYield keep = e -> {
+                if (!b.isPresent()) {
+                    b.turnPresent(e);
+                } else if (e > b.getValue()) {
+                    b.setValue(e);
+                }
+            };
+            if(trav.isChunked()) {
+                this.traverseChunks((buf, from, to) -> {
+                    if(from < to) keep.ret(ArrayReductions.get().max(buf, from, to));
+                });
+            } else {
+                this.traverse(keep);
             }
-        });
-        return b.isPresent() ? OptionalDouble.of(b.getValue()) : OptionalDouble.empty();
+            return b.isPresent() ? OptionalDouble.of(b.getValue()) : OptionalDouble.empty();
+        } finally {
+            close();
+        }
     }
 
     /**
      * Returns the count of elements in this {@code DoubleQuery}.
      */
     public final long count() {
-        class Counter implements DoubleYield {
-            long n = 0;
-
-            @Override
-            public void ret(double item) {
-                ++n;
+        try {
+            long size = getExactSizeIfKnown();
+            if(size >= 0) return size;
+            class Counter implements DoubleYield, DoubleChunkYield {
+                long n = 0;
+
+                @Override
+                public void ret(double item) {
+                    ++n;
+                }
+
+                @Override
+                public void ret(double[] buf, int from, int to) {
+                    n += to - from;
+                }
+            }
+            Counter c = new Counter();
+            if(trav.isChunked()) {
+                this.traverseChunks(c);
+            } else {
+                this.traverse(c);
             }
+            return c.n;
+        } finally {
+            close();
         }
-        Counter c = new Counter();
-        this.traverse(c);
-        return c.n;
     }
 
     /**
@@ -338,22 +608,79 @@ public class DoubleQuery {
      * This is a terminal operation.
      */
     public OptionalDouble average() {
-        double[] data = this.toArray();
-        double count = data.length;
-        if (count == 0) {
-            return OptionalDouble.empty();
+        try {
+            if(adv instanceof FromDoubleArray) {
+                FromDoubleArray src = (FromDoubleArray) adv;
+                long count = src.getExactSizeIfKnown();
+                return count == 0
+                    ? OptionalDouble.empty()
+                    : OptionalDouble.of(src.sum() / count);
+            }
+            class Averager implements DoubleYield, DoubleChunkYield {
+                long count = 0;
+                double sum = 0;
+
+                @Override
+                public void ret(double item) {
+                    ++count;
+                    sum += item;
+                }
+
+                @Override
+                public void ret(double[] buf, int from, int to) {
+                    count += to - from;
+                    for (int i = from; i < to; i++) {
+                        sum += buf[i];
+                    }
+                }
+            }
+            Averager avg = new Averager();
+            if(trav.isChunked()) {
+                this.traverseChunks(avg);
+            } else {
+                this.traverse(avg);
+            }
+            return avg.count == 0
+                ? OptionalDouble.empty()
+                : OptionalDouble.of(avg.sum / avg.count);
+        } finally {
+            close();
         }
-        double sum = DoubleQuery.of(data).sum();
-        return OptionalDouble.of(sum / count);
     }
 
     /**
      * Returns the sum of elements in this {@code DoubleQuery} .
      * <p>
-     * This is a special case of a reduction.
+     * This is a special case of a reduction, which adds the elements in
+     * encounter order whatever the source, so it always rounds the same way.
+     * From an array, as also min(), max(), average() and summaryStatistics(),
+     * it is performed by {@link ArrayReductions}, which may use vector
+     * instructions for min() and max().
+     * Through map and filter stages from an array, they reduce each chunk
+     * of {@link #traverseChunks} instead, as also count().
      */
     public double sum() {
-        return this.reduce(0, Double::sum);
+        try {
+            if(adv instanceof FromDoubleArray) return ((FromDoubleArray) adv).sum();
+            if(trav.isChunked()) {
+                class Summer implements DoubleChunkYield {
+                    double sum = 0;
+
+                    @Override
+                    public void ret(double[] buf, int from, int to) {
+                        for (int i = from; i < to; i++) {
+                            sum += buf[i];
+                        }
+                    }
+                }
+                Summer summer = new Summer();
+                this.traverseChunks(summer);
+                return summer.sum;
+            }
+            return this.reduce(0, Double::sum);
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -372,7 +699,22 @@ public class DoubleQuery {
      * This is a terminal operation.
      */
     public DoubleSummaryStatistics summaryStatistics() {
-        return this.collect(DoubleSummaryStatistics::new, DoubleSummaryStatistics::accept);
+        try {
+            if(adv instanceof FromDoubleArray) return ((FromDoubleArray) adv).summaryStatistics();
+            DoubleSummaryStatistics stats = new DoubleSummaryStatistics();
+            if(trav.isChunked()) {
+                this.traverseChunks((buf, from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        stats.accept(buf[i]);
+                    }
+                });
+            } else {
+                this.traverse(stats::accept);
+            }
+            return stats;
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -381,9 +723,46 @@ public class DoubleQuery {
      * and elements are incorporated by updating the state of the result rather than by replacing the result.
      */
     public <R> R collect(Supplier<R> supplier, ObjDoubleConsumer<R> accumulator) {
-        R result = supplier.get();
-        this.traverse(elem -> accumulator.accept(result, elem));
-        return result;
+        try {
+            R result = supplier.get();
+            this.traverse(elem -> accumulator.accept(result, elem));
+            return result;
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Performs a mutable reduction operation on the elements of this {@code DoubleQuery}
+     * using a {@link DoubleCollector}, which accumulates them without boxing.
+     * The finisher is skipped for collectors with the {@code IDENTITY_FINISH} characteristic.
+     */
+    @SuppressWarnings("unchecked")
+    public <A, R> R collect(DoubleCollector<A, R> collector) {
+        try {
+            A container = collector.supplier().get();
+            ObjDoubleConsumer<A> accumulator = collector.accumulator();
+            this.traverse(elem -> accumulator.accept(container, elem));
+            return collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+                ? (R) container
+                : collector.finisher().apply(container);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Pushes each element of this {@code DoubleQuery} into every branch, in the
+     * given order, within a single traversal. A branch returning false receives
+     * no more elements, and the traversal stops once all branches have returned false.
+     */
+    public void fanOut(DoubleYieldWhile... branches) {
+        DoubleFanOut fan = new DoubleFanOut(branches);
+        try {
+            if(!fan.isDone()) this.traverseWhile(fan);
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -396,20 +775,18 @@ public class DoubleQuery {
      *         DoublePredicate used to test elements of this {@code DoubleQuery}
      */
     public boolean allMatch(DoublePredicate p) {
-        BoolBox succeed = new BoolBox(true);
-        shortCircuit(item -> {
-            if (!p.test(item)) {
-                succeed.set(false);
-                Yield.bye();
-            }
-        });
-        return succeed.isTrue();
+        try {
+            return this.traverseWhile(p::test);
+        } finally {
+            close();
+        }
     }
 
     /**
      * Yields elements sequentially in the current thread,
      * until all elements have been processed or the traversal
      * exited normally through the invocation of yield.bye().
+     * Prefer traverseWhile() which does not unwind the stack through an exception.
      */
     public final void shortCircuit(DoubleYield yield) {
         try {
@@ -442,14 +819,11 @@ public class DoubleQuery {
      *         DoublePredicate used to test elements of this {@code DoubleQuery}
      */
     public boolean anyMatch(DoublePredicate p) {
-        BoolBox found = new BoolBox();
-        shortCircuit(item -> {
-            if (p.test(item)) {
-                found.set();
-                Yield.bye();
-            }
-        });
-        return found.isTrue();
+        try {
+            return !this.traverseWhile(item -> !p.test(item));
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -465,11 +839,15 @@ public class DoubleQuery {
      * or an empty {@code OptionalDouble} if this {@code DoubleQuery} is empty.
      */
     public OptionalDouble findFirst() {
-        DoubleBox box = new DoubleBox();
-        this.tryAdvance(box::turnPresent);
-        return box.isPresent()
-                ? OptionalDouble.of(box.getValue())
-                : OptionalDouble.empty();
+        try {
+            DoubleBox box = new DoubleBox();
+            this.tryAdvance(box::turnPresent);
+            return box.isPresent()
+                    ? OptionalDouble.of(box.getValue())
+                    : OptionalDouble.empty();
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -489,7 +867,7 @@ public class DoubleQuery {
      * @param function DoubleToLongFunction used to map the elements of this DoubleQuery
      */
     public LongQuery mapToLong(DoubleToLongFunction function) {
-        return new LongQuery(LongAdvancer.from(adv, function), LongTraverser.from(trav, function));
+        return new LongQuery(LongAdvancer.from(adv, function), LongTraverser.from(trav, function), onClose);
     }
 
     /**
@@ -509,7 +887,7 @@ public class DoubleQuery {
      * @param function DoubleToIntFunction used to map the elements of this DoubleQuery
      */
     public IntQuery mapToInt(DoubleToIntFunction function) {
-        return new IntQuery(IntAdvancer.from(adv, function), IntTraverser.from(trav, function));
+        return new IntQuery(IntAdvancer.from(adv, function), IntTraverser.from(trav, function), onClose);
     }
 
     /**
@@ -517,7 +895,7 @@ public class DoubleQuery {
      * each boxed to an Double.
      */
     public Query<Double> boxed() {
-        return new Query<>(adv, trav);
+        return new Query<>(adv, trav, onClose);
     }
 
     public DoubleStream toStream() {
@@ -531,8 +909,24 @@ public class DoubleQuery {
             public void forEachRemaining(DoubleConsumer action) {
                 trav.traverse(action::accept);
             }
+
+            @Override
+            public long estimateSize() {
+                long size = DoubleQuery.this.getExactSizeIfKnown();
+                return size < 0 ? Long.MAX_VALUE : size;
+            }
+
+            /**
+             * SORTED is left out because a Spliterator reporting it must
+             * also provide its Comparator.
+             */
+            @Override
+            public int characteristics() {
+                int flags = Spliterator.ORDERED | (DoubleQuery.this.characteristics() & ~Spliterator.SORTED);
+                return (flags & Spliterator.SIZED) == 0 ? flags : flags | Spliterator.SUBSIZED;
+            }
         };
-        return StreamSupport.doubleStream(iter, false);
+        return StreamSupport.doubleStream(iter, false).onClose(this::close);
     }
 
     /**
@@ -548,7 +942,7 @@ public class DoubleQuery {
         DoubleAdvancer> nextAdv,
         Function<DoubleQuery, DoubleTraverser> next)
     {
-        return new DoubleQuery(nextAdv.apply(this), next.apply(this));
+        return new DoubleQuery(nextAdv.apply(this), next.apply(this), onClose);
     }
 
     /**
@@ -561,7 +955,7 @@ public class DoubleQuery {
         DoubleAdvancer nextAdv = item -> { throw new UnsupportedOperationException(
             "Missing tryAdvance() implementation! Use the overloaded then() providing both Advancer and Traverser!");
         };
-        return new DoubleQuery(nextAdv, next.apply(this));
+        return new DoubleQuery(nextAdv, next.apply(this), onClose);
     }
 
     /**
@@ -570,7 +964,7 @@ public class DoubleQuery {
      */
     public final DoubleQuery takeWhile(DoublePredicate predicate) {
         DoubleTakeWhile take = new DoubleTakeWhile(this, predicate);
-        return new DoubleQuery(take, take);
+        return new DoubleQuery(take, take, onClose);
     }
 
     /**
@@ -580,7 +974,7 @@ public class DoubleQuery {
      */
     public final DoubleQuery concat(DoubleQuery other) {
         DoubleConcat cat = new DoubleConcat(this, other);
-        return new DoubleQuery(cat, cat);
+        return new DoubleQuery(cat, cat, OnClose.compose(onClose, other.onClose));
     }
 
     /**
@@ -589,7 +983,7 @@ public class DoubleQuery {
      */
     public final DoubleQuery dropWhile(DoublePredicate predicate) {
         DoubleDropWhile drop = new DoubleDropWhile(this, predicate);
-        return new DoubleQuery(drop, drop);
+        return new DoubleQuery(drop, drop, onClose);
     }
 
     /**
@@ -598,6 +992,6 @@ public class DoubleQuery {
      */
     public final DoubleQuery zip(DoubleQuery other, DoubleBinaryOperator zipper) {
         DoubleZip zip = new DoubleZip(this, other, zipper);
-        return new DoubleQuery(zip, zip);
+        return new DoubleQuery(zip, zip, OnClose.compose(onClose, other.onClose));
     }
 }
@@ -16,8 +16,11 @@
 
 package org.jayield.primitives.dbl;
 
+import org.jayield.TraversableFinishError;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
+import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.lng.LongTraverser;
 
@@ -43,6 +46,75 @@ public interface DoubleTraverser extends Traverser<Double> {
         this.traverse(yld);
     }
 
+    /**
+     * Yields elements sequentially in the current thread,
+     * while yield returns true and until all elements have been processed.
+     * Built-in operations stop cooperatively when yield returns false.
+     * This default implementation still relies on {@link Yield#bye()}
+     * for DoubleTraverser objects that only implement traverse().
+     *
+     * @return false if the traversal was stopped by yield.
+     */
+    default boolean traverseWhile(DoubleYieldWhile yield) {
+        BoolBox stopped = new BoolBox();
+        try {
+            traverse((double item) -> {
+                if(!yield.ret(item)) {
+                    stopped.set();
+                    Yield.bye();
+                }
+            });
+        } catch (TraversableFinishError e) {
+            // Let it reach the nested traversal that has really been stopped.
+            if(stopped.isFalse()) throw e;
+        }
+        return stopped.isFalse();
+    }
+
+    /**
+     * Yields elements sequentially in the current thread in chunks,
+     * until all elements have been processed or an exception is thrown.
+     * This default collects the elements of traverse() into a buffer,
+     * so that per element traversers feed chunk-aware stages.
+     */
+    default void traverseChunks(DoubleChunkYield yield) {
+        long size = getExactSizeIfKnown();
+        double[] buf = new double[size < 0 ? DoubleChunkYield.SIZE : (int) Math.max(1, Math.min(size, DoubleChunkYield.SIZE))];
+        class Chunker implements DoubleYield {
+            int n = 0;
+
+            @Override
+            public void ret(double item) {
+                buf[n++] = item;
+                if(n == buf.length) {
+                    yield.ret(buf, 0, n);
+                    n = 0;
+                }
+            }
+        }
+        Chunker chunker = new Chunker();
+        traverse(chunker);
+        if(chunker.n > 0) yield.ret(buf, 0, chunker.n);
+    }
+
+    /**
+     * Returns whether traverseChunks() yields chunks without adapting traverse(),
+     * neither of this traverser nor of its upstream, which this default denies.
+     */
+    default boolean isChunked() {
+        return false;
+    }
+
+    /**
+     * Default traverseWhile implementation that calls the
+     * primitive version of it
+     */
+    @Override
+    default boolean traverseWhile(YieldWhile<? super Double> yield) {
+        DoubleYieldWhile yld = yield::ret;
+        return this.traverseWhile(yld);
+    }
+
     /**
      * Yields elements sequentially in the current thread,
      * until all elements have been processed or an
@@ -64,7 +136,27 @@ public interface DoubleTraverser extends Traverser<Double> {
      *         {@link ToDoubleFunction} that specifies how to map the source elements double values.
      */
     static <T> DoubleTraverser from(Traverser<T> source, ToDoubleFunction<? super T> mapper) {
-        return yield -> source.traverse(item -> yield.ret(mapper.applyAsDouble(item)));
+        return new DoubleTraverser() {
+            @Override
+            public void traverse(DoubleYield yield) {
+                source.traverse(item -> yield.ret(mapper.applyAsDouble(item)));
+            }
+
+            @Override
+            public boolean traverseWhile(DoubleYieldWhile yield) {
+                return source.traverseWhile(item -> yield.ret(mapper.applyAsDouble(item)));
+            }
+
+            @Override
+            public int characteristics() {
+                return (source.characteristics() & (ORDERED | SIZED)) | NONNULL;
+            }
+
+            @Override
+            public long getExactSizeIfKnown() {
+                return source.getExactSizeIfKnown();
+            }
+        };
     }
 
     /**
@@ -76,7 +168,27 @@ public interface DoubleTraverser extends Traverser<Double> {
      *         {@link DoubleToLongFunction} that specifies how to map the source elements into double values.
      */
     static DoubleTraverser from(LongTraverser source, LongToDoubleFunction mapper) {
-        return from((Traverser<Long>) source, mapper::applyAsDouble);
+        return new DoubleTraverser() {
+            @Override
+            public void traverse(DoubleYield yield) {
+                source.traverse((long item) -> yield.ret(mapper.applyAsDouble(item)));
+            }
+
+            @Override
+            public boolean traverseWhile(DoubleYieldWhile yield) {
+                return source.traverseWhile((long item) -> yield.ret(mapper.applyAsDouble(item)));
+            }
+
+            @Override
+            public int characteristics() {
+                return source.characteristics() & (ORDERED | SIZED | NONNULL);
+            }
+
+            @Override
+            public long getExactSizeIfKnown() {
+                return source.getExactSizeIfKnown();
+            }
+        };
     }
 
     /**
@@ -88,6 +200,26 @@ public interface DoubleTraverser extends Traverser<Double> {
      *         {@link IntToDoubleFunction} that specifies how to map the source elements into double values.
      */
     static DoubleTraverser from(IntTraverser source, IntToDoubleFunction mapper) {
-        return from((Traverser<Integer>) source, mapper::applyAsDouble);
+        return new DoubleTraverser() {
+            @Override
+            public void traverse(DoubleYield yield) {
+                source.traverse((int item) -> yield.ret(mapper.applyAsDouble(item)));
+            }
+
+            @Override
+            public boolean traverseWhile(DoubleYieldWhile yield) {
+                return source.traverseWhile((int item) -> yield.ret(mapper.applyAsDouble(item)));
+            }
+
+            @Override
+            public int characteristics() {
+                return source.characteristics() & (ORDERED | SIZED | NONNULL);
+            }
+
+            @Override
+            public long getExactSizeIfKnown() {
+                return source.getExactSizeIfKnown();
+            }
+        };
     }
 }
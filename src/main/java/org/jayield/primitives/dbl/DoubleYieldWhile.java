@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.dbl;
+
+import org.jayield.YieldWhile;
+
+/**
+ * Equivalent to {@code DoubleYield} but returning whether the traversal
+ * should go on, which lets a traversal finish early without throwing.
+ */
+@FunctionalInterface
+public interface DoubleYieldWhile extends YieldWhile<Double> {
+    /**
+     * Returns false to stop the traversal.
+     */
+    boolean ret(double item);
+
+    @Override
+    default boolean ret(Double item) {
+        return this.ret((double) item);
+    }
+}
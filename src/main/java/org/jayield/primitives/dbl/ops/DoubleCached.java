@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.dbl.ops;
+
+import org.jayield.collections.DoubleReplayBuffer;
+import org.jayield.collections.ReplayBuffer;
+import org.jayield.primitives.dbl.DoubleAdvancer;
+import org.jayield.primitives.dbl.DoubleChunkYield;
+import org.jayield.primitives.dbl.DoubleQuery;
+import org.jayield.primitives.dbl.DoubleTraverser;
+import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
+
+/**
+ * Replays the elements of the upstream, which are pulled on demand and
+ * memoized in a {@link DoubleReplayBuffer} shared by all replays.
+ * traverse() and traverseWhile() replay the elements following those taken
+ * by tryAdvance(), without consuming them, and thus they may be repeated.
+ * Since traverse() cannot stop early, it drains the rest of the upstream
+ * at once through its traverse(), while tryAdvance() and traverseWhile()
+ * pull one element at a time.
+ * Each replay may run in a different thread, even while the upstream is
+ * still being drained, which is closed once it has no more elements.
+ */
+public class DoubleCached implements DoubleAdvancer, DoubleTraverser {
+    private static final int MASK = ReplayBuffer.SEGMENT - 1;
+
+    private final Memo memo;
+    /**
+     * Index of the next element of tryAdvance().
+     */
+    private long next;
+
+    public DoubleCached(DoubleQuery upstream) {
+        this(new Memo(upstream));
+    }
+
+    private DoubleCached(Memo memo) {
+        this.memo = memo;
+    }
+
+    /**
+     * Returns a new replay of the same elements from the first one.
+     */
+    public DoubleCached replay() {
+        return new DoubleCached(memo);
+    }
+
+    @Override
+    public boolean tryAdvance(DoubleYield yield) {
+        if(!memo.fetch(next)) return false;
+        yield.ret(memo.buffer.get(next++));
+        return true;
+    }
+
+    @Override
+    public void traverse(DoubleYield yield) {
+        long i = next;
+        while(memo.drain(i)) {
+            double[] segment = memo.buffer.segment(i);
+            long end = memo.end(i);
+            for (; i < end; i++) {
+                yield.ret(segment[(int) (i & MASK)]);
+            }
+        }
+    }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        long i = next;
+        while(memo.fetch(i)) {
+            double[] segment = memo.buffer.segment(i);
+            long end = memo.end(i);
+            for (; i < end; i++) {
+                if(!yield.ret(segment[(int) (i & MASK)])) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Yields the memoized elements straight from the segments of the
+     * buffer, in chunks up to the end of each segment.
+     */
+    @Override
+    public void traverseChunks(DoubleChunkYield yield) {
+        for (long i = next; memo.drain(i); ) {
+            long end = memo.end(i);
+            int from = (int) (i & MASK);
+            yield.ret(memo.buffer.segment(i), from, from + (int) (end - i));
+            i = end;
+        }
+    }
+
+    @Override
+    public int characteristics() {
+        return memo.total() < 0 ? memo.flags & ~SIZED : memo.flags | SIZED;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = memo.total();
+        return size < 0 ? -1 : size - next;
+    }
+
+    /**
+     * The elements pulled so far from the upstream, which is only
+     * operated on by one thread at a time.
+     */
+    private static class Memo {
+        final DoubleReplayBuffer buffer = new DoubleReplayBuffer();
+        final int flags;
+        private final DoubleQuery upstream;
+        private final DoubleYield append = buffer::add;
+        private final DoubleYield drainer = this::push;
+        private final long size;
+        private volatile boolean done;
+
+        Memo(DoubleQuery upstream) {
+            this.upstream = upstream;
+            this.flags = upstream.characteristics();
+            this.size = upstream.getExactSizeIfKnown();
+        }
+
+        /**
+         * Pulls elements from the upstream until there is one at index,
+         * or returns false if there is none.
+         */
+        boolean fetch(long index) {
+            if(index < buffer.size()) return true;
+            synchronized (this) {
+                boolean more = !done;
+                try {
+                    while(more && buffer.count() <= index) {
+                        more = upstream.tryAdvance(append);
+                    }
+                } finally {
+                    buffer.publish();
+                }
+                if(!more) finish();
+                return index < buffer.size();
+            }
+        }
+
+        /**
+         * Pulls all remaining elements of the upstream through its traverse(),
+         * publishing each full segment, or returns false if there is no element at index.
+         */
+        boolean drain(long index) {
+            if(index < buffer.size()) return true;
+            synchronized (this) {
+                if(!done) {
+                    try {
+                        upstream.traverse(drainer);
+                    } finally {
+                        buffer.publish();
+                    }
+                    finish();
+                }
+                return index < buffer.size();
+            }
+        }
+
+        /**
+         * Marks the end of the upstream, only after publishing its last
+         * elements, and closes it.
+         */
+        private void finish() {
+            if(done) return;
+            done = true;
+            upstream.close();
+        }
+
+        private void push(double item) {
+            buffer.add(item);
+            if((buffer.count() & MASK) == 0) buffer.publish();
+        }
+
+        /**
+         * Index following the last element published in the segment of index.
+         */
+        long end(long index) {
+            return Math.min(buffer.size(), (index | MASK) + 1);
+        }
+
+        /**
+         * Total number of elements, or -1 if unknown.
+         */
+        long total() {
+            return done ? buffer.size() : size;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.dbl.ops;
+
+import org.jayield.ops.Shapes;
+import org.jayield.ops.Specializer;
+import org.jayield.primitives.dbl.DoubleTraverser;
+import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Traversal of a chain of fused stages of double values through hidden classes
+ * specialized for its shape, like Compiled.
+ */
+public class DoubleCompiled implements DoubleTraverser {
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private static final Shapes<Shape> shapes = new Shapes<>();
+
+    private final DoubleFused fused;
+    private final DoubleTraverser source;
+    private final Shape shape;
+
+    /**
+     * @param source The traverser of the upstream of fused.
+     */
+    public DoubleCompiled(DoubleFused fused, DoubleTraverser source) {
+        this.fused = fused;
+        this.source = source;
+        this.shape = shapes.get(fused.kinds, fused.stages, source instanceof FromDoubleArray, Shape::new);
+    }
+
+    private DoubleFused.Sink chain(DoubleFused.Sink last) {
+        DoubleFused.Sink sink = last;
+        for (int i = fused.stages.length - 1; i >= 0; i--) {
+            sink = (DoubleFused.Sink) Specializer.newInstance(shape.stages[i], fused.stages[i], sink);
+        }
+        return sink;
+    }
+
+    @Override
+    public void traverse(DoubleYield yield) {
+        DoubleFused.Sink head = chain((DoubleFused.Sink) Specializer.newInstance(shape.terminal, yield));
+        if(shape.loop != null) {
+            ((Loop) Specializer.newInstance(shape.loop, source)).traverse(head);
+        } else {
+            source.traverse((DoubleYield) Specializer.newInstance(shape.entry, head));
+        }
+    }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        DoubleFused.Sink head = chain((DoubleFused.Sink) Specializer.newInstance(shape.terminalWhile, yield));
+        if(shape.loop != null) {
+            return ((Loop) Specializer.newInstance(shape.loop, source)).traverseWhile(head);
+        }
+        return source.traverseWhile((DoubleYieldWhile) Specializer.newInstance(shape.entryWhile, head));
+    }
+
+    @Override
+    public int characteristics() {
+        return fused.characteristics();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return fused.getExactSizeIfKnown();
+    }
+
+    /**
+     * Constructors of the hidden classes of a shape.
+     * Either loop or both entry and entryWhile are null.
+     */
+    private static class Shape {
+        final MethodHandle[] stages;
+        final MethodHandle terminal;
+        final MethodHandle terminalWhile;
+        final MethodHandle loop;
+        final MethodHandle entry;
+        final MethodHandle entryWhile;
+
+        Shape(byte[] kinds, boolean array) {
+            stages = new MethodHandle[kinds.length];
+            for (int i = 0; i < kinds.length; i++) {
+                switch (kinds[i]) {
+                    case DoubleFused.MAP:
+                        stages[i] = Specializer.define(lookup, DoubleFused.MapSink.class, DoubleUnaryOperator.class, DoubleFused.Sink.class);
+                        break;
+                    case DoubleFused.FILTER:
+                        stages[i] = Specializer.define(lookup, DoubleFused.FilterSink.class, DoublePredicate.class, DoubleFused.Sink.class);
+                        break;
+                    default:
+                        stages[i] = Specializer.define(lookup, DoubleFused.PeekSink.class, DoubleConsumer.class, DoubleFused.Sink.class);
+                }
+            }
+            terminal = Specializer.define(lookup, DoubleFused.Terminal.class, DoubleYield.class);
+            terminalWhile = Specializer.define(lookup, DoubleFused.TerminalWhile.class, DoubleYieldWhile.class);
+            loop = array ? Specializer.define(lookup, ArrayLoop.class, FromDoubleArray.class) : null;
+            entry = array ? null : Specializer.define(lookup, DoubleFused.Entry.class, DoubleFused.Sink.class);
+            entryWhile = array ? null : Specializer.define(lookup, DoubleFused.EntryWhile.class, DoubleFused.Sink.class);
+        }
+    }
+
+    abstract static class Loop {
+        abstract void traverse(DoubleFused.Sink head);
+
+        abstract boolean traverseWhile(DoubleFused.Sink head);
+    }
+
+    /**
+     * Loop over the remaining elements of an array, like FromDoubleArray.
+     */
+    static class ArrayLoop extends Loop {
+        private final FromDoubleArray src;
+
+        ArrayLoop(FromDoubleArray src) {
+            this.src = src;
+        }
+
+        @Override
+        void traverse(DoubleFused.Sink head) {
+            double[] data = src.data;
+            for (int i = src.current, end = src.end; i < end; i++) {
+                head.push(data[i]);
+            }
+        }
+
+        @Override
+        boolean traverseWhile(DoubleFused.Sink head) {
+            double[] data = src.data;
+            for (int i = src.current, end = src.end; i < end; i++) {
+                if(!head.push(data[i])) return false;
+            }
+            return true;
+        }
+    }
+}
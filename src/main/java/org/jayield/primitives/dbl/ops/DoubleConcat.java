@@ -4,6 +4,7 @@ import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 public class DoubleConcat implements DoubleAdvancer, DoubleTraverser {
     private final DoubleQuery first;
@@ -24,4 +25,21 @@ public class DoubleConcat implements DoubleAdvancer, DoubleTraverser {
     public boolean tryAdvance(DoubleYield yield) {
         return first.tryAdvance(yield) || second.tryAdvance(yield);
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        return first.traverseWhile(yield) && second.traverseWhile(yield);
+    }
+
+    @Override
+    public int characteristics() {
+        return first.characteristics() & second.characteristics() & (ORDERED | SIZED | NONNULL);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = first.getExactSizeIfKnown();
+        long otherSize = second.getExactSizeIfKnown();
+        return size < 0 || otherSize < 0 ? -1 : size + otherSize;
+    }
 }
@@ -17,15 +17,15 @@
 package org.jayield.primitives.dbl.ops;
 
 import org.jayield.boxes.BoolBox;
+import org.jayield.collections.DoubleHashSet;
 import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
-
-import java.util.HashSet;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 public class DoubleDistinct implements DoubleAdvancer, DoubleTraverser {
-    final HashSet<Double> mem = new HashSet<>();
+    final DoubleHashSet mem = new DoubleHashSet();
     private final DoubleQuery upstream;
 
     public DoubleDistinct(DoubleQuery adv) {
@@ -52,4 +52,14 @@ public class DoubleDistinct implements DoubleAdvancer, DoubleTraverser {
         }));
         return found.isTrue();
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        return upstream.traverseWhile(item -> !mem.add(item) || yield.ret(item));
+    }
+
+    @Override
+    public int characteristics() {
+        return (upstream.characteristics() & ~SIZED) | DISTINCT;
+    }
 }
@@ -4,6 +4,7 @@ import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 import java.util.function.DoublePredicate;
 
@@ -52,4 +53,19 @@ public class DoubleDropWhile implements DoubleAdvancer, DoubleTraverser {
                 }
             });
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        return upstream.traverseWhile(item -> {
+            if (!dropped && !predicate.test(item)) {
+                dropped = true;
+            }
+            return !dropped || yield.ret(item);
+        });
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
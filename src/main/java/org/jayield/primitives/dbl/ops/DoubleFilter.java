@@ -18,15 +18,17 @@ package org.jayield.primitives.dbl.ops;
 
 import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.dbl.DoubleAdvancer;
+import org.jayield.primitives.dbl.DoubleChunkYield;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 import java.util.function.DoublePredicate;
 
 public class DoubleFilter implements DoubleAdvancer, DoubleTraverser {
-    private final DoubleQuery upstream;
-    private final DoublePredicate p;
+    final DoubleQuery upstream;
+    final DoublePredicate p;
 
     public DoubleFilter(DoubleQuery adv, DoublePredicate p) {
         this.upstream = adv;
@@ -42,6 +44,34 @@ public class DoubleFilter implements DoubleAdvancer, DoubleTraverser {
         });
     }
 
+    /**
+     * Copies the matching elements of each chunk into a buffer,
+     * which is yielded whenever it is full and at the end of the chunk.
+     */
+    @Override
+    public void traverseChunks(DoubleChunkYield yield) {
+        double[] out = new double[DoubleChunkYield.SIZE];
+        upstream.traverseChunks((buf, from, to) -> {
+            int n = 0;
+            for (int i = from; i < to; i++) {
+                double item = buf[i];
+                if(p.test(item)) {
+                    out[n++] = item;
+                    if(n == out.length) {
+                        yield.ret(out, 0, n);
+                        n = 0;
+                    }
+                }
+            }
+            if(n > 0) yield.ret(out, 0, n);
+        });
+    }
+
+    @Override
+    public boolean isChunked() {
+        return upstream.isChunked();
+    }
+
     @Override
     public boolean tryAdvance(DoubleYield yield) {
         BoolBox found = new BoolBox();
@@ -56,4 +86,14 @@ public class DoubleFilter implements DoubleAdvancer, DoubleTraverser {
         }
         return found.isTrue();
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        return upstream.traverseWhile(e -> !p.test(e) || yield.ret(e));
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
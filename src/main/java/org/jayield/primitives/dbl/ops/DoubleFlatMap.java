@@ -20,6 +20,7 @@ import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 import java.util.function.DoubleFunction;
 
@@ -36,16 +37,36 @@ public class DoubleFlatMap implements DoubleAdvancer, DoubleTraverser {
 
     @Override
     public void traverse(DoubleYield yield) {
-        upstream.traverse(elem -> mapper.apply(elem).traverse(yield));
-
+        upstream.traverse(elem -> {
+            try (DoubleQuery inner = mapper.apply(elem)) {
+                inner.traverse(yield);
+            }
+        });
     }
 
     @Override
     public boolean tryAdvance(DoubleYield yield) {
         while (!src.tryAdvance(yield)) {
+            src.close();
             if(!upstream.tryAdvance(t -> src = mapper.apply(t)))
                 return false;
         }
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        return upstream.traverseWhile(elem -> {
+            try (DoubleQuery inner = mapper.apply(elem)) {
+                return inner.traverseWhile(yield);
+            }
+        });
+    }
+
+    /**
+     * Closes the inner query that tryAdvance() is taking elements from.
+     */
+    public void close() {
+        src.close();
+    }
 }
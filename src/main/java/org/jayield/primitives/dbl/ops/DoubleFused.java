@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.dbl.ops;
+
+import org.jayield.primitives.dbl.DoubleAdvancer;
+import org.jayield.primitives.dbl.DoubleChunkYield;
+import org.jayield.primitives.dbl.DoubleQuery;
+import org.jayield.primitives.dbl.DoubleTraverser;
+import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * A chain of adjacent map, filter and peek stages of double values collapsed
+ * into a single stage, running each element through a chain of sinks.
+ */
+public class DoubleFused implements DoubleAdvancer, DoubleTraverser {
+    static final byte MAP = 0;
+    static final byte FILTER = 1;
+    static final byte PEEK = 2;
+
+    final DoubleQuery upstream;
+    final byte[] kinds;
+    final Object[] stages;
+    /**
+     * Last sink and head of the chain reused by tryAdvance().
+     */
+    private Last last;
+    private DoubleYield advancer;
+
+    private DoubleFused(DoubleQuery upstream, byte[] kinds, Object[] stages) {
+        this.upstream = upstream;
+        this.kinds = kinds;
+        this.stages = stages;
+    }
+
+    /**
+     * Returns the fusion of the stage given by adv and trav with the mapper,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static DoubleFused map(DoubleAdvancer adv, DoubleTraverser trav, DoubleUnaryOperator mapper) {
+        return fuse(adv, trav, MAP, mapper);
+    }
+
+    /**
+     * Returns the fusion of the stage given by adv and trav with the predicate,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static DoubleFused filter(DoubleAdvancer adv, DoubleTraverser trav, DoublePredicate p) {
+        return fuse(adv, trav, FILTER, p);
+    }
+
+    /**
+     * Returns the fusion of the stage given by adv and trav with the action,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static DoubleFused peek(DoubleAdvancer adv, DoubleTraverser trav, DoubleConsumer action) {
+        return fuse(adv, trav, PEEK, action);
+    }
+
+    private static DoubleFused fuse(DoubleAdvancer adv, DoubleTraverser trav, byte kind, Object stage) {
+        DoubleFused prev = of(adv, trav);
+        if(prev == null) return null;
+        byte[] kinds = Arrays.copyOf(prev.kinds, prev.kinds.length + 1);
+        Object[] stages = Arrays.copyOf(prev.stages, prev.stages.length + 1);
+        kinds[kinds.length - 1] = kind;
+        stages[stages.length - 1] = stage;
+        return new DoubleFused(prev.upstream, kinds, stages);
+    }
+
+    /**
+     * Returns the stage given by adv and trav as a chain of fused stages,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static DoubleFused of(DoubleAdvancer adv, DoubleTraverser trav) {
+        if(adv != trav) return null;
+        if(trav instanceof DoubleFused) {
+            return (DoubleFused) trav;
+        }
+        if(trav instanceof DoubleMapping) {
+            DoubleMapping prev = (DoubleMapping) trav;
+            return new DoubleFused(prev.upstream, new byte[] {MAP}, new Object[] {prev.mapper});
+        }
+        if(trav instanceof DoubleFilter) {
+            DoubleFilter prev = (DoubleFilter) trav;
+            return new DoubleFused(prev.upstream, new byte[] {FILTER}, new Object[] {prev.p});
+        }
+        if(trav instanceof DoublePeek) {
+            DoublePeek prev = (DoublePeek) trav;
+            return new DoubleFused(prev.upstream, new byte[] {PEEK}, new Object[] {prev.action});
+        }
+        return null;
+    }
+
+    public DoubleQuery upstream() {
+        return upstream;
+    }
+
+    /**
+     * Builds the chain of sinks performing each stage, followed by last.
+     */
+    private Sink chain(Sink last) {
+        Sink sink = last;
+        for (int i = kinds.length - 1; i >= 0; i--) {
+            switch (kinds[i]) {
+                case MAP:
+                    sink = new MapSink((DoubleUnaryOperator) stages[i], sink);
+                    break;
+                case FILTER:
+                    sink = new FilterSink((DoublePredicate) stages[i], sink);
+                    break;
+                default:
+                    sink = new PeekSink((DoubleConsumer) stages[i], sink);
+            }
+        }
+        return sink;
+    }
+
+    @Override
+    public void traverse(DoubleYield yield) {
+        Sink head = chain(new Terminal(yield));
+        upstream.traverse(new Entry(head));
+    }
+
+    /**
+     * Runs each element of the chunks of the upstream through the chain of
+     * sinks, whose last one collects the remaining elements into chunks.
+     */
+    @Override
+    public void traverseChunks(DoubleChunkYield yield) {
+        Chunker last = new Chunker(yield);
+        Sink head = chain(last);
+        upstream.traverseChunks((buf, from, to) -> {
+            for (int i = from; i < to; i++) {
+                head.push(buf[i]);
+            }
+        });
+        last.flush();
+    }
+
+    @Override
+    public boolean isChunked() {
+        return upstream.isChunked();
+    }
+
+    /**
+     * Reuses the same chain of sinks on every call, which only
+     * replaces the yield of its last sink.
+     */
+    @Override
+    public boolean tryAdvance(DoubleYield yield) {
+        if(last == null) {
+            last = new Last(yield);
+            advancer = chain(last)::push;
+        }
+        last.yield = yield;
+        last.found = false;
+        while(!last.found && upstream.tryAdvance(advancer)) {
+            // Intentionally empty. Items discarded by a filter do not reach the last sink.
+        }
+        return last.found;
+    }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        Sink head = chain(new TerminalWhile(yield));
+        return upstream.traverseWhile(new EntryWhile(head));
+    }
+
+    /**
+     * A stage receiving each item from the previous one.
+     * Its subclasses are also the templates copied by DoubleCompiled.
+     */
+    abstract static class Sink {
+        final Sink next;
+
+        Sink(Sink next) {
+            this.next = next;
+        }
+
+        /**
+         * @return false if downstream stopped the traversal.
+         */
+        abstract boolean push(double item);
+    }
+
+    private class Last extends Sink {
+        private DoubleYield yield;
+        private boolean found;
+
+        Last(DoubleYield yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(double item) {
+            found = true;
+            yield.ret(item);
+            return true;
+        }
+    }
+
+    /**
+     * Last sink of traverseChunks(), yielding its buffer whenever it is full.
+     */
+    static class Chunker extends Sink {
+        private final DoubleChunkYield yield;
+        private final double[] buf = new double[DoubleChunkYield.SIZE];
+        private int n = 0;
+
+        Chunker(DoubleChunkYield yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(double item) {
+            buf[n++] = item;
+            if(n == buf.length) {
+                yield.ret(buf, 0, n);
+                n = 0;
+            }
+            return true;
+        }
+
+        void flush() {
+            if(n > 0) yield.ret(buf, 0, n);
+            n = 0;
+        }
+    }
+
+    static class Terminal extends Sink {
+        private final DoubleYield yield;
+
+        Terminal(DoubleYield yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(double item) {
+            yield.ret(item);
+            return true;
+        }
+    }
+
+    static class TerminalWhile extends Sink {
+        private final DoubleYieldWhile yield;
+
+        TerminalWhile(DoubleYieldWhile yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(double item) {
+            return yield.ret(item);
+        }
+    }
+
+    /**
+     * Yield passing the items of the upstream to the head of the chain.
+     */
+    static class Entry implements DoubleYield {
+        private final Sink head;
+
+        Entry(Sink head) {
+            this.head = head;
+        }
+
+        @Override
+        public void ret(double item) {
+            head.push(item);
+        }
+    }
+
+    static class EntryWhile implements DoubleYieldWhile {
+        private final Sink head;
+
+        EntryWhile(Sink head) {
+            this.head = head;
+        }
+
+        @Override
+        public boolean ret(double item) {
+            return head.push(item);
+        }
+    }
+
+    static class MapSink extends Sink {
+        private final DoubleUnaryOperator mapper;
+
+        MapSink(DoubleUnaryOperator mapper, Sink next) {
+            super(next);
+            this.mapper = mapper;
+        }
+
+        @Override
+        boolean push(double item) {
+            return next.push(mapper.applyAsDouble(item));
+        }
+    }
+
+    static class FilterSink extends Sink {
+        private final DoublePredicate p;
+
+        FilterSink(DoublePredicate p, Sink next) {
+            super(next);
+            this.p = p;
+        }
+
+        @Override
+        boolean push(double item) {
+            return !p.test(item) || next.push(item);
+        }
+    }
+
+    static class PeekSink extends Sink {
+        private final DoubleConsumer action;
+
+        PeekSink(DoubleConsumer action, Sink next) {
+            super(next);
+            this.action = action;
+        }
+
+        @Override
+        boolean push(double item) {
+            action.accept(item);
+            return next.push(item);
+        }
+    }
+
+    @Override
+    public int characteristics() {
+        int flags = upstream.characteristics();
+        for (byte kind : kinds) {
+            flags &= kind == MAP ? ORDERED | SIZED | NONNULL : ~SIZED;
+        }
+        return flags;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return upstream.getExactSizeIfKnown();
+    }
+}
@@ -19,6 +19,7 @@ package org.jayield.primitives.dbl.ops;
 import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 import java.util.function.DoubleSupplier;
 
@@ -43,4 +44,12 @@ public class DoubleGenerate implements DoubleAdvancer, DoubleTraverser {
         yield.ret(s.getAsDouble());
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        while(yield.ret(s.getAsDouble())) {
+            // Intentionally empty. Infinite sequence only stops by yield.
+        }
+        return false;
+    }
 }
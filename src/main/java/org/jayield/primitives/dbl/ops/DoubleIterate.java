@@ -19,6 +19,7 @@ package org.jayield.primitives.dbl.ops;
 import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 import java.util.function.DoubleUnaryOperator;
 
@@ -51,4 +52,16 @@ public class DoubleIterate implements DoubleAdvancer, DoubleTraverser {
         yield.ret(curr);
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        for (double i = prev; true; i = f.applyAsDouble(i)) {
+            if(!yield.ret(i)) return false;
+        }
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
 }
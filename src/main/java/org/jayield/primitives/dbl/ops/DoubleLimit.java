@@ -16,10 +16,12 @@
 
 package org.jayield.primitives.dbl.ops;
 
+import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 public class DoubleLimit implements DoubleAdvancer, DoubleTraverser {
     private final DoubleQuery upstream;
@@ -36,9 +38,11 @@ public class DoubleLimit implements DoubleAdvancer, DoubleTraverser {
     public void traverse(DoubleYield yield) {
         if(count >= n)
             throw new IllegalStateException("Traverser has already been operated on or closed!");
-        while(this.tryAdvance(yield)) {
-            // Intentionally empty. Action specified on yield statement of tryAdvance().
-        }
+        upstream.traverseWhile(item -> {
+            count++;
+            yield.ret(item);
+            return count < n;
+        });
     }
 
     @Override
@@ -47,4 +51,27 @@ public class DoubleLimit implements DoubleAdvancer, DoubleTraverser {
         count++;
         return upstream.tryAdvance(yield);
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        if(count >= n) return true;
+        BoolBox cont = new BoolBox(true);
+        upstream.traverseWhile(item -> {
+            count++;
+            cont.set(yield.ret(item));
+            return cont.isTrue() && count < n;
+        });
+        return cont.isTrue();
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = upstream.getExactSizeIfKnown();
+        return size < 0 ? -1 : Math.min(size, Math.max(0, n - count));
+    }
 }
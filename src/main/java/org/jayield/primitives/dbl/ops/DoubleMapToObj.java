@@ -19,6 +19,7 @@ package org.jayield.primitives.dbl.ops;
 import org.jayield.Advancer;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
 import org.jayield.primitives.dbl.DoubleQuery;
 
 import java.util.function.DoubleFunction;
@@ -42,4 +43,19 @@ public class DoubleMapToObj<T> implements Advancer<T>, Traverser<T> {
     public boolean tryAdvance(Yield<? super T> yield) {
         return upstream.tryAdvance(item -> yield.ret(mapper.apply(item)));
     }
+
+    @Override
+    public boolean traverseWhile(YieldWhile<? super T> yield) {
+        return upstream.traverseWhile(e -> yield.ret(mapper.apply(e)));
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & (ORDERED | SIZED);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return upstream.getExactSizeIfKnown();
+    }
 }
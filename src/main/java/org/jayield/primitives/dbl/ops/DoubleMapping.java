@@ -17,16 +17,18 @@
 package org.jayield.primitives.dbl.ops;
 
 import org.jayield.primitives.dbl.DoubleAdvancer;
+import org.jayield.primitives.dbl.DoubleChunkYield;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 import java.util.function.DoubleUnaryOperator;
 
 public class DoubleMapping implements DoubleAdvancer, DoubleTraverser {
 
-    private final DoubleQuery upstream;
-    private final DoubleUnaryOperator mapper;
+    final DoubleQuery upstream;
+    final DoubleUnaryOperator mapper;
 
     public DoubleMapping(DoubleQuery adv, DoubleUnaryOperator mapper) {
         this.upstream = adv;
@@ -38,8 +40,42 @@ public class DoubleMapping implements DoubleAdvancer, DoubleTraverser {
         upstream.traverse(e -> yield.ret(mapper.applyAsDouble(e)));
     }
 
+    @Override
+    public void traverseChunks(DoubleChunkYield yield) {
+        double[] out = new double[DoubleChunkYield.SIZE];
+        upstream.traverseChunks((buf, from, to) -> {
+            for (int i = from; i < to; i += out.length) {
+                int n = Math.min(out.length, to - i);
+                for (int k = 0; k < n; k++) {
+                    out[k] = mapper.applyAsDouble(buf[i + k]);
+                }
+                yield.ret(out, 0, n);
+            }
+        });
+    }
+
+    @Override
+    public boolean isChunked() {
+        return upstream.isChunked();
+    }
+
     @Override
     public boolean tryAdvance(DoubleYield yield) {
         return upstream.tryAdvance(item -> yield.ret(mapper.applyAsDouble(item)));
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        return upstream.traverseWhile(e -> yield.ret(mapper.applyAsDouble(e)));
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & (ORDERED | SIZED | NONNULL);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return upstream.getExactSizeIfKnown();
+    }
 }
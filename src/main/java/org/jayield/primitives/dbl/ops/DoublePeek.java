@@ -20,12 +20,13 @@ import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 import java.util.function.DoubleConsumer;
 
 public class DoublePeek implements DoubleAdvancer, DoubleTraverser {
-    private final DoubleQuery upstream;
-    private final DoubleConsumer action;
+    final DoubleQuery upstream;
+    final DoubleConsumer action;
 
     public DoublePeek(DoubleQuery adv, DoubleConsumer action) {
         this.upstream = adv;
@@ -47,4 +48,20 @@ public class DoublePeek implements DoubleAdvancer, DoubleTraverser {
             yield.ret(item);
         });
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        return upstream.traverseWhile(item -> {
+            action.accept(item);
+            return yield.ret(item);
+        });
+    }
+
+    /**
+     * Not SIZED, so that count() still performs the action on each element.
+     */
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
@@ -20,6 +20,7 @@ import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 public class DoubleSkip implements DoubleAdvancer, DoubleTraverser {
     private final DoubleQuery upstream;
@@ -53,4 +54,26 @@ public class DoubleSkip implements DoubleAdvancer, DoubleTraverser {
             upstream.tryAdvance(item -> {});
         return upstream.tryAdvance(yield);
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        return upstream.traverseWhile(item -> {
+            if(index < n) {
+                index++;
+                return true;
+            }
+            return yield.ret(item);
+        });
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = upstream.getExactSizeIfKnown();
+        return size < 0 ? -1 : Math.max(0, size - Math.max(0, n - index));
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.dbl.ops;
+
+import org.jayield.primitives.dbl.DoubleAdvancer;
+import org.jayield.primitives.dbl.DoubleQuery;
+import org.jayield.primitives.dbl.DoubleTraverser;
+import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
+
+import java.util.Arrays;
+
+/**
+ * Sorts all elements of the upstream on first use.
+ * Deferring the sort lets a following limit() replace it by an {@link DoubleTopK}.
+ */
+public class DoubleSorted implements DoubleAdvancer, DoubleTraverser {
+    private final DoubleQuery upstream;
+    private FromDoubleArray sorted;
+
+    public DoubleSorted(DoubleQuery upstream) {
+        this.upstream = upstream;
+    }
+
+    /**
+     * Returns the lowest n elements of the upstream, or null if this
+     * source has already been operated on.
+     */
+    public DoubleTopK limit(int n) {
+        return sorted == null ? new DoubleTopK(upstream, n) : null;
+    }
+
+    private FromDoubleArray sorted() {
+        if(sorted == null) {
+            int flags = upstream.characteristics();
+            double[] state = upstream.toArray();
+            Arrays.sort(state);
+            sorted = new FromDoubleArray(state, 0, state.length, ORDERED | SORTED | (flags & DISTINCT));
+        }
+        return sorted;
+    }
+
+    @Override
+    public boolean tryAdvance(DoubleYield yield) {
+        return sorted().tryAdvance(yield);
+    }
+
+    @Override
+    public void traverse(DoubleYield yield) {
+        sorted().traverse(yield);
+    }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        return sorted().traverseWhile(yield);
+    }
+
+    @Override
+    public int characteristics() {
+        return sorted != null
+            ? sorted.characteristics()
+            : ORDERED | SORTED | NONNULL | (upstream.characteristics() & (SIZED | DISTINCT));
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return sorted != null ? sorted.getExactSizeIfKnown() : upstream.getExactSizeIfKnown();
+    }
+}
@@ -16,11 +16,12 @@
 
 package org.jayield.primitives.dbl.ops;
 
-import org.jayield.Yield;
+import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 import java.util.function.DoublePredicate;
 
@@ -37,11 +38,10 @@ public class DoubleTakeWhile implements DoubleAdvancer, DoubleTraverser {
 
     @Override
     public void traverse(DoubleYield yield) {
-        upstream.shortCircuit(item -> {
-            if (!predicate.test(item)) {
-                Yield.bye();
-            }
+        upstream.traverseWhile(item -> {
+            if(!predicate.test(item)) return false;
             yield.ret(item);
+            return true;
         });
     }
 
@@ -57,4 +57,20 @@ public class DoubleTakeWhile implements DoubleAdvancer, DoubleTraverser {
         };
         return upstream.tryAdvance(takeWhile) && hasNext;
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        BoolBox cont = new BoolBox(true);
+        upstream.traverseWhile(item -> {
+            if(!predicate.test(item)) return false;
+            cont.set(yield.ret(item));
+            return cont.isTrue();
+        });
+        return cont.isTrue();
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
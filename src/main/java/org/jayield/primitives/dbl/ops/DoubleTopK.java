@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.dbl.ops;
+
+import org.jayield.collections.DoubleBoundedHeap;
+import org.jayield.primitives.dbl.DoubleAdvancer;
+import org.jayield.primitives.dbl.DoubleQuery;
+import org.jayield.primitives.dbl.DoubleTraverser;
+import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
+
+/**
+ * The k lowest elements of the upstream in ascending order, which are the
+ * same as sorted().limit(k), collected on first use in an
+ * {@link DoubleBoundedHeap} with O(n log k) time and O(k) memory.
+ */
+public class DoubleTopK implements DoubleAdvancer, DoubleTraverser {
+    private final DoubleQuery upstream;
+    private final int k;
+    private FromDoubleArray top;
+
+    public DoubleTopK(DoubleQuery upstream, int k) {
+        this.upstream = upstream;
+        this.k = Math.max(0, k);
+    }
+
+    /**
+     * Returns the lowest min(k, n) elements of the upstream, or null
+     * if this source has already been operated on.
+     */
+    public DoubleTopK limit(int n) {
+        return top == null ? new DoubleTopK(upstream, Math.min(k, n)) : null;
+    }
+
+    private FromDoubleArray top() {
+        if(top == null) {
+            int flags = upstream.characteristics();
+            DoubleBoundedHeap heap = new DoubleBoundedHeap(k);
+            upstream.forEach(heap::add);
+            double[] state = heap.toSortedArray();
+            top = new FromDoubleArray(state, 0, state.length, ORDERED | SORTED | (flags & DISTINCT));
+        }
+        return top;
+    }
+
+    @Override
+    public boolean tryAdvance(DoubleYield yield) {
+        return top().tryAdvance(yield);
+    }
+
+    @Override
+    public void traverse(DoubleYield yield) {
+        top().traverse(yield);
+    }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        return top().traverseWhile(yield);
+    }
+
+    @Override
+    public int characteristics() {
+        return top != null
+            ? top.characteristics()
+            : ORDERED | SORTED | NONNULL | (upstream.characteristics() & (SIZED | DISTINCT));
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        if(top != null) return top.getExactSizeIfKnown();
+        long size = upstream.getExactSizeIfKnown();
+        return size < 0 ? -1 : Math.min(size, k);
+    }
+}
@@ -16,12 +16,12 @@
 
 package org.jayield.primitives.dbl.ops;
 
-import org.jayield.Yield;
 import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 import java.util.function.DoubleBinaryOperator;
 
@@ -38,10 +38,7 @@ public class DoubleZip implements DoubleAdvancer, DoubleTraverser {
 
     @Override
     public void traverse(DoubleYield yield) {
-        upstream.shortCircuit(e1 -> {
-            if(!other.tryAdvance(e2 -> yield.ret(zipper.applyAsDouble(e1, e2))))
-                Yield.bye();
-        });
+        upstream.traverseWhile(e1 -> other.tryAdvance(e2 -> yield.ret(zipper.applyAsDouble(e1, e2))));
     }
 
     @Override
@@ -53,4 +50,23 @@ public class DoubleZip implements DoubleAdvancer, DoubleTraverser {
         }));
         return consumed.isTrue();
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        BoolBox cont = new BoolBox(true);
+        upstream.traverseWhile(e1 -> other.tryAdvance(e2 -> cont.set(yield.ret(zipper.applyAsDouble(e1, e2)))) && cont.isTrue());
+        return cont.isTrue();
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & other.characteristics() & (ORDERED | SIZED | NONNULL);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = upstream.getExactSizeIfKnown();
+        long otherSize = other.getExactSizeIfKnown();
+        return size < 0 || otherSize < 0 ? -1 : Math.min(size, otherSize);
+    }
 }
@@ -16,21 +16,91 @@
 
 package org.jayield.primitives.dbl.ops;
 
+import org.jayield.primitives.ArrayReductions;
 import org.jayield.primitives.dbl.DoubleAdvancer;
+import org.jayield.primitives.dbl.DoubleChunkYield;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.OptionalDouble;
 
 public class FromDoubleArray implements DoubleAdvancer, DoubleTraverser {
-    private final double[] data;
-    private int current;
+    final double[] data;
+    final int end;
+    private final int flags;
+    int current;
 
     public FromDoubleArray(double... data) {
+        this(data, 0, data.length, ORDERED);
+    }
+
+    /**
+     * Source of the elements of data between the indexes from, inclusive,
+     * and to, exclusive, with the given additional characteristics.
+     */
+    public FromDoubleArray(double[] data, int from, int to, int characteristics) {
         this.data = data;
-        this.current = 0;
+        this.current = from;
+        this.end = to;
+        this.flags = characteristics | SIZED | NONNULL;
     }
 
     public boolean hasNext() {
-        return current < data.length;
+        return current < end;
+    }
+
+    /**
+     * Returns a new source of the remaining elements after discarding
+     * the first n, without visiting them.
+     */
+    public FromDoubleArray skip(int n) {
+        return new FromDoubleArray(data, current + clamp(n), end, flags);
+    }
+
+    /**
+     * Returns a new source of no more than the first n remaining elements.
+     */
+    public FromDoubleArray limit(int n) {
+        return new FromDoubleArray(data, current, current + clamp(n), flags);
+    }
+
+    /**
+     * Sum of the remaining elements, through {@link ArrayReductions}.
+     */
+    public double sum() {
+        return ArrayReductions.get().sum(data, current, end);
+    }
+
+    public OptionalDouble min() {
+        return current < end
+            ? OptionalDouble.of(ArrayReductions.get().min(data, current, end))
+            : OptionalDouble.empty();
+    }
+
+    public OptionalDouble max() {
+        return current < end
+            ? OptionalDouble.of(ArrayReductions.get().max(data, current, end))
+            : OptionalDouble.empty();
+    }
+
+    public DoubleSummaryStatistics summaryStatistics() {
+        return ArrayReductions.get().summaryStatistics(data, current, end);
+    }
+
+    private int clamp(int n) {
+        return Math.max(0, Math.min(n, end - current));
+    }
+
+    @Override
+    public int characteristics() {
+        return flags;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return end - current;
     }
 
     /**
@@ -41,9 +111,27 @@ public class FromDoubleArray implements DoubleAdvancer, DoubleTraverser {
      */
     @Override
     public void traverse(DoubleYield yield) {
-        for (int i = current; i < data.length; i++) {
+        for (int i = current; i < end; i++) {
             yield.ret(data[i]);
         }
+        current = end;
+    }
+
+    /**
+     * Yields the remaining elements as a single chunk of the array itself.
+     */
+    @Override
+    public void traverseChunks(DoubleChunkYield yield) {
+        if(current < end) {
+            int from = current;
+            current = end;
+            yield.ret(data, from, end);
+        }
+    }
+
+    @Override
+    public boolean isChunked() {
+        return true;
     }
 
     @Override
@@ -52,4 +140,16 @@ public class FromDoubleArray implements DoubleAdvancer, DoubleTraverser {
         yield.ret(data[current++]);
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        for (int i = current; i < end; i++) {
+            if(!yield.ret(data[i])) {
+                current = i + 1;
+                return false;
+            }
+        }
+        current = end;
+        return true;
+    }
 }
@@ -16,9 +16,11 @@
 
 package org.jayield.primitives.dbl.ops;
 
+import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.dbl.DoubleYield;
+import org.jayield.primitives.dbl.DoubleYieldWhile;
 
 import java.util.Spliterator;
 import java.util.function.DoubleConsumer;
@@ -42,4 +44,14 @@ public class FromDoubleStream implements DoubleAdvancer, DoubleTraverser {
         DoubleConsumer cons = yield::ret;
         return upstream.tryAdvance(cons);
     }
+
+    @Override
+    public boolean traverseWhile(DoubleYieldWhile yield) {
+        BoolBox cont = new BoolBox(true);
+        DoubleConsumer cons = item -> cont.set(yield.ret(item));
+        while(cont.isTrue() && upstream.tryAdvance(cons)) {
+            // Intentionally empty. Action specified on yield statement of tryAdvance().
+        }
+        return cont.isTrue();
+    }
 }
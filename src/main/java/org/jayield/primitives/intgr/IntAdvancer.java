@@ -55,7 +55,7 @@ public interface IntAdvancer extends Advancer<Integer> {
      *         {@link DoubleToIntFunction} that specifies how to map the source elements into int values.
      */
     static IntAdvancer from(DoubleAdvancer source, DoubleToIntFunction mapper) {
-        return from((Advancer<Double>) source, mapper::applyAsInt);
+        return yield -> source.tryAdvance((double item) -> yield.ret(mapper.applyAsInt(item)));
     }
 
     /**
@@ -67,6 +67,6 @@ public interface IntAdvancer extends Advancer<Integer> {
      *         {@link LongToIntFunction} that specifies how to map the source elements into int values.
      */
     static IntAdvancer from(LongAdvancer source, LongToIntFunction mapper) {
-        return from((Advancer<Long>) source, mapper::applyAsInt);
+        return yield -> source.tryAdvance((long item) -> yield.ret(mapper.applyAsInt(item)));
     }
 }
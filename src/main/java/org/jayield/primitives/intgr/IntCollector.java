@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.intgr;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IntSummaryStatistics;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Equivalent to {@link Collector} for int elements, which are accumulated
+ * without boxing by {@link IntQuery#collect(IntCollector)}.
+ *
+ * @param <A> the mutable accumulation type of the reduction operation
+ * @param <R> the result type of the reduction operation
+ */
+public interface IntCollector<A, R> {
+
+    Supplier<A> supplier();
+
+    ObjIntConsumer<A> accumulator();
+
+    BinaryOperator<A> combiner();
+
+    Function<A, R> finisher();
+
+    Set<Collector.Characteristics> characteristics();
+
+    /**
+     * Returns a new {@code IntCollector} described by the given functions and characteristics.
+     */
+    static <A, R> IntCollector<A, R> of(
+        Supplier<A> supplier,
+        ObjIntConsumer<A> accumulator,
+        BinaryOperator<A> combiner,
+        Function<A, R> finisher,
+        Collector.Characteristics... characteristics)
+    {
+        EnumSet<Collector.Characteristics> flags = EnumSet.noneOf(Collector.Characteristics.class);
+        Collections.addAll(flags, characteristics);
+        Set<Collector.Characteristics> unmodifiable = Collections.unmodifiableSet(flags);
+        return new IntCollector<A, R>() {
+            @Override
+            public Supplier<A> supplier() {
+                return supplier;
+            }
+
+            @Override
+            public ObjIntConsumer<A> accumulator() {
+                return accumulator;
+            }
+
+            @Override
+            public BinaryOperator<A> combiner() {
+                return combiner;
+            }
+
+            @Override
+            public Function<A, R> finisher() {
+                return finisher;
+            }
+
+            @Override
+            public Set<Collector.Characteristics> characteristics() {
+                return unmodifiable;
+            }
+        };
+    }
+
+    /**
+     * Returns a new {@code IntCollector} whose result is its container,
+     * with the {@code IDENTITY_FINISH} characteristic.
+     */
+    static <R> IntCollector<R, R> of(
+        Supplier<R> supplier,
+        ObjIntConsumer<R> accumulator,
+        BinaryOperator<R> combiner,
+        Collector.Characteristics... characteristics)
+    {
+        Collector.Characteristics[] flags = new Collector.Characteristics[characteristics.length + 1];
+        System.arraycopy(characteristics, 0, flags, 0, characteristics.length);
+        flags[characteristics.length] = Collector.Characteristics.IDENTITY_FINISH;
+        return of(supplier, accumulator, combiner, Function.identity(), flags);
+    }
+
+    /**
+     * Returns an {@code IntCollector} counting the elements.
+     */
+    static IntCollector<long[], Long> counting() {
+        return of(
+            () -> new long[1],
+            (acc, item) -> acc[0]++,
+            (left, right) -> {
+                left[0] += right[0];
+                return left;
+            },
+            acc -> acc[0],
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns an {@code IntCollector} summing the elements.
+     */
+    static IntCollector<int[], Integer> summing() {
+        return of(
+            () -> new int[1],
+            (acc, item) -> acc[0] += item,
+            (left, right) -> {
+                left[0] += right[0];
+                return left;
+            },
+            acc -> acc[0],
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns an {@code IntCollector} producing the arithmetic mean of the elements,
+     * or zero if there are none.
+     */
+    static IntCollector<IntSummaryStatistics, Double> averaging() {
+        return of(
+            IntSummaryStatistics::new,
+            IntSummaryStatistics::accept,
+            (left, right) -> {
+                left.combine(right);
+                return left;
+            },
+            IntSummaryStatistics::getAverage,
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Returns an {@code IntCollector} producing the summary statistics of the elements.
+     */
+    static IntCollector<IntSummaryStatistics, IntSummaryStatistics> summarizing() {
+        return of(
+            IntSummaryStatistics::new,
+            IntSummaryStatistics::accept,
+            (left, right) -> {
+                left.combine(right);
+                return left;
+            },
+            Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Adapts a {@link Collector} of objects to an {@code IntCollector}, by
+     * applying the mapper to each element before its accumulation.
+     */
+    static <U, A, R> IntCollector<A, R> mapping(IntFunction<? extends U> mapper, Collector<? super U, A, R> downstream) {
+        BiConsumer<A, ? super U> accumulator = downstream.accumulator();
+        return of(
+            downstream.supplier(),
+            (acc, item) -> accumulator.accept(acc, mapper.apply(item)),
+            downstream.combiner(),
+            downstream.finisher(),
+            downstream.characteristics().toArray(new Collector.Characteristics[0]));
+    }
+}
@@ -16,19 +16,29 @@
 
 package org.jayield.primitives.intgr;
 
+import org.jayield.Characteristics;
 import org.jayield.Query;
+import org.jayield.SpillConfig;
 import org.jayield.TraversableFinishError;
-import org.jayield.Yield;
-import org.jayield.boxes.BoolBox;
 import org.jayield.boxes.IntBox;
+import org.jayield.collections.IntGrowableBuffer;
+import org.jayield.ops.OnClose;
+import org.jayield.ops.Specializer;
+import org.jayield.primitives.ArrayReductions;
+import org.jayield.primitives.MappedFile;
 import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.intgr.ops.FromIntArray;
+import org.jayield.primitives.intgr.ops.FromIntFile;
+import org.jayield.primitives.intgr.ops.IntCached;
+import org.jayield.primitives.intgr.ops.IntCompiled;
 import org.jayield.primitives.intgr.ops.IntConcat;
 import org.jayield.primitives.intgr.ops.IntDistinct;
 import org.jayield.primitives.intgr.ops.IntDropWhile;
+import org.jayield.primitives.intgr.ops.IntFanOut;
 import org.jayield.primitives.intgr.ops.IntFilter;
+import org.jayield.primitives.intgr.ops.IntFused;
 import org.jayield.primitives.intgr.ops.IntFlatMap;
 import org.jayield.primitives.intgr.ops.IntGenerate;
 import org.jayield.primitives.intgr.ops.IntIterate;
@@ -37,6 +47,9 @@ import org.jayield.primitives.intgr.ops.IntMapping;
 import org.jayield.primitives.intgr.ops.IntMapToObj;
 import org.jayield.primitives.intgr.ops.IntPeek;
 import org.jayield.primitives.intgr.ops.IntSkip;
+import org.jayield.primitives.intgr.ops.IntSorted;
+import org.jayield.primitives.intgr.ops.IntSpillSorted;
+import org.jayield.primitives.intgr.ops.IntTopK;
 import org.jayield.primitives.intgr.ops.FromIntStream;
 import org.jayield.primitives.intgr.ops.IntTakeWhile;
 import org.jayield.primitives.intgr.ops.IntZip;
@@ -44,6 +57,8 @@ import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 
+import java.nio.ByteOrder;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.IntSummaryStatistics;
@@ -63,6 +78,7 @@ import java.util.function.IntToLongFunction;
 import java.util.function.IntUnaryOperator;
 import java.util.function.ObjIntConsumer;
 import java.util.function.Supplier;
+import java.util.stream.Collector;
 import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 
@@ -70,14 +86,47 @@ import java.util.stream.StreamSupport;
  * A sequence of primitive int-valued elements supporting sequential
  * operations. This is the int primitive specialization of Query.
  */
-public class IntQuery {
+public class IntQuery implements AutoCloseable {
 
     private final IntAdvancer adv;
     private final IntTraverser trav;
+    /**
+     * Close handlers of this query and of its upstream, or null.
+     */
+    private final Runnable onClose;
 
     public IntQuery(IntAdvancer adv, IntTraverser trav) {
+        this(adv, trav, null);
+    }
+
+    /**
+     * A query with the given close handlers, which are usually the ones
+     * of the query that adv and trav come from.
+     */
+    public IntQuery(IntAdvancer adv, IntTraverser trav, Runnable onClose) {
         this.adv = adv;
         this.trav = trav;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Returns an equivalent query that additionally runs the given handler
+     * on close(), after the handlers of this query.
+     * Queries derived from the resulting one run it on close() too.
+     */
+    public final IntQuery onClose(Runnable handler) {
+        return new IntQuery(adv, trav, OnClose.compose(onClose, handler));
+    }
+
+    /**
+     * Runs the close handlers of this query and of its upstream, once.
+     * Terminal operations other than traverse(), traverseWhile(),
+     * traverseChunks(), tryAdvance() and shortCircuit() close the query
+     * when they finish, either normally, by short-circuiting, or by throwing.
+     */
+    @Override
+    public void close() {
+        if(onClose != null) onClose.run();
     }
 
     /**
@@ -86,7 +135,7 @@ public class IntQuery {
      */
     public static IntQuery fromStream(IntStream src) {
         FromIntStream strm = new FromIntStream(src);
-        return new IntQuery(strm, strm);
+        return new IntQuery(strm, strm, src::close);
     }
 
     /**
@@ -109,13 +158,31 @@ public class IntQuery {
         return new IntQuery(gen, gen);
     }
 
+    /**
+     * Returns a sequential ordered {@code IntQuery} with the int values of
+     * the binary file at path, in the given byte order.
+     * The file is mapped into memory and read without copying its
+     * values to the heap. Each mapped region is released once traversed,
+     * and the file is closed after its last value.
+     *
+     * @throws java.io.UncheckedIOException if the file cannot be opened.
+     */
+    public static IntQuery fromFile(Path path, ByteOrder order) {
+        FromIntFile src = new FromIntFile(new MappedFile(path, Integer.BYTES), order);
+        return new IntQuery(src, src, src::close);
+    }
+
     /**
      * Yields elements sequentially in the current thread,
      * until all elements have been processed or an
      * exception is thrown.
      */
     public final void forEach(IntYield yield) {
-        this.traverse(yield);
+        try {
+            this.traverse(yield);
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -127,6 +194,51 @@ public class IntQuery {
         this.trav.traverse(yield);
     }
 
+    /**
+     * Yields elements sequentially in the current thread,
+     * while yield returns true and until all elements have been processed.
+     * Unlike shortCircuit(), built-in operations finish cooperatively
+     * without throwing.
+     *
+     * @return false if the traversal was stopped by yield.
+     */
+    public final boolean traverseWhile(IntYieldWhile yield) {
+        return this.trav.traverseWhile(yield);
+    }
+
+    /**
+     * Yields elements sequentially in the current thread in chunks,
+     * which amortizes the dispatch to each stage over a whole chunk.
+     * Sources from an array and the map and filter stages yield chunks
+     * directly, while any other stage is adapted from traverse().
+     */
+    public final void traverseChunks(IntChunkYield yield) {
+        this.trav.traverseChunks(yield);
+    }
+
+    /**
+     * Returns whether traverseChunks() yields chunks without adapting traverse()
+     * of any stage, in which case reductions such as sum() run over chunks.
+     */
+    public final boolean isChunked() {
+        return trav.isChunked();
+    }
+
+    /**
+     * Returns the {@link Characteristics} of the remaining elements of this {@code IntQuery}.
+     */
+    public final int characteristics() {
+        return trav.characteristics();
+    }
+
+    /**
+     * Returns the exact number of remaining elements of this {@code IntQuery}, without
+     * traversing it, if it is {@link Characteristics#SIZED}, or -1 otherwise.
+     */
+    public final long getExactSizeIfKnown() {
+        return (trav.characteristics() & Characteristics.SIZED) == 0 ? -1 : trav.getExactSizeIfKnown();
+    }
+
     /**
      * If a remaining element exists, yields that element through
      * the given action.
@@ -138,22 +250,28 @@ public class IntQuery {
     /**
      * Returns a {@code IntQuery} consisting of the elements of this {@code IntQuery} that match
      * the given predicate.
+     * Fused with the previous stage when that is a map, filter or peek.
      */
     public IntQuery filter(IntPredicate p) {
+        IntFused fused = IntFused.filter(adv, trav, p);
+        if(fused != null) return new IntQuery(fused, fused, onClose);
         IntFilter filter = new IntFilter(this, p);
-        return new IntQuery(filter, filter);
+        return new IntQuery(filter, filter, onClose);
     }
 
     /**
      * Returns a {@code IntQuery} consisting of the results of applying the given
      * IntUnaryOperator to the elements of this {@code IntQuery}.
+     * Fused with the previous stage when that is a map, filter or peek.
      *
      * @param op
      *         IntUnaryOperator used to map the elements of this IntQuery
      */
     public IntQuery map(IntUnaryOperator op) {
+        IntFused fused = IntFused.map(adv, trav, op);
+        if(fused != null) return new IntQuery(fused, fused, onClose);
         IntMapping map = new IntMapping(this, op);
-        return new IntQuery(map, map);
+        return new IntQuery(map, map, onClose);
     }
 
     /**
@@ -165,7 +283,7 @@ public class IntQuery {
      */
     public <U> Query<U> mapToObj(IntFunction<? extends U> function) {
         IntMapToObj<U> map = new IntMapToObj<>(this, function);
-        return new Query<>(map, map);
+        return new Query<>(map, map, onClose);
     }
 
     /**
@@ -175,7 +293,7 @@ public class IntQuery {
      */
     public IntQuery flatMap(IntFunction<? extends IntQuery> function) {
         IntFlatMap map = new IntFlatMap(this, function);
-        return new IntQuery(map, map);
+        return new IntQuery(map, map, OnClose.compose(onClose, map::close));
     }
 
     /**
@@ -184,7 +302,28 @@ public class IntQuery {
      */
     public IntQuery distinct() {
         IntDistinct dis = new IntDistinct(this);
-        return new IntQuery(dis, dis);
+        return new IntQuery(dis, dis, onClose);
+    }
+
+    /**
+     * Returns a {@code IntQuery} replaying the elements of this {@code IntQuery},
+     * which are pulled on demand and memoized in segments of primitive arrays,
+     * such that it may be traversed any number of times.
+     * Traversals may run concurrently, even while this query is still being
+     * drained, but each tryAdvance() cursor is confined to a single thread.
+     * Calling cache() on the resulting query returns a new replay, with its
+     * own tryAdvance() cursor, of the same elements.
+     * Traversals that cannot stop early, such as forEach(), pull the rest
+     * of this query at once, while the others pull one element at a time.
+     * This query is closed once it has no more elements, rather than
+     * when the resulting query is closed, which happens after each of its
+     * traversals. Hence, if it may not be drained, as by findFirst(), close
+     * this query itself, e.g. with try-with-resources, once no replay needs
+     * elements that were not pulled yet.
+     */
+    public IntQuery cache() {
+        IntCached cached = adv instanceof IntCached ? ((IntCached) adv).replay() : new IntCached(this);
+        return new IntQuery(cached, cached);
     }
 
     /**
@@ -194,53 +333,133 @@ public class IntQuery {
      * This is a stateful intermediate operation.
      */
     public IntQuery sorted() {
-        int[] state = this.toArray();
-        Arrays.sort(state);
-        FromIntArray arr = new FromIntArray(state);
-        return new IntQuery(arr, arr);
+        IntSorted sorted = new IntSorted(this);
+        return new IntQuery(sorted, sorted, onClose);
+    }
+
+    /**
+     * Returns a {@code IntQuery} consisting of the elements of this {@code IntQuery},
+     * sorted according to the same logic as {@code Arrays.sort(int[] a)}, which
+     * keeps no more than {@code config.maxInMemory()} elements in memory.
+     * Beyond that, it writes sorted runs of raw values into temporary files,
+     * ignoring the serializer of the config, and merges them lazily on traversal.
+     * Runs left are deleted on close().
+     * <p>
+     * This is a stateful intermediate operation.
+     */
+    public IntQuery sorted(SpillConfig<?> config) {
+        IntSpillSorted sorted = new IntSpillSorted(this, config);
+        return new IntQuery(sorted, sorted, OnClose.compose(onClose, sorted::close));
+    }
+
+    /**
+     * Returns a {@code IntQuery} consisting of the {@code k} lowest elements of this
+     * {@code IntQuery} in ascending order, like {@code sorted().limit(k)}.
+     * It keeps no more than {@code k} elements in a bounded heap, taking
+     * O(n log k) time rather than the O(n log n) of a full sort.
+     * <p>
+     * This is a stateful intermediate operation.
+     */
+    public IntQuery topK(int k) {
+        IntTopK top = new IntTopK(this, k);
+        return new IntQuery(top, top, onClose);
     }
 
     /**
      * Returns an array containing the elements of this {@code IntQuery}.
      */
     public int[] toArray() {
-        List<Integer> list = toList();
-        int[] result = new int[list.size()];
-        for (int i = 0; i < list.size(); i++) {
-            result[i] = list.get(i);
+        try {
+            long size = getExactSizeIfKnown();
+            if(size >= 0 && size <= Integer.MAX_VALUE) {
+                int[] res = new int[(int) size];
+                class Filler implements IntYield {
+                    int i = 0;
+
+                    @Override
+                    public void ret(int item) {
+                        res[i++] = item;
+                    }
+                }
+                this.traverse(new Filler());
+                return res;
+            }
+            IntGrowableBuffer result = new IntGrowableBuffer();
+            this.traverse(result::add);
+            return result.toArray();
+        } finally {
+            close();
         }
-        return result;
     }
 
     /**
      * Returns a List containing the elements of this {@code IntQuery}.
      */
     public List<Integer> toList() {
-        ArrayList<Integer> result = new ArrayList<>();
-        this.traverse(result::add);
-        return result;
+        try {
+            long size = getExactSizeIfKnown();
+            ArrayList<Integer> result = size < 0 || size > Integer.MAX_VALUE ? new ArrayList<>() : new ArrayList<>((int) size);
+            this.traverse(result::add);
+            return result;
+        } finally {
+            close();
+        }
     }
 
     /**
      * Returns a {@code IntQuery} consisting of the elements of this {@code IntQuery}, additionally
      * performing the provided action on each element as elements are consumed
      * from the resulting {@code IntQuery}.
+     * Fused with the previous stage when that is a map, filter or peek.
      */
     public IntQuery peek(IntConsumer action) {
+        IntFused fused = IntFused.peek(adv, trav, action);
+        if(fused != null) return new IntQuery(fused, fused, onClose);
         IntPeek peek = new IntPeek(this, action);
-        return new IntQuery(peek, peek);
+        return new IntQuery(peek, peek, onClose);
+    }
+
+    /**
+     * Returns an equivalent {@code IntQuery} whose traverse() and traverseWhile()
+     * run the trailing map, filter and peek stages through classes generated
+     * for the shape of this pipeline, like {@link Query#compile()}.
+     * Returns this query if its last stage is not a map, filter or peek,
+     * or if the runtime does not support hidden classes.
+     */
+    public IntQuery compile() {
+        IntFused fused = IntFused.of(adv, trav);
+        if(fused == null || !Specializer.isSupported()) return this;
+        return new IntQuery(adv, new IntCompiled(fused, fused.upstream().trav), onClose);
     }
 
     /**
      * Returns a {@code IntQuery} consisting of the elements of this query, truncated
      * to be no longer than {@code n} in length.
+     * Following a sorted() it keeps only the lowest {@code n} elements
+     * instead of sorting all of them, as {@link #topK(int)}.
      *
      * @param n
      *         maximum amount of elements to retrieve from this {@code IntQuery}
      */
     public IntQuery limit(int n) {
+        if(adv instanceof IntSorted) {
+            IntTopK top = ((IntSorted) adv).limit(n);
+            if(top != null) return new IntQuery(top, top, onClose);
+        }
+        if(adv instanceof IntTopK) {
+            IntTopK top = ((IntTopK) adv).limit(n);
+            if(top != null) return new IntQuery(top, top, onClose);
+        }
+        if(adv instanceof IntSpillSorted) {
+            IntTopK top = ((IntSpillSorted) adv).limit(n);
+            if(top != null) return new IntQuery(top, top, onClose);
+        }
+        if(adv instanceof FromIntArray) {
+            FromIntArray src = ((FromIntArray) adv).limit(n);
+            return new IntQuery(src, src, onClose);
+        }
         IntLimit lim = new IntLimit(this, n);
-        return new IntQuery(lim, lim);
+        return new IntQuery(lim, lim, onClose);
     }
 
     /**
@@ -251,8 +470,12 @@ public class IntQuery {
      *         number of elements to discard
      */
     public IntQuery skip(int n) {
+        if(adv instanceof FromIntArray) {
+            FromIntArray src = ((FromIntArray) adv).skip(n);
+            return new IntQuery(src, src, onClose);
+        }
         IntSkip skip = new IntSkip(this, n);
-        return new IntQuery(skip, skip);
+        return new IntQuery(skip, skip, onClose);
     }
 
     /**
@@ -260,11 +483,15 @@ public class IntQuery {
      * if a reduction can be made, using the provided accumulator.
      */
     public OptionalInt reduce(IntBinaryOperator accumulator) {
-        IntBox box = new IntBox();
-        if(this.tryAdvance(box::setValue)) {
-            return OptionalInt.of(this.reduce(box.getValue(), accumulator));
-        } else {
-            return OptionalInt.empty();
+        try {
+            IntBox box = new IntBox();
+            if(this.tryAdvance(box::setValue)) {
+                return OptionalInt.of(this.reduce(box.getValue(), accumulator));
+            } else {
+                return OptionalInt.empty();
+            }
+        } finally {
+            close();
         }
     }
 
@@ -273,65 +500,108 @@ public class IntQuery {
      * using the provided identity value and accumulator.
      */
     public int reduce(int identity, IntBinaryOperator accumulator) {
-        class BoxAccumulator extends IntBox implements IntYield {
-            public BoxAccumulator(int identity) {
-                super(identity);
-            }
-            @Override
-            public void ret(int item) {
-                this.value = accumulator.applyAsInt(value, item);
+        try {
+            class BoxAccumulator extends IntBox implements IntYield {
+                public BoxAccumulator(int identity) {
+                    super(identity);
+                }
+                @Override
+                public void ret(int item) {
+                    this.value = accumulator.applyAsInt(value, item);
+                }
             }
+            BoxAccumulator box = new BoxAccumulator(identity);
+            this.traverse(box);
+            return box.getValue();
+        } finally {
+            close();
         }
-        BoxAccumulator box = new BoxAccumulator(identity);
-        this.traverse(box);
-        return box.getValue();
     }
 
     /**
      * Returns the lowest int of this {@code IntQuery}
      */
     public OptionalInt min() {
-        IntBox b = new IntBox();
-        this.traverse(e -> {
-            if (!b.isPresent()) {
-                b.turnPresent(e);
-            } else if (e < b.getValue()) {
-                b.setValue(e);
+        try {
+            if(adv instanceof FromIntArray) return ((FromIntArray) adv).min();
+            IntBox b = new IntBox();
+            IntYield keep = e -> {
+                if (!b.isPresent()) {
+                    b.turnPresent(e);
+                } else if (e < b.getValue()) {
+                    b.setValue(e);
+                }
+            };
+            if(trav.isChunked()) {
+                this.traverseChunks((buf, from, to) -> {
+                    if(from < to) keep.ret(ArrayReductions.get().min(buf, from, to));
+                });
+            } else {
+                this.traverse(keep);
             }
-        });
-        return b.isPresent() ? OptionalInt.of(b.getValue()) : OptionalInt.empty();
+            return b.isPresent() ? OptionalInt.of(b.getValue()) : OptionalInt.empty();
+        } finally {
+            close();
+        }
     }
 
     /**
      * Returns the highest int of this {@code IntQuery}
      */
     public OptionalInt max() {
-        IntBox b = new IntBox();
-        this.traverse(e -> {
-            if (!b.isPresent()) {
-                b.turnPresent(e);
-            } else if (e > b.getValue()) {
-                b.setValue(e);
+        try {
+            if(adv instanceof FromIntArray) return ((FromIntArray) adv).max();
+            IntBox b = new IntBox();
+            IntYield keep = e -> {
+                if (!b.isPresent()) {
+                    b.turnPresent(e);
+                } else if (e > b.getValue()) {
+                    b.setValue(e);
+                }
+            };
+            if(trav.isChunked()) {
+                this.traverseChunks((buf, from, to) -> {
+                    if(from < to) keep.ret(ArrayReductions.get().max(buf, from, to));
+                });
+            } else {
+                this.traverse(keep);
             }
-        });
-        return b.isPresent() ? OptionalInt.of(b.getValue()) : OptionalInt.empty();
+            return b.isPresent() ? OptionalInt.of(b.getValue()) : OptionalInt.empty();
+        } finally {
+            close();
+        }
     }
 
     /**
      * Returns the count of elements in this {@code IntQuery}.
      */
     public final long count() {
-        class Counter implements IntYield {
-            long n = 0;
-
-            @Override
-            public void ret(int item) {
-                ++n;
+        try {
+            long size = getExactSizeIfKnown();
+            if(size >= 0) return size;
+            class Counter implements IntYield, IntChunkYield {
+                long n = 0;
+
+                @Override
+                public void ret(int item) {
+                    ++n;
+                }
+
+                @Override
+                public void ret(int[] buf, int from, int to) {
+                    n += to - from;
+                }
+            }
+            Counter c = new Counter();
+            if(trav.isChunked()) {
+                this.traverseChunks(c);
+            } else {
+                this.traverse(c);
             }
+            return c.n;
+        } finally {
+            close();
         }
-        Counter c = new Counter();
-        this.traverse(c);
-        return c.n;
     }
 
     /**
@@ -341,22 +611,73 @@ public class IntQuery {
      * This is a terminal operation.
      */
     public OptionalDouble average() {
-        int[] data = this.toArray();
-        double count = data.length;
-        if (count == 0) {
-            return OptionalDouble.empty();
+        try {
+            if(adv instanceof FromIntArray) {
+                FromIntArray src = (FromIntArray) adv;
+                long count = src.getExactSizeIfKnown();
+                return count == 0
+                    ? OptionalDouble.empty()
+                    : OptionalDouble.of((double) src.sum() / count);
+            }
+            class Averager implements IntYield, IntChunkYield {
+                long count = 0;
+                long sum = 0;
+
+                @Override
+                public void ret(int item) {
+                    ++count;
+                    sum += item;
+                }
+
+                @Override
+                public void ret(int[] buf, int from, int to) {
+                    count += to - from;
+                    sum += ArrayReductions.get().sum(buf, from, to);
+                }
+            }
+            Averager avg = new Averager();
+            if(trav.isChunked()) {
+                this.traverseChunks(avg);
+            } else {
+                this.traverse(avg);
+            }
+            return avg.count == 0
+                ? OptionalDouble.empty()
+                : OptionalDouble.of((double) avg.sum / avg.count);
+        } finally {
+            close();
         }
-        double sum = IntQuery.of(data).sum();
-        return OptionalDouble.of(sum / count);
     }
 
     /**
      * Returns the sum of elements in this {@code IntQuery} .
      * <p>
      * This is a special case of a reduction.
+     * From an array, as also min(), max(), average() and summaryStatistics(),
+     * it is performed by {@link ArrayReductions}, which may use vector instructions.
+     * Through map and filter stages from an array, they reduce each chunk
+     * of {@link #traverseChunks} instead, as also count().
      */
     public int sum() {
-        return this.reduce(0, Integer::sum);
+        try {
+            if(adv instanceof FromIntArray) return (int) ((FromIntArray) adv).sum();
+            if(trav.isChunked()) {
+                class Summer implements IntChunkYield {
+                    long sum = 0;
+
+                    @Override
+                    public void ret(int[] buf, int from, int to) {
+                        sum += ArrayReductions.get().sum(buf, from, to);
+                    }
+                }
+                Summer summer = new Summer();
+                this.traverseChunks(summer);
+                return (int) summer.sum;
+            }
+            return this.reduce(0, Integer::sum);
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -375,7 +696,18 @@ public class IntQuery {
      * This is a terminal operation.
      */
     public IntSummaryStatistics summaryStatistics() {
-        return this.collect(IntSummaryStatistics::new, IntSummaryStatistics::accept);
+        try {
+            if(adv instanceof FromIntArray) return ((FromIntArray) adv).summaryStatistics();
+            IntSummaryStatistics stats = new IntSummaryStatistics();
+            if(trav.isChunked()) {
+                this.traverseChunks((buf, from, to) -> stats.combine(ArrayReductions.get().summaryStatistics(buf, from, to)));
+            } else {
+                this.traverse(stats::accept);
+            }
+            return stats;
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -384,9 +716,46 @@ public class IntQuery {
      * and elements are incorporated by updating the state of the result rather than by replacing the result.
      */
     public <R> R collect(Supplier<R> supplier, ObjIntConsumer<R> accumulator) {
-        R result = supplier.get();
-        this.traverse(elem -> accumulator.accept(result, elem));
-        return result;
+        try {
+            R result = supplier.get();
+            this.traverse(elem -> accumulator.accept(result, elem));
+            return result;
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Performs a mutable reduction operation on the elements of this {@code IntQuery}
+     * using an {@link IntCollector}, which accumulates them without boxing.
+     * The finisher is skipped for collectors with the {@code IDENTITY_FINISH} characteristic.
+     */
+    @SuppressWarnings("unchecked")
+    public <A, R> R collect(IntCollector<A, R> collector) {
+        try {
+            A container = collector.supplier().get();
+            ObjIntConsumer<A> accumulator = collector.accumulator();
+            this.traverse(elem -> accumulator.accept(container, elem));
+            return collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+                ? (R) container
+                : collector.finisher().apply(container);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Pushes each element of this {@code IntQuery} into every branch, in the
+     * given order, within a single traversal. A branch returning false receives
+     * no more elements, and the traversal stops once all branches have returned false.
+     */
+    public void fanOut(IntYieldWhile... branches) {
+        IntFanOut fan = new IntFanOut(branches);
+        try {
+            if(!fan.isDone()) this.traverseWhile(fan);
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -399,20 +768,18 @@ public class IntQuery {
      *         IntPredicate used to test elements of this {@code IntQuery}
      */
     public boolean allMatch(IntPredicate p) {
-        BoolBox succeed = new BoolBox(true);
-        shortCircuit(item -> {
-            if (!p.test(item)) {
-                succeed.set(false);
-                Yield.bye();
-            }
-        });
-        return succeed.isTrue();
+        try {
+            return this.traverseWhile(p::test);
+        } finally {
+            close();
+        }
     }
 
     /**
      * Yields elements sequentially in the current thread,
      * until all elements have been processed or the traversal
      * exited normally through the invocation of yield.bye().
+     * Prefer traverseWhile() which does not unwind the stack through an exception.
      */
     public final void shortCircuit(IntYield yield) {
         try {
@@ -445,14 +812,11 @@ public class IntQuery {
      *         IntPredicate used to test elements of this {@code IntQuery}
      */
     public boolean anyMatch(IntPredicate p) {
-        BoolBox found = new BoolBox();
-        shortCircuit(item -> {
-            if (p.test(item)) {
-                found.set();
-                Yield.bye();
-            }
-        });
-        return found.isTrue();
+        try {
+            return !this.traverseWhile(item -> !p.test(item));
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -468,11 +832,15 @@ public class IntQuery {
      * or an empty {@code OptionalInt} if this {@code IntQuery} is empty.
      */
     public OptionalInt findFirst() {
-        IntBox box = new IntBox();
-        this.tryAdvance(box::turnPresent);
-        return box.isPresent()
-                ? OptionalInt.of(box.getValue())
-                : OptionalInt.empty();
+        try {
+            IntBox box = new IntBox();
+            this.tryAdvance(box::turnPresent);
+            return box.isPresent()
+                    ? OptionalInt.of(box.getValue())
+                    : OptionalInt.empty();
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -493,7 +861,7 @@ public class IntQuery {
      *         IntToLongFunction used to map the elements of this IntQuery
      */
     public LongQuery mapToLong(IntToLongFunction function) {
-        return new LongQuery(LongAdvancer.from(adv, function), LongTraverser.from(trav, function));
+        return new LongQuery(LongAdvancer.from(adv, function), LongTraverser.from(trav, function), onClose);
     }
 
     /**
@@ -514,7 +882,7 @@ public class IntQuery {
      *         IntToDoubleFunction used to map the elements of this IntQuery
      */
     public DoubleQuery mapToDouble(IntToDoubleFunction function) {
-        return new DoubleQuery(DoubleAdvancer.from(adv, function), DoubleTraverser.from(trav, function));
+        return new DoubleQuery(DoubleAdvancer.from(adv, function), DoubleTraverser.from(trav, function), onClose);
     }
 
     /**
@@ -522,7 +890,7 @@ public class IntQuery {
      * each boxed to an Integer.
      */
     public Query<Integer> boxed() {
-        return new Query<>(adv, trav);
+        return new Query<>(adv, trav, onClose);
     }
 
     public IntStream toStream() {
@@ -536,8 +904,24 @@ public class IntQuery {
             public void forEachRemaining(IntConsumer action) {
                 trav.traverse(action::accept);
             }
+
+            @Override
+            public long estimateSize() {
+                long size = IntQuery.this.getExactSizeIfKnown();
+                return size < 0 ? Long.MAX_VALUE : size;
+            }
+
+            /**
+             * SORTED is left out because a Spliterator reporting it must
+             * also provide its Comparator.
+             */
+            @Override
+            public int characteristics() {
+                int flags = Spliterator.ORDERED | (IntQuery.this.characteristics() & ~Spliterator.SORTED);
+                return (flags & Spliterator.SIZED) == 0 ? flags : flags | Spliterator.SUBSIZED;
+            }
         };
-        return StreamSupport.intStream(iter, false);
+        return StreamSupport.intStream(iter, false).onClose(this::close);
     }
 
 
@@ -553,7 +937,7 @@ public class IntQuery {
         Function<IntQuery, IntAdvancer> nextAdv,
         Function<IntQuery, IntTraverser> next)
     {
-        return new IntQuery(nextAdv.apply(this), next.apply(this));
+        return new IntQuery(nextAdv.apply(this), next.apply(this), onClose);
     }
 
     /**
@@ -566,7 +950,7 @@ public class IntQuery {
         IntAdvancer nextAdv = item -> { throw new UnsupportedOperationException(
             "Missing tryAdvance() implementation! Use the overloaded then() providing both Advancer and Traverser!");
         };
-        return new IntQuery(nextAdv, next.apply(this));
+        return new IntQuery(nextAdv, next.apply(this), onClose);
     }
 
     /**
@@ -575,7 +959,7 @@ public class IntQuery {
      */
     public final IntQuery takeWhile(IntPredicate predicate) {
         IntTakeWhile take = new IntTakeWhile(this, predicate);
-        return new IntQuery(take, take);
+        return new IntQuery(take, take, onClose);
     }
 
     /**
@@ -585,7 +969,7 @@ public class IntQuery {
      */
     public final IntQuery concat(IntQuery other) {
         IntConcat cat = new IntConcat(this, other);
-        return new IntQuery(cat, cat);
+        return new IntQuery(cat, cat, OnClose.compose(onClose, other.onClose));
     }
 
     /**
@@ -594,7 +978,7 @@ public class IntQuery {
      */
     public final IntQuery dropWhile(IntPredicate predicate) {
         IntDropWhile drop = new IntDropWhile(this, predicate);
-        return new IntQuery(drop, drop);
+        return new IntQuery(drop, drop, onClose);
     }
 
     /**
@@ -603,6 +987,6 @@ public class IntQuery {
      */
     public final IntQuery zip(IntQuery other, IntBinaryOperator zipper) {
         IntZip zip = new IntZip(this, other, zipper);
-        return new IntQuery(zip, zip);
+        return new IntQuery(zip, zip, OnClose.compose(onClose, other.onClose));
     }
 }
@@ -16,8 +16,11 @@
 
 package org.jayield.primitives.intgr;
 
+import org.jayield.TraversableFinishError;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
+import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.lng.LongTraverser;
 
@@ -51,6 +54,75 @@ public interface IntTraverser extends Traverser<Integer> {
         IntYield yld = yield::ret;
         this.traverse(yld);
     }
+
+    /**
+     * Yields elements sequentially in the current thread,
+     * while yield returns true and until all elements have been processed.
+     * Built-in operations stop cooperatively when yield returns false.
+     * This default implementation still relies on {@link Yield#bye()}
+     * for IntTraverser objects that only implement traverse().
+     *
+     * @return false if the traversal was stopped by yield.
+     */
+    default boolean traverseWhile(IntYieldWhile yield) {
+        BoolBox stopped = new BoolBox();
+        try {
+            traverse((int item) -> {
+                if(!yield.ret(item)) {
+                    stopped.set();
+                    Yield.bye();
+                }
+            });
+        } catch (TraversableFinishError e) {
+            // Let it reach the nested traversal that has really been stopped.
+            if(stopped.isFalse()) throw e;
+        }
+        return stopped.isFalse();
+    }
+
+    /**
+     * Yields elements sequentially in the current thread in chunks,
+     * until all elements have been processed or an exception is thrown.
+     * This default collects the elements of traverse() into a buffer,
+     * so that per element traversers feed chunk-aware stages.
+     */
+    default void traverseChunks(IntChunkYield yield) {
+        long size = getExactSizeIfKnown();
+        int[] buf = new int[size < 0 ? IntChunkYield.SIZE : (int) Math.max(1, Math.min(size, IntChunkYield.SIZE))];
+        class Chunker implements IntYield {
+            int n = 0;
+
+            @Override
+            public void ret(int item) {
+                buf[n++] = item;
+                if(n == buf.length) {
+                    yield.ret(buf, 0, n);
+                    n = 0;
+                }
+            }
+        }
+        Chunker chunker = new Chunker();
+        traverse(chunker);
+        if(chunker.n > 0) yield.ret(buf, 0, chunker.n);
+    }
+
+    /**
+     * Returns whether traverseChunks() yields chunks without adapting traverse(),
+     * neither of this traverser nor of its upstream, which this default denies.
+     */
+    default boolean isChunked() {
+        return false;
+    }
+
+    /**
+     * Default traverseWhile implementation that calls the
+     * primitive version of it
+     */
+    @Override
+    default boolean traverseWhile(YieldWhile<? super Integer> yield) {
+        IntYieldWhile yld = yield::ret;
+        return this.traverseWhile(yld);
+    }
     /**
      * An IntTraverser object from a generic {@link Traverser} mapped by a {@link ToIntFunction}.
      *
@@ -60,7 +132,27 @@ public interface IntTraverser extends Traverser<Integer> {
      *         {@link ToIntFunction} that specifies how to map the source elements into int values.
      */
     static <T> IntTraverser from(Traverser<T> source, ToIntFunction<? super T> mapper) {
-        return yield -> source.traverse(item -> yield.ret(mapper.applyAsInt(item)));
+        return new IntTraverser() {
+            @Override
+            public void traverse(IntYield yield) {
+                source.traverse(item -> yield.ret(mapper.applyAsInt(item)));
+            }
+
+            @Override
+            public boolean traverseWhile(IntYieldWhile yield) {
+                return source.traverseWhile(item -> yield.ret(mapper.applyAsInt(item)));
+            }
+
+            @Override
+            public int characteristics() {
+                return (source.characteristics() & (ORDERED | SIZED)) | NONNULL;
+            }
+
+            @Override
+            public long getExactSizeIfKnown() {
+                return source.getExactSizeIfKnown();
+            }
+        };
     }
 
     /**
@@ -72,7 +164,27 @@ public interface IntTraverser extends Traverser<Integer> {
      *         {@link DoubleToIntFunction} that specifies how to map the source elements into int values.
      */
     static IntTraverser from(DoubleTraverser source, DoubleToIntFunction mapper) {
-        return from((Traverser<Double>) source, mapper::applyAsInt);
+        return new IntTraverser() {
+            @Override
+            public void traverse(IntYield yield) {
+                source.traverse((double item) -> yield.ret(mapper.applyAsInt(item)));
+            }
+
+            @Override
+            public boolean traverseWhile(IntYieldWhile yield) {
+                return source.traverseWhile((double item) -> yield.ret(mapper.applyAsInt(item)));
+            }
+
+            @Override
+            public int characteristics() {
+                return source.characteristics() & (ORDERED | SIZED | NONNULL);
+            }
+
+            @Override
+            public long getExactSizeIfKnown() {
+                return source.getExactSizeIfKnown();
+            }
+        };
     }
 
     /**
@@ -84,6 +196,26 @@ public interface IntTraverser extends Traverser<Integer> {
      *         {@link LongToIntFunction} that specifies how to map the source elements into int values.
      */
     static IntTraverser from(LongTraverser source, LongToIntFunction mapper) {
-        return from((Traverser<Long>) source, mapper::applyAsInt);
+        return new IntTraverser() {
+            @Override
+            public void traverse(IntYield yield) {
+                source.traverse((long item) -> yield.ret(mapper.applyAsInt(item)));
+            }
+
+            @Override
+            public boolean traverseWhile(IntYieldWhile yield) {
+                return source.traverseWhile((long item) -> yield.ret(mapper.applyAsInt(item)));
+            }
+
+            @Override
+            public int characteristics() {
+                return source.characteristics() & (ORDERED | SIZED | NONNULL);
+            }
+
+            @Override
+            public long getExactSizeIfKnown() {
+                return source.getExactSizeIfKnown();
+            }
+        };
     }
 }
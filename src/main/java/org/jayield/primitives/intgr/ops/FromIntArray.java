@@ -16,21 +16,91 @@
 
 package org.jayield.primitives.intgr.ops;
 
+import org.jayield.primitives.ArrayReductions;
 import org.jayield.primitives.intgr.IntAdvancer;
+import org.jayield.primitives.intgr.IntChunkYield;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
+
+import java.util.IntSummaryStatistics;
+import java.util.OptionalInt;
 
 public class FromIntArray implements IntAdvancer, IntTraverser {
-    private final int[] data;
-    private int current;
+    final int[] data;
+    final int end;
+    private final int flags;
+    int current;
 
     public FromIntArray(int... data) {
+        this(data, 0, data.length, ORDERED);
+    }
+
+    /**
+     * Source of the elements of data between the indexes from, inclusive,
+     * and to, exclusive, with the given additional characteristics.
+     */
+    public FromIntArray(int[] data, int from, int to, int characteristics) {
         this.data = data;
-        this.current = 0;
+        this.current = from;
+        this.end = to;
+        this.flags = characteristics | SIZED | NONNULL;
     }
 
     public boolean hasNext() {
-        return current < data.length;
+        return current < end;
+    }
+
+    /**
+     * Returns a new source of the remaining elements after discarding
+     * the first n, without visiting them.
+     */
+    public FromIntArray skip(int n) {
+        return new FromIntArray(data, current + clamp(n), end, flags);
+    }
+
+    /**
+     * Returns a new source of no more than the first n remaining elements.
+     */
+    public FromIntArray limit(int n) {
+        return new FromIntArray(data, current, current + clamp(n), flags);
+    }
+
+    /**
+     * Sum of the remaining elements, through {@link ArrayReductions}.
+     */
+    public long sum() {
+        return ArrayReductions.get().sum(data, current, end);
+    }
+
+    public OptionalInt min() {
+        return current < end
+            ? OptionalInt.of(ArrayReductions.get().min(data, current, end))
+            : OptionalInt.empty();
+    }
+
+    public OptionalInt max() {
+        return current < end
+            ? OptionalInt.of(ArrayReductions.get().max(data, current, end))
+            : OptionalInt.empty();
+    }
+
+    public IntSummaryStatistics summaryStatistics() {
+        return ArrayReductions.get().summaryStatistics(data, current, end);
+    }
+
+    private int clamp(int n) {
+        return Math.max(0, Math.min(n, end - current));
+    }
+
+    @Override
+    public int characteristics() {
+        return flags;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return end - current;
     }
 
     /**
@@ -41,9 +111,27 @@ public class FromIntArray implements IntAdvancer, IntTraverser {
      */
     @Override
     public void traverse(IntYield yield) {
-        for (int i = current; i < data.length; i++) {
+        for (int i = current; i < end; i++) {
             yield.ret(data[i]);
         }
+        current = end;
+    }
+
+    /**
+     * Yields the remaining elements as a single chunk of the array itself.
+     */
+    @Override
+    public void traverseChunks(IntChunkYield yield) {
+        if(current < end) {
+            int from = current;
+            current = end;
+            yield.ret(data, from, end);
+        }
+    }
+
+    @Override
+    public boolean isChunked() {
+        return true;
     }
 
     @Override
@@ -52,4 +140,16 @@ public class FromIntArray implements IntAdvancer, IntTraverser {
         yield.ret(data[current++]);
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        for (int i = current; i < end; i++) {
+            if(!yield.ret(data[i])) {
+                current = i + 1;
+                return false;
+            }
+        }
+        current = end;
+        return true;
+    }
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.intgr.ops;
+
+import org.jayield.primitives.MappedFile;
+import org.jayield.primitives.intgr.IntAdvancer;
+import org.jayield.primitives.intgr.IntChunkYield;
+import org.jayield.primitives.intgr.IntTraverser;
+import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Source of the int values of a binary file, read straight from
+ * the regions of the {@link MappedFile}, without copying them to the heap.
+ */
+public class FromIntFile implements IntAdvancer, IntTraverser {
+    private final MappedFile file;
+    private final ByteOrder order;
+    private IntBuffer region;
+    /**
+     * A close() from inside a traversal is deferred until its end,
+     * which still holds the current region.
+     */
+    private boolean traversing;
+    private boolean closed;
+
+    public FromIntFile(MappedFile file, ByteOrder order) {
+        this.file = file;
+        this.order = order;
+    }
+
+    /**
+     * Returns the current region, mapping the next one if it has no
+     * remaining elements, or null at the end of the file.
+     */
+    private IntBuffer region() {
+        if(closed) return null;
+        if(region == null || !region.hasRemaining()) {
+            region = null;
+            ByteBuffer next = file.next(order);
+            if(next != null) region = next.asIntBuffer();
+        }
+        return region;
+    }
+
+    /**
+     * Unmaps the current region and closes the file.
+     */
+    public void close() {
+        closed = true;
+        if(traversing) return;
+        region = null;
+        file.close();
+    }
+
+    private void enter() {
+        traversing = true;
+    }
+
+    private void exit() {
+        traversing = false;
+        if(closed) close();
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | NONNULL;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        if(closed) return 0;
+        return (region == null ? 0 : region.remaining()) + file.remaining();
+    }
+
+    @Override
+    public boolean tryAdvance(IntYield yield) {
+        IntBuffer r = region();
+        if(r == null) return false;
+        yield.ret(r.get());
+        return true;
+    }
+
+    @Override
+    public void traverse(IntYield yield) {
+        enter();
+        try {
+            for (IntBuffer r = region(); r != null; r = region()) {
+                while(r.hasRemaining()) {
+                    yield.ret(r.get());
+                }
+            }
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        enter();
+        try {
+            for (IntBuffer r = region(); r != null; r = region()) {
+                while(r.hasRemaining()) {
+                    if(!yield.ret(r.get())) return false;
+                }
+            }
+            return true;
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Copies each region into chunks, in bulk.
+     */
+    @Override
+    public void traverseChunks(IntChunkYield yield) {
+        int[] buf = null;
+        enter();
+        try {
+            for (IntBuffer r = region(); r != null; r = region()) {
+                if(buf == null) buf = new int[(int) Math.min(IntChunkYield.SIZE, getExactSizeIfKnown())];
+                while(r.hasRemaining()) {
+                    int n = Math.min(buf.length, r.remaining());
+                    r.get(buf, 0, n);
+                    yield.ret(buf, 0, n);
+                }
+            }
+        } finally {
+            exit();
+        }
+    }
+}
@@ -16,9 +16,11 @@
 
 package org.jayield.primitives.intgr.ops;
 
+import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.intgr.IntAdvancer;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
 
 import java.util.Spliterator;
 import java.util.function.IntConsumer;
@@ -42,4 +44,14 @@ public class FromIntStream implements IntAdvancer, IntTraverser {
         IntConsumer cons = yield::ret;
         return upstream.tryAdvance(cons);
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        BoolBox cont = new BoolBox(true);
+        IntConsumer cons = item -> cont.set(yield.ret(item));
+        while(cont.isTrue() && upstream.tryAdvance(cons)) {
+            // Intentionally empty. Action specified on yield statement of tryAdvance().
+        }
+        return cont.isTrue();
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.intgr.ops;
+
+import org.jayield.ops.Shapes;
+import org.jayield.ops.Specializer;
+import org.jayield.primitives.intgr.IntTraverser;
+import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Traversal of a chain of fused stages of int values through hidden classes
+ * specialized for its shape, like Compiled.
+ */
+public class IntCompiled implements IntTraverser {
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private static final Shapes<Shape> shapes = new Shapes<>();
+
+    private final IntFused fused;
+    private final IntTraverser source;
+    private final Shape shape;
+
+    /**
+     * @param source The traverser of the upstream of fused.
+     */
+    public IntCompiled(IntFused fused, IntTraverser source) {
+        this.fused = fused;
+        this.source = source;
+        this.shape = shapes.get(fused.kinds, fused.stages, source instanceof FromIntArray, Shape::new);
+    }
+
+    private IntFused.Sink chain(IntFused.Sink last) {
+        IntFused.Sink sink = last;
+        for (int i = fused.stages.length - 1; i >= 0; i--) {
+            sink = (IntFused.Sink) Specializer.newInstance(shape.stages[i], fused.stages[i], sink);
+        }
+        return sink;
+    }
+
+    @Override
+    public void traverse(IntYield yield) {
+        IntFused.Sink head = chain((IntFused.Sink) Specializer.newInstance(shape.terminal, yield));
+        if(shape.loop != null) {
+            ((Loop) Specializer.newInstance(shape.loop, source)).traverse(head);
+        } else {
+            source.traverse((IntYield) Specializer.newInstance(shape.entry, head));
+        }
+    }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        IntFused.Sink head = chain((IntFused.Sink) Specializer.newInstance(shape.terminalWhile, yield));
+        if(shape.loop != null) {
+            return ((Loop) Specializer.newInstance(shape.loop, source)).traverseWhile(head);
+        }
+        return source.traverseWhile((IntYieldWhile) Specializer.newInstance(shape.entryWhile, head));
+    }
+
+    @Override
+    public int characteristics() {
+        return fused.characteristics();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return fused.getExactSizeIfKnown();
+    }
+
+    /**
+     * Constructors of the hidden classes of a shape.
+     * Either loop or both entry and entryWhile are null.
+     */
+    private static class Shape {
+        final MethodHandle[] stages;
+        final MethodHandle terminal;
+        final MethodHandle terminalWhile;
+        final MethodHandle loop;
+        final MethodHandle entry;
+        final MethodHandle entryWhile;
+
+        Shape(byte[] kinds, boolean array) {
+            stages = new MethodHandle[kinds.length];
+            for (int i = 0; i < kinds.length; i++) {
+                switch (kinds[i]) {
+                    case IntFused.MAP:
+                        stages[i] = Specializer.define(lookup, IntFused.MapSink.class, IntUnaryOperator.class, IntFused.Sink.class);
+                        break;
+                    case IntFused.FILTER:
+                        stages[i] = Specializer.define(lookup, IntFused.FilterSink.class, IntPredicate.class, IntFused.Sink.class);
+                        break;
+                    default:
+                        stages[i] = Specializer.define(lookup, IntFused.PeekSink.class, IntConsumer.class, IntFused.Sink.class);
+                }
+            }
+            terminal = Specializer.define(lookup, IntFused.Terminal.class, IntYield.class);
+            terminalWhile = Specializer.define(lookup, IntFused.TerminalWhile.class, IntYieldWhile.class);
+            loop = array ? Specializer.define(lookup, ArrayLoop.class, FromIntArray.class) : null;
+            entry = array ? null : Specializer.define(lookup, IntFused.Entry.class, IntFused.Sink.class);
+            entryWhile = array ? null : Specializer.define(lookup, IntFused.EntryWhile.class, IntFused.Sink.class);
+        }
+    }
+
+    abstract static class Loop {
+        abstract void traverse(IntFused.Sink head);
+
+        abstract boolean traverseWhile(IntFused.Sink head);
+    }
+
+    /**
+     * Loop over the remaining elements of an array, like FromIntArray.
+     */
+    static class ArrayLoop extends Loop {
+        private final FromIntArray src;
+
+        ArrayLoop(FromIntArray src) {
+            this.src = src;
+        }
+
+        @Override
+        void traverse(IntFused.Sink head) {
+            int[] data = src.data;
+            for (int i = src.current, end = src.end; i < end; i++) {
+                head.push(data[i]);
+            }
+        }
+
+        @Override
+        boolean traverseWhile(IntFused.Sink head) {
+            int[] data = src.data;
+            for (int i = src.current, end = src.end; i < end; i++) {
+                if(!head.push(data[i])) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.jayield.primitives.intgr.IntAdvancer;
 import org.jayield.primitives.intgr.IntQuery;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
 
 public class IntConcat implements IntAdvancer, IntTraverser {
     private final IntQuery first;
@@ -24,4 +25,21 @@ public class IntConcat implements IntAdvancer, IntTraverser {
     public boolean tryAdvance(IntYield yield) {
         return first.tryAdvance(yield) || second.tryAdvance(yield);
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        return first.traverseWhile(yield) && second.traverseWhile(yield);
+    }
+
+    @Override
+    public int characteristics() {
+        return first.characteristics() & second.characteristics() & (ORDERED | SIZED | NONNULL);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = first.getExactSizeIfKnown();
+        long otherSize = second.getExactSizeIfKnown();
+        return size < 0 || otherSize < 0 ? -1 : size + otherSize;
+    }
 }
@@ -17,15 +17,15 @@
 package org.jayield.primitives.intgr.ops;
 
 import org.jayield.boxes.BoolBox;
+import org.jayield.collections.IntHashSet;
 import org.jayield.primitives.intgr.IntAdvancer;
 import org.jayield.primitives.intgr.IntQuery;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
-
-import java.util.HashSet;
+import org.jayield.primitives.intgr.IntYieldWhile;
 
 public class IntDistinct implements IntAdvancer, IntTraverser {
-    final HashSet<Integer> mem = new HashSet<>();
+    final IntHashSet mem = new IntHashSet();
     private final IntQuery upstream;
 
     public IntDistinct(IntQuery adv) {
@@ -52,4 +52,14 @@ public class IntDistinct implements IntAdvancer, IntTraverser {
         }));
         return found.isTrue();
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        return upstream.traverseWhile(item -> !mem.add(item) || yield.ret(item));
+    }
+
+    @Override
+    public int characteristics() {
+        return (upstream.characteristics() & ~SIZED) | DISTINCT;
+    }
 }
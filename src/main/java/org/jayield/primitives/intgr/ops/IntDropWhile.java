@@ -4,6 +4,7 @@ import org.jayield.primitives.intgr.IntAdvancer;
 import org.jayield.primitives.intgr.IntQuery;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
 
 import java.util.function.IntPredicate;
 
@@ -52,4 +53,19 @@ public class IntDropWhile implements IntAdvancer, IntTraverser {
                 }
             });
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        return upstream.traverseWhile(item -> {
+            if (!dropped && !predicate.test(item)) {
+                dropped = true;
+            }
+            return !dropped || yield.ret(item);
+        });
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.intgr.ops;
+
+import org.jayield.primitives.intgr.IntYieldWhile;
+
+import java.util.Arrays;
+
+/**
+ * Pushes each element into several branches, in the given order, until
+ * all of them have finished. A branch finishes once it returns false and
+ * receives no more elements afterwards.
+ */
+public class IntFanOut implements IntYieldWhile {
+    private final IntYieldWhile[] branches;
+    /**
+     * Number of branches, at the start of branches, not finished yet.
+     */
+    private int live;
+
+    public IntFanOut(IntYieldWhile[] branches) {
+        this.branches = branches.clone();
+        this.live = branches.length;
+    }
+
+    public boolean isDone() {
+        return live == 0;
+    }
+
+    @Override
+    public boolean ret(int item) {
+        int n = 0;
+        for (int i = 0; i < live; i++) {
+            IntYieldWhile branch = branches[i];
+            if(branch.ret(item)) branches[n++] = branch;
+        }
+        Arrays.fill(branches, n, live, null);
+        live = n;
+        return n > 0;
+    }
+}
@@ -18,15 +18,17 @@ package org.jayield.primitives.intgr.ops;
 
 import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.intgr.IntAdvancer;
+import org.jayield.primitives.intgr.IntChunkYield;
 import org.jayield.primitives.intgr.IntQuery;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
 
 import java.util.function.IntPredicate;
 
 public class IntFilter implements IntAdvancer, IntTraverser {
-    private final IntQuery upstream;
-    private final IntPredicate p;
+    final IntQuery upstream;
+    final IntPredicate p;
 
     public IntFilter(IntQuery adv, IntPredicate p) {
         this.upstream = adv;
@@ -42,6 +44,34 @@ public class IntFilter implements IntAdvancer, IntTraverser {
         });
     }
 
+    /**
+     * Copies the matching elements of each chunk into a buffer,
+     * which is yielded whenever it is full and at the end of the chunk.
+     */
+    @Override
+    public void traverseChunks(IntChunkYield yield) {
+        int[] out = new int[IntChunkYield.SIZE];
+        upstream.traverseChunks((buf, from, to) -> {
+            int n = 0;
+            for (int i = from; i < to; i++) {
+                int item = buf[i];
+                if(p.test(item)) {
+                    out[n++] = item;
+                    if(n == out.length) {
+                        yield.ret(out, 0, n);
+                        n = 0;
+                    }
+                }
+            }
+            if(n > 0) yield.ret(out, 0, n);
+        });
+    }
+
+    @Override
+    public boolean isChunked() {
+        return upstream.isChunked();
+    }
+
     @Override
     public boolean tryAdvance(IntYield yield) {
         BoolBox found = new BoolBox();
@@ -56,4 +86,14 @@ public class IntFilter implements IntAdvancer, IntTraverser {
         }
         return found.isTrue();
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        return upstream.traverseWhile(e -> !p.test(e) || yield.ret(e));
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
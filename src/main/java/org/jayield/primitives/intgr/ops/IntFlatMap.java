@@ -20,6 +20,7 @@ import org.jayield.primitives.intgr.IntAdvancer;
 import org.jayield.primitives.intgr.IntQuery;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
 
 import java.util.function.IntFunction;
 
@@ -36,15 +37,36 @@ public class IntFlatMap implements IntAdvancer, IntTraverser {
 
     @Override
     public void traverse(IntYield yield) {
-        upstream.traverse(elem -> mapper.apply(elem).traverse(yield));
+        upstream.traverse(elem -> {
+            try (IntQuery inner = mapper.apply(elem)) {
+                inner.traverse(yield);
+            }
+        });
     }
 
     @Override
     public boolean tryAdvance(IntYield yield) {
         while (!src.tryAdvance(yield)) {
+            src.close();
             if(!upstream.tryAdvance(t -> src = mapper.apply(t)))
                 return false;
         }
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        return upstream.traverseWhile(elem -> {
+            try (IntQuery inner = mapper.apply(elem)) {
+                return inner.traverseWhile(yield);
+            }
+        });
+    }
+
+    /**
+     * Closes the inner query that tryAdvance() is taking elements from.
+     */
+    public void close() {
+        src.close();
+    }
 }
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.intgr.ops;
+
+import org.jayield.primitives.intgr.IntAdvancer;
+import org.jayield.primitives.intgr.IntChunkYield;
+import org.jayield.primitives.intgr.IntQuery;
+import org.jayield.primitives.intgr.IntTraverser;
+import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A chain of adjacent map, filter and peek stages of int values collapsed
+ * into a single stage, running each element through a chain of sinks.
+ */
+public class IntFused implements IntAdvancer, IntTraverser {
+    static final byte MAP = 0;
+    static final byte FILTER = 1;
+    static final byte PEEK = 2;
+
+    final IntQuery upstream;
+    final byte[] kinds;
+    final Object[] stages;
+    /**
+     * Last sink and head of the chain reused by tryAdvance().
+     */
+    private Last last;
+    private IntYield advancer;
+
+    private IntFused(IntQuery upstream, byte[] kinds, Object[] stages) {
+        this.upstream = upstream;
+        this.kinds = kinds;
+        this.stages = stages;
+    }
+
+    /**
+     * Returns the fusion of the stage given by adv and trav with the mapper,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static IntFused map(IntAdvancer adv, IntTraverser trav, IntUnaryOperator mapper) {
+        return fuse(adv, trav, MAP, mapper);
+    }
+
+    /**
+     * Returns the fusion of the stage given by adv and trav with the predicate,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static IntFused filter(IntAdvancer adv, IntTraverser trav, IntPredicate p) {
+        return fuse(adv, trav, FILTER, p);
+    }
+
+    /**
+     * Returns the fusion of the stage given by adv and trav with the action,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static IntFused peek(IntAdvancer adv, IntTraverser trav, IntConsumer action) {
+        return fuse(adv, trav, PEEK, action);
+    }
+
+    private static IntFused fuse(IntAdvancer adv, IntTraverser trav, byte kind, Object stage) {
+        IntFused prev = of(adv, trav);
+        if(prev == null) return null;
+        byte[] kinds = Arrays.copyOf(prev.kinds, prev.kinds.length + 1);
+        Object[] stages = Arrays.copyOf(prev.stages, prev.stages.length + 1);
+        kinds[kinds.length - 1] = kind;
+        stages[stages.length - 1] = stage;
+        return new IntFused(prev.upstream, kinds, stages);
+    }
+
+    /**
+     * Returns the stage given by adv and trav as a chain of fused stages,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static IntFused of(IntAdvancer adv, IntTraverser trav) {
+        if(adv != trav) return null;
+        if(trav instanceof IntFused) {
+            return (IntFused) trav;
+        }
+        if(trav instanceof IntMapping) {
+            IntMapping prev = (IntMapping) trav;
+            return new IntFused(prev.upstream, new byte[] {MAP}, new Object[] {prev.mapper});
+        }
+        if(trav instanceof IntFilter) {
+            IntFilter prev = (IntFilter) trav;
+            return new IntFused(prev.upstream, new byte[] {FILTER}, new Object[] {prev.p});
+        }
+        if(trav instanceof IntPeek) {
+            IntPeek prev = (IntPeek) trav;
+            return new IntFused(prev.upstream, new byte[] {PEEK}, new Object[] {prev.action});
+        }
+        return null;
+    }
+
+    public IntQuery upstream() {
+        return upstream;
+    }
+
+    /**
+     * Builds the chain of sinks performing each stage, followed by last.
+     */
+    private Sink chain(Sink last) {
+        Sink sink = last;
+        for (int i = kinds.length - 1; i >= 0; i--) {
+            switch (kinds[i]) {
+                case MAP:
+                    sink = new MapSink((IntUnaryOperator) stages[i], sink);
+                    break;
+                case FILTER:
+                    sink = new FilterSink((IntPredicate) stages[i], sink);
+                    break;
+                default:
+                    sink = new PeekSink((IntConsumer) stages[i], sink);
+            }
+        }
+        return sink;
+    }
+
+    @Override
+    public void traverse(IntYield yield) {
+        Sink head = chain(new Terminal(yield));
+        upstream.traverse(new Entry(head));
+    }
+
+    /**
+     * Runs each element of the chunks of the upstream through the chain of
+     * sinks, whose last one collects the remaining elements into chunks.
+     */
+    @Override
+    public void traverseChunks(IntChunkYield yield) {
+        Chunker last = new Chunker(yield);
+        Sink head = chain(last);
+        upstream.traverseChunks((buf, from, to) -> {
+            for (int i = from; i < to; i++) {
+                head.push(buf[i]);
+            }
+        });
+        last.flush();
+    }
+
+    @Override
+    public boolean isChunked() {
+        return upstream.isChunked();
+    }
+
+    /**
+     * Reuses the same chain of sinks on every call, which only
+     * replaces the yield of its last sink.
+     */
+    @Override
+    public boolean tryAdvance(IntYield yield) {
+        if(last == null) {
+            last = new Last(yield);
+            advancer = chain(last)::push;
+        }
+        last.yield = yield;
+        last.found = false;
+        while(!last.found && upstream.tryAdvance(advancer)) {
+            // Intentionally empty. Items discarded by a filter do not reach the last sink.
+        }
+        return last.found;
+    }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        Sink head = chain(new TerminalWhile(yield));
+        return upstream.traverseWhile(new EntryWhile(head));
+    }
+
+    /**
+     * A stage receiving each item from the previous one.
+     * Its subclasses are also the templates copied by IntCompiled.
+     */
+    abstract static class Sink {
+        final Sink next;
+
+        Sink(Sink next) {
+            this.next = next;
+        }
+
+        /**
+         * @return false if downstream stopped the traversal.
+         */
+        abstract boolean push(int item);
+    }
+
+    private class Last extends Sink {
+        private IntYield yield;
+        private boolean found;
+
+        Last(IntYield yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(int item) {
+            found = true;
+            yield.ret(item);
+            return true;
+        }
+    }
+
+    /**
+     * Last sink of traverseChunks(), yielding its buffer whenever it is full.
+     */
+    static class Chunker extends Sink {
+        private final IntChunkYield yield;
+        private final int[] buf = new int[IntChunkYield.SIZE];
+        private int n = 0;
+
+        Chunker(IntChunkYield yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(int item) {
+            buf[n++] = item;
+            if(n == buf.length) {
+                yield.ret(buf, 0, n);
+                n = 0;
+            }
+            return true;
+        }
+
+        void flush() {
+            if(n > 0) yield.ret(buf, 0, n);
+            n = 0;
+        }
+    }
+
+    static class Terminal extends Sink {
+        private final IntYield yield;
+
+        Terminal(IntYield yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(int item) {
+            yield.ret(item);
+            return true;
+        }
+    }
+
+    static class TerminalWhile extends Sink {
+        private final IntYieldWhile yield;
+
+        TerminalWhile(IntYieldWhile yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(int item) {
+            return yield.ret(item);
+        }
+    }
+
+    /**
+     * Yield passing the items of the upstream to the head of the chain.
+     */
+    static class Entry implements IntYield {
+        private final Sink head;
+
+        Entry(Sink head) {
+            this.head = head;
+        }
+
+        @Override
+        public void ret(int item) {
+            head.push(item);
+        }
+    }
+
+    static class EntryWhile implements IntYieldWhile {
+        private final Sink head;
+
+        EntryWhile(Sink head) {
+            this.head = head;
+        }
+
+        @Override
+        public boolean ret(int item) {
+            return head.push(item);
+        }
+    }
+
+    static class MapSink extends Sink {
+        private final IntUnaryOperator mapper;
+
+        MapSink(IntUnaryOperator mapper, Sink next) {
+            super(next);
+            this.mapper = mapper;
+        }
+
+        @Override
+        boolean push(int item) {
+            return next.push(mapper.applyAsInt(item));
+        }
+    }
+
+    static class FilterSink extends Sink {
+        private final IntPredicate p;
+
+        FilterSink(IntPredicate p, Sink next) {
+            super(next);
+            this.p = p;
+        }
+
+        @Override
+        boolean push(int item) {
+            return !p.test(item) || next.push(item);
+        }
+    }
+
+    static class PeekSink extends Sink {
+        private final IntConsumer action;
+
+        PeekSink(IntConsumer action, Sink next) {
+            super(next);
+            this.action = action;
+        }
+
+        @Override
+        boolean push(int item) {
+            action.accept(item);
+            return next.push(item);
+        }
+    }
+
+    @Override
+    public int characteristics() {
+        int flags = upstream.characteristics();
+        for (byte kind : kinds) {
+            flags &= kind == MAP ? ORDERED | SIZED | NONNULL : ~SIZED;
+        }
+        return flags;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return upstream.getExactSizeIfKnown();
+    }
+}
@@ -19,6 +19,7 @@ package org.jayield.primitives.intgr.ops;
 import org.jayield.primitives.intgr.IntAdvancer;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
 
 import java.util.function.IntSupplier;
 
@@ -42,4 +43,12 @@ public class IntGenerate implements IntAdvancer, IntTraverser {
         yield.ret(s.getAsInt());
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        while(yield.ret(s.getAsInt())) {
+            // Intentionally empty. Infinite sequence only stops by yield.
+        }
+        return false;
+    }
 }
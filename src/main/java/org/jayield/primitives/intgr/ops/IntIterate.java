@@ -19,6 +19,7 @@ package org.jayield.primitives.intgr.ops;
 import org.jayield.primitives.intgr.IntAdvancer;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
 
 import java.util.function.IntUnaryOperator;
 
@@ -51,4 +52,16 @@ public class IntIterate implements IntAdvancer, IntTraverser {
         yield.ret(curr);
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        for (int i = prev; true; i = f.applyAsInt(i)) {
+            if(!yield.ret(i)) return false;
+        }
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
 }
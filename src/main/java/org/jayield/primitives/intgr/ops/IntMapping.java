@@ -17,16 +17,18 @@
 package org.jayield.primitives.intgr.ops;
 
 import org.jayield.primitives.intgr.IntAdvancer;
+import org.jayield.primitives.intgr.IntChunkYield;
 import org.jayield.primitives.intgr.IntQuery;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
 
 import java.util.function.IntUnaryOperator;
 
 public class IntMapping implements IntAdvancer, IntTraverser {
 
-    private final IntQuery upstream;
-    private final IntUnaryOperator mapper;
+    final IntQuery upstream;
+    final IntUnaryOperator mapper;
 
     public IntMapping(IntQuery adv, IntUnaryOperator mapper) {
         this.upstream = adv;
@@ -38,8 +40,42 @@ public class IntMapping implements IntAdvancer, IntTraverser {
         upstream.traverse(e -> yield.ret(mapper.applyAsInt(e)));
     }
 
+    @Override
+    public void traverseChunks(IntChunkYield yield) {
+        int[] out = new int[IntChunkYield.SIZE];
+        upstream.traverseChunks((buf, from, to) -> {
+            for (int i = from; i < to; i += out.length) {
+                int n = Math.min(out.length, to - i);
+                for (int k = 0; k < n; k++) {
+                    out[k] = mapper.applyAsInt(buf[i + k]);
+                }
+                yield.ret(out, 0, n);
+            }
+        });
+    }
+
+    @Override
+    public boolean isChunked() {
+        return upstream.isChunked();
+    }
+
     @Override
     public boolean tryAdvance(IntYield yield) {
         return upstream.tryAdvance(item -> yield.ret(mapper.applyAsInt(item)));
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        return upstream.traverseWhile(e -> yield.ret(mapper.applyAsInt(e)));
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & (ORDERED | SIZED | NONNULL);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return upstream.getExactSizeIfKnown();
+    }
 }
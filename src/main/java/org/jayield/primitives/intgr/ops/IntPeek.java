@@ -20,12 +20,13 @@ import org.jayield.primitives.intgr.IntAdvancer;
 import org.jayield.primitives.intgr.IntQuery;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
 
 import java.util.function.IntConsumer;
 
 public class IntPeek implements IntAdvancer, IntTraverser {
-    private final IntQuery upstream;
-    private final IntConsumer action;
+    final IntQuery upstream;
+    final IntConsumer action;
 
     public IntPeek(IntQuery adv, IntConsumer action) {
         this.upstream = adv;
@@ -47,4 +48,20 @@ public class IntPeek implements IntAdvancer, IntTraverser {
             yield.ret(item);
         });
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        return upstream.traverseWhile(item -> {
+            action.accept(item);
+            return yield.ret(item);
+        });
+    }
+
+    /**
+     * Not SIZED, so that count() still performs the action on each element.
+     */
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
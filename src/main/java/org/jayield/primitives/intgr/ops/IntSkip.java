@@ -20,6 +20,7 @@ import org.jayield.primitives.intgr.IntAdvancer;
 import org.jayield.primitives.intgr.IntQuery;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
 
 public class IntSkip implements IntAdvancer, IntTraverser {
     private final IntQuery upstream;
@@ -52,4 +53,26 @@ public class IntSkip implements IntAdvancer, IntTraverser {
             upstream.tryAdvance(item -> {});
         return upstream.tryAdvance(yield);
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        return upstream.traverseWhile(item -> {
+            if(index < n) {
+                index++;
+                return true;
+            }
+            return yield.ret(item);
+        });
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = upstream.getExactSizeIfKnown();
+        return size < 0 ? -1 : Math.max(0, size - Math.max(0, n - index));
+    }
 }
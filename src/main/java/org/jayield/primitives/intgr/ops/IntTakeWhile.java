@@ -16,11 +16,12 @@
 
 package org.jayield.primitives.intgr.ops;
 
-import org.jayield.Yield;
+import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.intgr.IntAdvancer;
 import org.jayield.primitives.intgr.IntQuery;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
 
 import java.util.function.IntPredicate;
 
@@ -37,11 +38,10 @@ public class IntTakeWhile implements IntAdvancer, IntTraverser {
 
     @Override
     public void traverse(IntYield yield) {
-        upstream.shortCircuit(item -> {
-            if (!predicate.test(item)) {
-                Yield.bye();
-            }
+        upstream.traverseWhile(item -> {
+            if(!predicate.test(item)) return false;
             yield.ret(item);
+            return true;
         });
     }
 
@@ -57,4 +57,20 @@ public class IntTakeWhile implements IntAdvancer, IntTraverser {
         };
         return upstream.tryAdvance(takeWhile) && hasNext;
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        BoolBox cont = new BoolBox(true);
+        upstream.traverseWhile(item -> {
+            if(!predicate.test(item)) return false;
+            cont.set(yield.ret(item));
+            return cont.isTrue();
+        });
+        return cont.isTrue();
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
@@ -16,12 +16,12 @@
 
 package org.jayield.primitives.intgr.ops;
 
-import org.jayield.Yield;
 import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.intgr.IntAdvancer;
 import org.jayield.primitives.intgr.IntQuery;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.intgr.IntYield;
+import org.jayield.primitives.intgr.IntYieldWhile;
 
 import java.util.function.IntBinaryOperator;
 
@@ -37,10 +37,7 @@ public class IntZip implements IntAdvancer, IntTraverser {
     }
     @Override
     public void traverse(IntYield yield) {
-        upstream.shortCircuit(e1 -> {
-            if(!other.tryAdvance(e2 -> yield.ret(zipper.applyAsInt(e1, e2))))
-                Yield.bye();
-        });
+        upstream.traverseWhile(e1 -> other.tryAdvance(e2 -> yield.ret(zipper.applyAsInt(e1, e2))));
     }
 
     @Override
@@ -52,4 +49,23 @@ public class IntZip implements IntAdvancer, IntTraverser {
         }));
         return consumed.isTrue();
     }
+
+    @Override
+    public boolean traverseWhile(IntYieldWhile yield) {
+        BoolBox cont = new BoolBox(true);
+        upstream.traverseWhile(e1 -> other.tryAdvance(e2 -> cont.set(yield.ret(zipper.applyAsInt(e1, e2)))) && cont.isTrue());
+        return cont.isTrue();
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & other.characteristics() & (ORDERED | SIZED | NONNULL);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = upstream.getExactSizeIfKnown();
+        long otherSize = other.getExactSizeIfKnown();
+        return size < 0 || otherSize < 0 ? -1 : Math.min(size, otherSize);
+    }
 }
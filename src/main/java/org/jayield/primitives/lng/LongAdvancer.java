@@ -58,7 +58,7 @@ public interface LongAdvancer extends Advancer<Long> {
      *         {@link DoubleToLongFunction} that specifies how to map the source elements longo long values.
      */
     static LongAdvancer from(DoubleAdvancer source, DoubleToLongFunction mapper) {
-        return from((Advancer<Double>) source, mapper::applyAsLong);
+        return yield -> source.tryAdvance((double item) -> yield.ret(mapper.applyAsLong(item)));
     }
 
     /**
@@ -70,6 +70,6 @@ public interface LongAdvancer extends Advancer<Long> {
      *         {@link IntToLongFunction} that specifies how to map the source elements longo long values.
      */
     static LongAdvancer from(IntAdvancer source, IntToLongFunction mapper) {
-        return from((Advancer<Integer>) source, mapper::applyAsLong);
+        return yield -> source.tryAdvance((int item) -> yield.ret(mapper.applyAsLong(item)));
     }
 }
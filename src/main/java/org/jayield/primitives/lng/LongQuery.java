@@ -16,11 +16,16 @@
 
 package org.jayield.primitives.lng;
 
+import org.jayield.Characteristics;
 import org.jayield.Query;
+import org.jayield.SpillConfig;
 import org.jayield.TraversableFinishError;
-import org.jayield.Yield;
-import org.jayield.boxes.BoolBox;
 import org.jayield.boxes.LongBox;
+import org.jayield.collections.LongGrowableBuffer;
+import org.jayield.ops.OnClose;
+import org.jayield.ops.Specializer;
+import org.jayield.primitives.ArrayReductions;
+import org.jayield.primitives.MappedFile;
 import org.jayield.primitives.dbl.DoubleAdvancer;
 import org.jayield.primitives.dbl.DoubleQuery;
 import org.jayield.primitives.dbl.DoubleTraverser;
@@ -28,10 +33,15 @@ import org.jayield.primitives.intgr.IntAdvancer;
 import org.jayield.primitives.intgr.IntQuery;
 import org.jayield.primitives.intgr.IntTraverser;
 import org.jayield.primitives.lng.ops.FromLongArray;
+import org.jayield.primitives.lng.ops.FromLongFile;
+import org.jayield.primitives.lng.ops.LongCached;
+import org.jayield.primitives.lng.ops.LongCompiled;
 import org.jayield.primitives.lng.ops.LongConcat;
 import org.jayield.primitives.lng.ops.LongDistinct;
 import org.jayield.primitives.lng.ops.LongDropWhile;
+import org.jayield.primitives.lng.ops.LongFanOut;
 import org.jayield.primitives.lng.ops.LongFilter;
+import org.jayield.primitives.lng.ops.LongFused;
 import org.jayield.primitives.lng.ops.LongFlatMap;
 import org.jayield.primitives.lng.ops.LongGenerate;
 import org.jayield.primitives.lng.ops.LongIterate;
@@ -40,10 +50,15 @@ import org.jayield.primitives.lng.ops.LongMap;
 import org.jayield.primitives.lng.ops.LongMapToObj;
 import org.jayield.primitives.lng.ops.LongPeek;
 import org.jayield.primitives.lng.ops.LongSkip;
+import org.jayield.primitives.lng.ops.LongSorted;
+import org.jayield.primitives.lng.ops.LongSpillSorted;
+import org.jayield.primitives.lng.ops.LongTopK;
 import org.jayield.primitives.lng.ops.FromLongStream;
 import org.jayield.primitives.lng.ops.LongTakeWhile;
 import org.jayield.primitives.lng.ops.LongZip;
 
+import java.nio.ByteOrder;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -63,6 +78,7 @@ import java.util.function.LongToIntFunction;
 import java.util.function.LongUnaryOperator;
 import java.util.function.ObjLongConsumer;
 import java.util.function.Supplier;
+import java.util.stream.Collector;
 import java.util.stream.LongStream;
 import java.util.stream.StreamSupport;
 
@@ -70,14 +86,47 @@ import java.util.stream.StreamSupport;
  * A sequence of primitive long-valued elements supporting sequential
  * operations. This is the long primitive specialization of Query.
  */
-public class LongQuery {
+public class LongQuery implements AutoCloseable {
 
     private final LongAdvancer adv;
     private final LongTraverser trav;
+    /**
+     * Close handlers of this query and of its upstream, or null.
+     */
+    private final Runnable onClose;
 
     public LongQuery(LongAdvancer adv, LongTraverser trav) {
+        this(adv, trav, null);
+    }
+
+    /**
+     * A query with the given close handlers, which are usually the ones
+     * of the query that adv and trav come from.
+     */
+    public LongQuery(LongAdvancer adv, LongTraverser trav, Runnable onClose) {
         this.adv = adv;
         this.trav = trav;
+        this.onClose = onClose;
+    }
+
+    /**
+     * Returns an equivalent query that additionally runs the given handler
+     * on close(), after the handlers of this query.
+     * Queries derived from the resulting one run it on close() too.
+     */
+    public final LongQuery onClose(Runnable handler) {
+        return new LongQuery(adv, trav, OnClose.compose(onClose, handler));
+    }
+
+    /**
+     * Runs the close handlers of this query and of its upstream, once.
+     * Terminal operations other than traverse(), traverseWhile(),
+     * traverseChunks(), tryAdvance() and shortCircuit() close the query
+     * when they finish, either normally, by short-circuiting, or by throwing.
+     */
+    @Override
+    public void close() {
+        if(onClose != null) onClose.run();
     }
 
     /**
@@ -86,7 +135,7 @@ public class LongQuery {
      */
     public static LongQuery fromStream(LongStream src) {
         FromLongStream strm = new FromLongStream(src);
-        return new LongQuery(strm, strm);
+        return new LongQuery(strm, strm, src::close);
     }
 
     /**
@@ -109,13 +158,31 @@ public class LongQuery {
         return new LongQuery(gen, gen);
     }
 
+    /**
+     * Returns a sequential ordered {@code LongQuery} with the long values of
+     * the binary file at path, in the given byte order.
+     * The file is mapped into memory and read without copying its
+     * values to the heap. Each mapped region is released once traversed,
+     * and the file is closed after its last value.
+     *
+     * @throws java.io.UncheckedIOException if the file cannot be opened.
+     */
+    public static LongQuery fromFile(Path path, ByteOrder order) {
+        FromLongFile src = new FromLongFile(new MappedFile(path, Long.BYTES), order);
+        return new LongQuery(src, src, src::close);
+    }
+
     /**
      * Yields elements sequentially in the current thread,
      * until all elements have been processed or an
      * exception is thrown.
      */
     public final void forEach(LongYield yield) {
-        this.traverse(yield);
+        try {
+            this.traverse(yield);
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -127,6 +194,51 @@ public class LongQuery {
         this.trav.traverse(yield);
     }
 
+    /**
+     * Yields elements sequentially in the current thread,
+     * while yield returns true and until all elements have been processed.
+     * Unlike shortCircuit(), built-in operations finish cooperatively
+     * without throwing.
+     *
+     * @return false if the traversal was stopped by yield.
+     */
+    public final boolean traverseWhile(LongYieldWhile yield) {
+        return this.trav.traverseWhile(yield);
+    }
+
+    /**
+     * Yields elements sequentially in the current thread in chunks,
+     * which amortizes the dispatch to each stage over a whole chunk.
+     * Sources from an array and the map and filter stages yield chunks
+     * directly, while any other stage is adapted from traverse().
+     */
+    public final void traverseChunks(LongChunkYield yield) {
+        this.trav.traverseChunks(yield);
+    }
+
+    /**
+     * Returns whether traverseChunks() yields chunks without adapting traverse()
+     * of any stage, in which case reductions such as sum() run over chunks.
+     */
+    public final boolean isChunked() {
+        return trav.isChunked();
+    }
+
+    /**
+     * Returns the {@link Characteristics} of the remaining elements of this {@code LongQuery}.
+     */
+    public final int characteristics() {
+        return trav.characteristics();
+    }
+
+    /**
+     * Returns the exact number of remaining elements of this {@code LongQuery}, without
+     * traversing it, if it is {@link Characteristics#SIZED}, or -1 otherwise.
+     */
+    public final long getExactSizeIfKnown() {
+        return (trav.characteristics() & Characteristics.SIZED) == 0 ? -1 : trav.getExactSizeIfKnown();
+    }
+
     /**
      * If a remaining element exists, yields that element through
      * the given action.
@@ -138,22 +250,28 @@ public class LongQuery {
     /**
      * Returns a {@code LongQuery} consisting of the elements of this {@code LongQuery} that match
      * the given predicate.
+     * Fused with the previous stage when that is a map, filter or peek.
      */
     public LongQuery filter(LongPredicate p) {
+        LongFused fused = LongFused.filter(adv, trav, p);
+        if(fused != null) return new LongQuery(fused, fused, onClose);
         LongFilter filter = new LongFilter(this, p);
-        return new LongQuery(filter, filter);
+        return new LongQuery(filter, filter, onClose);
     }
 
     /**
      * Returns a {@code LongQuery} consisting of the results of applying the given
      * LongUnaryOperator to the elements of this {@code LongQuery}.
+     * Fused with the previous stage when that is a map, filter or peek.
      *
      * @param op
      *         LongUnaryOperator used to map the elements of this LongQuery
      */
     public LongQuery map(LongUnaryOperator op) {
+        LongFused fused = LongFused.map(adv, trav, op);
+        if(fused != null) return new LongQuery(fused, fused, onClose);
         LongMap map = new LongMap(this, op);
-        return new LongQuery(map, map);
+        return new LongQuery(map, map, onClose);
     }
 
     /**
@@ -165,7 +283,7 @@ public class LongQuery {
      */
     public <U> Query<U> mapToObj(LongFunction<? extends U> function) {
         LongMapToObj<U> map = new LongMapToObj<>(this, function);
-        return new Query<>(map, map);
+        return new Query<>(map, map, onClose);
     }
 
     /**
@@ -175,7 +293,7 @@ public class LongQuery {
      */
     public LongQuery flatMap(LongFunction<? extends LongQuery> function) {
         LongFlatMap map = new LongFlatMap(this, function);
-        return new LongQuery(map, map);
+        return new LongQuery(map, map, OnClose.compose(onClose, map::close));
     }
 
     /**
@@ -184,7 +302,28 @@ public class LongQuery {
      */
     public LongQuery distinct() {
         LongDistinct dis = new LongDistinct(this);
-        return new LongQuery(dis, dis);
+        return new LongQuery(dis, dis, onClose);
+    }
+
+    /**
+     * Returns a {@code LongQuery} replaying the elements of this {@code LongQuery},
+     * which are pulled on demand and memoized in segments of primitive arrays,
+     * such that it may be traversed any number of times.
+     * Traversals may run concurrently, even while this query is still being
+     * drained, but each tryAdvance() cursor is confined to a single thread.
+     * Calling cache() on the resulting query returns a new replay, with its
+     * own tryAdvance() cursor, of the same elements.
+     * Traversals that cannot stop early, such as forEach(), pull the rest
+     * of this query at once, while the others pull one element at a time.
+     * This query is closed once it has no more elements, rather than
+     * when the resulting query is closed, which happens after each of its
+     * traversals. Hence, if it may not be drained, as by findFirst(), close
+     * this query itself, e.g. with try-with-resources, once no replay needs
+     * elements that were not pulled yet.
+     */
+    public LongQuery cache() {
+        LongCached cached = adv instanceof LongCached ? ((LongCached) adv).replay() : new LongCached(this);
+        return new LongQuery(cached, cached);
     }
 
     /**
@@ -194,53 +333,133 @@ public class LongQuery {
      * This is a stateful intermediate operation.
      */
     public LongQuery sorted() {
-        long[] state = this.toArray();
-        Arrays.sort(state);
-        FromLongArray arr = new FromLongArray(state);
-        return new LongQuery(arr, arr);
+        LongSorted sorted = new LongSorted(this);
+        return new LongQuery(sorted, sorted, onClose);
+    }
+
+    /**
+     * Returns a {@code LongQuery} consisting of the elements of this {@code LongQuery},
+     * sorted according to the same logic as {@code Arrays.sort(long[] a)}, which
+     * keeps no more than {@code config.maxInMemory()} elements in memory.
+     * Beyond that, it writes sorted runs of raw values into temporary files,
+     * ignoring the serializer of the config, and merges them lazily on traversal.
+     * Runs left are deleted on close().
+     * <p>
+     * This is a stateful intermediate operation.
+     */
+    public LongQuery sorted(SpillConfig<?> config) {
+        LongSpillSorted sorted = new LongSpillSorted(this, config);
+        return new LongQuery(sorted, sorted, OnClose.compose(onClose, sorted::close));
+    }
+
+    /**
+     * Returns a {@code LongQuery} consisting of the {@code k} lowest elements of this
+     * {@code LongQuery} in ascending order, like {@code sorted().limit(k)}.
+     * It keeps no more than {@code k} elements in a bounded heap, taking
+     * O(n log k) time rather than the O(n log n) of a full sort.
+     * <p>
+     * This is a stateful intermediate operation.
+     */
+    public LongQuery topK(int k) {
+        LongTopK top = new LongTopK(this, k);
+        return new LongQuery(top, top, onClose);
     }
 
     /**
      * Returns an array containing the elements of this {@code LongQuery}.
      */
     public long[] toArray() {
-        List<Long> list = toList();
-        long[] result = new long[list.size()];
-        for (int i = 0; i < list.size(); i++) {
-            result[i] = list.get(i);
+        try {
+            long size = getExactSizeIfKnown();
+            if(size >= 0 && size <= Integer.MAX_VALUE) {
+                long[] res = new long[(int) size];
+                class Filler implements LongYield {
+                    int i = 0;
+
+                    @Override
+                    public void ret(long item) {
+                        res[i++] = item;
+                    }
+                }
+                this.traverse(new Filler());
+                return res;
+            }
+            LongGrowableBuffer result = new LongGrowableBuffer();
+            this.traverse(result::add);
+            return result.toArray();
+        } finally {
+            close();
         }
-        return result;
     }
 
     /**
      * Returns a List containing the elements of this {@code LongQuery}.
      */
     public List<Long> toList() {
-        ArrayList<Long> result = new ArrayList<>();
-        this.traverse(result::add);
-        return result;
+        try {
+            long size = getExactSizeIfKnown();
+            ArrayList<Long> result = size < 0 || size > Integer.MAX_VALUE ? new ArrayList<>() : new ArrayList<>((int) size);
+            this.traverse(result::add);
+            return result;
+        } finally {
+            close();
+        }
     }
 
     /**
      * Returns a {@code LongQuery} consisting of the elements of this {@code LongQuery}, additionally
      * performing the provided action on each element as elements are consumed
      * from the resulting {@code LongQuery}.
+     * Fused with the previous stage when that is a map, filter or peek.
      */
     public LongQuery peek(LongConsumer action) {
+        LongFused fused = LongFused.peek(adv, trav, action);
+        if(fused != null) return new LongQuery(fused, fused, onClose);
         LongPeek peek = new LongPeek(this, action);
-        return new LongQuery(peek, peek);
+        return new LongQuery(peek, peek, onClose);
+    }
+
+    /**
+     * Returns an equivalent {@code LongQuery} whose traverse() and traverseWhile()
+     * run the trailing map, filter and peek stages through classes generated
+     * for the shape of this pipeline, like {@link Query#compile()}.
+     * Returns this query if its last stage is not a map, filter or peek,
+     * or if the runtime does not support hidden classes.
+     */
+    public LongQuery compile() {
+        LongFused fused = LongFused.of(adv, trav);
+        if(fused == null || !Specializer.isSupported()) return this;
+        return new LongQuery(adv, new LongCompiled(fused, fused.upstream().trav), onClose);
     }
 
     /**
      * Returns a {@code LongQuery} consisting of the elements of this query, truncated
      * to be no longer than {@code n} in length.
+     * Following a sorted() it keeps only the lowest {@code n} elements
+     * instead of sorting all of them, as {@link #topK(int)}.
      *
      * @param n
      *         maximum amount of elements to retrieve from this {@code LongQuery}
      */
     public LongQuery limit(int n) {
+        if(adv instanceof LongSorted) {
+            LongTopK top = ((LongSorted) adv).limit(n);
+            if(top != null) return new LongQuery(top, top, onClose);
+        }
+        if(adv instanceof LongTopK) {
+            LongTopK top = ((LongTopK) adv).limit(n);
+            if(top != null) return new LongQuery(top, top, onClose);
+        }
+        if(adv instanceof LongSpillSorted) {
+            LongTopK top = ((LongSpillSorted) adv).limit(n);
+            if(top != null) return new LongQuery(top, top, onClose);
+        }
+        if(adv instanceof FromLongArray) {
+            FromLongArray src = ((FromLongArray) adv).limit(n);
+            return new LongQuery(src, src, onClose);
+        }
         LongLimit lim = new LongLimit(this, n);
-        return new LongQuery(lim, lim);
+        return new LongQuery(lim, lim, onClose);
     }
 
     /**
@@ -251,8 +470,12 @@ public class LongQuery {
      *         number of elements to discard
      */
     public LongQuery skip(int n) {
+        if(adv instanceof FromLongArray) {
+            FromLongArray src = ((FromLongArray) adv).skip(n);
+            return new LongQuery(src, src, onClose);
+        }
         LongSkip skip = new LongSkip(this, n);
-        return new LongQuery(skip, skip);
+        return new LongQuery(skip, skip, onClose);
     }
 
     /**
@@ -260,11 +483,15 @@ public class LongQuery {
      * if a reduction can be made, using the provided accumulator.
      */
     public OptionalLong reduce(LongBinaryOperator accumulator) {
-        LongBox box = new LongBox();
-        if(this.tryAdvance(box::setValue)) {
-            return OptionalLong.of(this.reduce(box.getValue(), accumulator));
-        } else {
-            return OptionalLong.empty();
+        try {
+            LongBox box = new LongBox();
+            if(this.tryAdvance(box::setValue)) {
+                return OptionalLong.of(this.reduce(box.getValue(), accumulator));
+            } else {
+                return OptionalLong.empty();
+            }
+        } finally {
+            close();
         }
     }
 
@@ -273,65 +500,108 @@ public class LongQuery {
      * using the provided identity value and accumulator.
      */
     public long reduce(long identity, LongBinaryOperator accumulator) {
-        class BoxAccumulator extends LongBox implements LongYield {
-            public BoxAccumulator(long identity) {
-                super(identity);
-            }
-            @Override
-            public void ret(long item) {
-                this.value = accumulator.applyAsLong(value, item);
+        try {
+            class BoxAccumulator extends LongBox implements LongYield {
+                public BoxAccumulator(long identity) {
+                    super(identity);
+                }
+                @Override
+                public void ret(long item) {
+                    this.value = accumulator.applyAsLong(value, item);
+                }
             }
+            BoxAccumulator box = new BoxAccumulator(identity);
+            this.traverse(box);
+            return box.getValue();
+        } finally {
+            close();
         }
-        BoxAccumulator box = new BoxAccumulator(identity);
-        this.traverse(box);
-        return box.getValue();
     }
 
     /**
      * Returns the lowest long of this {@code LongQuery}
      */
     public OptionalLong min() {
-        LongBox b = new LongBox();
-        this.traverse(e -> {
-            if (!b.isPresent()) {
-                b.turnPresent(e);
-            } else if (e < b.getValue()) {
-                b.setValue(e);
+        try {
+            if(adv instanceof FromLongArray) return ((FromLongArray) adv).min();
+            LongBox b = new LongBox();
+            LongYield keep = e -> {
+                if (!b.isPresent()) {
+                    b.turnPresent(e);
+                } else if (e < b.getValue()) {
+                    b.setValue(e);
+                }
+            };
+            if(trav.isChunked()) {
+                this.traverseChunks((buf, from, to) -> {
+                    if(from < to) keep.ret(ArrayReductions.get().min(buf, from, to));
+                });
+            } else {
+                this.traverse(keep);
             }
-        });
-        return b.isPresent() ? OptionalLong.of(b.getValue()) : OptionalLong.empty();
+            return b.isPresent() ? OptionalLong.of(b.getValue()) : OptionalLong.empty();
+        } finally {
+            close();
+        }
     }
 
     /**
      * Returns the highest long of this {@code LongQuery}
      */
     public OptionalLong max() {
-        LongBox b = new LongBox();
-        this.traverse(e -> {
-            if (!b.isPresent()) {
-                b.turnPresent(e);
-            } else if (e > b.getValue()) {
-                b.setValue(e);
+        try {
+            if(adv instanceof FromLongArray) return ((FromLongArray) adv).max();
+            LongBox b = new LongBox();
+            LongYield keep = e -> {
+                if (!b.isPresent()) {
+                    b.turnPresent(e);
+                } else if (e > b.getValue()) {
+                    b.setValue(e);
+                }
+            };
+            if(trav.isChunked()) {
+                this.traverseChunks((buf, from, to) -> {
+                    if(from < to) keep.ret(ArrayReductions.get().max(buf, from, to));
+                });
+            } else {
+                this.traverse(keep);
             }
-        });
-        return b.isPresent() ? OptionalLong.of(b.getValue()) : OptionalLong.empty();
+            return b.isPresent() ? OptionalLong.of(b.getValue()) : OptionalLong.empty();
+        } finally {
+            close();
+        }
     }
 
     /**
      * Returns the count of elements in this {@code LongQuery}.
      */
     public final long count() {
-        class Counter implements LongYield {
-            long n = 0;
-
-            @Override
-            public void ret(long item) {
-                ++n;
+        try {
+            long size = getExactSizeIfKnown();
+            if(size >= 0) return size;
+            class Counter implements LongYield, LongChunkYield {
+                long n = 0;
+
+                @Override
+                public void ret(long item) {
+                    ++n;
+                }
+
+                @Override
+                public void ret(long[] buf, int from, int to) {
+                    n += to - from;
+                }
+            }
+            Counter c = new Counter();
+            if(trav.isChunked()) {
+                this.traverseChunks(c);
+            } else {
+                this.traverse(c);
             }
+            return c.n;
+        } finally {
+            close();
         }
-        Counter c = new Counter();
-        this.traverse(c);
-        return c.n;
     }
 
     /**
@@ -341,22 +611,73 @@ public class LongQuery {
      * This is a terminal operation.
      */
     public OptionalDouble average() {
-        long[] data = this.toArray();
-        double count = data.length;
-        if (count == 0) {
-            return OptionalDouble.empty();
+        try {
+            if(adv instanceof FromLongArray) {
+                FromLongArray src = (FromLongArray) adv;
+                long count = src.getExactSizeIfKnown();
+                return count == 0
+                    ? OptionalDouble.empty()
+                    : OptionalDouble.of((double) src.sum() / count);
+            }
+            class Averager implements LongYield, LongChunkYield {
+                long count = 0;
+                long sum = 0;
+
+                @Override
+                public void ret(long item) {
+                    ++count;
+                    sum += item;
+                }
+
+                @Override
+                public void ret(long[] buf, int from, int to) {
+                    count += to - from;
+                    sum += ArrayReductions.get().sum(buf, from, to);
+                }
+            }
+            Averager avg = new Averager();
+            if(trav.isChunked()) {
+                this.traverseChunks(avg);
+            } else {
+                this.traverse(avg);
+            }
+            return avg.count == 0
+                ? OptionalDouble.empty()
+                : OptionalDouble.of((double) avg.sum / avg.count);
+        } finally {
+            close();
         }
-        double sum = LongQuery.of(data).sum();
-        return OptionalDouble.of(sum / count);
     }
 
     /**
      * Returns the sum of elements in this {@code LongQuery} .
      * <p>
      * This is a special case of a reduction.
+     * From an array, as also min(), max(), average() and summaryStatistics(),
+     * it is performed by {@link ArrayReductions}, which may use vector instructions.
+     * Through map and filter stages from an array, they reduce each chunk
+     * of {@link #traverseChunks} instead, as also count().
      */
     public long sum() {
-        return this.reduce(0, Long::sum);
+        try {
+            if(adv instanceof FromLongArray) return ((FromLongArray) adv).sum();
+            if(trav.isChunked()) {
+                class Summer implements LongChunkYield {
+                    long sum = 0;
+
+                    @Override
+                    public void ret(long[] buf, int from, int to) {
+                        sum += ArrayReductions.get().sum(buf, from, to);
+                    }
+                }
+                Summer summer = new Summer();
+                this.traverseChunks(summer);
+                return summer.sum;
+            }
+            return this.reduce(0, Long::sum);
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -375,7 +696,18 @@ public class LongQuery {
      * This is a terminal operation.
      */
     public LongSummaryStatistics summaryStatistics() {
-        return this.collect(LongSummaryStatistics::new, LongSummaryStatistics::accept);
+        try {
+            if(adv instanceof FromLongArray) return ((FromLongArray) adv).summaryStatistics();
+            LongSummaryStatistics stats = new LongSummaryStatistics();
+            if(trav.isChunked()) {
+                this.traverseChunks((buf, from, to) -> stats.combine(ArrayReductions.get().summaryStatistics(buf, from, to)));
+            } else {
+                this.traverse(stats::accept);
+            }
+            return stats;
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -384,9 +716,46 @@ public class LongQuery {
      * and elements are incorporated by updating the state of the result rather than by replacing the result.
      */
     public <R> R collect(Supplier<R> supplier, ObjLongConsumer<R> accumulator) {
-        R result = supplier.get();
-        this.traverse(elem -> accumulator.accept(result, elem));
-        return result;
+        try {
+            R result = supplier.get();
+            this.traverse(elem -> accumulator.accept(result, elem));
+            return result;
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Performs a mutable reduction operation on the elements of this {@code LongQuery}
+     * using a {@link LongCollector}, which accumulates them without boxing.
+     * The finisher is skipped for collectors with the {@code IDENTITY_FINISH} characteristic.
+     */
+    @SuppressWarnings("unchecked")
+    public <A, R> R collect(LongCollector<A, R> collector) {
+        try {
+            A container = collector.supplier().get();
+            ObjLongConsumer<A> accumulator = collector.accumulator();
+            this.traverse(elem -> accumulator.accept(container, elem));
+            return collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+                ? (R) container
+                : collector.finisher().apply(container);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Pushes each element of this {@code LongQuery} into every branch, in the
+     * given order, within a single traversal. A branch returning false receives
+     * no more elements, and the traversal stops once all branches have returned false.
+     */
+    public void fanOut(LongYieldWhile... branches) {
+        LongFanOut fan = new LongFanOut(branches);
+        try {
+            if(!fan.isDone()) this.traverseWhile(fan);
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -399,20 +768,18 @@ public class LongQuery {
      *         LongPredicate used to test elements of this {@code LongQuery}
      */
     public boolean allMatch(LongPredicate p) {
-        BoolBox succeed = new BoolBox(true);
-        shortCircuit(item -> {
-            if (!p.test(item)) {
-                succeed.set(false);
-                Yield.bye();
-            }
-        });
-        return succeed.isTrue();
+        try {
+            return this.traverseWhile(p::test);
+        } finally {
+            close();
+        }
     }
 
     /**
      * Yields elements sequentially in the current thread,
      * until all elements have been processed or the traversal
      * exited normally through the invocation of yield.bye().
+     * Prefer traverseWhile() which does not unwind the stack through an exception.
      */
     public final void shortCircuit(LongYield yield) {
         try {
@@ -445,14 +812,11 @@ public class LongQuery {
      *         LongPredicate used to test elements of this {@code LongQuery}
      */
     public boolean anyMatch(LongPredicate p) {
-        BoolBox found = new BoolBox();
-        shortCircuit(item -> {
-            if (p.test(item)) {
-                found.set();
-                Yield.bye();
-            }
-        });
-        return found.isTrue();
+        try {
+            return !this.traverseWhile(item -> !p.test(item));
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -468,11 +832,15 @@ public class LongQuery {
      * or an empty {@code OptionalLong} if this {@code LongQuery} is empty.
      */
     public OptionalLong findFirst() {
-        LongBox box = new LongBox();
-        this.tryAdvance(box::turnPresent);
-        return box.isPresent()
-                ? OptionalLong.of(box.getValue())
-                : OptionalLong.empty();
+        try {
+            LongBox box = new LongBox();
+            this.tryAdvance(box::turnPresent);
+            return box.isPresent()
+                    ? OptionalLong.of(box.getValue())
+                    : OptionalLong.empty();
+        } finally {
+            close();
+        }
     }
 
     /**
@@ -493,7 +861,7 @@ public class LongQuery {
      *         LongToIntFunction used to map the elements of this LongQuery
      */
     public IntQuery mapToInt(LongToIntFunction function) {
-        return new IntQuery(IntAdvancer.from(adv, function), IntTraverser.from(trav, function));
+        return new IntQuery(IntAdvancer.from(adv, function), IntTraverser.from(trav, function), onClose);
     }
 
     /**
@@ -514,7 +882,7 @@ public class LongQuery {
      *         LongToDoubleFunction used to map the elements of this LongQuery
      */
     public DoubleQuery mapToDouble(LongToDoubleFunction function) {
-        return new DoubleQuery(DoubleAdvancer.from(adv, function), DoubleTraverser.from(trav, function));
+        return new DoubleQuery(DoubleAdvancer.from(adv, function), DoubleTraverser.from(trav, function), onClose);
     }
 
     /**
@@ -522,7 +890,7 @@ public class LongQuery {
      * each boxed to an Long.
      */
     public Query<Long> boxed() {
-        return new Query<>(adv, trav);
+        return new Query<>(adv, trav, onClose);
     }
 
     public LongStream toStream() {
@@ -536,8 +904,24 @@ public class LongQuery {
             public void forEachRemaining(LongConsumer action) {
                 trav.traverse(action::accept);
             }
+
+            @Override
+            public long estimateSize() {
+                long size = LongQuery.this.getExactSizeIfKnown();
+                return size < 0 ? Long.MAX_VALUE : size;
+            }
+
+            /**
+             * SORTED is left out because a Spliterator reporting it must
+             * also provide its Comparator.
+             */
+            @Override
+            public int characteristics() {
+                int flags = Spliterator.ORDERED | (LongQuery.this.characteristics() & ~Spliterator.SORTED);
+                return (flags & Spliterator.SIZED) == 0 ? flags : flags | Spliterator.SUBSIZED;
+            }
         };
-        return StreamSupport.longStream(iter, false);
+        return StreamSupport.longStream(iter, false).onClose(this::close);
     }
 
     /**
@@ -552,7 +936,7 @@ public class LongQuery {
         Function<LongQuery, LongAdvancer> nextAdv,
         Function<LongQuery, LongTraverser> next)
     {
-        return new LongQuery(nextAdv.apply(this), next.apply(this));
+        return new LongQuery(nextAdv.apply(this), next.apply(this), onClose);
     }
 
     /**
@@ -565,7 +949,7 @@ public class LongQuery {
         LongAdvancer nextAdv = item -> { throw new UnsupportedOperationException(
             "Missing tryAdvance() implementation! Use the overloaded then() providing both Advancer and Traverser!");
         };
-        return new LongQuery(nextAdv, next.apply(this));
+        return new LongQuery(nextAdv, next.apply(this), onClose);
     }
 
     /**
@@ -574,7 +958,7 @@ public class LongQuery {
      */
     public final LongQuery takeWhile(LongPredicate predicate) {
         LongTakeWhile take = new LongTakeWhile(this, predicate);
-        return new LongQuery(take, take);
+        return new LongQuery(take, take, onClose);
     }
 
     /**
@@ -584,7 +968,7 @@ public class LongQuery {
      */
     public final LongQuery concat(LongQuery other) {
         LongConcat cat = new LongConcat(this, other);
-        return new LongQuery(cat, cat);
+        return new LongQuery(cat, cat, OnClose.compose(onClose, other.onClose));
     }
 
     /**
@@ -593,7 +977,7 @@ public class LongQuery {
      */
     public final LongQuery dropWhile(LongPredicate predicate) {
         LongDropWhile drop = new LongDropWhile(this, predicate);
-        return new LongQuery(drop, drop);
+        return new LongQuery(drop, drop, onClose);
     }
 
     /**
@@ -602,6 +986,6 @@ public class LongQuery {
      */
     public final LongQuery zip(LongQuery other, LongBinaryOperator zipper) {
         LongZip zip = new LongZip(this, other, zipper);
-        return new LongQuery(zip, zip);
+        return new LongQuery(zip, zip, OnClose.compose(onClose, other.onClose));
     }
 }
@@ -16,8 +16,11 @@
 
 package org.jayield.primitives.lng;
 
+import org.jayield.TraversableFinishError;
 import org.jayield.Traverser;
 import org.jayield.Yield;
+import org.jayield.YieldWhile;
+import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.dbl.DoubleTraverser;
 import org.jayield.primitives.intgr.IntAdvancer;
 import org.jayield.primitives.intgr.IntTraverser;
@@ -43,6 +46,75 @@ public interface LongTraverser extends Traverser<Long> {
         this.traverse(yld);
     }
 
+    /**
+     * Yields elements sequentially in the current thread,
+     * while yield returns true and until all elements have been processed.
+     * Built-in operations stop cooperatively when yield returns false.
+     * This default implementation still relies on {@link Yield#bye()}
+     * for LongTraverser objects that only implement traverse().
+     *
+     * @return false if the traversal was stopped by yield.
+     */
+    default boolean traverseWhile(LongYieldWhile yield) {
+        BoolBox stopped = new BoolBox();
+        try {
+            traverse((long item) -> {
+                if(!yield.ret(item)) {
+                    stopped.set();
+                    Yield.bye();
+                }
+            });
+        } catch (TraversableFinishError e) {
+            // Let it reach the nested traversal that has really been stopped.
+            if(stopped.isFalse()) throw e;
+        }
+        return stopped.isFalse();
+    }
+
+    /**
+     * Yields elements sequentially in the current thread in chunks,
+     * until all elements have been processed or an exception is thrown.
+     * This default collects the elements of traverse() into a buffer,
+     * so that per element traversers feed chunk-aware stages.
+     */
+    default void traverseChunks(LongChunkYield yield) {
+        long size = getExactSizeIfKnown();
+        long[] buf = new long[size < 0 ? LongChunkYield.SIZE : (int) Math.max(1, Math.min(size, LongChunkYield.SIZE))];
+        class Chunker implements LongYield {
+            int n = 0;
+
+            @Override
+            public void ret(long item) {
+                buf[n++] = item;
+                if(n == buf.length) {
+                    yield.ret(buf, 0, n);
+                    n = 0;
+                }
+            }
+        }
+        Chunker chunker = new Chunker();
+        traverse(chunker);
+        if(chunker.n > 0) yield.ret(buf, 0, chunker.n);
+    }
+
+    /**
+     * Returns whether traverseChunks() yields chunks without adapting traverse(),
+     * neither of this traverser nor of its upstream, which this default denies.
+     */
+    default boolean isChunked() {
+        return false;
+    }
+
+    /**
+     * Default traverseWhile implementation that calls the
+     * primitive version of it
+     */
+    @Override
+    default boolean traverseWhile(YieldWhile<? super Long> yield) {
+        LongYieldWhile yld = yield::ret;
+        return this.traverseWhile(yld);
+    }
+
     /**
      * An LongTraverser object without elements.
      */
@@ -67,7 +139,27 @@ public interface LongTraverser extends Traverser<Long> {
      *         {@link ToLongFunction} that specifies how to map the source elements longo long values.
      */
     static <T> LongTraverser from(Traverser<T> source, ToLongFunction<? super T> mapper) {
-        return yield -> source.traverse(item -> yield.ret(mapper.applyAsLong(item)));
+        return new LongTraverser() {
+            @Override
+            public void traverse(LongYield yield) {
+                source.traverse(item -> yield.ret(mapper.applyAsLong(item)));
+            }
+
+            @Override
+            public boolean traverseWhile(LongYieldWhile yield) {
+                return source.traverseWhile(item -> yield.ret(mapper.applyAsLong(item)));
+            }
+
+            @Override
+            public int characteristics() {
+                return (source.characteristics() & (ORDERED | SIZED)) | NONNULL;
+            }
+
+            @Override
+            public long getExactSizeIfKnown() {
+                return source.getExactSizeIfKnown();
+            }
+        };
     }
 
     /**
@@ -79,7 +171,27 @@ public interface LongTraverser extends Traverser<Long> {
      *         {@link DoubleToLongFunction} that specifies how to map the source elements longo long values.
      */
     static LongTraverser from(DoubleTraverser source, DoubleToLongFunction mapper) {
-        return from((Traverser<Double>) source, mapper::applyAsLong);
+        return new LongTraverser() {
+            @Override
+            public void traverse(LongYield yield) {
+                source.traverse((double item) -> yield.ret(mapper.applyAsLong(item)));
+            }
+
+            @Override
+            public boolean traverseWhile(LongYieldWhile yield) {
+                return source.traverseWhile((double item) -> yield.ret(mapper.applyAsLong(item)));
+            }
+
+            @Override
+            public int characteristics() {
+                return source.characteristics() & (ORDERED | SIZED | NONNULL);
+            }
+
+            @Override
+            public long getExactSizeIfKnown() {
+                return source.getExactSizeIfKnown();
+            }
+        };
     }
 
     /**
@@ -91,6 +203,26 @@ public interface LongTraverser extends Traverser<Long> {
      *         {@link IntToLongFunction} that specifies how to map the source elements longo long values.
      */
     static LongTraverser from(IntTraverser source, IntToLongFunction mapper) {
-        return from((Traverser<Integer>) source, mapper::applyAsLong);
+        return new LongTraverser() {
+            @Override
+            public void traverse(LongYield yield) {
+                source.traverse((int item) -> yield.ret(mapper.applyAsLong(item)));
+            }
+
+            @Override
+            public boolean traverseWhile(LongYieldWhile yield) {
+                return source.traverseWhile((int item) -> yield.ret(mapper.applyAsLong(item)));
+            }
+
+            @Override
+            public int characteristics() {
+                return source.characteristics() & (ORDERED | SIZED | NONNULL);
+            }
+
+            @Override
+            public long getExactSizeIfKnown() {
+                return source.getExactSizeIfKnown();
+            }
+        };
     }
 }
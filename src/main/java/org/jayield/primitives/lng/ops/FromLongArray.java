@@ -16,21 +16,91 @@
 
 package org.jayield.primitives.lng.ops;
 
+import org.jayield.primitives.ArrayReductions;
 import org.jayield.primitives.lng.LongAdvancer;
+import org.jayield.primitives.lng.LongChunkYield;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
+
+import java.util.LongSummaryStatistics;
+import java.util.OptionalLong;
 
 public class FromLongArray implements LongAdvancer, LongTraverser {
-    private final long[] data;
-    private int current;
+    final long[] data;
+    final int end;
+    private final int flags;
+    int current;
 
     public FromLongArray(long... data) {
+        this(data, 0, data.length, ORDERED);
+    }
+
+    /**
+     * Source of the elements of data between the indexes from, inclusive,
+     * and to, exclusive, with the given additional characteristics.
+     */
+    public FromLongArray(long[] data, int from, int to, int characteristics) {
         this.data = data;
-        this.current = 0;
+        this.current = from;
+        this.end = to;
+        this.flags = characteristics | SIZED | NONNULL;
     }
 
     public boolean hasNext() {
-        return current < data.length;
+        return current < end;
+    }
+
+    /**
+     * Returns a new source of the remaining elements after discarding
+     * the first n, without visiting them.
+     */
+    public FromLongArray skip(int n) {
+        return new FromLongArray(data, current + clamp(n), end, flags);
+    }
+
+    /**
+     * Returns a new source of no more than the first n remaining elements.
+     */
+    public FromLongArray limit(int n) {
+        return new FromLongArray(data, current, current + clamp(n), flags);
+    }
+
+    /**
+     * Sum of the remaining elements, through {@link ArrayReductions}.
+     */
+    public long sum() {
+        return ArrayReductions.get().sum(data, current, end);
+    }
+
+    public OptionalLong min() {
+        return current < end
+            ? OptionalLong.of(ArrayReductions.get().min(data, current, end))
+            : OptionalLong.empty();
+    }
+
+    public OptionalLong max() {
+        return current < end
+            ? OptionalLong.of(ArrayReductions.get().max(data, current, end))
+            : OptionalLong.empty();
+    }
+
+    public LongSummaryStatistics summaryStatistics() {
+        return ArrayReductions.get().summaryStatistics(data, current, end);
+    }
+
+    private int clamp(int n) {
+        return Math.max(0, Math.min(n, end - current));
+    }
+
+    @Override
+    public int characteristics() {
+        return flags;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return end - current;
     }
 
     /**
@@ -41,9 +111,27 @@ public class FromLongArray implements LongAdvancer, LongTraverser {
      */
     @Override
     public void traverse(LongYield yield) {
-        for (int i = current; i < data.length; i++) {
+        for (int i = current; i < end; i++) {
             yield.ret(data[i]);
         }
+        current = end;
+    }
+
+    /**
+     * Yields the remaining elements as a single chunk of the array itself.
+     */
+    @Override
+    public void traverseChunks(LongChunkYield yield) {
+        if(current < end) {
+            int from = current;
+            current = end;
+            yield.ret(data, from, end);
+        }
+    }
+
+    @Override
+    public boolean isChunked() {
+        return true;
     }
 
     @Override
@@ -52,4 +140,16 @@ public class FromLongArray implements LongAdvancer, LongTraverser {
         yield.ret(data[current++]);
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        for (int i = current; i < end; i++) {
+            if(!yield.ret(data[i])) {
+                current = i + 1;
+                return false;
+            }
+        }
+        current = end;
+        return true;
+    }
 }
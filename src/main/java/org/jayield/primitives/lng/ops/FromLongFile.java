@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.lng.ops;
+
+import org.jayield.primitives.MappedFile;
+import org.jayield.primitives.lng.LongAdvancer;
+import org.jayield.primitives.lng.LongChunkYield;
+import org.jayield.primitives.lng.LongTraverser;
+import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * Source of the long values of a binary file, read straight from
+ * the regions of the {@link MappedFile}, without copying them to the heap.
+ */
+public class FromLongFile implements LongAdvancer, LongTraverser {
+    private final MappedFile file;
+    private final ByteOrder order;
+    private LongBuffer region;
+    /**
+     * A close() from inside a traversal is deferred until its end,
+     * which still holds the current region.
+     */
+    private boolean traversing;
+    private boolean closed;
+
+    public FromLongFile(MappedFile file, ByteOrder order) {
+        this.file = file;
+        this.order = order;
+    }
+
+    /**
+     * Returns the current region, mapping the next one if it has no
+     * remaining elements, or null at the end of the file.
+     */
+    private LongBuffer region() {
+        if(closed) return null;
+        if(region == null || !region.hasRemaining()) {
+            region = null;
+            ByteBuffer next = file.next(order);
+            if(next != null) region = next.asLongBuffer();
+        }
+        return region;
+    }
+
+    /**
+     * Unmaps the current region and closes the file.
+     */
+    public void close() {
+        closed = true;
+        if(traversing) return;
+        region = null;
+        file.close();
+    }
+
+    private void enter() {
+        traversing = true;
+    }
+
+    private void exit() {
+        traversing = false;
+        if(closed) close();
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | NONNULL;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        if(closed) return 0;
+        return (region == null ? 0 : region.remaining()) + file.remaining();
+    }
+
+    @Override
+    public boolean tryAdvance(LongYield yield) {
+        LongBuffer r = region();
+        if(r == null) return false;
+        yield.ret(r.get());
+        return true;
+    }
+
+    @Override
+    public void traverse(LongYield yield) {
+        enter();
+        try {
+            for (LongBuffer r = region(); r != null; r = region()) {
+                while(r.hasRemaining()) {
+                    yield.ret(r.get());
+                }
+            }
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        enter();
+        try {
+            for (LongBuffer r = region(); r != null; r = region()) {
+                while(r.hasRemaining()) {
+                    if(!yield.ret(r.get())) return false;
+                }
+            }
+            return true;
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Copies each region into chunks, in bulk.
+     */
+    @Override
+    public void traverseChunks(LongChunkYield yield) {
+        long[] buf = null;
+        enter();
+        try {
+            for (LongBuffer r = region(); r != null; r = region()) {
+                if(buf == null) buf = new long[(int) Math.min(LongChunkYield.SIZE, getExactSizeIfKnown())];
+                while(r.hasRemaining()) {
+                    int n = Math.min(buf.length, r.remaining());
+                    r.get(buf, 0, n);
+                    yield.ret(buf, 0, n);
+                }
+            }
+        } finally {
+            exit();
+        }
+    }
+}
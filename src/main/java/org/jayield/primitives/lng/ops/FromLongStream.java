@@ -16,9 +16,11 @@
 
 package org.jayield.primitives.lng.ops;
 
+import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 import java.util.Spliterator;
 import java.util.function.LongConsumer;
@@ -42,4 +44,14 @@ public class FromLongStream implements LongAdvancer, LongTraverser {
         LongConsumer cons = yield::ret;
         return upstream.tryAdvance(cons);
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        BoolBox cont = new BoolBox(true);
+        LongConsumer cons = item -> cont.set(yield.ret(item));
+        while(cont.isTrue() && upstream.tryAdvance(cons)) {
+            // Intentionally empty. Action specified on yield statement of tryAdvance().
+        }
+        return cont.isTrue();
+    }
 }
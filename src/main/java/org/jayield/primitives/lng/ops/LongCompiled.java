@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.lng.ops;
+
+import org.jayield.ops.Shapes;
+import org.jayield.ops.Specializer;
+import org.jayield.primitives.lng.LongTraverser;
+import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Traversal of a chain of fused stages of long values through hidden classes
+ * specialized for its shape, like Compiled.
+ */
+public class LongCompiled implements LongTraverser {
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private static final Shapes<Shape> shapes = new Shapes<>();
+
+    private final LongFused fused;
+    private final LongTraverser source;
+    private final Shape shape;
+
+    /**
+     * @param source The traverser of the upstream of fused.
+     */
+    public LongCompiled(LongFused fused, LongTraverser source) {
+        this.fused = fused;
+        this.source = source;
+        this.shape = shapes.get(fused.kinds, fused.stages, source instanceof FromLongArray, Shape::new);
+    }
+
+    private LongFused.Sink chain(LongFused.Sink last) {
+        LongFused.Sink sink = last;
+        for (int i = fused.stages.length - 1; i >= 0; i--) {
+            sink = (LongFused.Sink) Specializer.newInstance(shape.stages[i], fused.stages[i], sink);
+        }
+        return sink;
+    }
+
+    @Override
+    public void traverse(LongYield yield) {
+        LongFused.Sink head = chain((LongFused.Sink) Specializer.newInstance(shape.terminal, yield));
+        if(shape.loop != null) {
+            ((Loop) Specializer.newInstance(shape.loop, source)).traverse(head);
+        } else {
+            source.traverse((LongYield) Specializer.newInstance(shape.entry, head));
+        }
+    }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        LongFused.Sink head = chain((LongFused.Sink) Specializer.newInstance(shape.terminalWhile, yield));
+        if(shape.loop != null) {
+            return ((Loop) Specializer.newInstance(shape.loop, source)).traverseWhile(head);
+        }
+        return source.traverseWhile((LongYieldWhile) Specializer.newInstance(shape.entryWhile, head));
+    }
+
+    @Override
+    public int characteristics() {
+        return fused.characteristics();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return fused.getExactSizeIfKnown();
+    }
+
+    /**
+     * Constructors of the hidden classes of a shape.
+     * Either loop or both entry and entryWhile are null.
+     */
+    private static class Shape {
+        final MethodHandle[] stages;
+        final MethodHandle terminal;
+        final MethodHandle terminalWhile;
+        final MethodHandle loop;
+        final MethodHandle entry;
+        final MethodHandle entryWhile;
+
+        Shape(byte[] kinds, boolean array) {
+            stages = new MethodHandle[kinds.length];
+            for (int i = 0; i < kinds.length; i++) {
+                switch (kinds[i]) {
+                    case LongFused.MAP:
+                        stages[i] = Specializer.define(lookup, LongFused.MapSink.class, LongUnaryOperator.class, LongFused.Sink.class);
+                        break;
+                    case LongFused.FILTER:
+                        stages[i] = Specializer.define(lookup, LongFused.FilterSink.class, LongPredicate.class, LongFused.Sink.class);
+                        break;
+                    default:
+                        stages[i] = Specializer.define(lookup, LongFused.PeekSink.class, LongConsumer.class, LongFused.Sink.class);
+                }
+            }
+            terminal = Specializer.define(lookup, LongFused.Terminal.class, LongYield.class);
+            terminalWhile = Specializer.define(lookup, LongFused.TerminalWhile.class, LongYieldWhile.class);
+            loop = array ? Specializer.define(lookup, ArrayLoop.class, FromLongArray.class) : null;
+            entry = array ? null : Specializer.define(lookup, LongFused.Entry.class, LongFused.Sink.class);
+            entryWhile = array ? null : Specializer.define(lookup, LongFused.EntryWhile.class, LongFused.Sink.class);
+        }
+    }
+
+    abstract static class Loop {
+        abstract void traverse(LongFused.Sink head);
+
+        abstract boolean traverseWhile(LongFused.Sink head);
+    }
+
+    /**
+     * Loop over the remaining elements of an array, like FromLongArray.
+     */
+    static class ArrayLoop extends Loop {
+        private final FromLongArray src;
+
+        ArrayLoop(FromLongArray src) {
+            this.src = src;
+        }
+
+        @Override
+        void traverse(LongFused.Sink head) {
+            long[] data = src.data;
+            for (int i = src.current, end = src.end; i < end; i++) {
+                head.push(data[i]);
+            }
+        }
+
+        @Override
+        boolean traverseWhile(LongFused.Sink head) {
+            long[] data = src.data;
+            for (int i = src.current, end = src.end; i < end; i++) {
+                if(!head.push(data[i])) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 public class LongConcat implements LongAdvancer, LongTraverser {
     private final LongQuery first;
@@ -24,4 +25,21 @@ public class LongConcat implements LongAdvancer, LongTraverser {
     public boolean tryAdvance(LongYield yield) {
         return first.tryAdvance(yield) || second.tryAdvance(yield);
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        return first.traverseWhile(yield) && second.traverseWhile(yield);
+    }
+
+    @Override
+    public int characteristics() {
+        return first.characteristics() & second.characteristics() & (ORDERED | SIZED | NONNULL);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = first.getExactSizeIfKnown();
+        long otherSize = second.getExactSizeIfKnown();
+        return size < 0 || otherSize < 0 ? -1 : size + otherSize;
+    }
 }
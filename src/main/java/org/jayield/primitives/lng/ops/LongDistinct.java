@@ -17,15 +17,15 @@
 package org.jayield.primitives.lng.ops;
 
 import org.jayield.boxes.BoolBox;
+import org.jayield.collections.LongHashSet;
 import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
-
-import java.util.HashSet;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 public class LongDistinct implements LongAdvancer, LongTraverser {
-    final HashSet<Long> mem = new HashSet<>();
+    final LongHashSet mem = new LongHashSet();
     private final LongQuery upstream;
 
     public LongDistinct(LongQuery adv) {
@@ -52,4 +52,14 @@ public class LongDistinct implements LongAdvancer, LongTraverser {
         }));
         return found.isTrue();
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        return upstream.traverseWhile(item -> !mem.add(item) || yield.ret(item));
+    }
+
+    @Override
+    public int characteristics() {
+        return (upstream.characteristics() & ~SIZED) | DISTINCT;
+    }
 }
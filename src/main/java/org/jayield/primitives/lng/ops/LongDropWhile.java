@@ -4,6 +4,7 @@ import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 import java.util.function.LongPredicate;
 
@@ -51,4 +52,19 @@ public class LongDropWhile implements LongAdvancer, LongTraverser {
                 }
             });
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        return upstream.traverseWhile(item -> {
+            if (!dropped && !predicate.test(item)) {
+                dropped = true;
+            }
+            return !dropped || yield.ret(item);
+        });
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
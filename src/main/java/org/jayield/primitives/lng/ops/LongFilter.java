@@ -18,15 +18,17 @@ package org.jayield.primitives.lng.ops;
 
 import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.lng.LongAdvancer;
+import org.jayield.primitives.lng.LongChunkYield;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 import java.util.function.LongPredicate;
 
 public class LongFilter implements LongAdvancer, LongTraverser {
-    private final LongQuery upstream;
-    private final LongPredicate p;
+    final LongQuery upstream;
+    final LongPredicate p;
 
     public LongFilter(LongQuery adv, LongPredicate p) {
         this.upstream = adv;
@@ -42,6 +44,34 @@ public class LongFilter implements LongAdvancer, LongTraverser {
         });
     }
 
+    /**
+     * Copies the matching elements of each chunk into a buffer,
+     * which is yielded whenever it is full and at the end of the chunk.
+     */
+    @Override
+    public void traverseChunks(LongChunkYield yield) {
+        long[] out = new long[LongChunkYield.SIZE];
+        upstream.traverseChunks((buf, from, to) -> {
+            int n = 0;
+            for (int i = from; i < to; i++) {
+                long item = buf[i];
+                if(p.test(item)) {
+                    out[n++] = item;
+                    if(n == out.length) {
+                        yield.ret(out, 0, n);
+                        n = 0;
+                    }
+                }
+            }
+            if(n > 0) yield.ret(out, 0, n);
+        });
+    }
+
+    @Override
+    public boolean isChunked() {
+        return upstream.isChunked();
+    }
+
     @Override
     public boolean tryAdvance(LongYield yield) {
         BoolBox found = new BoolBox();
@@ -56,4 +86,14 @@ public class LongFilter implements LongAdvancer, LongTraverser {
         }
         return found.isTrue();
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        return upstream.traverseWhile(e -> !p.test(e) || yield.ret(e));
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
@@ -20,6 +20,7 @@ import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 import java.util.function.LongFunction;
 
@@ -36,16 +37,36 @@ public class LongFlatMap implements LongAdvancer, LongTraverser {
 
     @Override
     public void traverse(LongYield yield) {
-        upstream.traverse(elem -> mapper.apply(elem).traverse(yield));
-
+        upstream.traverse(elem -> {
+            try (LongQuery inner = mapper.apply(elem)) {
+                inner.traverse(yield);
+            }
+        });
     }
 
     @Override
     public boolean tryAdvance(LongYield yield) {
         while (!src.tryAdvance(yield)) {
+            src.close();
             if(!upstream.tryAdvance(t -> src = mapper.apply(t)))
                 return false;
         }
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        return upstream.traverseWhile(elem -> {
+            try (LongQuery inner = mapper.apply(elem)) {
+                return inner.traverseWhile(yield);
+            }
+        });
+    }
+
+    /**
+     * Closes the inner query that tryAdvance() is taking elements from.
+     */
+    public void close() {
+        src.close();
+    }
 }
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.lng.ops;
+
+import org.jayield.primitives.lng.LongAdvancer;
+import org.jayield.primitives.lng.LongChunkYield;
+import org.jayield.primitives.lng.LongQuery;
+import org.jayield.primitives.lng.LongTraverser;
+import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A chain of adjacent map, filter and peek stages of long values collapsed
+ * into a single stage, running each element through a chain of sinks.
+ */
+public class LongFused implements LongAdvancer, LongTraverser {
+    static final byte MAP = 0;
+    static final byte FILTER = 1;
+    static final byte PEEK = 2;
+
+    final LongQuery upstream;
+    final byte[] kinds;
+    final Object[] stages;
+    /**
+     * Last sink and head of the chain reused by tryAdvance().
+     */
+    private Last last;
+    private LongYield advancer;
+
+    private LongFused(LongQuery upstream, byte[] kinds, Object[] stages) {
+        this.upstream = upstream;
+        this.kinds = kinds;
+        this.stages = stages;
+    }
+
+    /**
+     * Returns the fusion of the stage given by adv and trav with the mapper,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static LongFused map(LongAdvancer adv, LongTraverser trav, LongUnaryOperator mapper) {
+        return fuse(adv, trav, MAP, mapper);
+    }
+
+    /**
+     * Returns the fusion of the stage given by adv and trav with the predicate,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static LongFused filter(LongAdvancer adv, LongTraverser trav, LongPredicate p) {
+        return fuse(adv, trav, FILTER, p);
+    }
+
+    /**
+     * Returns the fusion of the stage given by adv and trav with the action,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static LongFused peek(LongAdvancer adv, LongTraverser trav, LongConsumer action) {
+        return fuse(adv, trav, PEEK, action);
+    }
+
+    private static LongFused fuse(LongAdvancer adv, LongTraverser trav, byte kind, Object stage) {
+        LongFused prev = of(adv, trav);
+        if(prev == null) return null;
+        byte[] kinds = Arrays.copyOf(prev.kinds, prev.kinds.length + 1);
+        Object[] stages = Arrays.copyOf(prev.stages, prev.stages.length + 1);
+        kinds[kinds.length - 1] = kind;
+        stages[stages.length - 1] = stage;
+        return new LongFused(prev.upstream, kinds, stages);
+    }
+
+    /**
+     * Returns the stage given by adv and trav as a chain of fused stages,
+     * or null if that stage is not a map, filter or peek.
+     */
+    public static LongFused of(LongAdvancer adv, LongTraverser trav) {
+        if(adv != trav) return null;
+        if(trav instanceof LongFused) {
+            return (LongFused) trav;
+        }
+        if(trav instanceof LongMap) {
+            LongMap prev = (LongMap) trav;
+            return new LongFused(prev.upstream, new byte[] {MAP}, new Object[] {prev.mapper});
+        }
+        if(trav instanceof LongFilter) {
+            LongFilter prev = (LongFilter) trav;
+            return new LongFused(prev.upstream, new byte[] {FILTER}, new Object[] {prev.p});
+        }
+        if(trav instanceof LongPeek) {
+            LongPeek prev = (LongPeek) trav;
+            return new LongFused(prev.upstream, new byte[] {PEEK}, new Object[] {prev.action});
+        }
+        return null;
+    }
+
+    public LongQuery upstream() {
+        return upstream;
+    }
+
+    /**
+     * Builds the chain of sinks performing each stage, followed by last.
+     */
+    private Sink chain(Sink last) {
+        Sink sink = last;
+        for (int i = kinds.length - 1; i >= 0; i--) {
+            switch (kinds[i]) {
+                case MAP:
+                    sink = new MapSink((LongUnaryOperator) stages[i], sink);
+                    break;
+                case FILTER:
+                    sink = new FilterSink((LongPredicate) stages[i], sink);
+                    break;
+                default:
+                    sink = new PeekSink((LongConsumer) stages[i], sink);
+            }
+        }
+        return sink;
+    }
+
+    @Override
+    public void traverse(LongYield yield) {
+        Sink head = chain(new Terminal(yield));
+        upstream.traverse(new Entry(head));
+    }
+
+    /**
+     * Runs each element of the chunks of the upstream through the chain of
+     * sinks, whose last one collects the remaining elements into chunks.
+     */
+    @Override
+    public void traverseChunks(LongChunkYield yield) {
+        Chunker last = new Chunker(yield);
+        Sink head = chain(last);
+        upstream.traverseChunks((buf, from, to) -> {
+            for (int i = from; i < to; i++) {
+                head.push(buf[i]);
+            }
+        });
+        last.flush();
+    }
+
+    @Override
+    public boolean isChunked() {
+        return upstream.isChunked();
+    }
+
+    /**
+     * Reuses the same chain of sinks on every call, which only
+     * replaces the yield of its last sink.
+     */
+    @Override
+    public boolean tryAdvance(LongYield yield) {
+        if(last == null) {
+            last = new Last(yield);
+            advancer = chain(last)::push;
+        }
+        last.yield = yield;
+        last.found = false;
+        while(!last.found && upstream.tryAdvance(advancer)) {
+            // Intentionally empty. Items discarded by a filter do not reach the last sink.
+        }
+        return last.found;
+    }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        Sink head = chain(new TerminalWhile(yield));
+        return upstream.traverseWhile(new EntryWhile(head));
+    }
+
+    /**
+     * A stage receiving each item from the previous one.
+     * Its subclasses are also the templates copied by LongCompiled.
+     */
+    abstract static class Sink {
+        final Sink next;
+
+        Sink(Sink next) {
+            this.next = next;
+        }
+
+        /**
+         * @return false if downstream stopped the traversal.
+         */
+        abstract boolean push(long item);
+    }
+
+    private class Last extends Sink {
+        private LongYield yield;
+        private boolean found;
+
+        Last(LongYield yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(long item) {
+            found = true;
+            yield.ret(item);
+            return true;
+        }
+    }
+
+    /**
+     * Last sink of traverseChunks(), yielding its buffer whenever it is full.
+     */
+    static class Chunker extends Sink {
+        private final LongChunkYield yield;
+        private final long[] buf = new long[LongChunkYield.SIZE];
+        private int n = 0;
+
+        Chunker(LongChunkYield yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(long item) {
+            buf[n++] = item;
+            if(n == buf.length) {
+                yield.ret(buf, 0, n);
+                n = 0;
+            }
+            return true;
+        }
+
+        void flush() {
+            if(n > 0) yield.ret(buf, 0, n);
+            n = 0;
+        }
+    }
+
+    static class Terminal extends Sink {
+        private final LongYield yield;
+
+        Terminal(LongYield yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(long item) {
+            yield.ret(item);
+            return true;
+        }
+    }
+
+    static class TerminalWhile extends Sink {
+        private final LongYieldWhile yield;
+
+        TerminalWhile(LongYieldWhile yield) {
+            super(null);
+            this.yield = yield;
+        }
+
+        @Override
+        boolean push(long item) {
+            return yield.ret(item);
+        }
+    }
+
+    /**
+     * Yield passing the items of the upstream to the head of the chain.
+     */
+    static class Entry implements LongYield {
+        private final Sink head;
+
+        Entry(Sink head) {
+            this.head = head;
+        }
+
+        @Override
+        public void ret(long item) {
+            head.push(item);
+        }
+    }
+
+    static class EntryWhile implements LongYieldWhile {
+        private final Sink head;
+
+        EntryWhile(Sink head) {
+            this.head = head;
+        }
+
+        @Override
+        public boolean ret(long item) {
+            return head.push(item);
+        }
+    }
+
+    static class MapSink extends Sink {
+        private final LongUnaryOperator mapper;
+
+        MapSink(LongUnaryOperator mapper, Sink next) {
+            super(next);
+            this.mapper = mapper;
+        }
+
+        @Override
+        boolean push(long item) {
+            return next.push(mapper.applyAsLong(item));
+        }
+    }
+
+    static class FilterSink extends Sink {
+        private final LongPredicate p;
+
+        FilterSink(LongPredicate p, Sink next) {
+            super(next);
+            this.p = p;
+        }
+
+        @Override
+        boolean push(long item) {
+            return !p.test(item) || next.push(item);
+        }
+    }
+
+    static class PeekSink extends Sink {
+        private final LongConsumer action;
+
+        PeekSink(LongConsumer action, Sink next) {
+            super(next);
+            this.action = action;
+        }
+
+        @Override
+        boolean push(long item) {
+            action.accept(item);
+            return next.push(item);
+        }
+    }
+
+    @Override
+    public int characteristics() {
+        int flags = upstream.characteristics();
+        for (byte kind : kinds) {
+            flags &= kind == MAP ? ORDERED | SIZED | NONNULL : ~SIZED;
+        }
+        return flags;
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return upstream.getExactSizeIfKnown();
+    }
+}
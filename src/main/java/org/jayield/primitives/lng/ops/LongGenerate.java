@@ -19,6 +19,7 @@ package org.jayield.primitives.lng.ops;
 import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 import java.util.function.LongSupplier;
 
@@ -42,4 +43,12 @@ public class LongGenerate implements LongAdvancer, LongTraverser {
         yield.ret(s.getAsLong());
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        while(yield.ret(s.getAsLong())) {
+            // Intentionally empty. Infinite sequence only stops by yield.
+        }
+        return false;
+    }
 }
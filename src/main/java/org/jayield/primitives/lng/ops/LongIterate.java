@@ -19,6 +19,7 @@ package org.jayield.primitives.lng.ops;
 import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 import java.util.function.LongUnaryOperator;
 
@@ -51,4 +52,16 @@ public class LongIterate implements LongAdvancer, LongTraverser {
         yield.ret(curr);
         return true;
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        for (long i = prev; true; i = f.applyAsLong(i)) {
+            if(!yield.ret(i)) return false;
+        }
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
 }
@@ -16,10 +16,12 @@
 
 package org.jayield.primitives.lng.ops;
 
+import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 public class LongLimit implements LongAdvancer, LongTraverser {
     private final LongQuery upstream;
@@ -36,9 +38,11 @@ public class LongLimit implements LongAdvancer, LongTraverser {
     public void traverse(LongYield yield) {
         if(count >= n)
             throw new IllegalStateException("Traverser has already been operated on or closed!");
-        while(this.tryAdvance(yield)) {
-            // Intentionally empty. Action specified on yield statement of tryAdvance().
-        }
+        upstream.traverseWhile(item -> {
+            count++;
+            yield.ret(item);
+            return count < n;
+        });
     }
 
     @Override
@@ -47,4 +51,27 @@ public class LongLimit implements LongAdvancer, LongTraverser {
         count++;
         return upstream.tryAdvance(yield);
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        if(count >= n) return true;
+        BoolBox cont = new BoolBox(true);
+        upstream.traverseWhile(item -> {
+            count++;
+            cont.set(yield.ret(item));
+            return cont.isTrue() && count < n;
+        });
+        return cont.isTrue();
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = upstream.getExactSizeIfKnown();
+        return size < 0 ? -1 : Math.min(size, Math.max(0, n - count));
+    }
 }
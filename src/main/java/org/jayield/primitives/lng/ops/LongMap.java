@@ -17,16 +17,18 @@
 package org.jayield.primitives.lng.ops;
 
 import org.jayield.primitives.lng.LongAdvancer;
+import org.jayield.primitives.lng.LongChunkYield;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 import java.util.function.LongUnaryOperator;
 
 public class LongMap implements LongAdvancer, LongTraverser {
 
-    private final LongQuery upstream;
-    private final LongUnaryOperator mapper;
+    final LongQuery upstream;
+    final LongUnaryOperator mapper;
 
     public LongMap(LongQuery adv, LongUnaryOperator mapper) {
         this.upstream = adv;
@@ -38,8 +40,42 @@ public class LongMap implements LongAdvancer, LongTraverser {
         upstream.traverse(e -> yield.ret(mapper.applyAsLong(e)));
     }
 
+    @Override
+    public void traverseChunks(LongChunkYield yield) {
+        long[] out = new long[LongChunkYield.SIZE];
+        upstream.traverseChunks((buf, from, to) -> {
+            for (int i = from; i < to; i += out.length) {
+                int n = Math.min(out.length, to - i);
+                for (int k = 0; k < n; k++) {
+                    out[k] = mapper.applyAsLong(buf[i + k]);
+                }
+                yield.ret(out, 0, n);
+            }
+        });
+    }
+
+    @Override
+    public boolean isChunked() {
+        return upstream.isChunked();
+    }
+
     @Override
     public boolean tryAdvance(LongYield yield) {
         return upstream.tryAdvance(item -> yield.ret(mapper.applyAsLong(item)));
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        return upstream.traverseWhile(e -> yield.ret(mapper.applyAsLong(e)));
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & (ORDERED | SIZED | NONNULL);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return upstream.getExactSizeIfKnown();
+    }
 }
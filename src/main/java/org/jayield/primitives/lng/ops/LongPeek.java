@@ -20,12 +20,13 @@ import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 import java.util.function.LongConsumer;
 
 public class LongPeek implements LongAdvancer, LongTraverser {
-    private final LongQuery upstream;
-    private final LongConsumer action;
+    final LongQuery upstream;
+    final LongConsumer action;
 
     public LongPeek(LongQuery adv, LongConsumer action) {
         this.upstream = adv;
@@ -47,4 +48,20 @@ public class LongPeek implements LongAdvancer, LongTraverser {
             yield.ret(item);
         });
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        return upstream.traverseWhile(item -> {
+            action.accept(item);
+            return yield.ret(item);
+        });
+    }
+
+    /**
+     * Not SIZED, so that count() still performs the action on each element.
+     */
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
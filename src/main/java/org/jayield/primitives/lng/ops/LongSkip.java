@@ -20,6 +20,7 @@ import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 public class LongSkip implements LongAdvancer, LongTraverser {
     private final LongQuery upstream;
@@ -53,4 +54,26 @@ public class LongSkip implements LongAdvancer, LongTraverser {
             upstream.tryAdvance(item -> {});
         return upstream.tryAdvance(yield);
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        return upstream.traverseWhile(item -> {
+            if(index < n) {
+                index++;
+                return true;
+            }
+            return yield.ret(item);
+        });
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics();
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = upstream.getExactSizeIfKnown();
+        return size < 0 ? -1 : Math.max(0, size - Math.max(0, n - index));
+    }
 }
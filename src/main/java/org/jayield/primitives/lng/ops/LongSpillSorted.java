@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.lng.ops;
+
+import org.jayield.SpillConfig;
+import org.jayield.primitives.MappedFile;
+import org.jayield.primitives.lng.LongAdvancer;
+import org.jayield.primitives.lng.LongQuery;
+import org.jayield.primitives.lng.LongTraverser;
+import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * External sort of the upstream on first use, which keeps no more than
+ * maxInMemory elements of the {@link SpillConfig} in memory.
+ * Each full batch is sorted and written into a temporary file, a run, of
+ * raw values in native byte order, which is read back through a {@link MappedFile}.
+ * Then, tryAdvance() lazily merges the runs and the last batch, yielding
+ * the lowest head among them.
+ * Each run is deleted once merged, and all of them on close().
+ */
+public class LongSpillSorted implements LongAdvancer, LongTraverser {
+    /**
+     * Maximum number of runs merged at once. Beyond that, consecutive
+     * runs are first merged into larger runs.
+     */
+    static final int MAX_FAN_IN = 64;
+    static final int IO_BUFFER = 1 << 16;
+    /**
+     * Size in bytes of the region of each run mapped at a time.
+     */
+    static final int REGION = 1 << 20;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final LongQuery upstream;
+    private final SpillConfig<?> config;
+    private final List<Path> files = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+    private long[] buffer;
+    private int size;
+    private int flags;
+    private long remaining;
+    private PriorityQueue<Cursor> merge;
+
+    public LongSpillSorted(LongQuery upstream, SpillConfig<?> config) {
+        this.upstream = upstream;
+        this.config = config;
+    }
+
+    /**
+     * Returns the lowest n elements of the upstream when they fit in memory,
+     * or null if they do not or this source has already been operated on.
+     */
+    public LongTopK limit(int n) {
+        return merge == null && n <= config.maxInMemory() ? new LongTopK(upstream, n) : null;
+    }
+
+    private PriorityQueue<Cursor> merge() {
+        if(merge != null) return merge;
+        flags = ORDERED | SORTED | SIZED | NONNULL | (upstream.characteristics() & DISTINCT);
+        buffer = new long[Math.min(config.maxInMemory(), INITIAL_CAPACITY)];
+        try {
+            upstream.forEach(this::add);
+            Arrays.sort(buffer, 0, size);
+            List<Path> sorted = runs;
+            while(sorted.size() >= MAX_FAN_IN) {
+                sorted = mergeRuns(sorted);
+            }
+            merge = open(sorted);
+            Cursor last = new ArrayCursor();
+            if(last.advance()) merge.add(last);
+        } catch (RuntimeException | Error e) {
+            close();
+            throw e;
+        }
+        return merge;
+    }
+
+    private void add(long item) {
+        if(size == buffer.length) {
+            if(size == config.maxInMemory()) {
+                Arrays.sort(buffer, 0, size);
+                runs.add(spill());
+                size = 0;
+            } else {
+                buffer = Arrays.copyOf(buffer, (int) Math.min((long) size << 1, config.maxInMemory()));
+            }
+        }
+        buffer[size++] = item;
+        remaining++;
+    }
+
+    private Path spill() {
+        Path run = newRun();
+        try(RunWriter out = new RunWriter(run)) {
+            out.write(buffer, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return run;
+    }
+
+    /**
+     * Merges each group of MAX_FAN_IN consecutive runs into a single run.
+     */
+    private List<Path> mergeRuns(List<Path> from) {
+        List<Path> res = new ArrayList<>();
+        for (int i = 0; i < from.size(); i += MAX_FAN_IN) {
+            List<Path> group = from.subList(i, Math.min(i + MAX_FAN_IN, from.size()));
+            if(group.size() == 1) {
+                res.add(group.get(0));
+                continue;
+            }
+            Path run = newRun();
+            PriorityQueue<Cursor> queue = open(group);
+            try(RunWriter out = new RunWriter(run)) {
+                Cursor c;
+                while((c = queue.poll()) != null) {
+                    out.write(c.head);
+                    if(c.advance()) queue.add(c);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                queue.forEach(Cursor::close);
+            }
+            res.add(run);
+        }
+        return res;
+    }
+
+    private PriorityQueue<Cursor> open(List<Path> from) {
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(from.size() + 1, (a, b) -> Long.compare(a.head, b.head));
+        try {
+            for (Path run : from) {
+                Cursor c = new FileCursor(run);
+                if(c.advance()) queue.add(c);
+            }
+        } catch (RuntimeException | Error e) {
+            queue.forEach(Cursor::close);
+            throw e;
+        }
+        return queue;
+    }
+
+    private Path newRun() {
+        try {
+            Path dir = config.directory();
+            Path file = dir == null
+                ? Files.createTempFile("jayield-", ".run")
+                : Files.createTempFile(dir, "jayield-", ".run");
+            files.add(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void delete(Path file) {
+        files.remove(file);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(LongYield yield) {
+        PriorityQueue<Cursor> queue = merge();
+        Cursor c = queue.poll();
+        if(c == null) return false;
+        long item = c.head;
+        if(c.advance()) queue.add(c);
+        remaining--;
+        yield.ret(item);
+        return true;
+    }
+
+    @Override
+    public void traverse(LongYield yield) {
+        while(tryAdvance(yield)) {
+            // Intentionally empty. Each call yields the next element.
+        }
+    }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        PriorityQueue<Cursor> queue = merge();
+        Cursor c;
+        while((c = queue.poll()) != null) {
+            long item = c.head;
+            if(c.advance()) queue.add(c);
+            remaining--;
+            if(!yield.ret(item)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Closes the runs being merged and deletes every run left.
+     */
+    public void close() {
+        if(merge != null) {
+            merge.forEach(Cursor::close);
+            merge.clear();
+        }
+        buffer = null;
+        new ArrayList<>(files).forEach(this::delete);
+    }
+
+    @Override
+    public int characteristics() {
+        return merge != null
+            ? flags
+            : ORDERED | SORTED | NONNULL | (upstream.characteristics() & (SIZED | DISTINCT));
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        return merge != null ? remaining : upstream.getExactSizeIfKnown();
+    }
+
+    /**
+     * Writes raw values into a run through a buffer of IO_BUFFER bytes.
+     */
+    private static class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer bytes = ByteBuffer.allocate(IO_BUFFER).order(ByteOrder.nativeOrder());
+        private final LongBuffer values = bytes.asLongBuffer();
+
+        RunWriter(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.WRITE);
+        }
+
+        void write(long item) throws IOException {
+            if(!values.hasRemaining()) flush();
+            values.put(item);
+        }
+
+        void write(long[] data, int to) throws IOException {
+            for (int from = 0; from < to; ) {
+                if(!values.hasRemaining()) flush();
+                int n = Math.min(values.remaining(), to - from);
+                values.put(data, from, n);
+                from += n;
+            }
+        }
+
+        private void flush() throws IOException {
+            bytes.clear().limit(values.position() * Long.BYTES);
+            while(bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            values.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private abstract static class Cursor {
+        long head;
+
+        /**
+         * Moves head to the next element, or returns false if there is none.
+         */
+        abstract boolean advance();
+
+        void close() {
+        }
+    }
+
+    private class FileCursor extends Cursor {
+        private final Path run;
+        private final MappedFile file;
+        private LongBuffer region;
+
+        FileCursor(Path run) {
+            this.run = run;
+            this.file = new MappedFile(run, Long.BYTES, REGION);
+        }
+
+        @Override
+        boolean advance() {
+            while(region == null || !region.hasRemaining()) {
+                ByteBuffer next = file.next(ByteOrder.nativeOrder());
+                if(next == null) {
+                    close();
+                    return false;
+                }
+                region = next.asLongBuffer();
+            }
+            head = region.get();
+            return true;
+        }
+
+        @Override
+        void close() {
+            region = null;
+            try {
+                file.close();
+            } finally {
+                delete(run);
+            }
+        }
+    }
+
+    private class ArrayCursor extends Cursor {
+        private int pos;
+
+        @Override
+        boolean advance() {
+            if(pos == size) return false;
+            head = buffer[pos++];
+            return true;
+        }
+    }
+}
@@ -16,11 +16,12 @@
 
 package org.jayield.primitives.lng.ops;
 
-import org.jayield.Yield;
+import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 import java.util.function.LongPredicate;
 
@@ -37,11 +38,10 @@ public class LongTakeWhile implements LongAdvancer, LongTraverser {
 
     @Override
     public void traverse(LongYield yield) {
-        upstream.shortCircuit(item -> {
-            if (!predicate.test(item)) {
-                Yield.bye();
-            }
+        upstream.traverseWhile(item -> {
+            if(!predicate.test(item)) return false;
             yield.ret(item);
+            return true;
         });
     }
 
@@ -57,4 +57,20 @@ public class LongTakeWhile implements LongAdvancer, LongTraverser {
         };
         return upstream.tryAdvance(takeWhile) && hasNext;
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        BoolBox cont = new BoolBox(true);
+        upstream.traverseWhile(item -> {
+            if(!predicate.test(item)) return false;
+            cont.set(yield.ret(item));
+            return cont.isTrue();
+        });
+        return cont.isTrue();
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & ~SIZED;
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.lng.ops;
+
+import org.jayield.collections.LongBoundedHeap;
+import org.jayield.primitives.lng.LongAdvancer;
+import org.jayield.primitives.lng.LongQuery;
+import org.jayield.primitives.lng.LongTraverser;
+import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
+
+/**
+ * The k lowest elements of the upstream in ascending order, which are the
+ * same as sorted().limit(k), collected on first use in an
+ * {@link LongBoundedHeap} with O(n log k) time and O(k) memory.
+ */
+public class LongTopK implements LongAdvancer, LongTraverser {
+    private final LongQuery upstream;
+    private final int k;
+    private FromLongArray top;
+
+    public LongTopK(LongQuery upstream, int k) {
+        this.upstream = upstream;
+        this.k = Math.max(0, k);
+    }
+
+    /**
+     * Returns the lowest min(k, n) elements of the upstream, or null
+     * if this source has already been operated on.
+     */
+    public LongTopK limit(int n) {
+        return top == null ? new LongTopK(upstream, Math.min(k, n)) : null;
+    }
+
+    private FromLongArray top() {
+        if(top == null) {
+            int flags = upstream.characteristics();
+            LongBoundedHeap heap = new LongBoundedHeap(k);
+            upstream.forEach(heap::add);
+            long[] state = heap.toSortedArray();
+            top = new FromLongArray(state, 0, state.length, ORDERED | SORTED | (flags & DISTINCT));
+        }
+        return top;
+    }
+
+    @Override
+    public boolean tryAdvance(LongYield yield) {
+        return top().tryAdvance(yield);
+    }
+
+    @Override
+    public void traverse(LongYield yield) {
+        top().traverse(yield);
+    }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        return top().traverseWhile(yield);
+    }
+
+    @Override
+    public int characteristics() {
+        return top != null
+            ? top.characteristics()
+            : ORDERED | SORTED | NONNULL | (upstream.characteristics() & (SIZED | DISTINCT));
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        if(top != null) return top.getExactSizeIfKnown();
+        long size = upstream.getExactSizeIfKnown();
+        return size < 0 ? -1 : Math.min(size, k);
+    }
+}
@@ -16,12 +16,12 @@
 
 package org.jayield.primitives.lng.ops;
 
-import org.jayield.Yield;
 import org.jayield.boxes.BoolBox;
 import org.jayield.primitives.lng.LongAdvancer;
 import org.jayield.primitives.lng.LongQuery;
 import org.jayield.primitives.lng.LongTraverser;
 import org.jayield.primitives.lng.LongYield;
+import org.jayield.primitives.lng.LongYieldWhile;
 
 import java.util.function.LongBinaryOperator;
 
@@ -38,10 +38,7 @@ public class LongZip implements LongAdvancer, LongTraverser {
 
     @Override
     public void traverse(LongYield yield) {
-        upstream.shortCircuit(e1 -> {
-            if(!other.tryAdvance(e2 -> yield.ret(zipper.applyAsLong(e1, e2))))
-                Yield.bye();
-        });
+        upstream.traverseWhile(e1 -> other.tryAdvance(e2 -> yield.ret(zipper.applyAsLong(e1, e2))));
     }
 
     @Override
@@ -53,4 +50,23 @@ public class LongZip implements LongAdvancer, LongTraverser {
         }));
         return consumed.isTrue();
     }
+
+    @Override
+    public boolean traverseWhile(LongYieldWhile yield) {
+        BoolBox cont = new BoolBox(true);
+        upstream.traverseWhile(e1 -> other.tryAdvance(e2 -> cont.set(yield.ret(zipper.applyAsLong(e1, e2)))) && cont.isTrue());
+        return cont.isTrue();
+    }
+
+    @Override
+    public int characteristics() {
+        return upstream.characteristics() & other.characteristics() & (ORDERED | SIZED | NONNULL);
+    }
+
+    @Override
+    public long getExactSizeIfKnown() {
+        long size = upstream.getExactSizeIfKnown();
+        long otherSize = other.getExactSizeIfKnown();
+        return size < 0 || otherSize < 0 ? -1 : Math.min(size, otherSize);
+    }
 }
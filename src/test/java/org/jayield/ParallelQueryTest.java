@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.jayield.Query.fromList;
+import static org.jayield.Query.iterate;
+import static org.jayield.Query.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate the parallel execution of a query
+ * and the merge of partial results in encounter order.
+ */
+public class ParallelQueryTest {
+
+    private static final int SIZE = 100_000;
+
+    private static Integer[] numbers() {
+        return IntStream.range(0, SIZE).boxed().toArray(Integer[]::new);
+    }
+
+    private static List<Integer> numbersList() {
+        return IntStream.range(0, SIZE).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    public void testParallelToListKeepsEncounterOrder() {
+        List<String> expected = IntStream.range(0, SIZE)
+            .filter(n -> n % 3 == 0)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.toList());
+        List<String> actual = of(numbers())
+            .parallel()
+            .filter(n -> n % 3 == 0)
+            .map(String::valueOf)
+            .toList();
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void testParallelFromListFlatMap() {
+        List<Integer> expected = IntStream.range(0, SIZE)
+            .flatMap(n -> IntStream.of(n, -n))
+            .boxed()
+            .collect(Collectors.toList());
+        List<Integer> actual = fromList(numbersList())
+            .parallel()
+            .flatMap(n -> of(n, -n))
+            .toList();
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void testParallelRunsOnSeveralThreads() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        long count = of(numbers())
+            .parallel(pool)
+            .peek(n -> threads.add(Thread.currentThread().getName()))
+            .count();
+        pool.shutdown();
+        assertEquals(count, SIZE);
+        assertTrue(threads.size() > 1);
+    }
+
+    @Test
+    public void testParallelReduce() {
+        long expected = IntStream.range(0, SIZE).asLongStream().sum();
+        long actual = of(numbers())
+            .parallel()
+            .map(Integer::longValue)
+            .reduce(0L, Long::sum);
+        assertEquals(actual, expected);
+        Optional<Integer> max = of(numbers()).parallel().reduce(Math::max);
+        assertEquals(max.get().intValue(), SIZE - 1);
+        assertFalse(of().parallel().reduce((a, b) -> a).isPresent());
+    }
+
+    @Test
+    public void testParallelCollect() {
+        String expected = IntStream.range(0, 1000)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.joining());
+        String actual = of(numbers())
+            .limit(1000)
+            .parallel()
+            .collect(StringBuilder::new, StringBuilder::append, StringBuilder::append)
+            .toString();
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void testParallelCollectorCombinesInEncounterOrder() {
+        AtomicInteger containers = new AtomicInteger();
+        Collector<Integer, List<Integer>, List<Integer>> toList = Collector.of(
+            () -> {
+                containers.incrementAndGet();
+                return new ArrayList<>();
+            },
+            List::add,
+            (left, right) -> {
+                left.addAll(right);
+                return left;
+            });
+        List<Integer> actual = of(numbers()).parallel(new ForkJoinPool(4)).collect(toList);
+        assertEquals(actual, numbersList());
+        assertTrue(containers.get() > 1);
+        Map<Boolean, Long> evens = of(numbers())
+            .parallel()
+            .collect(Collectors.partitioningBy(n -> n % 2 == 0, Collectors.counting()));
+        assertEquals(evens.get(true).longValue(), SIZE / 2);
+        assertEquals(evens.get(false).longValue(), SIZE / 2);
+    }
+
+    @Test
+    public void testParallelConcurrentCollectorSharesContainer() {
+        AtomicInteger containers = new AtomicInteger();
+        Collector<Integer, Set<Integer>, Set<Integer>> toSet = Collector.of(
+            () -> {
+                containers.incrementAndGet();
+                return ConcurrentHashMap.newKeySet();
+            },
+            Set::add,
+            (left, right) -> {
+                throw new AssertionError("Concurrent collectors are not combined");
+            },
+            Collector.Characteristics.CONCURRENT,
+            Collector.Characteristics.UNORDERED,
+            Collector.Characteristics.IDENTITY_FINISH);
+        Set<Integer> actual = of(numbers()).parallel(new ForkJoinPool(4)).collect(toSet);
+        assertEquals(actual.size(), SIZE);
+        assertEquals(containers.get(), 1);
+        Map<Integer, List<Integer>> byLastDigit = of(numbers())
+            .parallel()
+            .collect(Collectors.groupingByConcurrent(n -> n % 10));
+        assertEquals(byLastDigit.size(), 10);
+        assertEquals(byLastDigit.get(7).size(), SIZE / 10);
+    }
+
+    @Test
+    public void testParallelMatch() {
+        assertTrue(of(numbers()).parallel().anyMatch(n -> n == SIZE / 2));
+        assertFalse(of(numbers()).parallel().anyMatch(n -> n < 0));
+        assertTrue(of(numbers()).parallel().allMatch(n -> n >= 0));
+        assertFalse(of(numbers()).parallel().allMatch(n -> n < SIZE - 1));
+        assertTrue(of(numbers()).parallel().noneMatch(n -> n >= SIZE));
+    }
+
+    @Test
+    public void testParallelOfNonSplittableSource() {
+        List<Integer> expected = IntStream.range(0, SIZE).boxed().collect(Collectors.toList());
+        List<Integer> actual = iterate(0, n -> n + 1)
+            .limit(SIZE)
+            .parallel()
+            .toList();
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void testParallelOfFilteredSourceKeepsEncounterOrder() {
+        int size = 2_000_000;
+        List<Integer> expected = IntStream.range(0, size).filter(n -> n % 3 == 0).boxed().collect(Collectors.toList());
+        List<Integer> actual = iterate(0, n -> n + 1)
+            .limit(size)
+            .filter(n -> n % 3 == 0)
+            .parallel(new ForkJoinPool(4))
+            .toList();
+        assertEquals(actual, expected);
+        assertEquals(of(numbers()).filter(n -> n % 2 == 0).parallel().count(), SIZE / 2);
+    }
+
+    @Test
+    public void testParallelForEachAndSequential() {
+        AtomicInteger sum = new AtomicInteger();
+        of(numbers()).limit(100).parallel().forEach(sum::addAndGet);
+        assertEquals(sum.get(), 4950);
+        List<Integer> actual = new ArrayList<>();
+        of(numbers())
+            .parallel()
+            .map(n -> n * 2)
+            .sequential()
+            .limit(3)
+            .traverse(actual::add);
+        assertEquals(actual, List.of(0, 2, 4));
+    }
+}
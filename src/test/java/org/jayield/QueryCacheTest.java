@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Characteristics.ORDERED;
+import static org.jayield.Characteristics.SIZED;
+import static org.jayield.Query.iterate;
+import static org.jayield.Query.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate cache(), which pulls each element of the
+ * upstream once and replays them on every traversal.
+ */
+public class QueryCacheTest {
+
+    private static final int SIZE = 10_000;
+
+    @Test
+    public void testReplayPullsUpstreamOnce() {
+        AtomicInteger pulls = new AtomicInteger();
+        Query<Integer> cached = iterate(0, n -> n + 1).limit(SIZE).peek(n -> pulls.incrementAndGet()).cache();
+        List<Integer> first = cached.toList();
+        List<Integer> second = cached.toList();
+        assertEquals(first.size(), SIZE);
+        assertEquals(second, first);
+        assertEquals(cached.map(n -> n * 2).reduce(0, Integer::sum).intValue(), SIZE * (SIZE - 1));
+        assertEquals(pulls.get(), SIZE);
+    }
+
+    @Test
+    public void testCachePullsOnDemand() {
+        AtomicInteger pulls = new AtomicInteger();
+        Query<Integer> cached = iterate(0, n -> n + 1).peek(n -> pulls.incrementAndGet()).cache();
+        assertTrue(cached.anyMatch(n -> n == 0));
+        assertEquals(pulls.get(), 1);
+        assertEquals(cached.limit(5).toList(), asList(0, 1, 2, 3, 4));
+        assertEquals(pulls.get(), 5);
+        assertEquals(cached.skip(3).limit(4).toList(), asList(3, 4, 5, 6));
+        assertEquals(pulls.get(), 7);
+    }
+
+    @Test
+    public void testTryAdvanceAndReplays() {
+        Query<Integer> cached = of(1, 2, 3, 4).cache();
+        List<Integer> actual = new ArrayList<>();
+        assertTrue(cached.tryAdvance(actual::add));
+        assertEquals(actual, asList(1));
+        assertEquals(cached.toList(), asList(2, 3, 4));
+        assertEquals(cached.toList(), asList(2, 3, 4));
+        assertFalse(cached.traverseWhile(n -> n < 3));
+        Query<Integer> replay = cached.cache();
+        assertEquals(replay.toList(), asList(1, 2, 3, 4));
+        assertTrue(replay.tryAdvance(actual::add));
+        assertTrue(cached.tryAdvance(actual::add));
+        assertEquals(actual, asList(1, 1, 2));
+    }
+
+    @Test
+    public void testConcurrentReplays() throws InterruptedException, ExecutionException {
+        AtomicInteger pulls = new AtomicInteger();
+        Query<Integer> cached = iterate(0, n -> n + 1).limit(SIZE * 10).peek(n -> pulls.incrementAndGet()).cache();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<Integer>>> replays = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                replays.add(pool.submit(() -> cached.cache().toList()));
+            }
+            List<Integer> expected = iterate(0, n -> n + 1).limit(SIZE * 10).toList();
+            for (Future<List<Integer>> replay : replays) {
+                assertEquals(replay.get(), expected);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(pulls.get(), SIZE * 10);
+    }
+
+    @Test
+    public void testUpstreamClosedOnceDrained() {
+        List<String> closed = new ArrayList<>();
+        Query<Integer> cached = of(1, 2, 3).onClose(() -> closed.add("source")).cache();
+        assertTrue(cached.anyMatch(n -> n == 2));
+        assertEquals(closed, asList());
+        assertEquals(cached.toList(), asList(1, 2, 3));
+        assertEquals(closed, asList("source"));
+        assertEquals(cached.toList(), asList(1, 2, 3));
+        assertEquals(closed, asList("source"));
+    }
+
+    @Test
+    public void testUpstreamClosedExplicitly() {
+        List<String> closed = new ArrayList<>();
+        Query<Integer> cached;
+        try (Query<Integer> source = of(1, 2, 3).onClose(() -> closed.add("source"))) {
+            cached = source.cache();
+            assertEquals(cached.findFirst().get().intValue(), 1);
+            assertEquals(closed, asList());
+        }
+        assertEquals(closed, asList("source"));
+        assertEquals(cached.cache().findFirst().get().intValue(), 1);
+        assertEquals(closed, asList("source"));
+    }
+
+    @Test
+    public void testCharacteristics() {
+        Query<Integer> sized = of(1, 2, 3).cache();
+        assertEquals(sized.characteristics(), ORDERED | SIZED);
+        assertEquals(sized.getExactSizeIfKnown(), 3);
+        assertTrue(sized.tryAdvance(n -> { }));
+        assertEquals(sized.getExactSizeIfKnown(), 2);
+        Query<Integer> unsized = of(1, 2, 3).filter(n -> n > 1).cache();
+        assertEquals(unsized.characteristics() & SIZED, 0);
+        assertEquals(unsized.getExactSizeIfKnown(), -1);
+        assertEquals(unsized.count(), 2);
+        assertEquals(unsized.characteristics() & SIZED, SIZED);
+        assertEquals(unsized.getExactSizeIfKnown(), 2);
+    }
+}
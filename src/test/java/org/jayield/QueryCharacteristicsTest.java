@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.testng.annotations.Test;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Characteristics.DISTINCT;
+import static org.jayield.Characteristics.NONNULL;
+import static org.jayield.Characteristics.ORDERED;
+import static org.jayield.Characteristics.SIZED;
+import static org.jayield.Characteristics.SORTED;
+import static org.jayield.Query.fromList;
+import static org.jayield.Query.iterate;
+import static org.jayield.Query.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate the characteristics and the exact size
+ * reported by sources and propagated along the pipeline.
+ */
+public class QueryCharacteristicsTest {
+
+    @Test
+    public void testArraySourceIsSizedAndOrdered() {
+        Query<String> src = of("a", "b", "c", "d");
+        assertEquals(src.characteristics(), ORDERED | SIZED);
+        assertEquals(src.getExactSizeIfKnown(), 4);
+        src.tryAdvance(item -> { });
+        assertEquals(src.getExactSizeIfKnown(), 3);
+        assertEquals(src.count(), 3);
+    }
+
+    @Test
+    public void testArraySourceResumesAfterTraversals() {
+        Query<String> src = of("a", "b", "c", "d");
+        assertFalse(src.traverseWhile(item -> !item.equals("b")));
+        assertEquals(src.getExactSizeIfKnown(), 2);
+        List<String> actual = new ArrayList<>();
+        assertTrue(src.tryAdvance(actual::add));
+        assertEquals(actual, asList("c"));
+        src.traverse(actual::add);
+        assertEquals(actual, asList("c", "d"));
+        assertEquals(src.getExactSizeIfKnown(), 0);
+        assertFalse(src.tryAdvance(actual::add));
+    }
+
+    @Test
+    public void testListSourceIsSized() {
+        Query<String> src = fromList(new LinkedList<>(asList("a", "b", "c")));
+        assertTrue((src.characteristics() & (ORDERED | SIZED)) == (ORDERED | SIZED));
+        assertEquals(src.getExactSizeIfKnown(), 3);
+    }
+
+    @Test
+    public void testSizePropagation() {
+        assertEquals(of(1, 2, 3, 4, 5).map(n -> n * 2).getExactSizeIfKnown(), 5);
+        assertEquals(of(1, 2, 3, 4, 5).map(n -> n * 2).skip(2).getExactSizeIfKnown(), 3);
+        assertEquals(of(1, 2, 3, 4, 5).map(n -> n * 2).skip(7).getExactSizeIfKnown(), 0);
+        assertEquals(of(1, 2, 3, 4, 5).map(n -> n * 2).limit(2).getExactSizeIfKnown(), 2);
+        assertEquals(of(1, 2, 3).map(n -> n * 2).limit(7).getExactSizeIfKnown(), 3);
+        assertEquals(of(1, 2, 3).zip(of(1, 2), Integer::sum).getExactSizeIfKnown(), 2);
+        assertEquals(of(1, 2, 3).concat(of(1, 2)).getExactSizeIfKnown(), 5);
+        assertEquals(of(1, 2, 3).mapToInt(n -> n).getExactSizeIfKnown(), 3);
+        assertEquals(of(1, 2, 3).mapToLong(n -> n).getExactSizeIfKnown(), 3);
+        assertEquals(of(1, 2, 3).mapToDouble(n -> n).getExactSizeIfKnown(), 3);
+    }
+
+    @Test
+    public void testSizeIsUnknownAfterFilteringOperations() {
+        assertEquals(of(1, 2, 3).filter(n -> n > 1).getExactSizeIfKnown(), -1);
+        assertEquals(of(1, 2, 3).takeWhile(n -> n > 1).getExactSizeIfKnown(), -1);
+        assertEquals(of(1, 2, 3).dropWhile(n -> n > 1).getExactSizeIfKnown(), -1);
+        assertEquals(of(1, 2, 3).distinct().getExactSizeIfKnown(), -1);
+        assertEquals(of(1, 2, 3).peek(n -> { }).getExactSizeIfKnown(), -1);
+        assertEquals(of(1, 2, 3).flatMap(n -> of(n, n)).getExactSizeIfKnown(), -1);
+        assertEquals(of(1, 2, 3).concat(iterate(1, n -> n)).getExactSizeIfKnown(), -1);
+        assertEquals(iterate(1, n -> n).limit(3).getExactSizeIfKnown(), -1);
+        assertEquals(iterate(1, n -> n).limit(3).count(), 3);
+    }
+
+    @Test
+    public void testDistinctAndSortedFlags() {
+        assertEquals(of(3, 1, 3).distinct().characteristics(), ORDERED | DISTINCT);
+        assertEquals(of(3, 1, 2).sorted(Integer::compare).characteristics(), ORDERED | SORTED | SIZED);
+        assertEquals(of(3, 1, 2).sorted(Integer::compare).skip(1).characteristics(), ORDERED | SORTED | SIZED);
+        assertEquals(of(3, 1, 2).sorted(Integer::compare).map(n -> n).characteristics(), ORDERED | SIZED);
+        assertEquals(of(3, 1, 2).sorted(Integer::compare).mapToInt(n -> n).characteristics(), ORDERED | SIZED | NONNULL);
+        assertEquals(of(3, 1, 3).distinct().filter(n -> n > 1).characteristics(), ORDERED | DISTINCT);
+    }
+
+    @Test
+    public void testSkipAndLimitOnArray() {
+        assertEquals(of(1, 2, 3, 4, 5).skip(1).limit(3).toList(), asList(2, 3, 4));
+        assertEquals(of(1, 2, 3, 4, 5).skip(-1).limit(9).toList(), asList(1, 2, 3, 4, 5));
+        assertEquals(of(1, 2, 3, 4, 5).skip(9).toList(), asList());
+        assertEquals(of(1, 2, 3, 4, 5).limit(-1).toList(), asList());
+        Query<Integer> src = of(1, 2, 3, 4, 5);
+        src.tryAdvance(item -> { });
+        assertEquals(src.skip(1).limit(2).toList(), asList(3, 4));
+    }
+
+    @Test
+    public void testSkipAndLimitOnListJumpWithoutVisiting() {
+        Naturals nrs = new Naturals(1000);
+        Query<Integer> src = fromList(nrs);
+        src.tryAdvance(item -> { });
+        assertEquals(src.skip(994).limit(3).toList(), asList(996, 997, 998));
+        assertEquals(nrs.visited, 4);
+        assertEquals(fromList(new LinkedList<>(asList(1, 2, 3))).skip(1).limit(1).toList(), asList(2));
+        assertEquals(fromList(nrs).skip(9999).count(), 0);
+        assertEquals(fromList(nrs).limit(-1).count(), 0);
+    }
+
+    @Test
+    public void testCountOfSizedQueryDoesNotTraverse() {
+        Naturals nrs = new Naturals(1000);
+        assertEquals(fromList(nrs).map(n -> n * 2).skip(10).count(), 990);
+        assertEquals(nrs.visited, 0);
+    }
+
+    @Test
+    public void testToArrayOfSizedQuery() {
+        assertEquals(of(1, 2, 3).map(n -> n * 2).toArray(Integer[]::new), new Integer[] {2, 4, 6});
+        assertEquals(of(1, 2, 3).filter(n -> n > 1).toArray(), new Object[] {2, 3});
+        assertEquals(of(1, 2, 3).map(n -> n * 2).toArray(), new Object[] {2, 4, 6});
+    }
+
+    @Test
+    public void testToStreamReportsSize() {
+        Spliterator<Integer> iter = of(1, 2, 3).map(n -> n * 2).toStream().spliterator();
+        assertEquals(iter.getExactSizeIfKnown(), 3);
+        assertTrue(iter.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED));
+        iter.tryAdvance(item -> { });
+        assertEquals(iter.getExactSizeIfKnown(), 2);
+        Spliterator<Integer> sorted = of(3, 1, 2).sorted(Integer::compare).toStream().spliterator();
+        assertFalse(sorted.hasCharacteristics(Spliterator.SORTED));
+        Spliterator<Integer> filtered = of(1, 2, 3).filter(n -> n > 1).toStream().spliterator();
+        assertEquals(filtered.getExactSizeIfKnown(), -1);
+        assertTrue(filtered.hasCharacteristics(Spliterator.ORDERED));
+        assertEquals(of(1, 2, 3).map(n -> n * 2).toStream().count(), 3);
+    }
+
+    /**
+     * Random access list counting the elements read from it.
+     */
+    private static class Naturals extends AbstractList<Integer> implements RandomAccess {
+        private final int size;
+        int visited;
+
+        Naturals(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Integer get(int index) {
+            visited++;
+            return index + 1;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Query.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * These tests aim to evaluate the close handlers of a query, which must
+ * reach the queries derived from it and run once, when the query is
+ * closed or when a terminal operation finishes.
+ */
+public class QueryCloseTest {
+
+    private final List<String> closed = new ArrayList<>();
+
+    @BeforeMethod
+    public void clear() {
+        closed.clear();
+    }
+
+    private Query<Integer> source(String name, Integer... data) {
+        return of(data).onClose(() -> closed.add(name));
+    }
+
+    @Test
+    public void testHandlersReachEveryOperator() {
+        List<Function<Query<Integer>, Query<?>>> ops = asList(
+            q -> q.map(n -> n + 1),
+            q -> q.filter(n -> n > 1),
+            q -> q.peek(n -> { }),
+            q -> q.skip(1),
+            q -> q.limit(2),
+            q -> q.distinct(),
+            q -> q.takeWhile(n -> n < 3),
+            q -> q.dropWhile(n -> n < 2),
+            q -> q.sorted(Integer::compare),
+            q -> q.flatMap(n -> of(n, n)),
+            q -> q.then(up -> up::traverse),
+            q -> q.compile(),
+            q -> q.mapToInt(n -> n).boxed(),
+            q -> q.mapToLong(n -> n).boxed(),
+            q -> q.mapToDouble(n -> n).boxed(),
+            q -> q.map(n -> n).filter(n -> true).skip(0).map(n -> n));
+        for (Function<Query<Integer>, Query<?>> op : ops) {
+            closed.clear();
+            op.apply(source("src", 1, 2, 3)).toList();
+            assertEquals(closed, asList("src"));
+        }
+    }
+
+    @Test
+    public void testZipAndConcatCloseBothSources() {
+        source("a", 1, 2).concat(source("b", 3)).count();
+        assertEquals(closed, asList("a", "b"));
+        closed.clear();
+        source("a", 1, 2).zip(source("b", 3), Integer::sum).toList();
+        assertEquals(closed, asList("a", "b"));
+    }
+
+    @Test
+    public void testTerminalOperationsClose() {
+        List<Function<Query<Integer>, Object>> terminals = asList(
+            Query::toList,
+            Query::toSet,
+            Query::toArray,
+            q -> q.toArray(Integer[]::new),
+            Query::count,
+            Query::join,
+            Query::findFirst,
+            Query::findAny,
+            q -> q.anyMatch(n -> n == 2),
+            q -> q.allMatch(n -> n == 2),
+            q -> q.noneMatch(n -> n == 2),
+            q -> q.max(Integer::compare),
+            q -> q.min(Integer::compare),
+            q -> q.reduce(Integer::sum),
+            q -> q.reduce(0, Integer::sum),
+            q -> q.collect(ArrayList::new, ArrayList::add),
+            q -> {
+                q.forEach(n -> { });
+                return null;
+            });
+        for (Function<Query<Integer>, Object> terminal : terminals) {
+            closed.clear();
+            terminal.apply(source("src", 1, 2, 3).filter(n -> n > 0));
+            assertEquals(closed, asList("src"));
+            closed.clear();
+            terminal.apply(source("src").filter(n -> n > 0));
+            assertEquals(closed, asList("src"));
+        }
+    }
+
+    @Test
+    public void testTraversalsDoNotClose() {
+        Query<Integer> q = source("src", 1, 2, 3).map(n -> n * 2);
+        assertTrue(q.tryAdvance(n -> { }));
+        assertFalse(q.traverseWhile(n -> n < 4));
+        q.traverse(n -> { });
+        q.shortCircuit(n -> Yield.bye());
+        assertEquals(closed, asList());
+        q.close();
+        q.close();
+        assertEquals(closed, asList("src"));
+    }
+
+    @Test
+    public void testHandlersRunOnceInOrder() {
+        Query<Integer> q = source("a", 1).onClose(() -> closed.add("b")).map(n -> n).onClose(() -> closed.add("c"));
+        try (Query<Integer> res = q.filter(n -> true)) {
+            assertEquals(res.toList(), asList(1));
+        }
+        q.close();
+        assertEquals(closed, asList("a", "b", "c"));
+    }
+
+    @Test
+    public void testFailingHandlersAreSuppressed() {
+        Query<Integer> q = source("a", 1)
+            .onClose(() -> { throw new IllegalStateException("b"); })
+            .onClose(() -> closed.add("c"))
+            .onClose(() -> { throw new IllegalArgumentException("d"); });
+        try {
+            q.close();
+            fail("Expected an IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals(e.getMessage(), "b");
+            assertEquals(e.getSuppressed().length, 1);
+            assertEquals(e.getSuppressed()[0].getMessage(), "d");
+        }
+        assertEquals(closed, asList("a", "c"));
+    }
+
+    @Test
+    public void testClosesWhenTerminalThrows() {
+        try {
+            source("src", 1, 2).map(n -> { throw new ArithmeticException(); }).toList();
+            fail("Expected an ArithmeticException");
+        } catch (ArithmeticException e) {
+            assertEquals(closed, asList("src"));
+        }
+    }
+
+    @Test
+    public void testFlatMapClosesInnerQueries() {
+        Query<Integer> outer = source("outer", 1, 2, 3);
+        assertTrue(outer.flatMap(n -> source("in" + n, n, n)).anyMatch(n -> n == 2));
+        assertEquals(closed, asList("in1", "in2", "outer"));
+        closed.clear();
+        source("outer", 1, 2).flatMap(n -> source("in" + n, n)).shortCircuit(n -> { });
+        assertEquals(closed, asList("in1", "in2"));
+        closed.clear();
+        Query<Integer> pulled = source("outer", 1, 2).flatMap(n -> source("in" + n, n));
+        assertTrue(pulled.tryAdvance(n -> { }));
+        assertEquals(closed, asList());
+        assertTrue(pulled.tryAdvance(n -> { }));
+        assertEquals(closed, asList("in1"));
+        pulled.close();
+        assertEquals(closed, asList("in1", "outer", "in2"));
+    }
+
+    @Test
+    public void testStreamsAreClosed() {
+        Stream<Integer> stream = Stream.of(1, 2, 3).onClose(() -> closed.add("stream"));
+        assertEquals(Query.fromStream(stream).findFirst().get(), Integer.valueOf(1));
+        assertEquals(closed, asList("stream"));
+        closed.clear();
+        try (Stream<Integer> res = source("src", 1, 2).toStream()) {
+            assertEquals(res.count(), 2);
+        }
+        assertEquals(closed, asList("src"));
+    }
+
+    @Test
+    public void testParallelQueryCloses() {
+        assertEquals(source("src", 1, 2, 3).parallel().map(n -> n * 2).toList(), asList(2, 4, 6));
+        assertEquals(closed, asList("src"));
+        closed.clear();
+        assertEquals(source("src", 1, 2, 3).filter(n -> n > 1).parallel().onClose(() -> closed.add("par")).count(), 2);
+        assertEquals(closed, asList("src", "par"));
+        closed.clear();
+        assertEquals(source("src", 1, 2, 3).parallel().sequential().skip(1).toList(), asList(2, 3));
+        assertEquals(closed, asList("src"));
+    }
+}
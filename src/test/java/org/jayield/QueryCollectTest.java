@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collector;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.partitioningBy;
+import static java.util.stream.Collectors.toMap;
+import static org.jayield.Query.of;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * These tests aim to evaluate collect() with a {@link Collector}.
+ */
+public class QueryCollectTest {
+
+    @Test
+    public void testCollectWithCollectors() {
+        Map<Integer, List<String>> byLength = of("a", "bb", "cc", "d", "eee").collect(groupingBy(String::length));
+        assertEquals(byLength, Map.of(1, asList("a", "d"), 2, asList("bb", "cc"), 3, asList("eee")));
+        Map<String, Integer> lengths = of("a", "bb", "eee").collect(toMap(s -> s, String::length));
+        assertEquals(lengths, Map.of("a", 1, "bb", 2, "eee", 3));
+        Map<Boolean, Long> evens = of(1, 2, 3, 4, 5).collect(partitioningBy(n -> n % 2 == 0, counting()));
+        assertEquals(evens, Map.of(true, 2L, false, 3L));
+        assertEquals(of("a", "b", "c").collect(joining(", ", "[", "]")), "[a, b, c]");
+        assertEquals(Query.<String>of().collect(joining()), "");
+    }
+
+    @Test
+    public void testCollectSkipsIdentityFinisher() {
+        Collector<Integer, List<Integer>, List<Integer>> toList = Collector.of(
+            ArrayList::new,
+            List::add,
+            (left, right) -> left,
+            list -> {
+                throw new AssertionError("The finisher of an IDENTITY_FINISH collector is not applied");
+            },
+            Collector.Characteristics.IDENTITY_FINISH);
+        assertEquals(of(1, 2, 3).collect(toList), asList(1, 2, 3));
+        List<Object> results = of(1, 2, 3).fanOut(toList, counting());
+        assertEquals(results, asList(asList(1, 2, 3), 3L));
+    }
+
+    @Test
+    public void testCollectCloses() {
+        AtomicInteger closes = new AtomicInteger();
+        long count = of(1, 2, 3).onClose(closes::incrementAndGet).collect(counting());
+        assertEquals(count, 3L);
+        assertEquals(closes.get(), 1);
+    }
+}
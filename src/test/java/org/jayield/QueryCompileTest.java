@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Characteristics.ORDERED;
+import static org.jayield.Characteristics.SIZED;
+import static org.jayield.Query.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate compiled queries, which must behave as
+ * the interpreted chain of the same stages.
+ */
+public class QueryCompileTest {
+
+    private static final Integer[] DATA = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+    private static Query<Integer> stages(Query<Integer> src, List<String> log) {
+        return src
+            .peek(n -> log.add("a" + n))
+            .filter(n -> n % 2 == 0)
+            .map(n -> n * 3)
+            .peek(n -> log.add("b" + n))
+            .filter(n -> n > 6)
+            .map(n -> n + 1);
+    }
+
+    @Test
+    public void testTraverseArrayAsInterpreted() {
+        List<String> expectedLog = new ArrayList<>();
+        List<String> actualLog = new ArrayList<>();
+        List<Integer> expected = stages(of(DATA), expectedLog).toList();
+        List<Integer> actual = stages(of(DATA), actualLog).compile().toList();
+        assertEquals(actual, asList(13, 19, 25, 31));
+        assertEquals(actual, expected);
+        assertEquals(actualLog, expectedLog);
+    }
+
+    @Test
+    public void testTraverseOtherSourceAsInterpreted() {
+        List<String> expectedLog = new ArrayList<>();
+        List<String> actualLog = new ArrayList<>();
+        List<Integer> expected = stages(Query.iterate(1, n -> n + 1).takeWhile(n -> n <= 10), expectedLog).toList();
+        List<Integer> actual = stages(Query.iterate(1, n -> n + 1).takeWhile(n -> n <= 10), actualLog).compile().toList();
+        assertEquals(actual, asList(13, 19, 25, 31));
+        assertEquals(actual, expected);
+        assertEquals(actualLog, expectedLog);
+    }
+
+    @Test
+    public void testTraverseWhileStopsInCompiledStage() {
+        for (Query<Integer> src : asList(of(DATA), Query.fromList(asList(DATA)))) {
+            List<String> actualLog = new ArrayList<>();
+            List<Integer> actual = new ArrayList<>();
+            boolean finished = stages(src, actualLog).compile().traverseWhile(n -> {
+                actual.add(n);
+                return n < 19;
+            });
+            assertFalse(finished);
+            assertEquals(actual, asList(13, 19));
+            assertEquals(actualLog, asList("a1", "a2", "b6", "a3", "a4", "b12", "a5", "a6", "b18"));
+        }
+    }
+
+    @Test
+    public void testCompiledTraverseContinuesAfterTryAdvance() {
+        Query<Integer> compiled = of(DATA).map(n -> n * 2).compile();
+        List<Integer> actual = new ArrayList<>();
+        assertTrue(compiled.tryAdvance(actual::add));
+        assertTrue(compiled.tryAdvance(actual::add));
+        compiled.traverse(actual::add);
+        assertEquals(actual, asList(2, 4, 6, 8, 10, 12, 14, 16, 18, 20));
+    }
+
+    @Test
+    public void testSameShapeWithOtherCaptures() {
+        for (int k = 1; k <= 3; k++) {
+            int factor = k;
+            List<Integer> actual = of(DATA).filter(n -> n <= 3).map(n -> n * factor).compile().toList();
+            assertEquals(actual, asList(factor, 2 * factor, 3 * factor));
+        }
+    }
+
+    @Test
+    public void testStagesAfterCompile() {
+        List<Integer> actual = of(DATA)
+            .map(n -> n * 2)
+            .compile()
+            .filter(n -> n > 15)
+            .map(n -> n + 1)
+            .toList();
+        assertEquals(actual, asList(17, 19, 21));
+    }
+
+    @Test
+    public void testCompileOtherStagesReturnsSameQuery() {
+        Query<Integer> distinct = of(DATA).map(n -> n % 3).distinct();
+        assertSame(distinct.compile(), distinct);
+        assertSame(of(DATA).compile().count(), 10L);
+        Query<Integer> single = of(DATA).filter(n -> n > 5);
+        assertNotSame(single.compile(), single);
+        assertEquals(single.compile().toList(), asList(6, 7, 8, 9, 10));
+    }
+
+    @Test
+    public void testCharacteristicsOfCompiledStages() {
+        assertEquals(of(DATA).map(n -> n + 1).compile().characteristics(), ORDERED | SIZED);
+        assertEquals(of(DATA).map(n -> n + 1).compile().count(), 10);
+        assertEquals(of(DATA).filter(n -> n > 2).compile().getExactSizeIfKnown(), -1);
+        assertEquals(of(DATA).filter(n -> n > 2).compile().count(), 8);
+    }
+}
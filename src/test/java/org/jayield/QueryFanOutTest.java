@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.summingInt;
+import static java.util.stream.Collectors.toSet;
+import static org.jayield.Query.iterate;
+import static org.jayield.Query.of;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * These tests aim to evaluate fanOut(), which pushes each element into
+ * several branches within a single traversal.
+ */
+public class QueryFanOutTest {
+
+    @Test
+    public void testFanOutTraversesOnce() {
+        AtomicInteger pulls = new AtomicInteger();
+        long[] count = {0};
+        int[] sum = {0};
+        Set<Integer> distinct = new HashSet<>();
+        iterate(0, n -> n + 1)
+            .limit(1000)
+            .map(n -> n % 10)
+            .peek(n -> pulls.incrementAndGet())
+            .fanOut(
+                n -> ++count[0] > 0,
+                n -> (sum[0] += n) >= 0,
+                distinct::add);
+        assertEquals(pulls.get(), 1000);
+        assertEquals(count[0], 1000);
+        assertEquals(sum[0], 4500);
+        assertEquals(distinct, new HashSet<>(asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)));
+    }
+
+    @Test
+    public void testFanOutShortCircuitsEachBranch() {
+        List<Integer> firsts = new ArrayList<>();
+        List<Integer> all = new ArrayList<>();
+        of(1, 2, 3, 4, 5, 6).fanOut(
+            n -> firsts.add(n) && firsts.size() < 2,
+            all::add);
+        assertEquals(firsts, asList(1, 2));
+        assertEquals(all, asList(1, 2, 3, 4, 5, 6));
+    }
+
+    @Test
+    public void testFanOutStopsWhenAllBranchesAreDone() {
+        AtomicInteger pulls = new AtomicInteger();
+        List<Integer> evens = new ArrayList<>();
+        List<Integer> odds = new ArrayList<>();
+        iterate(0, n -> n + 1)
+            .peek(n -> pulls.incrementAndGet())
+            .fanOut(
+                n -> n % 2 != 0 || evens.add(n) && evens.size() < 3,
+                n -> n % 2 == 0 || odds.add(n) && odds.size() < 5);
+        assertEquals(evens, asList(0, 2, 4));
+        assertEquals(odds, asList(1, 3, 5, 7, 9));
+        assertEquals(pulls.get(), 10);
+    }
+
+    @Test
+    public void testFanOutWithoutBranches() {
+        IntegerBranch[] none = {};
+        AtomicInteger pulls = new AtomicInteger();
+        AtomicInteger closes = new AtomicInteger();
+        iterate(0, n -> n + 1)
+            .peek(n -> pulls.incrementAndGet())
+            .onClose(closes::incrementAndGet)
+            .fanOut(none);
+        assertEquals(pulls.get(), 0);
+        assertEquals(closes.get(), 1);
+    }
+
+    @Test
+    public void testFanOutCollectors() {
+        AtomicInteger closes = new AtomicInteger();
+        List<Object> actual = of("a", "b", "c", "b")
+            .onClose(closes::incrementAndGet)
+            .fanOut(counting(), summingInt(String::length), toSet(), joining("-"));
+        assertEquals(actual, asList(4L, 4, new HashSet<>(asList("a", "b", "c")), "a-b-c-b"));
+        assertEquals(closes.get(), 1);
+    }
+
+    private interface IntegerBranch extends YieldWhile<Integer> { }
+}
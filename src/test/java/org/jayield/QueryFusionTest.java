@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.jayield.ops.Filter;
+import org.jayield.ops.Mapping;
+import org.jayield.ops.Peek;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Characteristics.ORDERED;
+import static org.jayield.Characteristics.SIZED;
+import static org.jayield.Query.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate the fusion of adjacent map, filter and
+ * peek stages, which must behave as the same stages chained one by one.
+ */
+public class QueryFusionTest {
+
+    private static final int SIZE = 100_000;
+    private static final Integer[] DATA = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+    private static Query<Integer> fused(List<String> log) {
+        return of(DATA)
+            .peek(n -> log.add("a" + n))
+            .filter(n -> n % 2 == 0)
+            .map(n -> n * 3)
+            .peek(n -> log.add("b" + n))
+            .filter(n -> n > 6)
+            .map(n -> n + 1);
+    }
+
+    private static Query<Integer> chained(List<String> log) {
+        Query<Integer> q = of(DATA);
+        q = stage(new Peek<>(q, n -> log.add("a" + n)));
+        q = stage(new Filter<>(q, n -> n % 2 == 0));
+        q = stage(new Mapping<>(q, n -> n * 3));
+        q = stage(new Peek<>(q, n -> log.add("b" + n)));
+        q = stage(new Filter<>(q, n -> n > 6));
+        return stage(new Mapping<>(q, n -> n + 1));
+    }
+
+    private static <T, S extends Advancer<T> & Traverser<T>> Query<T> stage(S op) {
+        return new Query<>(op, op);
+    }
+
+    @Test
+    public void testTraverseAsChainedStages() {
+        List<String> expectedLog = new ArrayList<>();
+        List<String> actualLog = new ArrayList<>();
+        List<Integer> expected = chained(expectedLog).toList();
+        List<Integer> actual = fused(actualLog).toList();
+        assertEquals(actual, asList(13, 19, 25, 31));
+        assertEquals(actual, expected);
+        assertEquals(actualLog, expectedLog);
+    }
+
+    @Test
+    public void testTryAdvanceAsChainedStages() {
+        List<String> expectedLog = new ArrayList<>();
+        List<String> actualLog = new ArrayList<>();
+        Query<Integer> expected = chained(expectedLog);
+        Query<Integer> actual = fused(actualLog);
+        List<Integer> actualItems = new ArrayList<>();
+        List<Integer> expectedItems = new ArrayList<>();
+        while(actual.tryAdvance(actualItems::add)) {
+            expected.tryAdvance(expectedItems::add);
+            assertEquals(actualItems, expectedItems);
+            assertEquals(actualLog, expectedLog);
+        }
+        assertFalse(expected.tryAdvance(expectedItems::add));
+        assertEquals(actualItems, asList(13, 19, 25, 31));
+    }
+
+    @Test
+    public void testTraverseWhileStopsInFusedStage() {
+        List<String> actualLog = new ArrayList<>();
+        List<Integer> actual = new ArrayList<>();
+        boolean finished = fused(actualLog).traverseWhile(n -> {
+            actual.add(n);
+            return n < 19;
+        });
+        assertFalse(finished);
+        assertEquals(actual, asList(13, 19));
+        assertEquals(actualLog, asList("a1", "a2", "b6", "a3", "a4", "b12", "a5", "a6", "b18"));
+    }
+
+    /**
+     * Each tryAdvance() of a chained stage would instantiate a capturing
+     * lambda for its upstream, i.e. more than 16 MB for these 20 stages.
+     */
+    @Test
+    public void testTryAdvanceAllocatesNothingPerStage() {
+        long[] sum = {0};
+        advanceThroughStages(new Integer[1], sum); // Warm up class loading
+        Integer[] data = new Integer[SIZE];
+        long before = allocatedBytes();
+        advanceThroughStages(data, sum);
+        long allocated = allocatedBytes() - before;
+        assertEquals(sum[0], 11 * (SIZE + 1));
+        assertTrue(allocated < 16 * 1024, "Allocated " + allocated + " bytes");
+    }
+
+    private static void advanceThroughStages(Integer[] data, long[] sum) {
+        Query<Integer> deep = of(data).map(n -> 1);
+        for (int i = 0; i < 10; i++) {
+            deep = deep.filter(n -> n > 0).map(n -> n + 1);
+        }
+        Yield<Integer> yield = (Integer n) -> sum[0] += n;
+        while(deep.tryAdvance(yield)) { }
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(!(bean instanceof com.sun.management.ThreadMXBean))
+            throw new SkipException("Thread allocation counters are not supported by this JVM!");
+        return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Every pair of adjacent kinds of stages, which fusion performs in a
+     * single sink, followed by a single filter.
+     */
+    @Test
+    public void testEveryPairOfStagesAsChainedStages() {
+        String kinds = "mmmfmpfmfffppmpfppf";
+        List<String> expectedLog = new ArrayList<>();
+        List<String> actualLog = new ArrayList<>();
+        List<Integer> expected = stages(kinds, true, expectedLog).toList();
+        List<Integer> actual = stages(kinds, false, actualLog).toList();
+        assertFalse(actual.isEmpty());
+        assertEquals(actual, expected);
+        assertEquals(actualLog, expectedLog);
+    }
+
+    /**
+     * Applies the stages named by kinds, where m, f and p stand for map, filter
+     * and peek, either chained one by one or through the query methods.
+     */
+    private static Query<Integer> stages(String kinds, boolean chained, List<String> log) {
+        Query<Integer> q = Query.iterate(0, n -> n + 1).limit(100);
+        for (int i = 0; i < kinds.length(); i++) {
+            int k = i;
+            switch (kinds.charAt(i)) {
+                case 'm':
+                    UnaryOperator<Integer> mapper = n -> n + k;
+                    q = chained ? stage(new Mapping<>(q, mapper)) : q.map(mapper);
+                    break;
+                case 'f':
+                    Predicate<Integer> p = n -> n % (k + 2) != 0;
+                    q = chained ? stage(new Filter<>(q, p)) : q.filter(p);
+                    break;
+                default:
+                    Consumer<Integer> action = n -> log.add(k + ":" + n);
+                    q = chained ? stage(new Peek<>(q, action)) : q.peek(action);
+            }
+        }
+        return q;
+    }
+
+    @Test
+    public void testCharacteristicsOfFusedStages() {
+        assertEquals(of(DATA).map(n -> n + 1).map(n -> n * 2).getExactSizeIfKnown(), 10);
+        assertEquals(of(DATA).map(n -> n + 1).map(n -> n * 2).count(), 10);
+        assertEquals(of(DATA).map(n -> n + 1).map(n -> n * 2).characteristics(), ORDERED | SIZED);
+        assertEquals(of(DATA).map(n -> n + 1).filter(n -> n > 2).getExactSizeIfKnown(), -1);
+        assertEquals(of(DATA).map(n -> n + 1).filter(n -> n > 2).count(), 9);
+        assertEquals(of(DATA).distinct().filter(n -> n > 2).peek(n -> { }).characteristics(), ORDERED | Characteristics.DISTINCT);
+    }
+}
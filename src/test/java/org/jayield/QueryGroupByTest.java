@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.jayield.collections.IntHashMap;
+import org.jayield.collections.IntLongHashMap;
+import org.jayield.collections.LongHashMap;
+import org.jayield.collections.LongLongHashMap;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.summarizingLong;
+import static java.util.stream.Collectors.summingLong;
+import static java.util.stream.Collectors.toList;
+import static org.jayield.Query.iterate;
+import static org.jayield.Query.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+
+/**
+ * These tests aim to evaluate groupBy() and its variants keyed by int or long,
+ * which aggregate the elements of each group as they are traversed.
+ */
+public class QueryGroupByTest {
+
+    static class Order {
+        final int user;
+        final long tenant;
+        final long amount;
+
+        Order(int user, long tenant, long amount) {
+            this.user = user;
+            this.tenant = tenant;
+            this.amount = amount;
+        }
+    }
+
+    private static Query<Order> orders() {
+        return of(
+            new Order(1, 10L, 5),
+            new Order(2, 20L, 7),
+            new Order(1, 10L, 3),
+            new Order(0, 20L, 11),
+            new Order(2, 10L, 1));
+    }
+
+    @Test
+    public void testGroupBy() {
+        Map<Integer, List<String>> byLength = of("a", "bb", "cc", "d").groupBy(String::length, toList());
+        assertEquals(byLength, Map.of(1, asList("a", "d"), 2, asList("bb", "cc")));
+        Map<Boolean, String> byParity = of(1, 2, 3, 4).groupBy(n -> n % 2 == 0, mapping(String::valueOf, joining(",")));
+        assertEquals(byParity, Map.of(false, "1,3", true, "2,4"));
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void testGroupByNullKey() {
+        of("a", "b").groupBy(s -> null, counting());
+    }
+
+    @Test
+    public void testGroupByInt() {
+        IntHashMap<Long> counts = orders().groupByInt(o -> o.user, counting());
+        assertEquals(counts.size(), 3);
+        assertEquals(counts.get(0).longValue(), 1L);
+        assertEquals(counts.get(1).longValue(), 2L);
+        assertEquals(counts.get(2).longValue(), 2L);
+        assertNull(counts.get(3));
+        IntHashMap<LongSummaryStatistics> stats = orders().groupByInt(o -> o.user, summarizingLong(o -> o.amount));
+        assertEquals(stats.get(1).getSum(), 8L);
+        assertEquals(stats.get(1).getMin(), 3L);
+        assertEquals(stats.get(2).getMax(), 7L);
+    }
+
+    @Test
+    public void testGroupByLong() {
+        LongHashMap<Long> sums = orders().groupByLong(o -> o.tenant, summingLong(o -> o.amount));
+        assertEquals(sums.size(), 2);
+        assertEquals(sums.get(10L).longValue(), 9L);
+        assertEquals(sums.get(20L).longValue(), 18L);
+        LongHashMap<List<Long>> amounts = orders().groupByLong(o -> o.tenant, mapping(o -> o.amount, toList()));
+        assertEquals(amounts.get(10L), asList(5L, 3L, 1L));
+    }
+
+    @Test
+    public void testReduceByInt() {
+        IntLongHashMap counts = orders().reduceByInt(o -> o.user, o -> 1, Long::sum);
+        assertEquals(counts.get(1, 0), 2L);
+        assertEquals(counts.get(0, 0), 1L);
+        assertEquals(counts.get(3, 0), 0L);
+        IntLongHashMap max = orders().reduceByInt(o -> o.user, o -> o.amount, Math::max);
+        assertEquals(max.get(1, 0), 5L);
+        assertEquals(max.get(2, 0), 7L);
+        IntLongHashMap min = orders().reduceByInt(o -> o.user, o -> o.amount, Math::min);
+        assertEquals(min.get(2, 0), 1L);
+    }
+
+    @Test
+    public void testReduceByLong() {
+        LongLongHashMap sums = orders().reduceByLong(o -> o.tenant, o -> o.amount, Long::sum);
+        assertEquals(sums.size(), 2);
+        assertEquals(sums.get(10L, 0), 9L);
+        assertEquals(sums.get(20L, 0), 18L);
+        assertFalse(sums.containsKey(30L));
+    }
+
+    @Test
+    public void testGroupByTraversesOnceAndCloses() {
+        AtomicInteger pulls = new AtomicInteger();
+        AtomicInteger closes = new AtomicInteger();
+        IntLongHashMap counts = iterate(0, n -> n + 1)
+            .limit(10_000)
+            .peek(n -> pulls.incrementAndGet())
+            .onClose(closes::incrementAndGet)
+            .reduceByInt(n -> n % 100, n -> 1, Long::sum);
+        assertEquals(counts.size(), 100);
+        assertEquals(counts.get(42, 0), 100L);
+        assertEquals(pulls.get(), 10_000);
+        assertEquals(closes.get(), 1);
+    }
+}
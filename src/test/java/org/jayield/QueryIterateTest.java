@@ -24,6 +24,7 @@ import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 import static java.util.Arrays.asList;
@@ -321,4 +322,100 @@ public class QueryIterateTest {
         assertEquals(expected.size(), actual.size());
         assertEquals(expected, actual);
     }
+
+    @Test
+    public void testThenGeneratorCollapse() {
+        List<Integer> expected = asList(7, 8, 9, 11, 7);
+        Integer[] arrange = {7, 7, 8, 9, 9, 11, 11, 7};
+        Query<Integer> pipe = Query
+                .of(arrange)
+                .thenGenerator(UserExt::collapseTrav);
+        List<Integer> actual = new ArrayList<>();
+        while(pipe.tryAdvance(actual::add)) { }
+        assertEquals(actual, expected);
+        assertFalse(pipe.tryAdvance(item -> { throw new AssertionError("Generator already finished!"); }));
+    }
+
+    @Test
+    public void testThenGeneratorIsLazy() {
+        List<Integer> pulled = new ArrayList<>();
+        Query<Integer> pipe = Query
+                .iterate(1, n -> n + 1)
+                .peek(pulled::add)
+                .thenGenerator(UserExt::oddTrav);
+        List<Integer> first = new ArrayList<>();
+        assertTrue(pipe.tryAdvance(first::add));
+        assertEquals(first, asList(2));
+        assertEquals(pulled, asList(1, 2));
+        List<String> actual = pipe
+                .zip(of("a", "b", "c"), (n, s) -> s + n)
+                .limit(2)
+                .toList();
+        assertEquals(actual, asList("a4", "b6"));
+        assertEquals(pulled, asList(1, 2, 3, 4, 5, 6));
+    }
+
+    @Test
+    public void testThenGeneratorIterator() {
+        Iterator<String> iter = of("a", "b", "c", "d", "e")
+                .thenGenerator(UserExt::oddTrav)
+                .toStream()
+                .iterator();
+        assertTrue(iter.hasNext());
+        assertEquals(iter.next(), "b");
+        assertEquals(iter.next(), "d");
+        assertFalse(iter.hasNext());
+    }
+
+    @Test
+    public void testThenGeneratorTraverseAfterTryAdvance() {
+        List<Integer> actual = new ArrayList<>();
+        Query<Integer> pipe = of(1, 2, 3, 4, 5, 6).thenGenerator(UserExt::oddTrav);
+        pipe.tryAdvance(actual::add);
+        pipe.traverse(actual::add);
+        assertEquals(actual, asList(2, 4, 6));
+        List<Integer> direct = of(1, 2, 3, 4).thenGenerator(UserExt::oddTrav).toList();
+        assertEquals(direct, asList(2, 4));
+    }
+
+    @Test
+    public void testThenGeneratorThreadEndsOnClose() throws InterruptedException {
+        Thread[] generator = new Thread[1];
+        Query<Integer> pipe = Query
+                .iterate(1, n -> n + 1)
+                .thenGenerator(prev -> yield -> {
+                    generator[0] = Thread.currentThread();
+                    prev.traverse(yield);
+                });
+        assertTrue(pipe.tryAdvance(item -> { }));
+        pipe.close();
+        generator[0].join(5000);
+        assertFalse(generator[0].isAlive());
+        assertFalse(pipe.tryAdvance(item -> { throw new AssertionError("Generator already closed!"); }));
+    }
+
+    @Test
+    public void testThenGeneratorThreadEndsAfterShortCircuit() throws InterruptedException {
+        Thread[] generator = new Thread[1];
+        Query<Integer> pipe = Query
+                .iterate(1, n -> n + 1)
+                .thenGenerator(prev -> yield -> {
+                    generator[0] = Thread.currentThread();
+                    prev.traverse(yield);
+                });
+        assertEquals(pipe.findFirst().get().intValue(), 1);
+        generator[0].join(5000);
+        assertFalse(generator[0].isAlive());
+    }
+
+    @Test(expectedExceptions = { IllegalArgumentException.class })
+    public void testThenGeneratorPropagatesErrors() {
+        Query<Integer> pipe = of(1, 2, 3).thenGenerator(prev -> yield -> {
+            prev.traverse(item -> {
+                if(item == 2) throw new IllegalArgumentException("Error on generator!");
+                yield.ret(item);
+            });
+        });
+        while(pipe.tryAdvance(item -> {})) { }
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.jayield.ops.FromLines;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate the lines of a text file, which must be
+ * the same of Files.readAllLines(), whatever the line terminators and
+ * the boundaries of the buffers.
+ */
+public class QueryLinesTest {
+
+    /**
+     * Random lines, some of them longer than the initial buffer, with
+     * multi-byte chars and any of the line terminators.
+     */
+    private static String text(int lines) {
+        Random rnd = new Random(7);
+        String[] terminators = {"\n", "\r\n", "\r"};
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            int length = i % 50 == 7 ? FromLines.BUFFER * 3 : rnd.nextInt(120);
+            for (int j = 0; j < length; j++) {
+                text.append(j % 13 == 0 ? 'ç' : (char) ('a' + rnd.nextInt(26)));
+            }
+            text.append(terminators[rnd.nextInt(terminators.length)]);
+        }
+        return text.append("last").toString();
+    }
+
+    private static Path write(String text, Charset charset) throws IOException {
+        Path path = Files.createTempFile("jayield", ".txt");
+        path.toFile().deleteOnExit();
+        Files.write(path, text.getBytes(charset));
+        return path;
+    }
+
+    @Test
+    public void testLinesAsReadAllLines() throws IOException {
+        String text = text(2000);
+        for (Charset charset : new Charset[] {StandardCharsets.UTF_8, StandardCharsets.UTF_16LE}) {
+            Path path = write(text, charset);
+            assertEquals(Query.lines(path, charset).toList(), Files.readAllLines(path, charset));
+        }
+        Path path = write("\r\n\n\r\r\n", StandardCharsets.UTF_8);
+        assertEquals(Query.lines(path, StandardCharsets.UTF_8).toList(), Files.readAllLines(path));
+        assertEquals(Query.lines(write("", StandardCharsets.UTF_8), StandardCharsets.UTF_8).count(), 0);
+    }
+
+    @Test
+    public void testTryAdvanceThenTraverse() throws IOException {
+        Path path = write(text(300), StandardCharsets.UTF_8);
+        Query<String> lines = Query.lines(path, StandardCharsets.UTF_8);
+        List<String> actual = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            assertTrue(lines.tryAdvance(actual::add));
+        }
+        assertFalse(lines.traverseWhile(line -> actual.add(line) && actual.size() < 100));
+        lines.traverse(actual::add);
+        assertFalse(lines.tryAdvance(actual::add));
+        assertEquals(actual, Files.readAllLines(path));
+    }
+
+    @Test
+    public void testLineViews() throws IOException {
+        Path path = write(text(2000), StandardCharsets.UTF_8);
+        long expected = Files.readAllLines(path).stream().filter(line -> line.length() > 3 && line.charAt(3) == 'x').count();
+        long actual = Query.lineViews(path, StandardCharsets.UTF_8).filter(line -> line.length() > 3 && line.charAt(3) == 'x').count();
+        assertEquals(actual, expected);
+        List<String> views = new ArrayList<>();
+        Query.lineViews(write("abcd\nef", StandardCharsets.UTF_8), StandardCharsets.UTF_8).traverse(line -> {
+            views.add(line.subSequence(1, line.length()).toString());
+            views.add(line.toString());
+        });
+        assertEquals(views, List.of("bcd", "abcd", "f", "ef"));
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testLineViewBounds() throws IOException {
+        Query.lineViews(write("ab\n", StandardCharsets.UTF_8), StandardCharsets.UTF_8).traverse(line -> line.charAt(2));
+    }
+
+    @Test(expectedExceptions = UncheckedIOException.class)
+    public void testMalformedInput() throws IOException {
+        Path path = Files.createTempFile("jayield", ".txt");
+        path.toFile().deleteOnExit();
+        Files.write(path, new byte[] {'a', '\n', (byte) 0xFF, 'b'});
+        Query.lines(path, StandardCharsets.UTF_8).toList();
+    }
+
+    @Test(expectedExceptions = UncheckedIOException.class)
+    public void testMissingFile() {
+        Query.lines(Path.of("missing.txt"), StandardCharsets.UTF_8);
+    }
+}
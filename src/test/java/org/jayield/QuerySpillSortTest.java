@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Characteristics.ORDERED;
+import static org.jayield.Characteristics.SIZED;
+import static org.jayield.Characteristics.SORTED;
+import static org.jayield.Query.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+/**
+ * These tests aim to evaluate the external sort of sorted(comparator, config),
+ * which must yield the same elements as a full stable sort and leave no
+ * runs behind.
+ */
+public class QuerySpillSortTest {
+
+    private Path dir;
+
+    @BeforeMethod
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("jayield-spill");
+    }
+
+    @AfterMethod
+    public void deleteDir() throws IOException {
+        Files.delete(dir);
+    }
+
+    private long runs() throws IOException {
+        try(Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static String[] words(int size) {
+        return new Random(7).ints(size, 0, 10_000).mapToObj(n -> "w" + n).toArray(String[]::new);
+    }
+
+    @Test
+    public void testSpillAgainstStableSort() throws IOException {
+        String[] data = words(5_000);
+        Comparator<String> byLength = Comparator.comparing(String::length);
+        SpillConfig<String> config = SpillConfig.of(50).directory(dir).serializer(SpillConfig.Serializer.strings());
+        List<String> actual = of(data).sorted(byLength, config).toList();
+        String[] expected = data.clone();
+        Arrays.sort(expected, byLength);
+        assertEquals(actual, asList(expected));
+        assertEquals(runs(), 0);
+    }
+
+    @Test
+    public void testSpillWithJavaSerialization() throws IOException {
+        Integer[] data = new Random(7).ints(1_000).boxed().toArray(Integer[]::new);
+        List<Integer> actual = of(data).sorted(Comparator.<Integer>naturalOrder(), SpillConfig.<Integer>of(100).directory(dir)).toList();
+        Integer[] expected = data.clone();
+        Arrays.sort(expected);
+        assertEquals(actual, asList(expected));
+        assertEquals(runs(), 0);
+    }
+
+    @Test
+    public void testNoSpill() throws IOException {
+        SpillConfig<Integer> config = SpillConfig.<Integer>of(10).directory(dir);
+        assertEquals(of(3, 1, 2).sorted(Comparator.naturalOrder(), config).toList(), asList(1, 2, 3));
+        assertEquals(of(3, 1, 2).filter(n -> n > 5).sorted(Comparator.naturalOrder(), config).count(), 0);
+        assertEquals(runs(), 0);
+    }
+
+    @Test
+    public void testTryAdvanceStreamsAndCloseDeletesRuns() throws IOException {
+        String[] data = words(1_000);
+        SpillConfig<String> config = SpillConfig.of(100).directory(dir).serializer(SpillConfig.Serializer.strings());
+        Query<String> sorted = of(data).sorted(Comparator.naturalOrder(), config);
+        List<String> actual = new ArrayList<>();
+        assertTrue(sorted.tryAdvance(actual::add));
+        assertTrue(sorted.tryAdvance(actual::add));
+        assertEquals(sorted.getExactSizeIfKnown(), 998);
+        assertEquals(sorted.characteristics(), ORDERED | SORTED | SIZED);
+        assertTrue(runs() > 0);
+        sorted.close();
+        assertEquals(runs(), 0);
+        assertFalse(sorted.tryAdvance(actual::add));
+        String[] expected = data.clone();
+        Arrays.sort(expected);
+        assertEquals(actual, asList(expected).subList(0, 2));
+    }
+
+    @Test
+    public void testTraverseWhile() throws IOException {
+        SpillConfig<Integer> config = SpillConfig.<Integer>of(2).directory(dir);
+        List<Integer> actual = new ArrayList<>();
+        try(Query<Integer> sorted = of(5, 3, 1, 4, 2).sorted(Comparator.naturalOrder(), config)) {
+            assertFalse(sorted.traverseWhile(n -> actual.add(n) && n < 3));
+        }
+        assertEquals(actual, asList(1, 2, 3));
+        assertTrue(of(5, 3, 1).sorted(Comparator.naturalOrder(), config).traverseWhile(n -> true));
+        assertEquals(runs(), 0);
+    }
+
+    @Test
+    public void testLimitWithinMemory() throws IOException {
+        SpillConfig<Integer> config = SpillConfig.<Integer>of(3).directory(dir);
+        Query<Integer> top = of(5, 3, 1, 4, 2).sorted(Comparator.naturalOrder(), config).limit(2);
+        assertEquals(top.toList(), asList(1, 2));
+        Query<Integer> limited = of(5, 3, 1, 4, 2).sorted(Comparator.naturalOrder(), config).limit(4);
+        assertEquals(limited.toList(), asList(1, 2, 3, 4));
+        assertEquals(runs(), 0);
+    }
+
+    @Test
+    public void testCharacteristicsBeforeSort() {
+        Query<Integer> sorted = of(3, 1, 2).sorted(Comparator.naturalOrder(), SpillConfig.of(2));
+        assertEquals(sorted.characteristics(), ORDERED | SORTED | SIZED);
+        assertEquals(sorted.getExactSizeIfKnown(), 3);
+    }
+
+    @Test
+    public void testSerializerFailureDeletesRuns() throws IOException {
+        SpillConfig<Integer> config = SpillConfig.<Integer>of(2).directory(dir).serializer(new SpillConfig.Serializer<>() {
+            @Override
+            public void write(DataOutput out, Integer item) throws IOException {
+                out.writeInt(item);
+            }
+
+            @Override
+            public Integer read(DataInput in) throws IOException {
+                throw new IOException("Corrupted run!");
+            }
+        });
+        Query<Integer> sorted = of(5, 3, 1, 4, 2).sorted(Comparator.naturalOrder(), config);
+        expectThrows(UncheckedIOException.class, sorted::toList);
+        assertEquals(runs(), 0);
+    }
+
+    @Test
+    public void testIllegalMaxInMemory() {
+        expectThrows(IllegalArgumentException.class, () -> SpillConfig.of(0));
+    }
+}
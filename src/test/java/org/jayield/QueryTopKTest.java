@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Characteristics.ORDERED;
+import static org.jayield.Characteristics.SIZED;
+import static org.jayield.Characteristics.SORTED;
+import static org.jayield.Query.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate topK() and the fusion of sorted() followed
+ * by limit(), which must yield the same elements as a full stable sort.
+ */
+public class QueryTopKTest {
+
+    private static final int SIZE = 100_000;
+
+    private static Integer[] random() {
+        return new Random(7).ints(SIZE, 0, 10_000).boxed().toArray(Integer[]::new);
+    }
+
+    private static List<Integer> sortedPrefix(Integer[] data, Comparator<Integer> cmp, int k) {
+        Integer[] copy = data.clone();
+        Arrays.sort(copy, cmp);
+        return asList(copy).subList(0, Math.min(k, copy.length));
+    }
+
+    @Test
+    public void testSortedLimitAgainstSort() {
+        Integer[] data = random();
+        Comparator<Integer> cmp = Comparator.reverseOrder();
+        List<Integer> actual = of(data).filter(n -> n % 3 != 0).sorted(cmp).limit(100).toList();
+        Integer[] filtered = of(data).filter(n -> n % 3 != 0).toArray(Integer[]::new);
+        assertEquals(actual, sortedPrefix(filtered, cmp, 100));
+    }
+
+    @Test
+    public void testTopKIsStable() {
+        Integer[] data = random();
+        Comparator<Integer> byHundreds = Comparator.comparing(n -> n / 100);
+        assertEquals(of(data).topK(500, byHundreds).toList(), sortedPrefix(data, byHundreds, 500));
+        assertEquals(of(data).sorted(byHundreds).limit(500).toList(), sortedPrefix(data, byHundreds, 500));
+    }
+
+    @Test
+    public void testTopKComparesLessThanSort() {
+        AtomicInteger count = new AtomicInteger();
+        Comparator<Integer> cmp = (a, b) -> {
+            count.incrementAndGet();
+            return Integer.compare(a, b);
+        };
+        List<Integer> top = of(random()).sorted(cmp).limit(10).toList();
+        assertEquals(top.size(), 10);
+        assertTrue(count.get() < 2 * SIZE, "Comparisons " + count.get());
+    }
+
+    @Test
+    public void testTopKLargerThanSource() {
+        assertEquals(of(3, 1, 2).topK(10, Comparator.naturalOrder()).toList(), asList(1, 2, 3));
+        assertEquals(of(3, 1, 2).sorted(Comparator.naturalOrder()).limit(Integer.MAX_VALUE).toList(), asList(1, 2, 3));
+    }
+
+    @Test
+    public void testTopKNotPositive() {
+        assertEquals(of(3, 1, 2).topK(0, Comparator.naturalOrder()).count(), 0);
+        assertEquals(of(3, 1, 2).sorted(Comparator.naturalOrder()).limit(-1).count(), 0);
+    }
+
+    @Test
+    public void testLimitOfTopK() {
+        Query<Integer> top = of(5, 3, 1, 4, 2).topK(4, Comparator.naturalOrder());
+        assertEquals(top.limit(2).toList(), asList(1, 2));
+        Query<Integer> sorted = of(5, 3, 1, 4, 2).sorted(Comparator.naturalOrder()).limit(2).limit(4);
+        assertEquals(sorted.toList(), asList(1, 2));
+    }
+
+    @Test
+    public void testLimitAfterSortedOperatedOn() {
+        Query<Integer> sorted = of(5, 3, 1, 4, 2).sorted(Comparator.naturalOrder());
+        List<Integer> actual = new ArrayList<>();
+        assertTrue(sorted.tryAdvance(actual::add));
+        sorted.limit(2).traverse(actual::add);
+        assertEquals(actual, asList(1, 2, 3));
+
+        Query<Integer> top = of(5, 3, 1, 4, 2).topK(4, Comparator.naturalOrder());
+        actual.clear();
+        assertTrue(top.tryAdvance(actual::add));
+        top.limit(2).traverse(actual::add);
+        assertEquals(actual, asList(1, 2, 3));
+    }
+
+    @Test
+    public void testTopKTraverseWhile() {
+        List<Integer> actual = new ArrayList<>();
+        boolean completed = of(5, 3, 1, 4, 2).topK(4, Comparator.naturalOrder()).traverseWhile(n -> {
+            actual.add(n);
+            return n < 2;
+        });
+        assertFalse(completed);
+        assertEquals(actual, asList(1, 2));
+    }
+
+    @Test
+    public void testSortedAndTopKCharacteristics() {
+        Query<Integer> sorted = of(3, 1, 2).sorted(Comparator.naturalOrder());
+        assertEquals(sorted.characteristics(), ORDERED | SORTED | SIZED);
+        assertEquals(sorted.getExactSizeIfKnown(), 3);
+        Query<Integer> top = of(3, 1, 2).topK(2, Comparator.naturalOrder());
+        assertEquals(top.characteristics(), ORDERED | SORTED | SIZED);
+        assertEquals(top.getExactSizeIfKnown(), 2);
+        assertTrue(top.tryAdvance(n -> assertEquals(n.intValue(), 1)));
+        assertEquals(top.getExactSizeIfKnown(), 1);
+        assertTrue(sorted.tryAdvance(n -> assertEquals(n.intValue(), 1)));
+        assertEquals(sorted.getExactSizeIfKnown(), 2);
+        assertEquals(sorted.characteristics(), ORDERED | SORTED | SIZED);
+        Query<Integer> unsized = of(3, 1, 2).filter(n -> n > 1).topK(5, Comparator.naturalOrder());
+        assertEquals(unsized.characteristics() & SIZED, 0);
+        assertEquals(unsized.getExactSizeIfKnown(), -1);
+    }
+
+    @Test
+    public void testTopKRunsOnClose() {
+        List<String> closed = new ArrayList<>();
+        List<Integer> actual = of(3, 1, 2)
+            .onClose(() -> closed.add("source"))
+            .topK(2, Comparator.naturalOrder())
+            .toList();
+        assertEquals(actual, asList(1, 2));
+        assertEquals(closed, asList("source"));
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Query.fromList;
+import static org.jayield.Query.iterate;
+import static org.jayield.Query.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate only the execution of traverseWhile()
+ * along the entire pipeline.
+ * Each operation should stop cooperatively, returning from the
+ * traverseWhile() of the upstream rather than throwing.
+ */
+public class QueryTraverseWhileTest {
+
+    @Test
+    public void testStopReachesSourceWithoutThrowing() {
+        Source src = new Source(1, 2, 3, 4, 5, 6, 7, 8, 9);
+        List<Integer> actual = new ArrayList<>();
+        boolean finished = new Query<>(src, src)
+            .skip(1)
+            .filter(n -> n % 2 == 0)
+            .map(n -> n * 10)
+            .peek(n -> { })
+            .distinct()
+            .dropWhile(n -> n < 40)
+            .traverseWhile(n -> {
+                actual.add(n);
+                return n < 60;
+            });
+        assertFalse(finished);
+        assertEquals(actual, asList(40, 60));
+        assertTrue(src.stoppedByYield);
+        assertEquals(src.visited, 6);
+    }
+
+    @Test
+    public void testExhaustedTraversalReturnsTrue() {
+        List<String> actual = new ArrayList<>();
+        assertTrue(of("a", "b", "c").traverseWhile(actual::add));
+        assertEquals(actual, asList("a", "b", "c"));
+        assertTrue(fromList(asList(1, 2)).limit(5).traverseWhile(n -> true));
+    }
+
+    @Test
+    public void testTakeWhileIsNotAStopOfTheConsumer() {
+        List<Integer> actual = new ArrayList<>();
+        boolean finished = of(1, 2, 3, 4)
+            .takeWhile(n -> n < 3)
+            .concat(of(7, 8, 9))
+            .traverseWhile(n -> {
+                actual.add(n);
+                return n < 8;
+            });
+        assertFalse(finished);
+        assertEquals(actual, asList(1, 2, 7, 8));
+    }
+
+    @Test
+    public void testFlatMapStopsOuterTraversal() {
+        List<Integer> outer = new ArrayList<>();
+        List<Integer> actual = new ArrayList<>();
+        boolean finished = of(1, 2, 3)
+            .peek(outer::add)
+            .flatMap(n -> of(n * 10, n * 10 + 1))
+            .traverseWhile(n -> {
+                actual.add(n);
+                return n != 20;
+            });
+        assertFalse(finished);
+        assertEquals(outer, asList(1, 2));
+        assertEquals(actual, asList(10, 11, 20));
+    }
+
+    @Test
+    public void testInfiniteSourcesStop() {
+        assertTrue(iterate(1, n -> n + 1).anyMatch(n -> n > 1000));
+        assertFalse(Query.generate(() -> 7).allMatch(n -> n < 7));
+        assertEquals(iterate(1, n -> n * 2).limit(4).toList(), asList(1, 2, 4, 8));
+        assertEquals(iterate(1, n -> n + 1).takeWhile(n -> n < 4).toList(), asList(1, 2, 3));
+        assertEquals(iterate(1, n -> n + 1).zip(of("a", "b"), (n, s) -> s + n).toList(), asList("a1", "b2"));
+    }
+
+    @Test
+    public void testZipStopsOnConsumer() {
+        List<String> actual = new ArrayList<>();
+        boolean finished = of(1, 2, 3)
+            .zip(of("a", "b", "c"), (n, s) -> s + n)
+            .traverseWhile(s -> {
+                actual.add(s);
+                return actual.size() < 2;
+            });
+        assertFalse(finished);
+        assertEquals(actual, asList("a1", "b2"));
+    }
+
+    @Test
+    public void testLegacyTraverserFallback() {
+        Query<Integer> legacy = of(1, 2, 3, 4, 5).then(up -> yield -> up.traverse(yield));
+        List<Integer> actual = new ArrayList<>();
+        assertFalse(legacy.traverseWhile(n -> {
+            actual.add(n);
+            return n < 3;
+        }));
+        assertEquals(actual, asList(1, 2, 3));
+        assertTrue(legacy.allMatch(n -> n > 0));
+    }
+
+    /**
+     * Stopping a traversal through a custom Traverser must not be caught by a
+     * nested traverseWhile() of another custom Traverser.
+     */
+    @Test
+    public void testLegacyStopIsNotCaughtAtTheWrongLevel() {
+        Query<Integer> source = of(1, 2, 3, 4, 5).then(up -> yield -> up.traverse(yield));
+        Query<Integer> outer = source
+            .takeWhile(n -> n < 5)
+            .concat(of(10, 11))
+            .then(up -> yield -> up.traverse(yield));
+        List<Integer> visited = new ArrayList<>();
+        assertTrue(outer.anyMatch(n -> {
+            visited.add(n);
+            return n == 2;
+        }));
+        assertEquals(visited, asList(1, 2));
+    }
+
+    /**
+     * Source that records whether its traversal was stopped by returning
+     * false from the yield, rather than by an exception.
+     */
+    private static class Source implements Advancer<Integer>, Traverser<Integer> {
+        private final Integer[] data;
+        int visited;
+        boolean stoppedByYield;
+
+        Source(Integer... data) {
+            this.data = data;
+        }
+
+        @Override
+        public boolean tryAdvance(Yield<? super Integer> yield) {
+            if(visited >= data.length) return false;
+            yield.ret(data[visited++]);
+            return true;
+        }
+
+        @Override
+        public void traverse(Yield<? super Integer> yield) {
+            while(tryAdvance(yield)) { }
+        }
+
+        @Override
+        public boolean traverseWhile(YieldWhile<? super Integer> yield) {
+            while(visited < data.length) {
+                if(!yield.ret(data[visited++])) {
+                    stoppedByYield = true;
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.async;
+
+import org.jayield.AsyncQuery;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class AsyncQueryFlowTest {
+
+    @Test
+    public void testRequestBoundsInfiniteIterator() {
+        AtomicInteger pulled = new AtomicInteger();
+        Recorder<Integer> rec = new Recorder<>();
+        AsyncQuery.of(naturals(pulled)).subscribe(rec);
+        assertEquals(rec.items(), emptyList());
+        rec.request(3);
+        assertEquals(rec.items(), asList(0, 1, 2));
+        assertEquals(pulled.get(), 3);
+        rec.request(2);
+        assertEquals(rec.items(), asList(0, 1, 2, 3, 4));
+        assertEquals(pulled.get(), 5);
+        assertFalse(rec.completed);
+    }
+
+    @Test
+    public void testEmptySourceCompletesWithoutDemand() {
+        Recorder<String> rec = new Recorder<>();
+        AsyncQuery.<String>of().subscribe(rec);
+        assertTrue(rec.completed);
+    }
+
+    @Test
+    public void testDemandThroughOperators() {
+        AtomicInteger pulled = new AtomicInteger();
+        Recorder<Integer> rec = new Recorder<>();
+        AsyncQuery
+            .of(naturals(pulled))
+            .map(n -> n / 2)           // 0, 0, 1, 1, 2, 2, 3, 3, ...
+            .distinct()                // 0, 1, 2, 3, ...
+            .filter(n -> n % 2 != 0)   // 1, 3, 5, ...
+            .skip(1)                   // 3, 5, ...
+            .onNext((item, err) -> { })
+            .subscribe(rec);
+        rec.request(2);
+        assertEquals(rec.items(), asList(3, 5));
+        assertEquals(pulled.get(), 11);
+        rec.request(1);
+        assertEquals(rec.items(), asList(3, 5, 7));
+        assertEquals(pulled.get(), 15);
+    }
+
+    @Test
+    public void testTakeWhileCancelsUpstream() {
+        AtomicInteger pulled = new AtomicInteger();
+        Recorder<Integer> rec = new Recorder<>();
+        AsyncQuery
+            .of(naturals(pulled))
+            .takeWhile(n -> n < 5)
+            .subscribe(rec);
+        rec.request(Long.MAX_VALUE);
+        assertEquals(rec.items(), asList(0, 1, 2, 3, 4));
+        assertTrue(rec.completed);
+        assertEquals(pulled.get(), 6);
+    }
+
+    @Test
+    public void testFlatMapConcatHandsOverDemand() {
+        Recorder<Integer> rec = new Recorder<>();
+        AsyncQuery
+            .of(1, 2, 3)
+            .flatMapConcat(n -> AsyncQuery.of(n * 10, n * 10 + 1, n * 10 + 2))
+            .subscribe(rec);
+        rec.request(4);
+        assertEquals(rec.items(), asList(10, 11, 12, 20));
+        assertFalse(rec.completed);
+        rec.request(100);
+        assertEquals(rec.items(), asList(10, 11, 12, 20, 21, 22, 30, 31, 32));
+        assertTrue(rec.completed);
+    }
+
+    @Test
+    public void testFlatMapConcatOfInfiniteInner() {
+        AtomicInteger pulled = new AtomicInteger();
+        Recorder<Integer> rec = new Recorder<>();
+        AsyncQuery
+            .of("a", "b")
+            .flatMapConcat(s -> AsyncQuery.of(naturals(pulled)))
+            .subscribe(rec);
+        rec.request(3);
+        assertEquals(rec.items(), asList(0, 1, 2));
+        assertEquals(pulled.get(), 3);
+    }
+
+    @Test
+    public void testFlatMapMergeBoundsBufferedItems() {
+        AtomicInteger pulled = new AtomicInteger();
+        Recorder<Integer> rec = new Recorder<>();
+        new AsyncQueryFlatMapMerge<String, Integer>(
+            AsyncQuery.of("a", "b", "c", "d"),
+            s -> AsyncQuery.of(naturals(pulled)),
+            2)
+            .subscribe(rec);
+        assertEquals(pulled.get(), 2);
+        rec.request(5);
+        assertEquals(rec.items().size(), 5);
+        assertEquals(pulled.get(), 7);
+        assertFalse(rec.completed);
+    }
+
+    @Test
+    public void testFlatMapMergeCompletes() {
+        Recorder<Integer> rec = new Recorder<>();
+        AsyncQuery
+            .fork(1, 2, 3)
+            .flatMapMerge(n -> AsyncQuery.fork(n * 10, n * 10 + 1))
+            .subscribe(rec);
+        rec.request(Long.MAX_VALUE);
+        rec.await();
+        List<Integer> actual = new ArrayList<>(rec.items());
+        Collections.sort(actual);
+        assertEquals(actual, asList(10, 11, 20, 21, 30, 31));
+        assertTrue(rec.completed);
+    }
+
+    @Test
+    public void testForkEmitsOnDemand() throws InterruptedException {
+        Recorder<Integer> rec = new Recorder<>();
+        AsyncQuery.fork(1, 2, 3, 4, 5).subscribe(rec);
+        rec.request(2);
+        while(rec.items().size() < 2) Thread.sleep(1);
+        Thread.sleep(20);
+        assertEquals(rec.items(), asList(1, 2));
+        rec.request(3);
+        rec.await();
+        assertEquals(rec.items(), asList(1, 2, 3, 4, 5));
+    }
+
+    @Test
+    public void testPushSourceIsBuffered() {
+        AsyncQuery<Integer> push = new AsyncQuery<Integer>() {
+            @Override
+            public CompletableFuture<Void> subscribe(BiConsumer<? super Integer, ? super Throwable> cons) {
+                Arrays.asList(1, 2, 3, 4, 5).forEach(n -> cons.accept(n, null));
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        Recorder<Integer> rec = new Recorder<>();
+        push.map(n -> n * 2).subscribe(rec);
+        rec.request(2);
+        assertEquals(rec.items(), asList(2, 4));
+        assertFalse(rec.completed);
+        rec.request(10);
+        assertEquals(rec.items(), asList(2, 4, 6, 8, 10));
+        assertTrue(rec.completed);
+    }
+
+    @Test
+    public void testPushSourceDeliversNullItems() {
+        AsyncQuery<String> push = new AsyncQuery<String>() {
+            @Override
+            public CompletableFuture<Void> subscribe(BiConsumer<? super String, ? super Throwable> cons) {
+                Arrays.asList("a", null, "b", null).forEach(item -> cons.accept(item, null));
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        Recorder<String> rec = new Recorder<>();
+        push.subscribe(rec);
+        rec.request(2);
+        assertEquals(rec.items(), asList("a", null));
+        rec.request(10);
+        assertEquals(rec.items(), asList("a", null, "b", null));
+        assertTrue(rec.completed);
+        Recorder<String> skipped = new Recorder<>();
+        push.skip(1).subscribe(skipped);
+        skipped.request(10);
+        assertEquals(skipped.items(), asList(null, "b", null));
+        assertTrue(skipped.completed);
+    }
+
+    @Test
+    public void testNonPositiveRequestIsAnError() {
+        Recorder<Integer> rec = new Recorder<>();
+        AsyncQuery.of(1, 2, 3).subscribe(rec);
+        rec.request(0);
+        assertTrue(rec.error instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testMapperErrorCancelsUpstream() {
+        AtomicInteger pulled = new AtomicInteger();
+        Recorder<Integer> rec = new Recorder<>();
+        AsyncQuery
+            .of(naturals(pulled))
+            .map(n -> 10 / (2 - n))
+            .subscribe(rec);
+        rec.request(10);
+        assertEquals(rec.items(), asList(5, 10));
+        assertTrue(rec.error instanceof ArithmeticException);
+        assertEquals(pulled.get(), 3);
+    }
+
+    @Test
+    public void testSubscribeOnRequestsOnExecutor() {
+        ExecutorService pool = Executors.newSingleThreadExecutor(task -> new Thread(task, "producer"));
+        try {
+            Iterator<Integer> source = IntStream.range(0, 5)
+                .peek(n -> assertEquals(Thread.currentThread().getName(), "producer"))
+                .boxed()
+                .iterator();
+            Recorder<Integer> rec = new Recorder<>();
+            AsyncQuery.of(source).subscribeOn(pool).subscribe(rec);
+            rec.awaitSubscription();
+            rec.request(10);
+            rec.await();
+            assertEquals(rec.items(), asList(0, 1, 2, 3, 4));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testObserveOnDeliversOnExecutor() {
+        ExecutorService pool = Executors.newSingleThreadExecutor(task -> new Thread(task, "consumer"));
+        try {
+            List<String> threads = Collections.synchronizedList(new ArrayList<>());
+            Recorder<Integer> rec = new Recorder<Integer>() {
+                @Override
+                public void onNext(Integer item) {
+                    threads.add(Thread.currentThread().getName());
+                    super.onNext(item);
+                }
+            };
+            AsyncQuery.of(1, 2, 3).observeOn(pool).subscribe(rec);
+            rec.request(2);
+            rec.request(2);
+            rec.await();
+            assertEquals(rec.items(), asList(1, 2, 3));
+            assertEquals(threads, asList("consumer", "consumer", "consumer"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Iterator<Integer> naturals(AtomicInteger pulled) {
+        return new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return pulled.getAndIncrement();
+            }
+        };
+    }
+
+    /**
+     * Records every signal and requests items only on demand of the test.
+     */
+    private static class Recorder<T> implements Flow.Subscriber<T> {
+        private final List<T> items = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch finish = new CountDownLatch(1);
+        private final CountDownLatch subscribed = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        volatile boolean completed;
+        volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscribed.countDown();
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            finish.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            finish.countDown();
+        }
+
+        void request(long n) {
+            subscription.request(n);
+        }
+
+        List<T> items() {
+            synchronized (items) {
+                return new ArrayList<>(items);
+            }
+        }
+
+        void awaitSubscription() {
+            try {
+                assertTrue(subscribed.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        void await() {
+            try {
+                assertTrue(finish.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
@@ -19,10 +19,25 @@ package org.jayield.async;
 import org.jayield.AsyncQuery;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -147,6 +162,79 @@ public class AsyncQueryTest {
             .join();
         assertFalse(expected.hasNext());
     }
+
+    @Test
+    public void testFlatMapConcatOfNullItems() {
+        List<String> actual = new ArrayList<>();
+        AsyncQuery
+            .of("a", null, "b")
+            .flatMapConcat(AsyncQuery::of)
+            .subscribe((item, err) -> {
+                assertNull(err);
+                actual.add(item);
+            })
+            .join();
+        assertEquals(actual, Arrays.asList("a", null, "b"));
+    }
+
+    @Test
+    public void testFlatMapConcatDoesNotBlockSmallPool() {
+        ExecutorService pool = Executors.newFixedThreadPool(1);
+        try {
+            int size = 5_000;
+            Integer[] source = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+            List<Integer> actual = new ArrayList<>();
+            onPool(pool, source)
+                .flatMapConcat(n -> onPool(pool, 2 * n, 2 * n + 1))
+                .subscribe((item, err) -> {
+                    assertNull(err);
+                    actual.add(item);
+                })
+                .get(10, TimeUnit.SECONDS);
+            assertEquals(actual.size(), 2 * size);
+            for (int i = 0; i < actual.size(); i++) {
+                assertEquals(actual.get(i).intValue(), i);
+            }
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            throw new AssertionError(e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testFlatMapConcatPropagatesInnerError() {
+        CompletableFuture<Void> cf = AsyncQuery
+            .of(1, 2, 3)
+            .flatMapConcat(n -> n == 2 ? failing(new IllegalStateException()) : AsyncQuery.of(n))
+            .subscribe((item, err) -> { });
+        assertTrue(cf.isCompletedExceptionally());
+    }
+
+    /**
+     * Emits all items in a single task of the given Executor.
+     */
+    @SafeVarargs
+    private static <T> AsyncQuery<T> onPool(Executor executor, T...items) {
+        return new AsyncQuery<T>() {
+            @Override
+            public CompletableFuture<Void> subscribe(BiConsumer<? super T, ? super Throwable> cons) {
+                return CompletableFuture.runAsync(() -> {
+                    for (T item : items) cons.accept(item, null);
+                }, executor);
+            }
+        };
+    }
+
+    private static <T> AsyncQuery<T> failing(Throwable err) {
+        return new AsyncQuery<T>() {
+            @Override
+            public CompletableFuture<Void> subscribe(BiConsumer<? super T, ? super Throwable> cons) {
+                return CompletableFuture.failedFuture(err);
+            }
+        };
+    }
+
     @Test
     public void testFlatMapMerge() {
         Queue<Integer> expected = new ConcurrentLinkedQueue<>();
@@ -161,4 +249,147 @@ public class AsyncQueryTest {
             .join();
         assertTrue(expected.isEmpty());
     }
+
+    @Test
+    public void testFlatMapMergeOfNullItems() {
+        List<String> actual = Collections.synchronizedList(new ArrayList<>());
+        AsyncQuery
+            .of("a", null, "b")
+            .flatMapMerge(AsyncQuery::of)
+            .subscribe((item, err) -> {
+                assertNull(err);
+                actual.add(item);
+            })
+            .join();
+        assertEquals(actual.size(), 3);
+        assertTrue(actual.containsAll(Arrays.asList("a", null, "b")));
+    }
+
+    @Test
+    public void testFlatMapMergeBoundsConcurrencyAndSerializesCallbacks() {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            int size = 10_000;
+            int maxConcurrency = 4;
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+            AtomicInteger inCallback = new AtomicInteger();
+            Integer[] source = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+            Set<Integer> actual = new HashSet<>();
+            AsyncQuery
+                .of(source)
+                .flatMapMerge(n -> tracking(pool, running, peak, n), maxConcurrency)
+                .subscribe((item, err) -> {
+                    assertNull(err);
+                    assertEquals(inCallback.incrementAndGet(), 1, "Overlapping callbacks!");
+                    actual.add(item);
+                    inCallback.decrementAndGet();
+                })
+                .get(30, TimeUnit.SECONDS);
+            assertEquals(actual.size(), size);
+            assertTrue(peak.get() <= maxConcurrency, "Peak of " + peak.get() + " inner queries!");
+        } catch (InterruptedException | ExecutionException | TimeoutException e) {
+            throw new AssertionError(e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testFlatMapMergeIllegalConcurrency() {
+        AsyncQuery.of(1).flatMapMerge(AsyncQuery::of, 0);
+    }
+
+    /**
+     * Emits a single item on the given Executor while counting the running subscriptions.
+     */
+    private static AsyncQuery<Integer> tracking(Executor executor, AtomicInteger running, AtomicInteger peak, Integer item) {
+        return new AsyncQuery<Integer>() {
+            @Override
+            public CompletableFuture<Void> subscribe(BiConsumer<? super Integer, ? super Throwable> cons) {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                return CompletableFuture.runAsync(() -> {
+                    cons.accept(item, null);
+                    running.decrementAndGet();
+                }, executor);
+            }
+        };
+    }
+
+    @Test
+    public void testForkOnExecutor() {
+        ExecutorService pool = named("fork-test");
+        try {
+            List<Integer> actual = new ArrayList<>();
+            AsyncQuery
+                .fork(pool, 1, 2, 3)
+                .subscribe((item, err) -> {
+                    assertEquals(Thread.currentThread().getName(), "fork-test");
+                    actual.add(item);
+                })
+                .join();
+            assertEquals(actual, Arrays.asList(1, 2, 3));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSubscribeOnRunsSourceOnExecutor() {
+        ExecutorService pool = named("producer");
+        try {
+            Iterator<Integer> source = IntStream.range(0, 5)
+                .peek(n -> assertEquals(Thread.currentThread().getName(), "producer"))
+                .boxed()
+                .iterator();
+            List<Integer> actual = new ArrayList<>();
+            AsyncQuery
+                .of(source)
+                .subscribeOn(pool)
+                .subscribe((item, err) -> actual.add(item))
+                .join();
+            assertEquals(actual, Arrays.asList(0, 1, 2, 3, 4));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testObserveOnKeepsOrderOnExecutor() {
+        ExecutorService pool = Executors.newFixedThreadPool(4, task -> new Thread(task, "consumer"));
+        try {
+            int size = 10_000;
+            Integer[] source = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+            AtomicInteger inCallback = new AtomicInteger();
+            List<Integer> actual = new ArrayList<>();
+            AsyncQuery
+                .fork(source)
+                .observeOn(pool)
+                .subscribe((item, err) -> {
+                    assertEquals(inCallback.incrementAndGet(), 1, "Overlapping callbacks!");
+                    assertEquals(Thread.currentThread().getName(), "consumer");
+                    actual.add(item);
+                    inCallback.decrementAndGet();
+                })
+                .join();
+            assertEquals(actual, Arrays.asList(source));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testVirtualThreadPerTask() {
+        Queue<Integer> actual = new ConcurrentLinkedQueue<>();
+        AsyncQuery
+            .of(1, 2, 3, 4)
+            .flatMapMerge(n -> AsyncQuery.fork(AsyncQuery.virtualThreadPerTask(), n, -n))
+            .subscribe((item, err) -> actual.add(item))
+            .join();
+        assertEquals(actual.stream().sorted().toArray(), new Integer[] {-4, -3, -2, -1, 1, 2, 3, 4});
+    }
+
+    private static ExecutorService named(String name) {
+        return Executors.newSingleThreadExecutor(task -> new Thread(task, name));
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.collections;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class BoundedHeapTest {
+
+    @Test
+    public void testIntBoundedHeapAgainstSort() {
+        Random rnd = new Random(7);
+        int[] data = rnd.ints(10_000, -500, 500).toArray();
+        IntBoundedHeap heap = new IntBoundedHeap(100);
+        Arrays.stream(data).forEach(heap::add);
+        assertEquals(heap.size(), 100);
+        Arrays.sort(data);
+        assertEquals(heap.toSortedArray(), Arrays.copyOf(data, 100));
+    }
+
+    @Test
+    public void testLongBoundedHeapAgainstSort() {
+        Random rnd = new Random(7);
+        long[] data = rnd.longs(10_000, -500, 500).toArray();
+        LongBoundedHeap heap = new LongBoundedHeap(100);
+        Arrays.stream(data).forEach(heap::add);
+        assertEquals(heap.size(), 100);
+        Arrays.sort(data);
+        assertEquals(heap.toSortedArray(), Arrays.copyOf(data, 100));
+    }
+
+    @Test
+    public void testDoubleBoundedHeapAgainstSort() {
+        Random rnd = new Random(7);
+        double[] data = rnd.doubles(10_000).toArray();
+        data[3] = Double.NaN;
+        data[5] = -0.0;
+        data[7] = 0.0;
+        DoubleBoundedHeap heap = new DoubleBoundedHeap(100);
+        Arrays.stream(data).forEach(heap::add);
+        assertEquals(heap.size(), 100);
+        Arrays.sort(data);
+        assertEquals(heap.toSortedArray(), Arrays.copyOf(data, 100));
+    }
+
+    @Test
+    public void testBoundedHeapIsStable() {
+        Random rnd = new Random(7);
+        Integer[] data = rnd.ints(10_000, 0, 1000).boxed().toArray(Integer[]::new);
+        Comparator<Integer> byTens = Comparator.comparing(n -> n / 10);
+        BoundedHeap<Integer> heap = new BoundedHeap<>(100, byTens);
+        Arrays.stream(data).forEach(heap::add);
+        assertEquals(heap.size(), 100);
+        Arrays.sort(data, byTens);
+        assertEquals(heap.toSortedArray(), Arrays.copyOf(data, 100));
+    }
+
+    @Test
+    public void testBoundedHeapWithLessElementsThanBound() {
+        IntBoundedHeap heap = new IntBoundedHeap(1000);
+        heap.add(3);
+        heap.add(1);
+        heap.add(2);
+        assertEquals(heap.toSortedArray(), new int[] {1, 2, 3});
+        BoundedHeap<String> strs = new BoundedHeap<>(Integer.MAX_VALUE, Comparator.naturalOrder());
+        strs.add("b");
+        strs.add("a");
+        assertEquals(strs.toSortedArray(), new Object[] {"a", "b"});
+    }
+
+    @Test
+    public void testBoundedHeapFullReturnsBackingArray() {
+        IntBoundedHeap heap = new IntBoundedHeap(2);
+        heap.add(1);
+        heap.add(2);
+        int[] first = heap.toSortedArray();
+        assertSame(heap.toSortedArray(), first);
+    }
+
+    @Test
+    public void testZeroBoundedHeap() {
+        LongBoundedHeap heap = new LongBoundedHeap(0);
+        heap.add(1);
+        assertEquals(heap.size(), 0);
+        assertEquals(heap.toSortedArray(), new long[0]);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNegativeBound() {
+        new DoubleBoundedHeap(-1);
+    }
+}
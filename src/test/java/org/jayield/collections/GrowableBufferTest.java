@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.collections;
+
+import org.testng.annotations.Test;
+
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class GrowableBufferTest {
+
+    @Test
+    public void testIntGrowableBuffer() {
+        IntGrowableBuffer buffer = new IntGrowableBuffer(0);
+        IntStream.range(0, 1000).forEach(buffer::add);
+        assertEquals(buffer.size(), 1000);
+        assertEquals(buffer.get(999), 999);
+        assertEquals(buffer.toArray(), IntStream.range(0, 1000).toArray());
+    }
+
+    @Test
+    public void testLongGrowableBuffer() {
+        LongGrowableBuffer buffer = new LongGrowableBuffer();
+        IntStream.range(0, 1000).forEach(buffer::add);
+        assertEquals(buffer.size(), 1000);
+        assertEquals(buffer.get(10), 10L);
+        assertEquals(buffer.toArray(), IntStream.range(0, 1000).asLongStream().toArray());
+    }
+
+    @Test
+    public void testDoubleGrowableBuffer() {
+        DoubleGrowableBuffer buffer = new DoubleGrowableBuffer(3);
+        buffer.add(1.5);
+        buffer.add(2.5);
+        assertEquals(buffer.toArray(), new double[]{1.5, 2.5});
+        buffer.add(3.5);
+        assertSame(buffer.toArray(), buffer.toArray(), "A full buffer returns its backing array");
+        assertEquals(buffer.get(2), 3.5);
+        assertEquals(new DoubleGrowableBuffer().toArray().length, 0);
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        IntGrowableBuffer buffer = new IntGrowableBuffer();
+        buffer.add(1);
+        buffer.get(1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testIllegalCapacity() {
+        new LongGrowableBuffer(-1);
+    }
+}
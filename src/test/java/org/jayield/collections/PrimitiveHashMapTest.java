@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.collections;
+
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class PrimitiveHashMapTest {
+
+    @Test
+    public void testIntHashMapAgainstHashMap() {
+        Random rnd = new Random(7);
+        IntHashMap<String> actual = new IntHashMap<>();
+        Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            int n = rnd.nextInt(20_000) - 10_000;
+            if(i % 3 == 0) {
+                assertEquals(actual.put(n, "p" + i), expected.put(n, "p" + i));
+            } else {
+                assertEquals(actual.computeIfAbsent(n, String::valueOf), expected.computeIfAbsent(n, String::valueOf));
+            }
+        }
+        assertEquals(actual.size(), expected.size());
+        for (int n = -10_000; n < 10_000; n++) {
+            assertEquals(actual.containsKey(n), expected.containsKey(n));
+            assertEquals(actual.get(n), expected.get(n));
+        }
+        int[] keys = actual.keys();
+        Arrays.sort(keys);
+        assertEquals(keys, expected.keySet().stream().mapToInt(n -> n).sorted().toArray());
+        Map<Integer, String> entries = new HashMap<>();
+        actual.forEach(entries::put);
+        assertEquals(entries, expected);
+    }
+
+    @Test
+    public void testLongHashMapAgainstHashMap() {
+        Random rnd = new Random(7);
+        LongHashMap<String> actual = new LongHashMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            long n = (rnd.nextInt(20_000) - 10_000) * 4_294_967_296L;
+            if(i % 3 == 0) {
+                assertEquals(actual.put(n, "p" + i), expected.put(n, "p" + i));
+            } else {
+                assertEquals(actual.computeIfAbsent(n, String::valueOf), expected.computeIfAbsent(n, String::valueOf));
+            }
+        }
+        assertEquals(actual.size(), expected.size());
+        for (long n = -10_000; n < 10_000; n++) {
+            assertEquals(actual.containsKey(n * 4_294_967_296L), expected.containsKey(n * 4_294_967_296L));
+            assertEquals(actual.get(n * 4_294_967_296L), expected.get(n * 4_294_967_296L));
+        }
+        long[] keys = actual.keys();
+        Arrays.sort(keys);
+        assertEquals(keys, expected.keySet().stream().mapToLong(n -> n).sorted().toArray());
+        Map<Long, String> entries = new HashMap<>();
+        actual.forEach(entries::put);
+        assertEquals(entries, expected);
+    }
+
+    @Test
+    public void testMergeAgainstHashMap() {
+        Random rnd = new Random(7);
+        IntLongHashMap ints = new IntLongHashMap();
+        LongLongHashMap longs = new LongLongHashMap();
+        Map<Integer, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            int n = rnd.nextInt(20_000) - 10_000;
+            ints.merge(n, i, Math::max);
+            longs.merge(n * 4_294_967_296L, i, Math::max);
+            expected.merge(n, (long) i, Math::max);
+        }
+        assertEquals(ints.size(), expected.size());
+        assertEquals(longs.size(), expected.size());
+        for (int n = -10_000; n < 10_000; n++) {
+            long value = expected.getOrDefault(n, -1L);
+            assertEquals(ints.containsKey(n), expected.containsKey(n));
+            assertEquals(ints.get(n, -1), value);
+            assertEquals(longs.containsKey(n * 4_294_967_296L), expected.containsKey(n));
+            assertEquals(longs.get(n * 4_294_967_296L, -1), value);
+        }
+        assertEquals(ints.keys().length, expected.size());
+        assertEquals(longs.keys().length, expected.size());
+        Map<Integer, Long> intEntries = new HashMap<>();
+        ints.forEach(intEntries::put);
+        assertEquals(intEntries, expected);
+        Map<Integer, Long> longEntries = new HashMap<>();
+        longs.forEach((key, value) -> longEntries.put((int) (key / 4_294_967_296L), value));
+        assertEquals(longEntries, expected);
+    }
+
+    @Test
+    public void testZeroIsTrackedApart() {
+        IntHashMap<String> map = new IntHashMap<>();
+        assertFalse(map.containsKey(0));
+        assertNull(map.get(0));
+        assertNull(map.put(0, "a"));
+        assertEquals(map.put(0, "b"), "a");
+        assertEquals(map.computeIfAbsent(0, String::valueOf), "b");
+        assertTrue(map.containsKey(0));
+        assertEquals(map.size(), 1);
+        assertEquals(map.keys(), new int[] {0});
+        LongHashMap<String> longs = new LongHashMap<>();
+        assertEquals(longs.computeIfAbsent(0, String::valueOf), "0");
+        assertEquals(longs.put(0, "b"), "0");
+        assertEquals(longs.keys(), new long[] {0});
+        IntLongHashMap counts = new IntLongHashMap();
+        assertEquals(counts.get(0, -1), -1L);
+        counts.merge(0, 1, Long::sum);
+        counts.merge(0, 1, Long::sum);
+        assertEquals(counts.get(0, -1), 2L);
+        assertEquals(counts.keys(), new int[] {0});
+        LongLongHashMap sums = new LongLongHashMap();
+        assertFalse(sums.containsKey(0));
+        sums.merge(0, 5, Long::sum);
+        sums.merge(0, 7, Long::sum);
+        assertTrue(sums.containsKey(0));
+        assertEquals(sums.get(0, -1), 12L);
+        assertEquals(sums.keys(), new long[] {0});
+    }
+
+    @Test
+    public void testMapValues() {
+        IntHashMap<String> map = new IntHashMap<>();
+        map.put(0, "a");
+        map.put(7, "bb");
+        IntHashMap<Integer> lengths = map.mapValues(String::length);
+        assertEquals(lengths.size(), 2);
+        assertEquals(lengths.get(0).intValue(), 1);
+        assertEquals(lengths.get(7).intValue(), 2);
+        assertNull(lengths.get(3));
+        assertEquals(map.get(7), "bb");
+        LongHashMap<String> longs = new LongHashMap<>();
+        longs.put(1L << 40, "ccc");
+        assertEquals(longs.mapValues(String::length).get(1L << 40).intValue(), 3);
+    }
+
+    @Test
+    public void testResizeFollowsLoadFactor() {
+        IntHashMap<Integer> map = new IntHashMap<>(0, 0.5f);
+        assertEquals(map.capacity(), 16);
+        for (int n = 1; n <= 8; n++) map.put(n, n);
+        assertEquals(map.capacity(), 16);
+        map.put(9, 9);
+        assertEquals(map.capacity(), 32);
+        for (int n = 1; n <= 9; n++) assertEquals(map.get(n).intValue(), n);
+        assertEquals(new LongHashMap<>(100, 0.75f).capacity(), 256);
+        assertEquals(new IntLongHashMap(100, 0.75f).capacity(), 256);
+        assertEquals(new LongLongHashMap().capacity(), 16);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testIllegalLoadFactor() {
+        new IntLongHashMap(16, 1.0f);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testIllegalExpectedSize() {
+        new LongHashMap<>(-1, 0.75f);
+    }
+}
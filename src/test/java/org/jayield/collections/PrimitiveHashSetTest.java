@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.collections;
+
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class PrimitiveHashSetTest {
+
+    @Test
+    public void testIntHashSetAgainstHashSet() {
+        Random rnd = new Random(7);
+        IntHashSet actual = new IntHashSet();
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            int n = rnd.nextInt(20_000) - 10_000;
+            assertEquals(actual.add(n), expected.add(n));
+        }
+        assertEquals(actual.size(), expected.size());
+        for (int n = -10_000; n < 10_000; n++) {
+            assertEquals(actual.contains(n), expected.contains(n));
+        }
+    }
+
+    @Test
+    public void testLongHashSetAgainstHashSet() {
+        Random rnd = new Random(7);
+        LongHashSet actual = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            long n = (rnd.nextInt(20_000) - 10_000) * 4_294_967_296L;
+            assertEquals(actual.add(n), expected.add(n));
+        }
+        assertEquals(actual.size(), expected.size());
+        for (long n = -10_000; n < 10_000; n++) {
+            assertEquals(actual.contains(n * 4_294_967_296L), expected.contains(n * 4_294_967_296L));
+        }
+    }
+
+    @Test
+    public void testDoubleHashSetFollowsDoubleEquals() {
+        DoubleHashSet set = new DoubleHashSet(4, 0.5f);
+        assertTrue(set.add(Double.NaN));
+        assertFalse(set.add(Double.NaN));
+        assertTrue(set.add(0.0));
+        assertTrue(set.add(-0.0));
+        assertFalse(set.add(0.0));
+        assertTrue(set.add(1.5));
+        assertTrue(set.contains(1.5));
+        assertFalse(set.contains(2.5));
+        assertEquals(set.size(), 4);
+    }
+
+    @Test
+    public void testZeroIsTrackedApart() {
+        IntHashSet set = new IntHashSet();
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.contains(0));
+        assertEquals(set.size(), 1);
+    }
+
+    @Test
+    public void testResizeFollowsLoadFactor() {
+        LongHashSet set = new LongHashSet(0, 0.5f);
+        assertEquals(set.capacity(), 16);
+        for (long n = 1; n <= 8; n++) set.add(n);
+        assertEquals(set.capacity(), 16);
+        set.add(9);
+        assertEquals(set.capacity(), 32);
+        assertEquals(new IntHashSet(100, 0.75f).capacity(), 256);
+        assertEquals(new DoubleHashSet().capacity(), 16);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testIllegalLoadFactor() {
+        new IntHashSet(16, 1.0f);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testIllegalExpectedSize() {
+        new LongHashSet(-1, 0.75f);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.ops;
+
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class ShapesTest {
+    private static final byte MAP = 0;
+    private static final byte FILTER = 1;
+
+    @Test
+    public void testSameShapeForSameKindsAndClasses() {
+        Shapes<List<Byte>> shapes = new Shapes<>();
+        List<Integer> defined = new ArrayList<>();
+        Function<Integer, Integer> inc = n -> n + 1;
+        Function<Integer, Integer> dec = n -> n - 1;
+        List<Byte> shape = shapes.get(new byte[] {MAP, MAP}, new Object[] {inc, dec}, true, (kinds, array) -> {
+            defined.add(kinds.length);
+            return List.of(kinds[0], kinds[1]);
+        });
+        assertSame(shapes.get(new byte[] {MAP, MAP}, new Object[] {inc, dec}, true, (kinds, array) -> null), shape);
+        assertEquals(defined, List.of(2));
+        assertNotSame(shapes.get(new byte[] {MAP, MAP}, new Object[] {dec, inc}, true, (kinds, array) -> List.of()), shape);
+        assertNotSame(shapes.get(new byte[] {MAP, MAP}, new Object[] {inc, dec}, false, (kinds, array) -> List.of()), shape);
+        assertNotSame(shapes.get(new byte[] {MAP, FILTER}, new Object[] {inc, dec}, true, (kinds, array) -> List.of()), shape);
+        assertNotSame(shapes.get(new byte[] {MAP}, new Object[] {inc}, true, (kinds, array) -> List.of()), shape);
+    }
+
+    @Test
+    public void testStageClassesAreNotKeptReachable() throws Exception {
+        Shapes<String> shapes = new Shapes<>();
+        WeakReference<Class<?>> stage = defineStageInOwnLoader(shapes);
+        for (int i = 0; i < 100 && stage.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(stage.get());
+    }
+
+    private static WeakReference<Class<?>> defineStageInOwnLoader(Shapes<String> shapes) throws Exception {
+        Class<?> cls = new StageLoader().loadClass(Stage.class.getName());
+        Object stage = cls.getDeclaredConstructor().newInstance();
+        assertEquals(shapes.get(new byte[] {MAP}, new Object[] {stage}, false, (kinds, array) -> "shape"), "shape");
+        return new WeakReference<>(cls);
+    }
+
+    public static class Stage implements UnaryOperator<Object> {
+        @Override
+        public Object apply(Object item) {
+            return item;
+        }
+    }
+
+    /**
+     * Defines its own copy of Stage, which is unloaded with this loader.
+     */
+    private static class StageLoader extends ClassLoader {
+        StageLoader() {
+            super(ShapesTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if(!name.equals(Stage.class.getName())) return super.loadClass(name, resolve);
+            try (InputStream in = Stage.class.getResourceAsStream("ShapesTest$Stage.class")) {
+                byte[] bytes = in.readAllBytes();
+                return defineClass(name, bytes, 0, bytes.length);
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives;
+
+import org.jayield.primitives.dbl.DoubleQuery;
+import org.jayield.primitives.intgr.IntQuery;
+import org.jayield.primitives.lng.LongQuery;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.IntSummaryStatistics;
+import java.util.LongSummaryStatistics;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Random;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * These tests aim to evaluate the reductions of primitive queries from an
+ * array, which must give the same results as traversing the same elements.
+ * The iterate() queries below traverse the same elements one by one.
+ */
+public class ArrayReductionsTest {
+
+    private static final int SIZE = 1003;
+
+    private static int[] ints() {
+        return new Random(7).ints(SIZE, -1000, 1000).toArray();
+    }
+
+    private static IntQuery traversed(int[] data) {
+        return IntQuery.iterate(0, i -> i + 1).limit(data.length).map(i -> data[i]);
+    }
+
+    @Test
+    public void testIntReductionsOfRanges() {
+        int[] data = ints();
+        for (int skip : new int[] {0, 1, 17, SIZE - 1, SIZE}) {
+            assertEquals(IntQuery.of(data).skip(skip).sum(), traversed(data).skip(skip).sum());
+            assertEquals(IntQuery.of(data).skip(skip).min(), traversed(data).skip(skip).min());
+            assertEquals(IntQuery.of(data).skip(skip).max(), traversed(data).skip(skip).max());
+            assertEquals(IntQuery.of(data).skip(skip).average(), traversed(data).skip(skip).average());
+            assertEquals(
+                IntQuery.of(data).skip(skip).limit(500).summaryStatistics().toString(),
+                traversed(data).skip(skip).limit(500).summaryStatistics().toString());
+        }
+    }
+
+    @Test
+    public void testIntReductionsAfterTryAdvance() {
+        IntQuery q = IntQuery.of(4, 1, 7, 3);
+        q.tryAdvance(n -> { });
+        assertEquals(q.sum(), 11);
+        assertEquals(q.min(), OptionalInt.of(1));
+        assertEquals(q.max(), OptionalInt.of(7));
+    }
+
+    @Test
+    public void testEmptyArrays() {
+        assertEquals(IntQuery.of().sum(), 0);
+        assertEquals(IntQuery.of().min(), OptionalInt.empty());
+        assertEquals(IntQuery.of().max(), OptionalInt.empty());
+        assertEquals(IntQuery.of().average(), OptionalDouble.empty());
+        assertEquals(IntQuery.of().summaryStatistics().toString(), new IntSummaryStatistics().toString());
+        assertEquals(LongQuery.of().sum(), 0);
+        assertEquals(LongQuery.of().min(), OptionalLong.empty());
+        assertEquals(LongQuery.of().max(), OptionalLong.empty());
+        assertEquals(LongQuery.of().average(), OptionalDouble.empty());
+        assertEquals(LongQuery.of().summaryStatistics().toString(), new LongSummaryStatistics().toString());
+        assertEquals(DoubleQuery.of().sum(), 0.0);
+        assertEquals(DoubleQuery.of().min(), OptionalDouble.empty());
+        assertEquals(DoubleQuery.of().max(), OptionalDouble.empty());
+        assertEquals(DoubleQuery.of().average(), OptionalDouble.empty());
+        assertEquals(DoubleQuery.of().summaryStatistics().toString(), new DoubleSummaryStatistics().toString());
+    }
+
+    @Test
+    public void testLongReductionsOfRanges() {
+        long[] data = new Random(11).longs(SIZE, Long.MIN_VALUE / 4, Long.MAX_VALUE / 4).toArray();
+        LongQuery traversed = LongQuery.iterate(0, i -> i + 1).limit(SIZE).map(i -> data[(int) i]);
+        assertEquals(LongQuery.of(data).sum(), traversed.sum());
+        assertEquals(LongQuery.of(data).skip(3).min(), LongQuery.iterate(0, i -> i + 1).limit(SIZE).map(i -> data[(int) i]).skip(3).min());
+        assertEquals(LongQuery.of(data).limit(9).max(), LongQuery.iterate(0, i -> i + 1).limit(9).map(i -> data[(int) i]).max());
+        assertEquals(LongQuery.of(data).average(), LongQuery.iterate(0, i -> i + 1).limit(SIZE).map(i -> data[(int) i]).average());
+        assertEquals(LongQuery.of(data).summaryStatistics().toString(), Arrays.stream(data).summaryStatistics().toString());
+    }
+
+    @Test
+    public void testDoubleReductionsOfRanges() {
+        double[] data = new Random(13).doubles(SIZE, -1, 1).toArray();
+        assertEquals(DoubleQuery.of(data).sum(), Arrays.stream(data).sum(), 1e-9);
+        assertEquals(DoubleQuery.of(data).skip(5).min(), Arrays.stream(data).skip(5).min());
+        assertEquals(DoubleQuery.of(data).limit(50).max(), Arrays.stream(data).limit(50).max());
+        double average = DoubleQuery.iterate(0, i -> i + 1).limit(SIZE).map(i -> data[(int) i]).average().getAsDouble();
+        assertEquals(DoubleQuery.of(data).average().getAsDouble(), average, 1e-12);
+        DoubleSummaryStatistics actual = DoubleQuery.of(data).summaryStatistics();
+        DoubleSummaryStatistics expected = Arrays.stream(data).summaryStatistics();
+        assertEquals(actual.getCount(), expected.getCount());
+        assertEquals(actual.getMin(), expected.getMin());
+        assertEquals(actual.getMax(), expected.getMax());
+        assertEquals(actual.getSum(), expected.getSum(), 1e-9);
+    }
+
+    @Test
+    public void testDoubleMinMaxKeepFirstOfUnordered() {
+        assertEquals(DoubleQuery.of(3, Double.NaN, 1).min(), OptionalDouble.of(1));
+        assertEquals(DoubleQuery.of(Double.NaN, 3, 1).max(), OptionalDouble.of(Double.NaN));
+        assertEquals(DoubleQuery.of(0.0, -0.0).min(), OptionalDouble.of(0.0));
+        assertEquals(DoubleQuery.of(-0.0, 0.0).max(), OptionalDouble.of(-0.0));
+    }
+}
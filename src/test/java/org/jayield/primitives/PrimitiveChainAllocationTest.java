@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives;
+
+import org.jayield.primitives.intgr.IntQuery;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Checks that a chain crossing the int, long and double families
+ * does not box its elements on neither the traverse() nor the
+ * tryAdvance() paths.
+ * The boxing of 100000 elements would allocate more than 1.5 MB,
+ * whereas the pipeline objects themselves take less than 1 KB.
+ */
+public class PrimitiveChainAllocationTest {
+
+    private static final int SIZE = 100_000;
+    private static final long MAX_ALLOCATED_BYTES = 16 * 1024;
+
+    private final int[] data = IntStream.range(1_000, 1_000 + SIZE).toArray();
+
+    private IntQuery chain() {
+        return IntQuery.of(data)
+            .asDoubleQuery()
+            .mapToLong(d -> (long) (d * 2))
+            .asDoubleQuery()
+            .mapToInt(d -> (int) d / 2)
+            .asLongQuery()
+            .mapToInt(l -> (int) l);
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(!(bean instanceof com.sun.management.ThreadMXBean))
+            throw new SkipException("Thread allocation counters are not supported by this JVM!");
+        return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Test
+    public void testTraverseDoesNotBox() {
+        chain().sum(); // Warm up class loading
+        long before = allocatedBytes();
+        int actual = chain().sum();
+        long allocated = allocatedBytes() - before;
+        assertEquals(actual, IntStream.of(data).sum());
+        assertTrue(allocated < MAX_ALLOCATED_BYTES, "Allocated " + allocated + " bytes");
+    }
+
+    /**
+     * Each tryAdvance() of a stage instantiates a capturing lambda for its
+     * upstream, both on conversions and on the int map() operation.
+     * Thus the chain of 6 conversions must allocate the same as a chain
+     * of 6 int map() operations, which is exceeded by 1.6 MB per boxing.
+     * Those map() operations are separated by skip(0), which allocates nothing
+     * on tryAdvance(), so that they are not fused into a single stage.
+     */
+    @Test
+    public void testTryAdvanceDoesNotBox() {
+        long[] sum = {0};
+        IntQuery warm = chain();
+        while(warm.tryAdvance(item -> sum[0] += item)) { }
+        warm = sameFamilyChain();
+        while(warm.tryAdvance(item -> sum[0] -= item)) { }
+
+        long before = allocatedBytes();
+        IntQuery query = chain();
+        while(query.tryAdvance(item -> sum[0] += item)) { }
+        long allocated = allocatedBytes() - before;
+
+        before = allocatedBytes();
+        query = sameFamilyChain();
+        while(query.tryAdvance(item -> sum[0] -= item)) { }
+        long baseline = allocatedBytes() - before;
+
+        assertEquals(sum[0], 0);
+        assertTrue(allocated < baseline + MAX_ALLOCATED_BYTES,
+            "Allocated " + allocated + " bytes against " + baseline + " of same family chain");
+    }
+
+    private IntQuery sameFamilyChain() {
+        return IntQuery.of(data)
+            .map(n -> n + 1).skip(0)
+            .map(n -> n * 2).skip(0)
+            .map(n -> n - 2).skip(0)
+            .map(n -> n / 2).skip(0)
+            .map(n -> n).skip(0)
+            .map(n -> n);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.dbl;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.DoubleStream;
+
+import static java.util.Arrays.asList;
+import static org.jayield.primitives.dbl.DoubleQuery.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate the close handlers of an {@code DoubleQuery},
+ * which must reach the queries derived from it and run once, when the
+ * query is closed or when a terminal operation finishes.
+ */
+public class DoubleQueryCloseTest {
+
+    private final List<String> closed = new ArrayList<>();
+
+    @BeforeMethod
+    public void clear() {
+        closed.clear();
+    }
+
+    private DoubleQuery source(String name, double... data) {
+        return of(data).onClose(() -> closed.add(name));
+    }
+
+    @Test
+    public void testHandlersReachEveryOperator() {
+        List<Function<DoubleQuery, DoubleQuery>> ops = asList(
+            q -> q.map(n -> n + 1),
+            q -> q.filter(n -> n > 1),
+            q -> q.peek(n -> { }),
+            q -> q.skip(1),
+            q -> q.limit(2),
+            q -> q.distinct(),
+            q -> q.sorted(),
+            q -> q.takeWhile(n -> n < 3),
+            q -> q.dropWhile(n -> n < 2),
+            q -> q.flatMap(n -> of(n, n)),
+            q -> q.then(up -> up::traverse),
+            q -> q.compile(),
+            q -> q.boxed().mapToDouble(n -> n),
+            q -> q.mapToObj(n -> n).mapToDouble(n -> n),
+            q -> q.concat(source("other", 4)),
+            q -> q.zip(source("other", 4), (a, b) -> a + b));
+        for (Function<DoubleQuery, DoubleQuery> op : ops) {
+            closed.clear();
+            op.apply(source("src", 1, 2, 3)).toArray();
+            assertEquals(closed.get(0), "src");
+        }
+    }
+
+    @Test
+    public void testTerminalOperationsClose() {
+        List<Function<DoubleQuery, Object>> terminals = asList(
+            DoubleQuery::toArray,
+            DoubleQuery::toList,
+            DoubleQuery::count,
+            DoubleQuery::sum,
+            DoubleQuery::min,
+            DoubleQuery::max,
+            DoubleQuery::average,
+            DoubleQuery::summaryStatistics,
+            DoubleQuery::findFirst,
+            DoubleQuery::findAny,
+            q -> q.anyMatch(n -> n == 2),
+            q -> q.allMatch(n -> n == 2),
+            q -> q.noneMatch(n -> n == 2),
+            q -> q.reduce((a, b) -> a + b),
+            q -> q.reduce(0, (a, b) -> a + b),
+            q -> q.collect(ArrayList::new, ArrayList::add),
+            q -> {
+                q.forEach(n -> { });
+                return null;
+            });
+        for (Function<DoubleQuery, Object> terminal : terminals) {
+            closed.clear();
+            terminal.apply(source("src", 1, 2, 3));
+            terminal.apply(source("filtered", 1, 2, 3).filter(n -> n > 0));
+            assertEquals(closed, asList("src", "filtered"));
+        }
+    }
+
+    @Test
+    public void testTraversalsDoNotClose() {
+        DoubleQuery q = source("src", 1, 2, 3).map(n -> n * 2);
+        assertTrue(q.tryAdvance(n -> { }));
+        q.traverseWhile(n -> n < 4);
+        q.traverseChunks((buf, from, to) -> { });
+        q.traverse(n -> { });
+        assertEquals(closed, asList());
+        try (DoubleQuery res = q.onClose(() -> closed.add("res"))) {
+            res.shortCircuit(n -> { });
+        }
+        q.close();
+        assertEquals(closed, asList("src", "res"));
+    }
+
+    @Test
+    public void testFlatMapClosesInnerQueries() {
+        assertTrue(source("outer", 1, 2, 3).flatMap(n -> source("in" + (int) n, n)).anyMatch(n -> n == 2));
+        assertEquals(closed, asList("in1", "in2", "outer"));
+        closed.clear();
+        DoubleQuery pulled = source("outer", 1, 2).flatMap(n -> source("in" + (int) n, n));
+        assertTrue(pulled.tryAdvance(n -> { }));
+        assertTrue(pulled.tryAdvance(n -> { }));
+        assertEquals(closed, asList("in1"));
+        pulled.close();
+        assertEquals(closed, asList("in1", "outer", "in2"));
+    }
+
+    @Test
+    public void testStreamsAreClosed() {
+        DoubleStream stream = DoubleStream.of(1, 2, 3).onClose(() -> closed.add("stream"));
+        assertEquals(DoubleQuery.fromStream(stream).count(), 3);
+        assertEquals(closed, asList("stream"));
+        closed.clear();
+        try (DoubleStream res = source("src", 1, 2).toStream()) {
+            assertEquals(res.count(), 2);
+        }
+        assertEquals(closed, asList("src"));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.dbl;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.jayield.primitives.dbl.DoubleQuery.of;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * These tests aim to evaluate collect() with a {@link DoubleCollector},
+ * which accumulates elements without boxing.
+ */
+public class DoubleQueryCollectTest {
+
+    @Test
+    public void testCollectAggregates() {
+        assertEquals(of(1, 2, 3, 4).collect(DoubleCollector.counting()).longValue(), 4L);
+        assertEquals(of(1, 2, 3, 4).collect(DoubleCollector.summing()), 10.0);
+        assertEquals(of(1, 2, 3, 4).collect(DoubleCollector.averaging()), 2.5);
+        assertEquals(of().collect(DoubleCollector.averaging()), 0.0);
+        DoubleSummaryStatistics stats = of(3, 1, 2).collect(DoubleCollector.summarizing());
+        assertEquals(stats.getMin(), 1.0);
+        assertEquals(stats.getMax(), 3.0);
+        assertEquals(stats.getCount(), 3L);
+    }
+
+    @Test
+    public void testCollectMapping() {
+        Set<String> actual = of(1, 2, 1, 3).collect(DoubleCollector.mapping(String::valueOf, Collectors.toSet()));
+        assertEquals(actual, Set.of("1.0", "2.0", "3.0"));
+        String joined = of(1, 2, 3).collect(DoubleCollector.mapping(String::valueOf, Collectors.joining("-")));
+        assertEquals(joined, "1.0-2.0-3.0");
+    }
+
+    @Test
+    public void testCollectSkipsIdentityFinisher() {
+        DoubleCollector<List<Double>, List<Double>> toList = DoubleCollector.of(
+            ArrayList::new,
+            List::add,
+            (left, right) -> {
+                left.addAll(right);
+                return left;
+            });
+        assertEquals(toList.characteristics(), Set.of(Collector.Characteristics.IDENTITY_FINISH));
+        assertEquals(toList.combiner().apply(new ArrayList<>(asList(1.0)), asList(2.0)), asList(1.0, 2.0));
+        assertEquals(of(1, 2, 3).collect(toList), asList(1.0, 2.0, 3.0));
+        DoubleCollector<List<Double>, Integer> failing = DoubleCollector.of(
+            ArrayList::new,
+            List::add,
+            (left, right) -> left,
+            list -> {
+                throw new AssertionError("The finisher of an IDENTITY_FINISH collector is not applied");
+            },
+            Collector.Characteristics.IDENTITY_FINISH);
+        assertEquals(of(1, 2, 3).collect(failing), asList(1.0, 2.0, 3.0));
+    }
+
+    @Test
+    public void testCollectorsCombine() {
+        DoubleCollector<long[], Long> counting = DoubleCollector.counting();
+        long[] left = counting.supplier().get();
+        long[] right = counting.supplier().get();
+        counting.accumulator().accept(left, 7);
+        counting.accumulator().accept(right, 8);
+        counting.accumulator().accept(right, 9);
+        assertEquals(counting.finisher().apply(counting.combiner().apply(left, right)).longValue(), 3L);
+        DoubleSummaryStatistics stats = of(4).collect(DoubleCollector.summarizing());
+        DoubleSummaryStatistics more = of(6).collect(DoubleCollector.summarizing());
+        DoubleCollector<DoubleSummaryStatistics, Double> summing = DoubleCollector.summing();
+        DoubleSummaryStatistics two = of(2).collect(summing.supplier(), summing.accumulator());
+        assertEquals(summing.finisher().apply(summing.combiner().apply(two, of(3).collect(DoubleCollector.summarizing()))), 5.0);
+        DoubleCollector<DoubleSummaryStatistics, Double> averaging = DoubleCollector.averaging();
+        assertEquals(averaging.finisher().apply(DoubleCollector.summarizing().combiner().apply(stats, more)), 5.0);
+        assertEquals(averaging.finisher().apply(averaging.combiner().apply(stats, more)), 16.0 / 3);
+    }
+
+    @Test
+    public void testCollectCloses() {
+        AtomicInteger closes = new AtomicInteger();
+        long count = of(1, 2, 3).onClose(closes::incrementAndGet).collect(DoubleCollector.counting());
+        assertEquals(count, 3L);
+        assertEquals(closes.get(), 1);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.dbl;
+
+import org.jayield.primitives.MappedFile;
+import org.jayield.primitives.dbl.ops.FromDoubleFile;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate the DoubleQuery of a binary file, which must
+ * yield the same elements as the array written to that file.
+ * Most of them map the file in small regions of 40 bytes.
+ */
+public class DoubleQueryFileTest {
+
+    private static final int SIZE = 1000;
+
+    private static double[] range() {
+        return DoubleQuery.iterate(0, n -> n + 1).limit(SIZE).map(n -> n * 3 - 500).toArray();
+    }
+
+    private static Path write(double[] data, ByteOrder order, int trailing) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(data.length * Double.BYTES + trailing).order(order);
+        for (double n : data) {
+            bytes.putDouble(n);
+        }
+        Path path = Files.createTempFile("jayield", ".bin");
+        path.toFile().deleteOnExit();
+        Files.write(path, bytes.array());
+        return path;
+    }
+
+    private static DoubleQuery regions(Path path, ByteOrder order) {
+        FromDoubleFile src = new FromDoubleFile(new MappedFile(path, Double.BYTES, 40), order);
+        return new DoubleQuery(src, src);
+    }
+
+    @Test
+    public void testFromFileInBothOrders() throws IOException {
+        double[] data = range();
+        for (ByteOrder order : new ByteOrder[] {ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+            Path path = write(data, order, 3);
+            assertEquals(DoubleQuery.fromFile(path, order).toArray(), data);
+            assertEquals(regions(path, order).toArray(), data);
+            assertEquals(DoubleQuery.fromFile(path, order).count(), SIZE);
+        }
+        assertEquals(DoubleQuery.fromFile(write(new double[0], ByteOrder.BIG_ENDIAN, 1), ByteOrder.BIG_ENDIAN).count(), 0);
+    }
+
+    @Test
+    public void testTryAdvanceThenTraverse() throws IOException {
+        double[] data = range();
+        DoubleQuery q = regions(write(data, ByteOrder.LITTLE_ENDIAN, 0), ByteOrder.LITTLE_ENDIAN);
+        List<Double> actual = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            assertTrue(q.tryAdvance(actual::add));
+        }
+        assertEquals(q.getExactSizeIfKnown(), SIZE - 15);
+        assertTrue(q.traverseWhile(n -> actual.add(n)));
+        q.traverse(actual::add);
+        assertFalse(q.tryAdvance(actual::add));
+        assertEquals(actual, DoubleQuery.of(data).boxed().toList());
+        assertEquals(q.getExactSizeIfKnown(), 0);
+    }
+
+    @Test
+    public void testTraverseWhileStopsAndResumes() throws IOException {
+        double[] data = range();
+        DoubleQuery q = regions(write(data, ByteOrder.BIG_ENDIAN, 0), ByteOrder.BIG_ENDIAN);
+        List<Double> actual = new ArrayList<>();
+        assertFalse(q.traverseWhile(n -> actual.add(n) && actual.size() < 100));
+        q.traverse(actual::add);
+        assertEquals(actual, DoubleQuery.of(data).boxed().toList());
+    }
+
+    @Test
+    public void testChunks() throws IOException {
+        double[] data = DoubleQuery.iterate(0, n -> n + 1).limit(5000).toArray();
+        Path path = write(data, ByteOrder.LITTLE_ENDIAN, 0);
+        List<Double> actual = new ArrayList<>();
+        DoubleQuery.fromFile(path, ByteOrder.LITTLE_ENDIAN).traverseChunks((buf, from, to) -> {
+            assertTrue(to - from <= DoubleChunkYield.SIZE);
+            for (int i = from; i < to; i++) {
+                actual.add(buf[i]);
+            }
+        });
+        regions(path, ByteOrder.LITTLE_ENDIAN).traverseChunks((buf, from, to) -> {
+            for (int i = from; i < to; i++) {
+                actual.add(buf[i]);
+            }
+        });
+        assertEquals(actual, DoubleQuery.of(data).boxed().concat(DoubleQuery.of(data).boxed()).toList());
+    }
+
+    @Test
+    public void testCloseInsideTraversalIsDeferred() throws IOException {
+        Path path = write(range(), ByteOrder.LITTLE_ENDIAN, 0);
+        FromDoubleFile src = new FromDoubleFile(new MappedFile(path, Double.BYTES, 40), ByteOrder.LITTLE_ENDIAN);
+        int[] count = {0};
+        src.traverse((double n) -> {
+            if(++count[0] == 3) src.close();
+        });
+        assertEquals(count[0], 40 / Double.BYTES);
+        assertFalse(src.tryAdvance((double n) -> { }));
+        assertEquals(src.getExactSizeIfKnown(), 0);
+        src.close();
+    }
+
+    @Test(expectedExceptions = UncheckedIOException.class)
+    public void testMissingFile() {
+        DoubleQuery.fromFile(Path.of("missing.bin"), ByteOrder.nativeOrder());
+    }
+}
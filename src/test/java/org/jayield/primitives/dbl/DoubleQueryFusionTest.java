@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.dbl;
+
+import org.jayield.primitives.dbl.ops.DoubleFilter;
+import org.jayield.primitives.dbl.ops.DoubleMapping;
+import org.jayield.primitives.dbl.ops.DoublePeek;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Characteristics.NONNULL;
+import static org.jayield.Characteristics.ORDERED;
+import static org.jayield.Characteristics.SIZED;
+import static org.jayield.primitives.dbl.DoubleQuery.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.internal.junit.ArrayAsserts.assertArrayEquals;
+
+/**
+ * These tests aim to evaluate the fusion of adjacent map, filter and
+ * peek stages, which must behave as the same stages chained one by one.
+ */
+public class DoubleQueryFusionTest {
+
+    private static final int SIZE = 100_000;
+    private static final double[] DATA = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+    private static DoubleQuery fused(List<String> log) {
+        return of(DATA)
+            .peek(n -> log.add("a" + n))
+            .filter(n -> n % 2 == 0)
+            .map(n -> n * 3)
+            .peek(n -> log.add("b" + n))
+            .filter(n -> n > 6)
+            .map(n -> n + 1);
+    }
+
+    private static DoubleQuery chained(List<String> log) {
+        DoubleQuery q = of(DATA);
+        DoublePeek first = new DoublePeek(q, n -> log.add("a" + n));
+        q = new DoubleQuery(first, first);
+        DoubleFilter even = new DoubleFilter(q, n -> n % 2 == 0);
+        q = new DoubleQuery(even, even);
+        DoubleMapping triple = new DoubleMapping(q, n -> n * 3);
+        q = new DoubleQuery(triple, triple);
+        DoublePeek second = new DoublePeek(q, n -> log.add("b" + n));
+        q = new DoubleQuery(second, second);
+        DoubleFilter greater = new DoubleFilter(q, n -> n > 6);
+        q = new DoubleQuery(greater, greater);
+        DoubleMapping inc = new DoubleMapping(q, n -> n + 1);
+        return new DoubleQuery(inc, inc);
+    }
+
+    @Test
+    public void testTraverseAsChainedStages() {
+        List<String> expectedLog = new ArrayList<>();
+        List<String> actualLog = new ArrayList<>();
+        double[] expected = chained(expectedLog).toArray();
+        double[] actual = fused(actualLog).toArray();
+        assertArrayEquals(new double[] {13, 19, 25, 31}, actual, 0);
+        assertArrayEquals(expected, actual, 0);
+        assertEquals(actualLog, expectedLog);
+    }
+
+    @Test
+    public void testTryAdvanceAsChainedStages() {
+        List<String> expectedLog = new ArrayList<>();
+        List<String> actualLog = new ArrayList<>();
+        DoubleQuery expected = chained(expectedLog);
+        DoubleQuery actual = fused(actualLog);
+        List<Double> actualItems = new ArrayList<>();
+        List<Double> expectedItems = new ArrayList<>();
+        while(actual.tryAdvance((double n) -> actualItems.add(n))) {
+            expected.tryAdvance((double n) -> expectedItems.add(n));
+            assertEquals(actualItems, expectedItems);
+            assertEquals(actualLog, expectedLog);
+        }
+        assertFalse(expected.tryAdvance((double n) -> expectedItems.add(n)));
+        assertEquals(actualItems, asList((double) 13, (double) 19, (double) 25, (double) 31));
+    }
+
+    @Test
+    public void testTraverseWhileStopsInFusedStage() {
+        List<String> actualLog = new ArrayList<>();
+        List<Double> actual = new ArrayList<>();
+        boolean finished = fused(actualLog).traverseWhile((double n) -> {
+            actual.add(n);
+            return n < 19;
+        });
+        assertFalse(finished);
+        assertEquals(actual, asList((double) 13, (double) 19));
+        assertEquals(actualLog.size(), 9);
+    }
+
+    /**
+     * Each tryAdvance() of a chained stage would instantiate a capturing
+     * lambda for its upstream, i.e. more than 16 MB for these 20 stages.
+     */
+    @Test
+    public void testTryAdvanceAllocatesNothingPerStage() {
+        long[] sum = {0};
+        advanceThroughStages(new double[1], sum); // Warm up class loading
+        double[] data = new double[SIZE];
+        long before = allocatedBytes();
+        advanceThroughStages(data, sum);
+        long allocated = allocatedBytes() - before;
+        assertEquals(sum[0], 11 * (SIZE + 1));
+        assertTrue(allocated < 16 * 1024, "Allocated " + allocated + " bytes");
+    }
+
+    private static void advanceThroughStages(double[] data, long[] sum) {
+        DoubleQuery deep = of(data).map(n -> 1);
+        for (int i = 0; i < 10; i++) {
+            deep = deep.filter(n -> n > 0).map(n -> n + 1);
+        }
+        DoubleYield yield = (double n) -> sum[0] += n;
+        while(deep.tryAdvance(yield)) { }
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(!(bean instanceof com.sun.management.ThreadMXBean))
+            throw new SkipException("Thread allocation counters are not supported by this JVM!");
+        return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Every pair of adjacent kinds of stages, which fusion performs in a
+     * single sink, followed by a single filter.
+     */
+    @Test
+    public void testEveryPairOfStagesAsChainedStages() {
+        String kinds = "mmmfmpfmfffppmpfppf";
+        List<String> expectedLog = new ArrayList<>();
+        List<String> actualLog = new ArrayList<>();
+        double[] expected = stages(kinds, true, expectedLog).toArray();
+        double[] actual = stages(kinds, false, actualLog).toArray();
+        assertTrue(actual.length > 0);
+        assertArrayEquals(expected, actual, 0);
+        assertEquals(actualLog, expectedLog);
+    }
+
+    /**
+     * Applies the stages named by kinds, where m, f and p stand for map, filter
+     * and peek, either chained one by one or through the query methods.
+     */
+    private static DoubleQuery stages(String kinds, boolean chained, List<String> log) {
+        DoubleQuery q = DoubleQuery.iterate(0, n -> n + 1).limit(100);
+        for (int i = 0; i < kinds.length(); i++) {
+            int k = i;
+            switch (kinds.charAt(i)) {
+                case 'm':
+                    DoubleUnaryOperator mapper = n -> n + k;
+                    if(chained) {
+                        DoubleMapping m = new DoubleMapping(q, mapper);
+                        q = new DoubleQuery(m, m);
+                    } else {
+                        q = q.map(mapper);
+                    }
+                    break;
+                case 'f':
+                    DoublePredicate p = n -> n % (k + 2) != 0;
+                    if(chained) {
+                        DoubleFilter f = new DoubleFilter(q, p);
+                        q = new DoubleQuery(f, f);
+                    } else {
+                        q = q.filter(p);
+                    }
+                    break;
+                default:
+                    DoubleConsumer action = n -> log.add(k + ":" + n);
+                    if(chained) {
+                        DoublePeek pk = new DoublePeek(q, action);
+                        q = new DoubleQuery(pk, pk);
+                    } else {
+                        q = q.peek(action);
+                    }
+            }
+        }
+        return q;
+    }
+
+    @Test
+    public void testCharacteristicsOfFusedStages() {
+        assertEquals(of(DATA).map(n -> n + 1).map(n -> n * 2).getExactSizeIfKnown(), 10);
+        assertEquals(of(DATA).map(n -> n + 1).map(n -> n * 2).characteristics(), ORDERED | SIZED | NONNULL);
+        assertEquals(of(DATA).map(n -> n + 1).filter(n -> n > 2).getExactSizeIfKnown(), -1);
+        assertEquals(of(DATA).map(n -> n + 1).filter(n -> n > 2).count(), 9);
+        assertEquals(of(DATA).peek(n -> { }).peek(n -> { }).characteristics(), ORDERED | NONNULL);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.dbl;
+
+import org.jayield.collections.DoubleGrowableBuffer;
+import org.testng.annotations.Test;
+
+import static org.jayield.primitives.dbl.DoubleQuery.generate;
+import static org.jayield.primitives.dbl.DoubleQuery.iterate;
+import static org.jayield.primitives.dbl.DoubleQuery.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.internal.junit.ArrayAsserts.assertArrayEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate only the execution of traverseWhile()
+ * along the entire pipeline.
+ * Each operation should stop cooperatively, returning from the
+ * traverseWhile() of the upstream rather than throwing.
+ */
+public class DoubleQueryTraverseWhileTest {
+
+    @Test
+    public void testStopReachesSourceWithoutThrowing() {
+        Source src = new Source(1, 2, 3, 4, 5, 6, 7, 8, 9);
+        DoubleGrowableBuffer actual = new DoubleGrowableBuffer(4);
+        boolean finished = new DoubleQuery(src, src)
+            .skip(1)
+            .filter(n -> n % 2 == 0)
+            .map(n -> n * 10)
+            .peek(n -> { })
+            .distinct()
+            .dropWhile(n -> n < 40)
+            .traverseWhile(n -> {
+                actual.add(n);
+                return n < 60;
+            });
+        assertFalse(finished);
+        assertArrayEquals(actual.toArray(), new double[] {40, 60}, 0);
+        assertTrue(src.stoppedByYield);
+        assertEquals(src.visited, 6);
+    }
+
+    @Test
+    public void testTakeWhileIsNotAStopOfTheConsumer() {
+        DoubleGrowableBuffer actual = new DoubleGrowableBuffer(4);
+        boolean finished = of(1, 2, 3, 4)
+            .takeWhile(n -> n < 3)
+            .concat(of(7, 8, 9))
+            .traverseWhile(n -> {
+                actual.add(n);
+                return n < 8;
+            });
+        assertFalse(finished);
+        assertArrayEquals(actual.toArray(), new double[] {1, 2, 7, 8}, 0);
+    }
+
+    @Test
+    public void testFlatMapStopsOuterTraversal() {
+        DoubleGrowableBuffer outer = new DoubleGrowableBuffer(4);
+        boolean finished = of(1, 2, 3)
+            .peek(outer::add)
+            .flatMap(n -> of(n * 10, n * 10 + 1))
+            .traverseWhile(n -> n != 20);
+        assertFalse(finished);
+        assertArrayEquals(outer.toArray(), new double[] {1, 2}, 0);
+    }
+
+    @Test
+    public void testInfiniteSourcesStop() {
+        assertTrue(iterate(1, n -> n + 1).anyMatch(n -> n > 1000));
+        assertFalse(generate(() -> 7).allMatch(n -> n < 7));
+        assertArrayEquals(iterate(1, n -> n * 2).limit(4).toArray(), new double[] {1, 2, 4, 8}, 0);
+        assertArrayEquals(iterate(1, n -> n + 1).takeWhile(n -> n < 4).toArray(), new double[] {1, 2, 3}, 0);
+        assertArrayEquals(iterate(1, n -> n + 1).zip(of(10, 20), Double::sum).toArray(), new double[] {11, 22}, 0);
+        assertTrue(of(1, 2).limit(5).traverseWhile(n -> true));
+    }
+
+    /**
+     * Source that records whether its traversal was stopped by returning
+     * false from the yield, rather than by an exception.
+     */
+    private static class Source implements DoubleAdvancer, DoubleTraverser {
+        private final double[] data;
+        int visited;
+        boolean stoppedByYield;
+
+        Source(double... data) {
+            this.data = data;
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleYield yield) {
+            if(visited >= data.length) return false;
+            yield.ret(data[visited++]);
+            return true;
+        }
+
+        @Override
+        public void traverse(DoubleYield yield) {
+            while(tryAdvance(yield)) { }
+        }
+
+        @Override
+        public boolean traverseWhile(DoubleYieldWhile yield) {
+            while(visited < data.length) {
+                if(!yield.ret(data[visited++])) {
+                    stoppedByYield = true;
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
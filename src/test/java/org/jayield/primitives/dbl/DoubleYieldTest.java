@@ -21,4 +21,11 @@ public class DoubleYieldTest {
         yld.ret(input);
         assertTrue(called.isTrue());
     }
+
+    @Test
+    public void testGenericRetOfYieldWhileCallsPrimitive() {
+        Double input = 1.0;
+        DoubleYieldWhile yld = i -> i > 0;
+        assertTrue(yld.ret(input));
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.intgr;
+
+import org.testng.annotations.Test;
+
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Characteristics.DISTINCT;
+import static org.jayield.Characteristics.NONNULL;
+import static org.jayield.Characteristics.ORDERED;
+import static org.jayield.Characteristics.SIZED;
+import static org.jayield.Characteristics.SORTED;
+import static org.jayield.primitives.intgr.IntQuery.iterate;
+import static org.jayield.primitives.intgr.IntQuery.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.internal.junit.ArrayAsserts.assertArrayEquals;
+
+/**
+ * These tests aim to evaluate the characteristics and the exact size
+ * reported by sources and propagated along the pipeline.
+ */
+public class IntQueryCharacteristicsTest {
+
+    @Test
+    public void testArraySourceIsSizedOrderedAndNonNull() {
+        IntQuery src = of(1, 2, 3, 4);
+        assertEquals(src.characteristics(), ORDERED | SIZED | NONNULL);
+        assertEquals(src.getExactSizeIfKnown(), 4);
+        src.tryAdvance(item -> { });
+        assertEquals(src.getExactSizeIfKnown(), 3);
+        assertEquals(src.count(), 3);
+    }
+
+    @Test
+    public void testArraySourceResumesAfterTraversals() {
+        IntQuery src = of(1, 2, 3, 4);
+        assertFalse(src.traverseWhile(n -> n != 2));
+        assertEquals(src.getExactSizeIfKnown(), 2);
+        assertEquals(src.toList(), asList(3, 4));
+        assertEquals(src.getExactSizeIfKnown(), 0);
+        assertFalse(src.tryAdvance(n -> { }));
+    }
+
+    @Test
+    public void testSizePropagation() {
+        assertEquals(of(1, 2, 3, 4, 5).map(n -> n * 2).getExactSizeIfKnown(), 5);
+        assertEquals(of(1, 2, 3, 4, 5).map(n -> n * 2).skip(2).getExactSizeIfKnown(), 3);
+        assertEquals(of(1, 2, 3, 4, 5).map(n -> n * 2).skip(7).getExactSizeIfKnown(), 0);
+        assertEquals(of(1, 2, 3, 4, 5).map(n -> n * 2).limit(2).getExactSizeIfKnown(), 2);
+        assertEquals(of(1, 2, 3).map(n -> n * 2).limit(7).getExactSizeIfKnown(), 3);
+        assertEquals(of(1, 2, 3).zip(of(1, 2), (a, b) -> a + b).getExactSizeIfKnown(), 2);
+        assertEquals(of(1, 2, 3).concat(of(1, 2)).getExactSizeIfKnown(), 5);
+        assertEquals(of(1, 2, 3).mapToObj(n -> n).getExactSizeIfKnown(), 3);
+        assertEquals(of(1, 2, 3).boxed().getExactSizeIfKnown(), 3);
+        assertEquals(of(1, 2, 3).asLongQuery().getExactSizeIfKnown(), 3);
+        assertEquals(of(1, 2, 3).asDoubleQuery().getExactSizeIfKnown(), 3);
+    }
+
+    @Test
+    public void testSizeIsUnknownAfterFilteringOperations() {
+        assertEquals(of(1, 2, 3).filter(n -> n > 1).getExactSizeIfKnown(), -1);
+        assertEquals(of(1, 2, 3).takeWhile(n -> n > 1).getExactSizeIfKnown(), -1);
+        assertEquals(of(1, 2, 3).dropWhile(n -> n > 1).getExactSizeIfKnown(), -1);
+        assertEquals(of(1, 2, 3).distinct().getExactSizeIfKnown(), -1);
+        assertEquals(of(1, 2, 3).peek(n -> { }).getExactSizeIfKnown(), -1);
+        assertEquals(of(1, 2, 3).concat(iterate(1, n -> n)).getExactSizeIfKnown(), -1);
+        assertEquals(of(1, 2, 3).zip(iterate(1, n -> n), (a, b) -> a).getExactSizeIfKnown(), -1);
+        assertEquals(iterate(1, n -> n).limit(3).getExactSizeIfKnown(), -1);
+        assertEquals(iterate(1, n -> n).skip(3).getExactSizeIfKnown(), -1);
+        assertEquals(iterate(1, n -> n).limit(3).count(), 3);
+    }
+
+    @Test
+    public void testDistinctAndSortedFlags() {
+        assertEquals(of(3, 1, 3).distinct().characteristics(), ORDERED | DISTINCT | NONNULL);
+        assertEquals(of(3, 1, 2).sorted().characteristics(), ORDERED | SORTED | SIZED | NONNULL);
+        assertEquals(of(3, 1, 2).sorted().limit(2).characteristics(), ORDERED | SORTED | SIZED | NONNULL);
+        assertEquals(of(3, 1, 2).sorted().map(n -> n).characteristics(), ORDERED | SIZED | NONNULL);
+        assertEquals(of(3, 1, 2).sorted().mapToObj(n -> n).characteristics(), ORDERED | SIZED);
+        assertEquals(of(3, 1, 2).sorted().boxed().characteristics(), ORDERED | SORTED | SIZED | NONNULL);
+        assertEquals(of(3, 1, 2).sorted().asLongQuery().characteristics(), ORDERED | SIZED | NONNULL);
+        assertEquals(of(3, 1, 2).sorted().asDoubleQuery().characteristics(), ORDERED | SIZED | NONNULL);
+    }
+
+    @Test
+    public void testSkipAndLimitOnArray() {
+        assertArrayEquals(new int[] {2, 3, 4}, of(1, 2, 3, 4, 5).skip(1).limit(3).toArray());
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5}, of(1, 2, 3, 4, 5).skip(-1).limit(9).toArray());
+        assertArrayEquals(new int[0], of(1, 2, 3, 4, 5).skip(9).toArray());
+        assertArrayEquals(new int[0], of(1, 2, 3, 4, 5).limit(-1).toArray());
+        IntQuery src = of(1, 2, 3, 4, 5);
+        src.tryAdvance(item -> { });
+        assertArrayEquals(new int[] {3, 4}, src.skip(1).limit(2).toArray());
+    }
+
+    @Test
+    public void testToArrayAndToListOfSizedQuery() {
+        assertArrayEquals(new int[] {2, 4, 6}, of(1, 2, 3).map(n -> n * 2).toArray());
+        assertArrayEquals(new int[] {2, 3}, of(1, 2, 3).filter(n -> n > 1).toArray());
+        assertEquals(of(1, 2).map(n -> n * 2).toList(), asList(2, 4));
+    }
+
+    @Test
+    public void testToStreamReportsSize() {
+        Spliterator.OfInt iter = of(1, 2, 3).map(n -> n * 2).toStream().spliterator();
+        assertEquals(iter.getExactSizeIfKnown(), 3);
+        assertTrue(iter.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL));
+        iter.tryAdvance((IntConsumer) item -> { });
+        assertEquals(iter.getExactSizeIfKnown(), 2);
+        assertFalse(of(3, 1, 2).sorted().toStream().spliterator().hasCharacteristics(Spliterator.SORTED));
+        Spliterator.OfInt filtered = of(1, 2, 3).filter(n -> n > 1).toStream().spliterator();
+        assertEquals(filtered.getExactSizeIfKnown(), -1);
+        assertEquals(of(1, 2, 3).map(n -> n * 2).toStream().count(), 3);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.intgr;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.jayield.primitives.intgr.IntQuery.of;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * These tests aim to evaluate collect() with an {@link IntCollector},
+ * which accumulates elements without boxing.
+ */
+public class IntQueryCollectTest {
+
+    @Test
+    public void testCollectAggregates() {
+        assertEquals(of(1, 2, 3, 4).collect(IntCollector.counting()).longValue(), 4L);
+        assertEquals(of(1, 2, 3, 4).collect(IntCollector.summing()).intValue(), 10);
+        assertEquals(of(1, 2, 3, 4).collect(IntCollector.averaging()), 2.5);
+        assertEquals(of().collect(IntCollector.averaging()), 0.0);
+        IntSummaryStatistics stats = of(3, 1, 2).collect(IntCollector.summarizing());
+        assertEquals(stats.getMin(), 1);
+        assertEquals(stats.getMax(), 3);
+        assertEquals(stats.getCount(), 3L);
+    }
+
+    @Test
+    public void testCollectMapping() {
+        Set<String> actual = of(1, 2, 1, 3).collect(IntCollector.mapping(String::valueOf, Collectors.toSet()));
+        assertEquals(actual, Set.of("1", "2", "3"));
+        String joined = of(1, 2, 3).collect(IntCollector.mapping(String::valueOf, Collectors.joining("-")));
+        assertEquals(joined, "1-2-3");
+    }
+
+    @Test
+    public void testCollectSkipsIdentityFinisher() {
+        IntCollector<List<Integer>, List<Integer>> toList = IntCollector.of(
+            ArrayList::new,
+            List::add,
+            (left, right) -> {
+                left.addAll(right);
+                return left;
+            });
+        assertEquals(toList.characteristics(), Set.of(Collector.Characteristics.IDENTITY_FINISH));
+        assertEquals(toList.combiner().apply(new ArrayList<>(asList(1)), asList(2)), asList(1, 2));
+        assertEquals(of(1, 2, 3).collect(toList), asList(1, 2, 3));
+        IntCollector<List<Integer>, Integer> failing = IntCollector.of(
+            ArrayList::new,
+            List::add,
+            (left, right) -> left,
+            list -> {
+                throw new AssertionError("The finisher of an IDENTITY_FINISH collector is not applied");
+            },
+            Collector.Characteristics.IDENTITY_FINISH);
+        assertEquals(of(1, 2, 3).collect(failing), asList(1, 2, 3));
+    }
+
+    @Test
+    public void testCollectorsCombine() {
+        IntCollector<long[], Long> counting = IntCollector.counting();
+        long[] left = counting.supplier().get();
+        long[] right = counting.supplier().get();
+        counting.accumulator().accept(left, 7);
+        counting.accumulator().accept(right, 8);
+        counting.accumulator().accept(right, 9);
+        assertEquals(counting.finisher().apply(counting.combiner().apply(left, right)).longValue(), 3L);
+        IntCollector<int[], Integer> summing = IntCollector.summing();
+        int[] sum = summing.combiner().apply(new int[] {2}, new int[] {3});
+        assertEquals(summing.finisher().apply(sum).intValue(), 5);
+        IntSummaryStatistics stats = of(4).collect(IntCollector.summarizing());
+        IntSummaryStatistics more = of(6).collect(IntCollector.summarizing());
+        IntCollector<IntSummaryStatistics, Double> averaging = IntCollector.averaging();
+        assertEquals(averaging.finisher().apply(IntCollector.summarizing().combiner().apply(stats, more)), 5.0);
+        assertEquals(averaging.finisher().apply(averaging.combiner().apply(stats, more)), 16.0 / 3);
+    }
+
+    @Test
+    public void testCollectCloses() {
+        AtomicInteger closes = new AtomicInteger();
+        long count = of(1, 2, 3).onClose(closes::incrementAndGet).collect(IntCollector.counting());
+        assertEquals(count, 3L);
+        assertEquals(closes.get(), 1);
+    }
+}
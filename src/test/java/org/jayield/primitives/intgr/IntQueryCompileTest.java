@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.intgr;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Characteristics.NONNULL;
+import static org.jayield.Characteristics.ORDERED;
+import static org.jayield.Characteristics.SIZED;
+import static org.jayield.primitives.intgr.IntQuery.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.internal.junit.ArrayAsserts.assertArrayEquals;
+
+/**
+ * These tests aim to evaluate compiled queries of int values, which must
+ * behave as the interpreted chain of the same stages.
+ */
+public class IntQueryCompileTest {
+
+    private static final int[] DATA = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+    private static IntQuery stages(IntQuery src, List<String> log) {
+        return src
+            .peek(n -> log.add("a" + n))
+            .filter(n -> n % 2 == 0)
+            .map(n -> n * 3)
+            .peek(n -> log.add("b" + n))
+            .filter(n -> n > 6)
+            .map(n -> n + 1);
+    }
+
+    @Test
+    public void testTraverseArrayAsInterpreted() {
+        List<String> expectedLog = new ArrayList<>();
+        List<String> actualLog = new ArrayList<>();
+        int[] expected = stages(of(DATA), expectedLog).toArray();
+        int[] actual = stages(of(DATA), actualLog).compile().toArray();
+        assertArrayEquals(new int[] {13, 19, 25, 31}, actual);
+        assertArrayEquals(expected, actual);
+        assertEquals(actualLog, expectedLog);
+    }
+
+    @Test
+    public void testTraverseOtherSourceAsInterpreted() {
+        List<String> expectedLog = new ArrayList<>();
+        List<String> actualLog = new ArrayList<>();
+        int[] expected = stages(IntQuery.iterate(1, n -> n + 1).takeWhile(n -> n <= 10), expectedLog).toArray();
+        int[] actual = stages(IntQuery.iterate(1, n -> n + 1).takeWhile(n -> n <= 10), actualLog).compile().toArray();
+        assertArrayEquals(new int[] {13, 19, 25, 31}, actual);
+        assertArrayEquals(expected, actual);
+        assertEquals(actualLog, expectedLog);
+    }
+
+    @Test
+    public void testTraverseWhileStopsInCompiledStage() {
+        for (IntQuery src : asList(of(DATA), IntQuery.iterate(1, n -> n + 1))) {
+            List<String> actualLog = new ArrayList<>();
+            List<Integer> actual = new ArrayList<>();
+            boolean finished = stages(src, actualLog).compile().traverseWhile(n -> {
+                actual.add(n);
+                return n < 19;
+            });
+            assertFalse(finished);
+            assertEquals(actual.size(), 2);
+            assertEquals(actualLog, expectedLog());
+        }
+    }
+
+    private static List<String> expectedLog() {
+        List<String> log = new ArrayList<>();
+        stages(of(DATA), log).takeWhile(n -> n < 19).traverse(n -> { });
+        return log;
+    }
+
+    @Test
+    public void testCompiledTraverseContinuesAfterTryAdvance() {
+        IntQuery compiled = of(DATA).map(n -> n * 2).compile();
+        List<Integer> actual = new ArrayList<>();
+        assertTrue(compiled.tryAdvance(actual::add));
+        assertTrue(compiled.tryAdvance(actual::add));
+        compiled.traverse(actual::add);
+        assertEquals(actual, of(DATA).map(n -> n * 2).boxed().toList());
+    }
+
+    @Test
+    public void testStagesAfterCompile() {
+        int[] actual = of(DATA)
+            .map(n -> n * 2)
+            .compile()
+            .filter(n -> n > 15)
+            .map(n -> n + 1)
+            .toArray();
+        assertArrayEquals(new int[] {17, 19, 21}, actual);
+    }
+
+    @Test
+    public void testCompileOtherStagesReturnsSameQuery() {
+        IntQuery distinct = of(DATA).map(n -> n % 3).distinct();
+        assertSame(distinct.compile(), distinct);
+        IntQuery single = of(DATA).filter(n -> n > 5);
+        assertNotSame(single.compile(), single);
+        assertArrayEquals(new int[] {6, 7, 8, 9, 10}, single.compile().toArray());
+    }
+
+    @Test
+    public void testCharacteristicsOfCompiledStages() {
+        assertEquals(of(DATA).map(n -> n + 1).compile().characteristics(), ORDERED | SIZED | NONNULL);
+        assertEquals(of(DATA).map(n -> n + 1).compile().count(), 10);
+        assertEquals(of(DATA).filter(n -> n > 2).compile().getExactSizeIfKnown(), -1);
+        assertEquals(of(DATA).filter(n -> n > 2).compile().count(), 8);
+    }
+}
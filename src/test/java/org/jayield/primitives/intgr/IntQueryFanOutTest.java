@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.intgr;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.jayield.primitives.intgr.IntQuery.iterate;
+import static org.jayield.primitives.intgr.IntQuery.of;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * These tests aim to evaluate fanOut(), which pushes each element into
+ * several branches within a single traversal.
+ */
+public class IntQueryFanOutTest {
+
+    @Test
+    public void testFanOutTraversesOnce() {
+        AtomicInteger pulls = new AtomicInteger();
+        int[] count = {0};
+        int[] sum = {0};
+        int[] max = {Integer.MIN_VALUE};
+        iterate(0, n -> n + 1)
+            .limit(1000)
+            .map(n -> n % 10)
+            .peek(n -> pulls.incrementAndGet())
+            .fanOut(
+                n -> ++count[0] > 0,
+                n -> (sum[0] += n) >= 0,
+                n -> (max[0] = Math.max(max[0], n)) < 9);
+        assertEquals(pulls.get(), 1000);
+        assertEquals(count[0], 1000);
+        assertEquals(sum[0], 4500);
+        assertEquals(max[0], 9);
+    }
+
+    @Test
+    public void testFanOutShortCircuitsEachBranch() {
+        List<Integer> firsts = new ArrayList<>();
+        List<Integer> all = new ArrayList<>();
+        of(1, 2, 3, 4, 5, 6).fanOut(
+            n -> firsts.add(n) && firsts.size() < 2,
+            all::add);
+        assertEquals(firsts, asList(1, 2));
+        assertEquals(all, asList(1, 2, 3, 4, 5, 6));
+    }
+
+    @Test
+    public void testFanOutStopsWhenAllBranchesAreDone() {
+        AtomicInteger pulls = new AtomicInteger();
+        AtomicInteger closes = new AtomicInteger();
+        int[] evens = {0};
+        int[] odds = {0};
+        iterate(0, n -> n + 1)
+            .peek(n -> pulls.incrementAndGet())
+            .onClose(closes::incrementAndGet)
+            .fanOut(
+                n -> n % 2 != 0 || ++evens[0] < 3,
+                n -> n % 2 == 0 || ++odds[0] < 5);
+        assertEquals(evens[0], 3);
+        assertEquals(odds[0], 5);
+        assertEquals(pulls.get(), 10);
+        assertEquals(closes.get(), 1);
+    }
+
+    @Test
+    public void testFanOutWithoutBranches() {
+        AtomicInteger pulls = new AtomicInteger();
+        iterate(0, n -> n + 1).peek(n -> pulls.incrementAndGet()).fanOut();
+        assertEquals(pulls.get(), 0);
+    }
+}
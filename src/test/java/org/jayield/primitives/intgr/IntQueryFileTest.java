@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.intgr;
+
+import org.jayield.primitives.MappedFile;
+import org.jayield.primitives.intgr.ops.FromIntFile;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate the IntQuery of a binary file, which must
+ * yield the same elements as the array written to that file.
+ * Most of them map the file in small regions of 40 bytes.
+ */
+public class IntQueryFileTest {
+
+    private static final int SIZE = 1000;
+
+    private static int[] range() {
+        return IntQuery.iterate(0, n -> n + 1).limit(SIZE).map(n -> n * 3 - 500).toArray();
+    }
+
+    private static Path write(int[] data, ByteOrder order, int trailing) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(data.length * Integer.BYTES + trailing).order(order);
+        for (int n : data) {
+            bytes.putInt(n);
+        }
+        Path path = Files.createTempFile("jayield", ".bin");
+        path.toFile().deleteOnExit();
+        Files.write(path, bytes.array());
+        return path;
+    }
+
+    private static IntQuery regions(Path path, ByteOrder order) {
+        FromIntFile src = new FromIntFile(new MappedFile(path, Integer.BYTES, 40), order);
+        return new IntQuery(src, src);
+    }
+
+    @Test
+    public void testFromFileInBothOrders() throws IOException {
+        int[] data = range();
+        for (ByteOrder order : new ByteOrder[] {ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+            Path path = write(data, order, 3);
+            assertEquals(IntQuery.fromFile(path, order).toArray(), data);
+            assertEquals(regions(path, order).toArray(), data);
+            assertEquals(IntQuery.fromFile(path, order).count(), SIZE);
+        }
+        assertEquals(IntQuery.fromFile(write(new int[0], ByteOrder.BIG_ENDIAN, 1), ByteOrder.BIG_ENDIAN).count(), 0);
+    }
+
+    @Test
+    public void testTryAdvanceThenTraverse() throws IOException {
+        int[] data = range();
+        IntQuery q = regions(write(data, ByteOrder.LITTLE_ENDIAN, 0), ByteOrder.LITTLE_ENDIAN);
+        List<Integer> actual = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            assertTrue(q.tryAdvance(actual::add));
+        }
+        assertEquals(q.getExactSizeIfKnown(), SIZE - 15);
+        assertTrue(q.traverseWhile(n -> actual.add(n)));
+        q.traverse(actual::add);
+        assertFalse(q.tryAdvance(actual::add));
+        assertEquals(actual, IntQuery.of(data).boxed().toList());
+        assertEquals(q.getExactSizeIfKnown(), 0);
+    }
+
+    @Test
+    public void testTraverseWhileStopsAndResumes() throws IOException {
+        int[] data = range();
+        IntQuery q = regions(write(data, ByteOrder.BIG_ENDIAN, 0), ByteOrder.BIG_ENDIAN);
+        List<Integer> actual = new ArrayList<>();
+        assertFalse(q.traverseWhile(n -> actual.add(n) && actual.size() < 100));
+        q.traverse(actual::add);
+        assertEquals(actual, IntQuery.of(data).boxed().toList());
+    }
+
+    @Test
+    public void testChunks() throws IOException {
+        int[] data = IntQuery.iterate(0, n -> n + 1).limit(5000).toArray();
+        Path path = write(data, ByteOrder.LITTLE_ENDIAN, 0);
+        List<Integer> actual = new ArrayList<>();
+        IntQuery.fromFile(path, ByteOrder.LITTLE_ENDIAN).traverseChunks((buf, from, to) -> {
+            assertTrue(to - from <= IntChunkYield.SIZE);
+            for (int i = from; i < to; i++) {
+                actual.add(buf[i]);
+            }
+        });
+        regions(path, ByteOrder.LITTLE_ENDIAN).traverseChunks((buf, from, to) -> {
+            for (int i = from; i < to; i++) {
+                actual.add(buf[i]);
+            }
+        });
+        assertEquals(actual, IntQuery.of(data).boxed().concat(IntQuery.of(data).boxed()).toList());
+    }
+
+    @Test
+    public void testCloseInsideTraversalIsDeferred() throws IOException {
+        Path path = write(range(), ByteOrder.LITTLE_ENDIAN, 0);
+        FromIntFile src = new FromIntFile(new MappedFile(path, Integer.BYTES, 40), ByteOrder.LITTLE_ENDIAN);
+        int[] count = {0};
+        src.traverse((int n) -> {
+            if(++count[0] == 3) src.close();
+        });
+        assertEquals(count[0], 40 / Integer.BYTES);
+        assertFalse(src.tryAdvance((int n) -> { }));
+        assertEquals(src.getExactSizeIfKnown(), 0);
+        src.close();
+    }
+
+    @Test(expectedExceptions = UncheckedIOException.class)
+    public void testMissingFile() {
+        IntQuery.fromFile(Path.of("missing.bin"), ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.intgr;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Characteristics.NONNULL;
+import static org.jayield.Characteristics.ORDERED;
+import static org.jayield.Characteristics.SIZED;
+import static org.jayield.Characteristics.SORTED;
+import static org.jayield.primitives.intgr.IntQuery.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate topK() and the fusion of sorted() followed
+ * by limit(), which must yield the same elements as a full sort.
+ */
+public class IntQueryTopKTest {
+
+    private static int[] random() {
+        return new Random(7).ints(100_000, -10_000, 10_000).toArray();
+    }
+
+    private static int[] sortedPrefix(int[] data, int k) {
+        int[] copy = data.clone();
+        Arrays.sort(copy);
+        return Arrays.copyOf(copy, Math.min(k, copy.length));
+    }
+
+    @Test
+    public void testSortedLimitAgainstSort() {
+        int[] data = random();
+        assertEquals(of(data).sorted().limit(100).toArray(), sortedPrefix(data, 100));
+        assertEquals(of(data).topK(100).toArray(), sortedPrefix(data, 100));
+    }
+
+    @Test
+    public void testTopKLargerThanSource() {
+        assertEquals(of(3, 1, 2).topK(10).toArray(), new int[] {1, 2, 3});
+        assertEquals(of(3, 1, 2).sorted().limit(Integer.MAX_VALUE).toArray(), new int[] {1, 2, 3});
+    }
+
+    @Test
+    public void testTopKNotPositive() {
+        assertEquals(of(3, 1, 2).topK(0).count(), 0);
+        assertEquals(of(3, 1, 2).sorted().limit(-1).count(), 0);
+    }
+
+    @Test
+    public void testLimitOfTopK() {
+        assertEquals(of(5, 3, 1, 4, 2).topK(4).limit(2).toArray(), new int[] {1, 2});
+        assertEquals(of(5, 3, 1, 4, 2).sorted().limit(2).limit(4).toArray(), new int[] {1, 2});
+    }
+
+    @Test
+    public void testLimitAfterSortedOperatedOn() {
+        IntQuery sorted = of(5, 3, 1, 4, 2).sorted();
+        List<Integer> actual = new ArrayList<>();
+        assertTrue(sorted.tryAdvance(actual::add));
+        sorted.limit(2).traverse(actual::add);
+        assertEquals(actual, asList(1, 2, 3));
+
+        IntQuery top = of(5, 3, 1, 4, 2).topK(4);
+        actual.clear();
+        assertTrue(top.tryAdvance(actual::add));
+        top.limit(2).traverse(actual::add);
+        assertEquals(actual, asList(1, 2, 3));
+    }
+
+    @Test
+    public void testTopKTraverseWhile() {
+        List<Integer> actual = new ArrayList<>();
+        boolean completed = of(5, 3, 1, 4, 2).topK(4).traverseWhile(n -> {
+            actual.add(n);
+            return n < 2;
+        });
+        assertFalse(completed);
+        assertEquals(actual, asList(1, 2));
+        assertTrue(of(5, 3, 1).sorted().traverseWhile(n -> true));
+    }
+
+    @Test
+    public void testSortedAndTopKCharacteristics() {
+        IntQuery sorted = of(3, 1, 2).sorted();
+        assertEquals(sorted.characteristics(), ORDERED | SORTED | SIZED | NONNULL);
+        assertEquals(sorted.getExactSizeIfKnown(), 3);
+        IntQuery top = of(3, 1, 2).topK(2);
+        assertEquals(top.characteristics(), ORDERED | SORTED | SIZED | NONNULL);
+        assertEquals(top.getExactSizeIfKnown(), 2);
+        assertTrue(top.tryAdvance(n -> assertEquals(n, 1)));
+        assertEquals(top.getExactSizeIfKnown(), 1);
+        assertEquals(top.characteristics(), ORDERED | SORTED | SIZED | NONNULL);
+        assertTrue(sorted.tryAdvance(n -> assertEquals(n, 1)));
+        assertEquals(sorted.getExactSizeIfKnown(), 2);
+        assertEquals(sorted.characteristics(), ORDERED | SORTED | SIZED | NONNULL);
+        IntQuery unsized = of(3, 1, 2).filter(n -> n > 1).topK(5);
+        assertEquals(unsized.characteristics() & SIZED, 0);
+        assertEquals(unsized.getExactSizeIfKnown(), -1);
+    }
+}
@@ -344,6 +344,16 @@ public class IntQueryTraverseTest {
         assertEquals(actual, expected);
     }
 
+    @Test
+    public void testBulkAverageDoesNotOverflow() {
+        int[] arrange = {Integer.MAX_VALUE, Integer.MAX_VALUE};
+        double expected = Integer.MAX_VALUE;
+        double actual = of(arrange)
+                .average()
+                .orElseThrow();
+        assertEquals(actual, expected);
+    }
+
     @Test
     public void testBulkAverageOnEmpty() {
         int[] arrange = {};
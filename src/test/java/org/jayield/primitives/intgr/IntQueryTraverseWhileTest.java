@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.intgr;
+
+import org.jayield.collections.IntGrowableBuffer;
+import org.testng.annotations.Test;
+
+import static org.jayield.primitives.intgr.IntQuery.generate;
+import static org.jayield.primitives.intgr.IntQuery.iterate;
+import static org.jayield.primitives.intgr.IntQuery.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate only the execution of traverseWhile()
+ * along the entire pipeline.
+ * Each operation should stop cooperatively, returning from the
+ * traverseWhile() of the upstream rather than throwing.
+ */
+public class IntQueryTraverseWhileTest {
+
+    @Test
+    public void testStopReachesSourceWithoutThrowing() {
+        Source src = new Source(1, 2, 3, 4, 5, 6, 7, 8, 9);
+        IntGrowableBuffer actual = new IntGrowableBuffer(4);
+        boolean finished = new IntQuery(src, src)
+            .skip(1)
+            .filter(n -> n % 2 == 0)
+            .map(n -> n * 10)
+            .peek(n -> { })
+            .distinct()
+            .dropWhile(n -> n < 40)
+            .traverseWhile(n -> {
+                actual.add(n);
+                return n < 60;
+            });
+        assertFalse(finished);
+        assertEquals(actual.toArray(), new int[] {40, 60});
+        assertTrue(src.stoppedByYield);
+        assertEquals(src.visited, 6);
+    }
+
+    @Test
+    public void testStopThroughOtherFamilies() {
+        Source src = new Source(1, 2, 3, 4, 5);
+        assertTrue(new IntQuery(src, src).mapToObj(n -> "" + n).anyMatch("2"::equals));
+        assertTrue(src.stoppedByYield);
+        assertEquals(src.visited, 2);
+        src = new Source(1, 2, 3, 4, 5);
+        assertTrue(new IntQuery(src, src).asLongQuery().asDoubleQuery().anyMatch(n -> n > 2));
+        assertEquals(src.visited, 3);
+    }
+
+    @Test
+    public void testTakeWhileIsNotAStopOfTheConsumer() {
+        IntGrowableBuffer actual = new IntGrowableBuffer(4);
+        boolean finished = of(1, 2, 3, 4)
+            .takeWhile(n -> n < 3)
+            .concat(of(7, 8, 9))
+            .traverseWhile(n -> {
+                actual.add(n);
+                return n < 8;
+            });
+        assertFalse(finished);
+        assertEquals(actual.toArray(), new int[] {1, 2, 7, 8});
+    }
+
+    @Test
+    public void testFlatMapStopsOuterTraversal() {
+        IntGrowableBuffer outer = new IntGrowableBuffer(4);
+        boolean finished = of(1, 2, 3)
+            .peek(outer::add)
+            .flatMap(n -> of(n * 10, n * 10 + 1))
+            .traverseWhile(n -> n != 20);
+        assertFalse(finished);
+        assertEquals(outer.toArray(), new int[] {1, 2});
+    }
+
+    @Test
+    public void testInfiniteSourcesStop() {
+        assertTrue(iterate(1, n -> n + 1).anyMatch(n -> n > 1000));
+        assertFalse(generate(() -> 7).allMatch(n -> n < 7));
+        assertEquals(iterate(1, n -> n * 2).limit(4).toArray(), new int[] {1, 2, 4, 8});
+        assertEquals(iterate(1, n -> n + 1).takeWhile(n -> n < 4).toArray(), new int[] {1, 2, 3});
+        assertEquals(iterate(1, n -> n + 1).zip(of(10, 20), Integer::sum).toArray(), new int[] {11, 22});
+        assertTrue(of(1, 2).limit(5).traverseWhile(n -> true));
+    }
+
+    /**
+     * Source that records whether its traversal was stopped by returning
+     * false from the yield, rather than by an exception.
+     */
+    private static class Source implements IntAdvancer, IntTraverser {
+        private final int[] data;
+        int visited;
+        boolean stoppedByYield;
+
+        Source(int... data) {
+            this.data = data;
+        }
+
+        @Override
+        public boolean tryAdvance(IntYield yield) {
+            if(visited >= data.length) return false;
+            yield.ret(data[visited++]);
+            return true;
+        }
+
+        @Override
+        public void traverse(IntYield yield) {
+            while(tryAdvance(yield)) { }
+        }
+
+        @Override
+        public boolean traverseWhile(IntYieldWhile yield) {
+            while(visited < data.length) {
+                if(!yield.ret(data[visited++])) {
+                    stoppedByYield = true;
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
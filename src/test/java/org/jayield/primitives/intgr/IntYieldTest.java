@@ -21,4 +21,11 @@ public class IntYieldTest {
         yld.ret(input);
         assertTrue(called.isTrue());
     }
+
+    @Test
+    public void testGenericRetOfYieldWhileCallsPrimitive() {
+        Integer input = 1;
+        IntYieldWhile yld = i -> i > 0;
+        assertTrue(yld.ret(input));
+    }
 }
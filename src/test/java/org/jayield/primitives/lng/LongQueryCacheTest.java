@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.lng;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Characteristics.SIZED;
+import static org.jayield.primitives.lng.LongQuery.iterate;
+import static org.jayield.primitives.lng.LongQuery.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate cache(), which pulls each element of the
+ * upstream once and replays them on every traversal.
+ */
+public class LongQueryCacheTest {
+
+    private static final int SIZE = 10_000;
+
+    private static long[] range(int size) {
+        return iterate(0, n -> n + 1).limit(size).toArray();
+    }
+
+    @Test
+    public void testReplayPullsUpstreamOnce() {
+        AtomicInteger pulls = new AtomicInteger();
+        LongQuery cached = iterate(0, n -> n + 1).limit(SIZE).peek(n -> pulls.incrementAndGet()).cache();
+        assertEquals(cached.toArray(), range(SIZE));
+        assertEquals(cached.toArray(), range(SIZE));
+        assertEquals(pulls.get(), SIZE);
+    }
+
+    @Test
+    public void testCachePullsOnDemand() {
+        AtomicInteger pulls = new AtomicInteger();
+        LongQuery cached = iterate(0, n -> n + 1).peek(n -> pulls.incrementAndGet()).cache();
+        assertEquals(cached.limit(5).toArray(), range(5));
+        assertEquals(pulls.get(), 5);
+        assertEquals(cached.limit(7).toArray(), range(7));
+        assertEquals(pulls.get(), 7);
+    }
+
+    @Test
+    public void testTryAdvanceAndReplays() {
+        LongQuery cached = of(1, 2, 3, 4).cache();
+        List<Long> actual = new ArrayList<>();
+        assertTrue(cached.tryAdvance(actual::add));
+        assertEquals(cached.toArray(), new long[] {2, 3, 4});
+        assertFalse(cached.traverseWhile(n -> n < 3));
+        LongQuery replay = cached.cache();
+        assertEquals(replay.toArray(), new long[] {1, 2, 3, 4});
+        assertTrue(replay.tryAdvance(actual::add));
+        assertEquals(actual, asList(1L, 1L));
+    }
+
+    @Test
+    public void testChunksFromSegments() {
+        LongQuery cached = iterate(0, n -> n + 1).limit(SIZE).cache();
+        for (int pass = 0; pass < 2; pass++) {
+            List<Long> actual = new ArrayList<>();
+            cached.traverseChunks((buf, from, to) -> {
+                assertTrue(to - from <= LongChunkYield.SIZE);
+                for (int i = from; i < to; i++) {
+                    actual.add(buf[i]);
+                }
+            });
+            assertEquals(actual, of(range(SIZE)).boxed().toList());
+        }
+        assertTrue(cached.tryAdvance(n -> { }));
+        int[] count = {0};
+        cached.traverseChunks((buf, from, to) -> count[0] += to - from);
+        assertEquals(count[0], SIZE - 1);
+    }
+
+    @Test
+    public void testConcurrentReplays() throws InterruptedException, ExecutionException {
+        AtomicInteger pulls = new AtomicInteger();
+        LongQuery cached = iterate(0, n -> n + 1).limit(SIZE * 10).peek(n -> pulls.incrementAndGet()).cache();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<long[]>> replays = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                replays.add(pool.submit(() -> cached.cache().toArray()));
+            }
+            for (Future<long[]> replay : replays) {
+                assertEquals(replay.get(), range(SIZE * 10));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(pulls.get(), SIZE * 10);
+    }
+
+    @Test
+    public void testCharacteristics() {
+        LongQuery sized = of(1, 2, 3).cache();
+        assertEquals(sized.characteristics() & SIZED, SIZED);
+        assertEquals(sized.getExactSizeIfKnown(), 3);
+        LongQuery unsized = of(1, 2, 3).filter(n -> n > 1).cache();
+        assertEquals(unsized.characteristics() & SIZED, 0);
+        assertEquals(unsized.getExactSizeIfKnown(), -1);
+        assertEquals(unsized.count(), 2);
+        assertEquals(unsized.getExactSizeIfKnown(), 2);
+    }
+}
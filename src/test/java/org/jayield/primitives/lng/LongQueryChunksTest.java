@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.lng;
+
+import org.jayield.primitives.lng.ops.LongFilter;
+import org.jayield.primitives.lng.ops.LongMap;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+
+import static org.jayield.primitives.lng.LongQuery.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate the traversal in chunks, which must yield
+ * the same elements as traverse(), in chunks no longer than
+ * LongChunkYield.SIZE except for the source array.
+ */
+public class LongQueryChunksTest {
+
+    private static final int SIZE = 5000;
+
+    private static long[] range() {
+        return LongQuery.iterate(0, n -> n + 1).limit(SIZE).toArray();
+    }
+
+    /**
+     * Collects the elements of the chunks checking their length.
+     */
+    private static List<Long> chunks(LongQuery q) {
+        List<Long> items = new ArrayList<>();
+        q.traverseChunks((buf, from, to) -> {
+            assertTrue(from < to);
+            assertTrue(to - from <= LongChunkYield.SIZE);
+            for (int i = from; i < to; i++) {
+                items.add(buf[i]);
+            }
+        });
+        return items;
+    }
+
+    private static List<Long> boxed(long[] data) {
+        return of(data).boxed().toList();
+    }
+
+    @Test
+    public void testArraySourceYieldsItself() {
+        long[] data = range();
+        int[] calls = {0};
+        of(data).skip(10).limit(SIZE - 20).traverseChunks((buf, from, to) -> {
+            assertSame(buf, data);
+            assertEquals(from, 10);
+            assertEquals(to, SIZE - 10);
+            calls[0]++;
+        });
+        assertEquals(calls[0], 1);
+        of().traverseChunks((buf, from, to) -> calls[0]++);
+        assertEquals(calls[0], 1);
+    }
+
+    @Test
+    public void testMapAndFilterStages() {
+        LongMap map = new LongMap(of(range()), n -> n * 3);
+        LongQuery mapped = new LongQuery(map, map);
+        LongFilter filter = new LongFilter(mapped, n -> n % 2 == 0);
+        LongQuery filtered = new LongQuery(filter, filter);
+        assertEquals(chunks(filtered), boxed(of(range()).map(n -> n * 3).filter(n -> n % 2 == 0).toArray()));
+        map = new LongMap(of(range()), n -> n * 3);
+        assertEquals(chunks(new LongQuery(map, map)), boxed(of(range()).map(n -> n * 3).toArray()));
+    }
+
+    @Test
+    public void testFusedStages() {
+        LongQuery fused = of(range())
+            .filter(n -> n % 3 != 0)
+            .map(n -> n + 1)
+            .filter(n -> n % 2 == 0)
+            .map(n -> n * 2);
+        long[] expected = LongQuery.iterate(0, n -> n + 1).limit(SIZE)
+            .filter(n -> n % 3 != 0)
+            .map(n -> n + 1)
+            .filter(n -> n % 2 == 0)
+            .map(n -> n * 2)
+            .toArray();
+        assertEquals(chunks(fused), boxed(expected));
+        assertEquals(chunks(of(range()).filter(n -> n < 0).map(n -> n + 1)), boxed(new long[0]));
+    }
+
+    @Test
+    public void testFusedPeekKeepsInterleaving() {
+        List<String> expected = new ArrayList<>();
+        List<String> actual = new ArrayList<>();
+        of(1, 2, 3, 4).peek(n -> expected.add("a" + n)).map(n -> n * 2).peek(n -> expected.add("b" + n)).traverse(n -> { });
+        of(1, 2, 3, 4).peek(n -> actual.add("a" + n)).map(n -> n * 2).peek(n -> actual.add("b" + n)).traverseChunks((buf, from, to) -> { });
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void testPerElementStagesAreAdapted() {
+        LongQuery distinct = LongQuery.iterate(0, n -> n + 1).limit(SIZE).map(n -> n % 1500).distinct();
+        assertEquals(chunks(distinct), boxed(LongQuery.iterate(0, n -> n + 1).limit(1500).toArray()));
+        assertEquals(chunks(of(1, 2, 3).takeWhile(n -> n < 4)), boxed(of(1, 2, 3).toArray()));
+    }
+
+    @Test
+    public void testChunkedStages() {
+        LongMap map = new LongMap(of(range()), n -> n * 3);
+        LongQuery mapped = new LongQuery(map, map);
+        LongFilter filter = new LongFilter(mapped, n -> n % 2 == 0);
+        assertTrue(new LongQuery(filter, filter).isChunked());
+        assertTrue(of(range()).map(n -> n + 1).filter(n -> n > 0).isChunked());
+        assertTrue(of(range()).map(n -> n + 1).peek(n -> { }).isChunked());
+        assertFalse(of(range()).map(n -> n + 1).distinct().isChunked());
+        assertFalse(LongQuery.iterate(0, n -> n + 1).limit(SIZE).map(n -> n + 1).isChunked());
+    }
+
+    /**
+     * Reductions over the chunks of map and filter stages must match the
+     * same reductions over a source that is traversed element by element.
+     */
+    @Test
+    public void testReductionsOverChunks() {
+        Supplier<LongQuery> chunked = () -> of(range()).map(n -> n * 3 - SIZE).filter(n -> n % 2 == 0);
+        Supplier<LongQuery> elements = () -> LongQuery.iterate(0, n -> n + 1).limit(SIZE).map(n -> n * 3 - SIZE).filter(n -> n % 2 == 0);
+        assertTrue(chunked.get().isChunked());
+        assertFalse(elements.get().isChunked());
+        assertEquals(chunked.get().sum(), elements.get().sum());
+        assertEquals(chunked.get().min(), elements.get().min());
+        assertEquals(chunked.get().max(), elements.get().max());
+        assertEquals(chunked.get().average(), elements.get().average());
+        assertEquals(chunked.get().count(), elements.get().count());
+        assertEquals(chunked.get().summaryStatistics().toString(), elements.get().summaryStatistics().toString());
+    }
+
+    @Test
+    public void testReductionsOverNoChunks() {
+        assertEquals(of(range()).filter(n -> n < 0).min(), OptionalLong.empty());
+        assertEquals(of(range()).filter(n -> n < 0).max(), OptionalLong.empty());
+        assertEquals(of(range()).filter(n -> n < 0).average(), OptionalDouble.empty());
+        assertEquals(of(range()).filter(n -> n < 0).count(), 0);
+        assertEquals(of(range()).filter(n -> n < 0).summaryStatistics().getCount(), 0);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.lng;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LongSummaryStatistics;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.jayield.primitives.lng.LongQuery.of;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * These tests aim to evaluate collect() with a {@link LongCollector},
+ * which accumulates elements without boxing.
+ */
+public class LongQueryCollectTest {
+
+    @Test
+    public void testCollectAggregates() {
+        assertEquals(of(1, 2, 3, 4).collect(LongCollector.counting()).longValue(), 4L);
+        assertEquals(of(1, 2, 3, 4).collect(LongCollector.summing()).longValue(), 10L);
+        assertEquals(of(1, 2, 3, 4).collect(LongCollector.averaging()), 2.5);
+        assertEquals(of().collect(LongCollector.averaging()), 0.0);
+        LongSummaryStatistics stats = of(3, 1, 2).collect(LongCollector.summarizing());
+        assertEquals(stats.getMin(), 1L);
+        assertEquals(stats.getMax(), 3L);
+        assertEquals(stats.getCount(), 3L);
+    }
+
+    @Test
+    public void testCollectMapping() {
+        Set<String> actual = of(1, 2, 1, 3).collect(LongCollector.mapping(String::valueOf, Collectors.toSet()));
+        assertEquals(actual, Set.of("1", "2", "3"));
+        String joined = of(1, 2, 3).collect(LongCollector.mapping(String::valueOf, Collectors.joining("-")));
+        assertEquals(joined, "1-2-3");
+    }
+
+    @Test
+    public void testCollectSkipsIdentityFinisher() {
+        LongCollector<List<Long>, List<Long>> toList = LongCollector.of(
+            ArrayList::new,
+            List::add,
+            (left, right) -> {
+                left.addAll(right);
+                return left;
+            });
+        assertEquals(toList.characteristics(), Set.of(Collector.Characteristics.IDENTITY_FINISH));
+        assertEquals(toList.combiner().apply(new ArrayList<>(asList(1L)), asList(2L)), asList(1L, 2L));
+        assertEquals(of(1, 2, 3).collect(toList), asList(1L, 2L, 3L));
+        LongCollector<List<Long>, Integer> failing = LongCollector.of(
+            ArrayList::new,
+            List::add,
+            (left, right) -> left,
+            list -> {
+                throw new AssertionError("The finisher of an IDENTITY_FINISH collector is not applied");
+            },
+            Collector.Characteristics.IDENTITY_FINISH);
+        assertEquals(of(1, 2, 3).collect(failing), asList(1L, 2L, 3L));
+    }
+
+    @Test
+    public void testCollectorsCombine() {
+        LongCollector<long[], Long> counting = LongCollector.counting();
+        long[] left = counting.supplier().get();
+        long[] right = counting.supplier().get();
+        counting.accumulator().accept(left, 7);
+        counting.accumulator().accept(right, 8);
+        counting.accumulator().accept(right, 9);
+        assertEquals(counting.finisher().apply(counting.combiner().apply(left, right)).longValue(), 3L);
+        LongCollector<long[], Long> summing = LongCollector.summing();
+        long[] sum = summing.combiner().apply(new long[] {2}, new long[] {3});
+        assertEquals(summing.finisher().apply(sum).longValue(), 5L);
+        LongSummaryStatistics stats = of(4).collect(LongCollector.summarizing());
+        LongSummaryStatistics more = of(6).collect(LongCollector.summarizing());
+        LongCollector<LongSummaryStatistics, Double> averaging = LongCollector.averaging();
+        assertEquals(averaging.finisher().apply(LongCollector.summarizing().combiner().apply(stats, more)), 5.0);
+        assertEquals(averaging.finisher().apply(averaging.combiner().apply(stats, more)), 16.0 / 3);
+    }
+
+    @Test
+    public void testCollectCloses() {
+        AtomicInteger closes = new AtomicInteger();
+        long count = of(1, 2, 3).onClose(closes::incrementAndGet).collect(LongCollector.counting());
+        assertEquals(count, 3L);
+        assertEquals(closes.get(), 1);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.lng;
+
+import org.jayield.primitives.lng.ops.LongFilter;
+import org.jayield.primitives.lng.ops.LongMap;
+import org.jayield.primitives.lng.ops.LongPeek;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Characteristics.NONNULL;
+import static org.jayield.Characteristics.ORDERED;
+import static org.jayield.Characteristics.SIZED;
+import static org.jayield.primitives.lng.LongQuery.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.internal.junit.ArrayAsserts.assertArrayEquals;
+
+/**
+ * These tests aim to evaluate the fusion of adjacent map, filter and
+ * peek stages, which must behave as the same stages chained one by one.
+ */
+public class LongQueryFusionTest {
+
+    private static final int SIZE = 100_000;
+    private static final long[] DATA = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+    private static LongQuery fused(List<String> log) {
+        return of(DATA)
+            .peek(n -> log.add("a" + n))
+            .filter(n -> n % 2 == 0)
+            .map(n -> n * 3)
+            .peek(n -> log.add("b" + n))
+            .filter(n -> n > 6)
+            .map(n -> n + 1);
+    }
+
+    private static LongQuery chained(List<String> log) {
+        LongQuery q = of(DATA);
+        LongPeek first = new LongPeek(q, n -> log.add("a" + n));
+        q = new LongQuery(first, first);
+        LongFilter even = new LongFilter(q, n -> n % 2 == 0);
+        q = new LongQuery(even, even);
+        LongMap triple = new LongMap(q, n -> n * 3);
+        q = new LongQuery(triple, triple);
+        LongPeek second = new LongPeek(q, n -> log.add("b" + n));
+        q = new LongQuery(second, second);
+        LongFilter greater = new LongFilter(q, n -> n > 6);
+        q = new LongQuery(greater, greater);
+        LongMap inc = new LongMap(q, n -> n + 1);
+        return new LongQuery(inc, inc);
+    }
+
+    @Test
+    public void testTraverseAsChainedStages() {
+        List<String> expectedLog = new ArrayList<>();
+        List<String> actualLog = new ArrayList<>();
+        long[] expected = chained(expectedLog).toArray();
+        long[] actual = fused(actualLog).toArray();
+        assertArrayEquals(new long[] {13, 19, 25, 31}, actual);
+        assertArrayEquals(expected, actual);
+        assertEquals(actualLog, expectedLog);
+    }
+
+    @Test
+    public void testTryAdvanceAsChainedStages() {
+        List<String> expectedLog = new ArrayList<>();
+        List<String> actualLog = new ArrayList<>();
+        LongQuery expected = chained(expectedLog);
+        LongQuery actual = fused(actualLog);
+        List<Long> actualItems = new ArrayList<>();
+        List<Long> expectedItems = new ArrayList<>();
+        while(actual.tryAdvance((long n) -> actualItems.add(n))) {
+            expected.tryAdvance((long n) -> expectedItems.add(n));
+            assertEquals(actualItems, expectedItems);
+            assertEquals(actualLog, expectedLog);
+        }
+        assertFalse(expected.tryAdvance((long n) -> expectedItems.add(n)));
+        assertEquals(actualItems, asList((long) 13, (long) 19, (long) 25, (long) 31));
+    }
+
+    @Test
+    public void testTraverseWhileStopsInFusedStage() {
+        List<String> actualLog = new ArrayList<>();
+        List<Long> actual = new ArrayList<>();
+        boolean finished = fused(actualLog).traverseWhile((long n) -> {
+            actual.add(n);
+            return n < 19;
+        });
+        assertFalse(finished);
+        assertEquals(actual, asList((long) 13, (long) 19));
+        assertEquals(actualLog.size(), 9);
+    }
+
+    /**
+     * Each tryAdvance() of a chained stage would instantiate a capturing
+     * lambda for its upstream, i.e. more than 16 MB for these 20 stages.
+     */
+    @Test
+    public void testTryAdvanceAllocatesNothingPerStage() {
+        long[] sum = {0};
+        advanceThroughStages(new long[1], sum); // Warm up class loading
+        long[] data = new long[SIZE];
+        long before = allocatedBytes();
+        advanceThroughStages(data, sum);
+        long allocated = allocatedBytes() - before;
+        assertEquals(sum[0], 11 * (SIZE + 1));
+        assertTrue(allocated < 16 * 1024, "Allocated " + allocated + " bytes");
+    }
+
+    private static void advanceThroughStages(long[] data, long[] sum) {
+        LongQuery deep = of(data).map(n -> 1);
+        for (int i = 0; i < 10; i++) {
+            deep = deep.filter(n -> n > 0).map(n -> n + 1);
+        }
+        LongYield yield = (long n) -> sum[0] += n;
+        while(deep.tryAdvance(yield)) { }
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if(!(bean instanceof com.sun.management.ThreadMXBean))
+            throw new SkipException("Thread allocation counters are not supported by this JVM!");
+        return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Every pair of adjacent kinds of stages, which fusion performs in a
+     * single sink, followed by a single filter.
+     */
+    @Test
+    public void testEveryPairOfStagesAsChainedStages() {
+        String kinds = "mmmfmpfmfffppmpfppf";
+        List<String> expectedLog = new ArrayList<>();
+        List<String> actualLog = new ArrayList<>();
+        long[] expected = stages(kinds, true, expectedLog).toArray();
+        long[] actual = stages(kinds, false, actualLog).toArray();
+        assertTrue(actual.length > 0);
+        assertArrayEquals(expected, actual);
+        assertEquals(actualLog, expectedLog);
+    }
+
+    /**
+     * Applies the stages named by kinds, where m, f and p stand for map, filter
+     * and peek, either chained one by one or through the query methods.
+     */
+    private static LongQuery stages(String kinds, boolean chained, List<String> log) {
+        LongQuery q = LongQuery.iterate(0, n -> n + 1).limit(100);
+        for (int i = 0; i < kinds.length(); i++) {
+            int k = i;
+            switch (kinds.charAt(i)) {
+                case 'm':
+                    LongUnaryOperator mapper = n -> n + k;
+                    if(chained) {
+                        LongMap m = new LongMap(q, mapper);
+                        q = new LongQuery(m, m);
+                    } else {
+                        q = q.map(mapper);
+                    }
+                    break;
+                case 'f':
+                    LongPredicate p = n -> n % (k + 2) != 0;
+                    if(chained) {
+                        LongFilter f = new LongFilter(q, p);
+                        q = new LongQuery(f, f);
+                    } else {
+                        q = q.filter(p);
+                    }
+                    break;
+                default:
+                    LongConsumer action = n -> log.add(k + ":" + n);
+                    if(chained) {
+                        LongPeek pk = new LongPeek(q, action);
+                        q = new LongQuery(pk, pk);
+                    } else {
+                        q = q.peek(action);
+                    }
+            }
+        }
+        return q;
+    }
+
+    @Test
+    public void testCharacteristicsOfFusedStages() {
+        assertEquals(of(DATA).map(n -> n + 1).map(n -> n * 2).getExactSizeIfKnown(), 10);
+        assertEquals(of(DATA).map(n -> n + 1).map(n -> n * 2).characteristics(), ORDERED | SIZED | NONNULL);
+        assertEquals(of(DATA).map(n -> n + 1).filter(n -> n > 2).getExactSizeIfKnown(), -1);
+        assertEquals(of(DATA).map(n -> n + 1).filter(n -> n > 2).count(), 9);
+        assertEquals(of(DATA).peek(n -> { }).peek(n -> { }).characteristics(), ORDERED | NONNULL);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026, Fernando Miguel Carvalho, mcarvalho@cc.isel.ipl.pt
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jayield.primitives.lng;
+
+import org.jayield.SpillConfig;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.jayield.Characteristics.NONNULL;
+import static org.jayield.Characteristics.ORDERED;
+import static org.jayield.Characteristics.SIZED;
+import static org.jayield.Characteristics.SORTED;
+import static org.jayield.primitives.lng.LongQuery.of;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * These tests aim to evaluate the external sort of sorted(config), which
+ * must yield the same elements as Arrays.sort() and leave no runs behind.
+ */
+public class LongQuerySpillSortTest {
+
+    private Path dir;
+
+    @BeforeMethod
+    public void createDir() throws IOException {
+        dir = Files.createTempDirectory("jayield-spill");
+    }
+
+    @AfterMethod
+    public void deleteDir() throws IOException {
+        Files.delete(dir);
+    }
+
+    private long runs() throws IOException {
+        try(Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static long[] random(int size) {
+        return new Random(7).longs(size).toArray();
+    }
+
+    private static long[] sorted(long[] data) {
+        long[] copy = data.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Test
+    public void testSpillManyRuns() throws IOException {
+        long[] data = random(10_000);
+        assertEquals(of(data).sorted(SpillConfig.of(100).directory(dir)).toArray(), sorted(data));
+        assertEquals(runs(), 0);
+    }
+
+    @Test
+    public void testNoSpill() throws IOException {
+        assertEquals(of(3, 1, 2).sorted(SpillConfig.of(10).directory(dir)).toArray(), new long[] {1, 2, 3});
+        assertEquals(runs(), 0);
+    }
+
+    @Test
+    public void testTryAdvanceStreamsAndCloseDeletesRuns() throws IOException {
+        long[] data = random(1_000);
+        LongQuery sorted = of(data).sorted(SpillConfig.of(100).directory(dir));
+        List<Long> actual = new ArrayList<>();
+        assertTrue(sorted.tryAdvance(actual::add));
+        assertTrue(sorted.tryAdvance(actual::add));
+        assertEquals(sorted.getExactSizeIfKnown(), 998);
+        assertEquals(sorted.characteristics(), ORDERED | SORTED | SIZED | NONNULL);
+        assertTrue(runs() > 0);
+        sorted.close();
+        assertEquals(runs(), 0);
+        assertFalse(sorted.tryAdvance(actual::add));
+        long[] expected = sorted(data);
+        assertEquals(actual, asList(expected[0], expected[1]));
+    }
+
+    @Test
+    public void testTraverseWhile() throws IOException {
+        List<Long> actual = new ArrayList<>();
+        try(LongQuery sorted = of(5, 3, 1, 4, 2).sorted(SpillConfig.of(2).directory(dir))) {
+            assertFalse(sorted.traverseWhile(n -> actual.add(n) && n < 3));
+        }
+        assertEquals(actual, asList(1L, 2L, 3L));
+        assertTrue(of(5, 3, 1).sorted(SpillConfig.of(2).directory(dir)).traverseWhile(n -> true));
+        assertEquals(runs(), 0);
+    }
+
+    @Test
+    public void testLimitWithinMemory() throws IOException {
+        assertEquals(of(5, 3, 1, 4, 2).sorted(SpillConfig.of(3).directory(dir)).limit(2).toArray(), new long[] {1, 2});
+        assertEquals(of(5, 3, 1, 4, 2).sorted(SpillConfig.of(3).directory(dir)).limit(4).toArray(), new long[] {1, 2, 3, 4});
+        assertEquals(runs(), 0);
+    }
+
+    @Test
+    public void testCharacteristicsBeforeSort() {
+        LongQuery sorted = of(3, 1, 2).sorted(SpillConfig.of(2));
+        assertEquals(sorted.characteristics(), ORDERED | SORTED | SIZED | NONNULL);
+        assertEquals(sorted.getExactSizeIfKnown(), 3);
+    }
+}
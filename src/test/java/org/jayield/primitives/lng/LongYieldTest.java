@@ -21,4 +21,11 @@ public class LongYieldTest {
         yld.ret(input);
         assertTrue(called.isTrue());
     }
+
+    @Test
+    public void testGenericRetOfYieldWhileCallsPrimitive() {
+        Long input = 1L;
+        LongYieldWhile yld = i -> i > 0;
+        assertTrue(yld.ret(input));
+    }
 }